@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmarks;
+
+import com.couchbase.client.core.cnc.metrics.AggregatingValueRecorder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures recording latencies into the {@link AggregatingValueRecorder} used by the logging meter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregatingValueRecorderBenchmark {
+
+  private AggregatingValueRecorder recorder;
+
+  @Setup
+  public void setup() {
+    Map<String, String> tags = new HashMap<>();
+    tags.put("db.couchbase.service", "kv");
+    tags.put("db.operation", "get");
+    recorder = new AggregatingValueRecorder("db.couchbase.operations", tags);
+  }
+
+  @State(Scope.Thread)
+  public static class Latency {
+    long value = 250_000;
+  }
+
+  @Benchmark
+  public void recordValue(final Latency latency) {
+    recorder.recordValue(nextLatency(latency));
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void recordValueContended(final Latency latency) {
+    recorder.recordValue(nextLatency(latency));
+  }
+
+  /**
+   * Walks through a range of plausible microsecond latencies so that different histogram buckets are hit.
+   */
+  private static long nextLatency(final Latency latency) {
+    latency.value = (latency.value * 31 + 17) % 5_000_000;
+    return latency.value;
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmarks;
+
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.io.CollectionMap;
+import com.couchbase.client.core.util.UnsignedLEB128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures collection id lookups in the {@link CollectionMap}, with one collection per tenant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectionMapBenchmark {
+
+  @Param({"10", "1000", "10000"})
+  int numCollections;
+
+  private CollectionMap collectionMap;
+  private CollectionIdentifier[] identifiers;
+
+  @Setup
+  public void setup() {
+    collectionMap = new CollectionMap();
+    identifiers = new CollectionIdentifier[numCollections];
+    for (int i = 0; i < numCollections; i++) {
+      identifiers[i] = new CollectionIdentifier("bucket", Optional.of("tenants"), Optional.of("tenant-" + i));
+      collectionMap.put(identifiers[i], UnsignedLEB128.encode(i + 8));
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int index;
+  }
+
+  @Benchmark
+  public byte[] get(final Cursor cursor) {
+    return collectionMap.get(identifiers[cursor.index++ % numCollections]);
+  }
+
+  @Benchmark
+  public boolean hasBucketMap() {
+    return collectionMap.hasBucketMap("bucket");
+  }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmarks;
+
+import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.ObjectMapper;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.ObjectReader;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.ObjectWriter;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.couchbase.client.core.json.Mapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares data binding of typical document POJOs through the {@link ObjectMapper} convenience methods (which
+ * look up the root (de)serializer on every call) with readers and writers which are cached per type, like the
+ * default JSON serializer does, with and without the Afterburner module.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonDatabindBenchmark {
+
+  /**
+   * The number of line items, which results in documents of roughly 2KB, 8KB and 20KB.
+   */
+  @Param({"16", "64", "176"})
+  int numItems;
+
+  private final ObjectMapper mapper = Mapper.newObjectMapper();
+  private ObjectReader reader;
+  private ObjectWriter writer;
+  private ObjectReader afterburnerReader;
+  private ObjectWriter afterburnerWriter;
+  private Order order;
+  private byte[] encoded;
+
+  @Setup
+  public void setup() throws Exception {
+    reader = mapper.readerFor(Order.class);
+    writer = mapper.writerFor(Order.class);
+
+    ObjectMapper afterburnerMapper = Mapper.newObjectMapper();
+    afterburnerMapper.registerModule(new AfterburnerModule());
+    afterburnerReader = afterburnerMapper.readerFor(Order.class);
+    afterburnerWriter = afterburnerMapper.writerFor(Order.class);
+
+    order = new Order();
+    order.id = "order::123456";
+    order.customer = "customer::98765";
+    order.status = "SHIPPED";
+    order.createdAt = 1_690_000_000_000L;
+    order.items = new ArrayList<>();
+    for (int i = 0; i < numItems; i++) {
+      Item item = new Item();
+      item.sku = "sku-" + i;
+      item.description = "A fairly typical description of line item number " + i;
+      item.quantity = i % 5 + 1;
+      item.price = 9.99 * (i + 1);
+      order.items.add(item);
+    }
+    encoded = mapper.writeValueAsBytes(order);
+  }
+
+  @Benchmark
+  public Order readWithMapper() throws Exception {
+    return mapper.readValue(encoded, Order.class);
+  }
+
+  @Benchmark
+  public Order readWithCachedReader() throws Exception {
+    return reader.readValue(encoded);
+  }
+
+  @Benchmark
+  public Order readWithAfterburner() throws Exception {
+    return afterburnerReader.readValue(encoded);
+  }
+
+  @Benchmark
+  public byte[] writeWithMapper() throws Exception {
+    return mapper.writeValueAsBytes(order);
+  }
+
+  @Benchmark
+  public byte[] writeWithCachedWriter() throws Exception {
+    return writer.writeValueAsBytes(order);
+  }
+
+  @Benchmark
+  public byte[] writeWithAfterburner() throws Exception {
+    return afterburnerWriter.writeValueAsBytes(order);
+  }
+
+  public static class Order {
+    public String id;
+    public String customer;
+    public String status;
+    public long createdAt;
+    public List<Item> items;
+  }
+
+  public static class Item {
+    public String sku;
+    public String description;
+    public int quantity;
+    public double price;
+  }
+
+}
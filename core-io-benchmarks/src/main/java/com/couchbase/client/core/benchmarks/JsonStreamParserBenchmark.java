@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmarks;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.json.stream.JsonStreamParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Measures row extraction from a query-like streaming response, fed in network sized chunks.
+ * <p>
+ * The parser takes ownership of every chunk it is fed, so each chunk is a retained slice of the response.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonStreamParserBenchmark {
+
+  private static final int CHUNK_SIZE = 8192;
+
+  @Param({"100", "10000"})
+  int numRows;
+
+  private ByteBuf response;
+
+  @Setup
+  public void setup() {
+    StringBuilder sb = new StringBuilder("{\"requestID\":\"2ba4e9fd-d5b4-4a4c-9bb2-5a4a1d0f8bd4\",\"signature\":{\"*\":\"*\"},\"results\":[");
+    for (int i = 0; i < numRows; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append("{\"id\":").append(i)
+        .append(",\"name\":\"Airline ").append(i)
+        .append("\",\"country\":\"United States\",\"callsign\":\"CALL").append(i)
+        .append("\",\"tags\":[\"a\",\"b\",\"c\"],\"geo\":{\"lat\":37.6189,\"lon\":-122.3750}}");
+    }
+    sb.append("],\"status\":\"success\",\"metrics\":{\"elapsedTime\":\"1.2ms\",\"resultCount\":").append(numRows).append("}}");
+    response = Unpooled.copiedBuffer(sb.toString(), UTF_8);
+  }
+
+  @TearDown
+  public void teardown() {
+    response.release();
+  }
+
+  @Benchmark
+  public void extractRows(final Blackhole blackhole) {
+    try (JsonStreamParser parser = JsonStreamParser.builder()
+      .doOnValue("/results/-", v -> blackhole.consume(v.readBytes()))
+      .doOnValue("/status", v -> blackhole.consume(v.readString()))
+      .build()) {
+      int readerIndex = 0;
+      int length = response.readableBytes();
+      while (readerIndex < length) {
+        int chunk = Math.min(CHUNK_SIZE, length - readerIndex);
+        parser.feed(response.retainedSlice(readerIndex, chunk));
+        readerIndex += chunk;
+      }
+      parser.endOfInput();
+    }
+  }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmarks;
+
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.io.netty.buffer.UnpooledByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.channel.DefaultChannelId;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.io.CollectionMap;
+import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
+import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.GetResponse;
+import com.couchbase.client.core.msg.kv.UpsertRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding of KV requests and the decoding of KV responses through the {@link MemcacheProtocol}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyValueCodecBenchmark {
+
+  private static final ByteBufAllocator ALLOC = PooledByteBufAllocator.DEFAULT;
+  private static final CollectionIdentifier COLLECTION = CollectionIdentifier.fromDefault("bucket");
+
+  @Param({"128", "4096", "65536"})
+  int contentSize;
+
+  private CoreEnvironment environment;
+  private CoreContext coreContext;
+  private KeyValueChannelContext channelContext;
+  private byte[] content;
+  private ByteBuf getResponse;
+  private GetRequest getRequest;
+
+  @Setup
+  public void setup() {
+    environment = CoreEnvironment.create();
+    coreContext = new CoreContext(null, 1, environment, null);
+    channelContext = new KeyValueChannelContext(null, true, true, Optional.of(COLLECTION.bucket()), true,
+      true, true, new CollectionMap(), DefaultChannelId.newInstance(), true, true);
+
+    content = new byte[contentSize];
+    Arrays.fill(content, (byte) 'a');
+
+    getResponse = MemcacheProtocol.response(UnpooledByteBufAllocator.DEFAULT, MemcacheProtocol.Opcode.GET, (byte) 0, (short) 0,
+      1, 1234, Unpooled.buffer().writeInt(0), Unpooled.EMPTY_BUFFER, Unpooled.wrappedBuffer(content));
+    getRequest = new GetRequest("key", Duration.ofSeconds(2), coreContext, COLLECTION, null, null);
+  }
+
+  @TearDown
+  public void teardown() {
+    getResponse.release();
+    environment.shutdown();
+  }
+
+  @Benchmark
+  public ByteBuf encodeGet() {
+    GetRequest request = new GetRequest("airline_10123", Duration.ofSeconds(2), coreContext, COLLECTION, null, null);
+    ByteBuf encoded = request.encode(ALLOC, 1, channelContext);
+    encoded.release();
+    return encoded;
+  }
+
+  @Benchmark
+  public ByteBuf encodeUpsert() {
+    UpsertRequest request = new UpsertRequest("airline_10123", content, 0, false, 0, Duration.ofSeconds(2),
+      coreContext, COLLECTION, null, Optional.empty(), null);
+    ByteBuf encoded = request.encode(ALLOC, 1, channelContext);
+    encoded.release();
+    return encoded;
+  }
+
+  @Benchmark
+  public GetResponse decodeGet() {
+    return getRequest.decode(getResponse, channelContext);
+  }
+
+  @Benchmark
+  public GetResponse decodeGetRetained() {
+    GetRequest request = new GetRequest("key", Duration.ofSeconds(2), coreContext, COLLECTION, null, null, true);
+    GetResponse response = request.decode(getResponse, channelContext);
+    response.release();
+    return response;
+  }
+
+}
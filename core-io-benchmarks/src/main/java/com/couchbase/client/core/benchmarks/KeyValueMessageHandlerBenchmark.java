@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmarks;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.io.netty.buffer.UnpooledByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.channel.embedded.EmbeddedChannel;
+import com.couchbase.client.core.endpoint.EndpointContext;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.env.PasswordAuthenticator;
+import com.couchbase.client.core.env.SeedNode;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.io.netty.kv.KeyValueMessageHandler;
+import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.util.HostAndPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full write/response round trip through the {@link KeyValueMessageHandler}, with an
+ * {@link EmbeddedChannel} standing in for the server.
+ * <p>
+ * The pipelined benchmark writes a batch of requests before answering all of them, which simulates a
+ * connection with many requests in flight.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyValueMessageHandlerBenchmark {
+
+  private static final String BUCKET = "bucket";
+  private static final CollectionIdentifier COLLECTION = CollectionIdentifier.fromDefault(BUCKET);
+
+  @Param({"1", "64"})
+  int pipelined;
+
+  private CoreEnvironment environment;
+  private Core core;
+  private EndpointContext endpointContext;
+  private EmbeddedChannel channel;
+  private ByteBuf responseTemplate;
+  private GetRequest[] requests;
+
+  @Setup
+  public void setup() {
+    environment = CoreEnvironment.create();
+    core = Core.create(environment, PasswordAuthenticator.create("user", "pass"), SeedNode.LOCALHOST);
+    endpointContext = new EndpointContext(core.context(), new HostAndPort("127.0.0.1", 11210), null,
+      ServiceType.KV, Optional.empty(), Optional.of(BUCKET), Optional.empty());
+    channel = new EmbeddedChannel(new KeyValueMessageHandler(null, endpointContext, Optional.of(BUCKET)));
+
+    byte[] content = new byte[256];
+    Arrays.fill(content, (byte) 'a');
+    responseTemplate = MemcacheProtocol.response(UnpooledByteBufAllocator.DEFAULT, MemcacheProtocol.Opcode.GET, (byte) 0,
+      (short) 0, 0, 1234, Unpooled.buffer().writeInt(0), Unpooled.EMPTY_BUFFER, Unpooled.wrappedBuffer(content));
+    requests = new GetRequest[pipelined];
+  }
+
+  @TearDown
+  public void teardown() {
+    channel.finishAndReleaseAll();
+    responseTemplate.release();
+    core.shutdown().block();
+    environment.shutdown();
+  }
+
+  @Benchmark
+  public GetRequest[] roundTrip() {
+    for (int i = 0; i < pipelined; i++) {
+      requests[i] = new GetRequest("airline_10123", Duration.ofSeconds(2), endpointContext, COLLECTION, null, null);
+      channel.write(requests[i]);
+    }
+    channel.flush();
+
+    ByteBuf written;
+    while ((written = channel.readOutbound()) != null) {
+      int opaque = MemcacheProtocol.opaque(written);
+      written.release();
+      ByteBuf response = responseTemplate.retainedDuplicate();
+      response.setInt(12, opaque);
+      channel.writeInbound(response);
+    }
+    return requests;
+  }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmarks;
+
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.deps.com.google.protobuf.ByteString;
+import com.couchbase.client.core.deps.com.google.protobuf.CodedOutputStream;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.io.netty.buffer.UnpooledByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.channel.DefaultChannelId;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.io.CollectionMap;
+import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
+import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.UpsertRequest;
+import com.couchbase.client.core.protostellar.CoreProtostellarByteStrings;
+import com.couchbase.client.protostellar.kv.v1.GetResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the handling of document content on the Protostellar KV path with the classic KV path.
+ * <p>
+ * On the request side, the content is put into an upsert request and serialized, either copied into the
+ * {@link ByteString} or wrapped. On the response side, a get response is parsed and its content extracted, either
+ * copied or taken over. The classic benchmarks encode an upsert and decode a get through the {@link MemcacheProtocol}
+ * for reference. Run with {@code -prof gc} to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtostellarContentBenchmark {
+
+  private static final ByteBufAllocator ALLOC = PooledByteBufAllocator.DEFAULT;
+  private static final CollectionIdentifier COLLECTION = CollectionIdentifier.fromDefault("bucket");
+
+  @Param({"128", "16384", "1048576"})
+  int contentSize;
+
+  private CoreEnvironment environment;
+  private CoreContext coreContext;
+  private KeyValueChannelContext channelContext;
+  private byte[] content;
+  private byte[] sink;
+  private byte[] encodedGetResponse;
+  private ByteBuf classicGetResponse;
+  private GetRequest classicGetRequest;
+
+  @Setup
+  public void setup() {
+    environment = CoreEnvironment.create();
+    coreContext = new CoreContext(null, 1, environment, null);
+    channelContext = new KeyValueChannelContext(null, true, true, Optional.of(COLLECTION.bucket()), true,
+      true, true, new CollectionMap(), DefaultChannelId.newInstance(), true, true);
+
+    content = new byte[contentSize];
+    Arrays.fill(content, (byte) 'a');
+    sink = new byte[contentSize + 1024];
+
+    encodedGetResponse = GetResponse.newBuilder()
+      .setContent(ByteString.copyFrom(content))
+      .setContentFlags(0x02000000)
+      .setCas(1234)
+      .build()
+      .toByteArray();
+
+    classicGetResponse = MemcacheProtocol.response(UnpooledByteBufAllocator.DEFAULT, MemcacheProtocol.Opcode.GET,
+      (byte) 0, (short) 0, 1, 1234, Unpooled.buffer().writeInt(0), Unpooled.EMPTY_BUFFER, Unpooled.wrappedBuffer(content));
+    classicGetRequest = new GetRequest("key", Duration.ofSeconds(2), coreContext, COLLECTION, null, null);
+  }
+
+  @TearDown
+  public void teardown() {
+    classicGetResponse.release();
+    environment.shutdown();
+  }
+
+  @Benchmark
+  public int protostellarUpsertCopy() throws IOException {
+    return serialize(ByteString.copyFrom(content));
+  }
+
+  @Benchmark
+  public int protostellarUpsertWrap() throws IOException {
+    return serialize(CoreProtostellarByteStrings.wrap(content));
+  }
+
+  @Benchmark
+  public byte[] protostellarGetCopy() throws IOException {
+    return GetResponse.parseFrom(encodedGetResponse).getContent().toByteArray();
+  }
+
+  @Benchmark
+  public byte[] protostellarGetUnsafe() throws IOException {
+    return CoreProtostellarByteStrings.unsafeBytes(GetResponse.parseFrom(encodedGetResponse).getContent());
+  }
+
+  @Benchmark
+  public ByteBuf classicUpsert() {
+    UpsertRequest request = new UpsertRequest("airline_10123", content, 0, false, 0, Duration.ofSeconds(2),
+      coreContext, COLLECTION, null, Optional.empty(), null);
+    ByteBuf encoded = request.encode(ALLOC, 1, channelContext);
+    encoded.release();
+    return encoded;
+  }
+
+  @Benchmark
+  public byte[] classicGet() {
+    return classicGetRequest.decode(classicGetResponse, channelContext).content();
+  }
+
+  private int serialize(final ByteString value) throws IOException {
+    com.couchbase.client.protostellar.kv.v1.UpsertRequest request = com.couchbase.client.protostellar.kv.v1.UpsertRequest
+      .newBuilder()
+      .setBucketName(COLLECTION.bucket())
+      .setScopeName(CollectionIdentifier.DEFAULT_SCOPE)
+      .setCollectionName(CollectionIdentifier.DEFAULT_COLLECTION)
+      .setKey("airline_10123")
+      .setContent(value)
+      .setContentFlags(0x02000000)
+      .build();
+    CodedOutputStream output = CodedOutputStream.newInstance(sink);
+    request.writeTo(output);
+    return output.getTotalBytesWritten();
+  }
+
+}
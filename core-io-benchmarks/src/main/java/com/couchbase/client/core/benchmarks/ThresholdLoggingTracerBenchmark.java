@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmarks;
+
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.cnc.RequestSpan;
+import com.couchbase.client.core.cnc.SimpleEventBus;
+import com.couchbase.client.core.cnc.tracing.ThresholdLoggingTracer;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creating and finishing request spans in the {@link ThresholdLoggingTracer} for requests which are
+ * below the configured thresholds (the common case).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThresholdLoggingTracerBenchmark {
+
+  private CoreEnvironment environment;
+  private ThresholdLoggingTracer tracer;
+  private GetRequest request;
+
+  @Setup
+  public void setup() {
+    environment = CoreEnvironment.create();
+    tracer = ThresholdLoggingTracer.create(new SimpleEventBus(true));
+    tracer.start().block();
+    request = new GetRequest("key", Duration.ofSeconds(2), new CoreContext(null, 1, environment, null),
+      CollectionIdentifier.fromDefault("bucket"), null, null);
+  }
+
+  @TearDown
+  public void teardown() {
+    tracer.stop(Duration.ofSeconds(1)).block();
+    environment.shutdown();
+  }
+
+  @Benchmark
+  public RequestSpan finishSpan() {
+    return finishSpan0();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public RequestSpan finishSpanContended() {
+    return finishSpan0();
+  }
+
+  private RequestSpan finishSpan0() {
+    RequestSpan span = tracer.requestSpan("get", null);
+    span.requestContext(request.context());
+    span.end();
+    return span;
+  }
+
+}
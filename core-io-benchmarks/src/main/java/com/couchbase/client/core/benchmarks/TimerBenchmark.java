@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmarks;
+
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.Timer;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.GetResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures registering a request with the {@link Timer} and completing it again before the timeout fires,
+ * which is what happens for (almost) every request that is dispatched.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimerBenchmark {
+
+  private static final CollectionIdentifier COLLECTION = CollectionIdentifier.fromDefault("bucket");
+  private static final GetResponse RESPONSE = new GetResponse(ResponseStatus.SUCCESS, new byte[0], 0, 0);
+
+  private CoreEnvironment environment;
+  private CoreContext coreContext;
+  private Timer timer;
+
+  @Setup
+  public void setup() {
+    environment = CoreEnvironment.create();
+    coreContext = new CoreContext(null, 1, environment, null);
+    timer = Timer.createAndStart(environment.maxNumRequestsInRetry());
+  }
+
+  @TearDown
+  public void teardown() {
+    timer.stop();
+    environment.shutdown();
+  }
+
+  @Benchmark
+  public GetRequest registerAndComplete() {
+    return registerAndComplete0();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public GetRequest registerAndCompleteContended() {
+    return registerAndComplete0();
+  }
+
+  @SuppressWarnings("unchecked")
+  private GetRequest registerAndComplete0() {
+    GetRequest request = new GetRequest("key", Duration.ofSeconds(2), coreContext, COLLECTION, null, null);
+    timer.register((Request<Response>) (Request<? extends Response>) request);
+    request.succeed(RESPONSE);
+    return request;
+  }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmarks;
+
+import com.couchbase.client.core.deps.io.netty.bootstrap.Bootstrap;
+import com.couchbase.client.core.deps.io.netty.bootstrap.ServerBootstrap;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.io.netty.buffer.UnpooledByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.channel.Channel;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelInboundHandlerAdapter;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelInitializer;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelOption;
+import com.couchbase.client.core.deps.io.netty.channel.EventLoopGroup;
+import com.couchbase.client.core.deps.io.netty.channel.ServerChannel;
+import com.couchbase.client.core.deps.io.netty.channel.epoll.Epoll;
+import com.couchbase.client.core.deps.io.netty.channel.epoll.EpollEventLoopGroup;
+import com.couchbase.client.core.deps.io.netty.channel.epoll.EpollServerSocketChannel;
+import com.couchbase.client.core.deps.io.netty.channel.epoll.EpollSocketChannel;
+import com.couchbase.client.core.deps.io.netty.channel.nio.NioEventLoopGroup;
+import com.couchbase.client.core.deps.io.netty.channel.socket.nio.NioServerSocketChannel;
+import com.couchbase.client.core.deps.io.netty.channel.socket.nio.NioSocketChannel;
+import com.couchbase.client.core.deps.io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import com.couchbase.client.core.deps.io.netty.util.concurrent.DefaultThreadFactory;
+import com.couchbase.client.core.io.netty.IoUringTransport;
+import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures pipelined KV round trips over a loopback socket with the different netty transports.
+ * <p>
+ * A minimal server answers every memcached GET request with a fixed response which carries the same opaque. The
+ * sample mode reports the latency percentiles (including p99) per batch of pipelined requests. To compare the
+ * syscall counts of the transports, run a single transport under {@code perf stat -e raw_syscalls:sys_enter} or
+ * {@code strace -f -c}.
+ * <p>
+ * Transports which are not available on this platform fail in setup, so their runs are skipped.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransportBenchmark {
+
+  @Param({"nio", "epoll", "io_uring"})
+  String transport;
+
+  @Param({"1", "64"})
+  int pipelined;
+
+  private EventLoopGroup group;
+  private Channel server;
+  private Channel client;
+  private ByteBuf requestTemplate;
+  private final Semaphore responses = new Semaphore(0);
+
+  @Setup
+  public void setup() throws Exception {
+    ThreadFactory threadFactory = new DefaultThreadFactory("cb-bench", true);
+    Class<? extends ServerChannel> serverChannel;
+    Class<? extends Channel> socketChannel;
+    switch (transport) {
+      case "nio":
+        group = new NioEventLoopGroup(2, threadFactory);
+        serverChannel = NioServerSocketChannel.class;
+        socketChannel = NioSocketChannel.class;
+        break;
+      case "epoll":
+        if (!Epoll.isAvailable()) {
+          throw new IllegalStateException("Epoll is not available", Epoll.unavailabilityCause());
+        }
+        group = new EpollEventLoopGroup(2, threadFactory);
+        serverChannel = EpollServerSocketChannel.class;
+        socketChannel = EpollSocketChannel.class;
+        break;
+      case "io_uring":
+        if (!IoUringTransport.isAvailable()) {
+          throw new IllegalStateException("io_uring is not available", IoUringTransport.unavailabilityCause());
+        }
+        group = IoUringTransport.createEventLoopGroup(2, threadFactory);
+        serverChannel = IoUringTransport.serverSocketChannelClass();
+        socketChannel = IoUringTransport.socketChannelClass();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown transport " + transport);
+    }
+
+    byte[] content = new byte[256];
+    ByteBuf response = MemcacheProtocol.response(UnpooledByteBufAllocator.DEFAULT, MemcacheProtocol.Opcode.GET,
+      (byte) 0, (short) 0, 0, 0, Unpooled.buffer().writeInt(0), Unpooled.EMPTY_BUFFER, Unpooled.wrappedBuffer(content));
+    ByteBuf responseTemplate = Unpooled.unreleasableBuffer(response);
+
+    server = new ServerBootstrap()
+      .group(group)
+      .channel(serverChannel)
+      .childOption(ChannelOption.TCP_NODELAY, true)
+      .childHandler(new ChannelInitializer<Channel>() {
+        @Override
+        protected void initChannel(final Channel ch) {
+          ch.pipeline().addLast(frameDecoder(), new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+              ByteBuf request = (ByteBuf) msg;
+              ctx.write(responseTemplate.copy().setInt(12, MemcacheProtocol.opaque(request)));
+              request.release();
+            }
+
+            @Override
+            public void channelReadComplete(final ChannelHandlerContext ctx) {
+              ctx.flush();
+            }
+          });
+        }
+      })
+      .bind(new InetSocketAddress("127.0.0.1", 0))
+      .sync()
+      .channel();
+
+    client = new Bootstrap()
+      .group(group)
+      .channel(socketChannel)
+      .option(ChannelOption.TCP_NODELAY, true)
+      .handler(new ChannelInitializer<Channel>() {
+        @Override
+        protected void initChannel(final Channel ch) {
+          ch.pipeline().addLast(frameDecoder(), new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+              ((ByteBuf) msg).release();
+              responses.release();
+            }
+          });
+        }
+      })
+      .connect(server.localAddress())
+      .sync()
+      .channel();
+
+    requestTemplate = Unpooled.unreleasableBuffer(MemcacheProtocol.request(UnpooledByteBufAllocator.DEFAULT,
+      MemcacheProtocol.Opcode.GET, (byte) 0, (short) 0, 0, 0, Unpooled.EMPTY_BUFFER,
+      Unpooled.wrappedBuffer("airline_10123".getBytes()), Unpooled.EMPTY_BUFFER));
+  }
+
+  @TearDown
+  public void teardown() {
+    client.close().syncUninterruptibly();
+    server.close().syncUninterruptibly();
+    group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+  }
+
+  @Benchmark
+  public void roundTrip() throws InterruptedException {
+    client.eventLoop().execute(() -> {
+      for (int i = 0; i < pipelined; i++) {
+        client.write(requestTemplate.copy().setInt(12, i));
+      }
+      client.flush();
+    });
+    responses.acquire(pipelined);
+  }
+
+  private static LengthFieldBasedFrameDecoder frameDecoder() {
+    // The total body length is at offset 8 of the 24 byte header.
+    return new LengthFieldBasedFrameDecoder(Integer.MAX_VALUE, 8, 4, 12, 0);
+  }
+
+}
@@ -57,13 +57,16 @@ import com.couchbase.client.core.config.ClusterConfig;
 import com.couchbase.client.core.config.ConfigurationProvider;
 import com.couchbase.client.core.config.DefaultConfigurationProvider;
 import com.couchbase.client.core.config.GlobalConfig;
+import com.couchbase.client.core.deps.io.netty.util.Timeout;
 import com.couchbase.client.core.diagnostics.ClusterState;
 import com.couchbase.client.core.diagnostics.EndpointDiagnostics;
 import com.couchbase.client.core.diagnostics.InternalEndpointDiagnostics;
 import com.couchbase.client.core.diagnostics.WaitUntilReadyHelper;
+import com.couchbase.client.core.endpoint.FlushBatch;
 import com.couchbase.client.core.endpoint.http.CoreHttpClient;
 import com.couchbase.client.core.env.Authenticator;
 import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.env.IoConfig;
 import com.couchbase.client.core.env.SeedNode;
 import com.couchbase.client.core.error.AlreadyShutdownException;
 import com.couchbase.client.core.error.ConfigException;
@@ -72,6 +75,7 @@ import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.error.RequestCanceledException;
 import com.couchbase.client.core.error.UnsupportedConfigMechanismException;
 import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.io.netty.kv.CompressionMetrics;
 import com.couchbase.client.core.manager.CoreBucketManagerOps;
 import com.couchbase.client.core.manager.CoreCollectionManager;
 import com.couchbase.client.core.msg.CancellationReason;
@@ -97,6 +101,7 @@ import com.couchbase.client.core.protostellar.query.ProtostellarCoreQueryOps;
 import com.couchbase.client.core.service.ServiceScope;
 import com.couchbase.client.core.service.ServiceState;
 import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.service.kv.ObserveCoordinator;
 import com.couchbase.client.core.transaction.cleanup.CoreTransactionsCleanup;
 import com.couchbase.client.core.transaction.components.CoreTransactionRequest;
 import com.couchbase.client.core.transaction.context.CoreTransactionsContext;
@@ -114,6 +119,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -125,6 +131,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -143,41 +150,12 @@ import static java.util.Objects.requireNonNull;
 @Stability.Volatile
 public class Core implements CoreCouchbaseOps, AutoCloseable {
 
-  /**
-   * Locates the right node for the KV service.
-   */
-  private static final KeyValueLocator KEY_VALUE_LOCATOR = new KeyValueLocator();
-
   /**
    * Locates the right node for the manager service.
    */
   private static final RoundRobinLocator MANAGER_LOCATOR =
     new RoundRobinLocator(ServiceType.MANAGER);
 
-  /**
-   * Locates the right node for the query service.
-   */
-  private static final RoundRobinLocator QUERY_LOCATOR =
-    new RoundRobinLocator(ServiceType.QUERY);
-
-  /**
-   * Locates the right node for the analytics service.
-   */
-  private static final RoundRobinLocator ANALYTICS_LOCATOR =
-    new AnalyticsLocator();
-
-  /**
-   * Locates the right node for the search service.
-   */
-  private static final RoundRobinLocator SEARCH_LOCATOR =
-    new RoundRobinLocator(ServiceType.SEARCH);
-
-  /**
-   * Locates the right node for the view service.
-   */
-  private static final RoundRobinLocator VIEWS_LOCATOR =
-    new ViewLocator();
-
   private static final RoundRobinLocator EVENTING_LOCATOR =
     new RoundRobinLocator(ServiceType.EVENTING);
 
@@ -209,6 +187,37 @@ public class Core implements CoreCouchbaseOps, AutoCloseable {
    */
   private final CopyOnWriteArrayList<Node> nodes;
 
+  /**
+   * Locates the right node for the KV service.
+   * <p>
+   * Unlike the other locators this one is not shared across cores, since it caches routing state for the nodes
+   * managed by this core.
+   */
+  private final KeyValueLocator keyValueLocator = new KeyValueLocator();
+
+  /**
+   * Locates the right node for the query service.
+   * <p>
+   * This and the following locators are created per core, since their node selection depends on the
+   * {@link IoConfig#endpointSelection(ServiceType)} of the environment.
+   */
+  private final RoundRobinLocator queryLocator;
+
+  /**
+   * Locates the right node for the analytics service.
+   */
+  private final RoundRobinLocator analyticsLocator;
+
+  /**
+   * Locates the right node for the search service.
+   */
+  private final RoundRobinLocator searchLocator;
+
+  /**
+   * Locates the right node for the view service.
+   */
+  private final RoundRobinLocator viewsLocator;
+
   /**
    * Reconfigures the core in response to configs emitted by {@link #configurationProvider}.
    */
@@ -243,6 +252,31 @@ public class Core implements CoreCouchbaseOps, AutoCloseable {
    */
   private final Map<ResponseMetricIdentifier, ValueRecorder> responseMetrics = new ConcurrentHashMap<>();
 
+  /**
+   * Holds the response metrics of successful KV requests per request name and collection.
+   */
+  private final Map<String, Map<CollectionIdentifier, ValueRecorder>> kvSuccessMetrics = new ConcurrentHashMap<>();
+
+  /**
+   * Caches the exception names used as the outcome tag, so they are only computed once per exception type.
+   */
+  private static final ClassValue<String> OUTCOME_NAMES = new ClassValue<String>() {
+    @Override
+    protected String computeValue(final Class<?> type) {
+      return type.getSimpleName().replace("Exception", "");
+    }
+  };
+
+  /**
+   * Holds the compression metrics per collection.
+   */
+  private final Map<CollectionIdentifier, CompressionMetrics> compressionMetrics = new ConcurrentHashMap<>();
+
+  /**
+   * Coalesces the observe polls of concurrent PersistTo/ReplicateTo durability checks.
+   */
+  private final ObserveCoordinator observeCoordinator = new ObserveCoordinator();
+
   private final CoreTransactionsCleanup transactionsCleanup;
 
   private final CoreTransactionsContext transactionsContext;
@@ -289,6 +323,10 @@ public class Core implements CoreCouchbaseOps, AutoCloseable {
     this.coreContext = new CoreContext(this, CoreIdGenerator.nextId(), environment, authenticator);
     this.configurationProvider = createConfigurationProvider();
     this.nodes = new CopyOnWriteArrayList<>();
+    this.queryLocator = new RoundRobinLocator(ServiceType.QUERY, environment.ioConfig().endpointSelection(ServiceType.QUERY));
+    this.analyticsLocator = new AnalyticsLocator(environment.ioConfig().endpointSelection(ServiceType.ANALYTICS));
+    this.searchLocator = new RoundRobinLocator(ServiceType.SEARCH, environment.ioConfig().endpointSelection(ServiceType.SEARCH));
+    this.viewsLocator = new ViewLocator(environment.ioConfig().endpointSelection(ServiceType.VIEWS));
     this.eventBus = environment.eventBus();
     this.timer = environment.timer();
     this.currentConfig = configurationProvider.config();
@@ -406,6 +444,83 @@ public class Core implements CoreCouchbaseOps, AutoCloseable {
     locator(request.serviceType()).dispatch(request, nodes, currentConfig, context());
   }
 
+  /**
+   * Sends a batch of KV requests into the core layer.
+   * <p>
+   * Compared to calling {@link #send(Request)} for each request, requests with the same timeout share a single
+   * timeout registration, they are dispatched grouped by their target node and every KV channel written to is only
+   * flushed once at the end of the batch.
+   *
+   * @param requests the requests to dispatch.
+   */
+  @Stability.Internal
+  public void sendBatch(final List<? extends KeyValueRequest<?>> requests) {
+    if (requests.isEmpty()) {
+      return;
+    }
+
+    if (shutdown.get()) {
+      for (KeyValueRequest<?> request : requests) {
+        request.cancel(CancellationReason.SHUTDOWN);
+      }
+      return;
+    }
+
+    for (KeyValueRequest<?> request : requests) {
+      for (BeforeSendRequestCallback cb : beforeSendRequestCallbacks) {
+        cb.beforeSend(request);
+      }
+    }
+
+    if (registerBatchTimeouts(timer, requests) == null) {
+      return;
+    }
+
+    final ClusterConfig config = currentConfig;
+    final List<? extends KeyValueRequest<?>> grouped = KeyValueLocator.groupByNode(requests, config);
+    FlushBatch.run(() -> {
+      for (KeyValueRequest<?> request : grouped) {
+        keyValueLocator.dispatch(request, nodes, config, context());
+      }
+    });
+  }
+
+  /**
+   * Registers the timeouts of a batch of requests, sharing one registration between all requests which have the
+   * same timeout. Each registration is cancelled as soon as all of its requests have completed.
+   *
+   * @param timer the timer to register with.
+   * @param requests the requests to register.
+   * @return the registrations, or null if the timer has been stopped (in which case the requests got cancelled).
+   */
+  static List<Timeout> registerBatchTimeouts(final Timer timer, final List<? extends Request<?>> requests) {
+    Map<Duration, List<Request<?>>> byTimeout = new LinkedHashMap<>();
+    for (Request<?> request : requests) {
+      byTimeout.computeIfAbsent(request.timeout(), k -> new ArrayList<>()).add(request);
+    }
+
+    List<Timeout> registrations = new ArrayList<>(byTimeout.size());
+    boolean stopped = false;
+    for (Map.Entry<Duration, List<Request<?>>> group : byTimeout.entrySet()) {
+      Timeout registration = timer.registerBatch(group.getValue(), group.getKey());
+      if (registration == null) {
+        stopped = true;
+        continue;
+      }
+      registrations.add(registration);
+
+      AtomicInteger remaining = new AtomicInteger(group.getValue().size());
+      for (Request<?> request : group.getValue()) {
+        request.response().whenComplete((response, failure) -> {
+          if (remaining.decrementAndGet() == 0) {
+            registration.cancel();
+          }
+        });
+      }
+    }
+    return stopped ? null : registrations;
+  }
+
   /**
    * Returns the {@link CoreContext} of this core instance.
    */
@@ -543,11 +658,14 @@ public class Core implements CoreCouchbaseOps, AutoCloseable {
       NanoTimestamp start = NanoTimestamp.now();
       return configurationProvider
         .closeBucket(name, !shutdown.get())
-        .doOnSuccess(ignored -> eventBus.publish(new BucketClosedEvent(
-          start.elapsed(),
-          coreContext,
-          name
-        )));
+        .doOnSuccess(ignored -> {
+          keyValueLocator.bucketClosed(name);
+          eventBus.publish(new BucketClosedEvent(
+            start.elapsed(),
+            coreContext,
+            name
+          ));
+        });
     });
   }
 
@@ -580,6 +698,7 @@ public class Core implements CoreCouchbaseOps, AutoCloseable {
       .switchIfEmpty(Mono.defer(() -> {
         Node node = createNode(identifier, alternateAddress);
         nodes.add(node);
+        keyValueLocator.nodesChanged();
         return Mono.just(node);
       }))
       .flatMap(node -> node.addService(serviceType, port, bucket))
@@ -588,15 +707,58 @@ public class Core implements CoreCouchbaseOps, AutoCloseable {
 
   @Stability.Internal
   public ValueRecorder responseMetric(final Request<?> request, @Nullable Throwable err) {
+    if (err == null && request instanceof KeyValueRequest) {
+      ValueRecorder recorder = kvSuccessMetric((KeyValueRequest<?>) request);
+      if (recorder != null) {
+        return recorder;
+      }
+    }
+
     String exceptionSimpleName = null;
     if (err instanceof CompletionException) {
-      exceptionSimpleName = err.getCause().getClass().getSimpleName().replace("Exception", "");
+      exceptionSimpleName = OUTCOME_NAMES.get(err.getCause().getClass());
     } else if (err != null) {
-      exceptionSimpleName = err.getClass().getSimpleName().replace("Exception", "");
+      exceptionSimpleName = OUTCOME_NAMES.get(err.getClass());
+    }
+    return responseMetric(new ResponseMetricIdentifier(request, exceptionSimpleName), request);
+  }
+
+  /**
+   * Resolves the response metric of a successful KV request without allocating an identifier.
+   * <p>
+   * Request names are constants and collection identifiers cache their hash, so once the recorder exists this is
+   * two plain map reads.
+   *
+   * @return the recorder, or null if the request does not carry enough information to be looked up this way.
+   */
+  private ValueRecorder kvSuccessMetric(final KeyValueRequest<?> request) {
+    String name = request.name();
+    CollectionIdentifier collectionIdentifier = request.collectionIdentifier();
+    if (name == null || collectionIdentifier == null) {
+      return null;
+    }
+
+    Map<CollectionIdentifier, ValueRecorder> byCollection = kvSuccessMetrics.get(name);
+    if (byCollection == null) {
+      byCollection = kvSuccessMetrics.computeIfAbsent(name, k -> new ConcurrentHashMap<>());
+    }
+    ValueRecorder recorder = byCollection.get(collectionIdentifier);
+    if (recorder == null) {
+      recorder = byCollection.computeIfAbsent(
+        collectionIdentifier,
+        k -> responseMetric(new ResponseMetricIdentifier(request, null), request)
+      );
+    }
+    return recorder;
+  }
+
+  private ValueRecorder responseMetric(final ResponseMetricIdentifier identifier, final Request<?> request) {
+    ValueRecorder recorder = responseMetrics.get(identifier);
+    if (recorder != null) {
+      return recorder;
     }
-    final String finalExceptionSimpleName = exceptionSimpleName;
 
-    return responseMetrics.computeIfAbsent(new ResponseMetricIdentifier(request, exceptionSimpleName), key -> {
+    return responseMetrics.computeIfAbsent(identifier, key -> {
       Map<String, String> tags = new HashMap<>(7);
       if (key.serviceType == null) {
         // Virtual service
@@ -618,8 +780,8 @@ public class Core implements CoreCouchbaseOps, AutoCloseable {
         tags.put(TracingIdentifiers.ATTR_COLLECTION, key.collectionName);
       }
 
-      if (finalExceptionSimpleName != null) {
-        tags.put(TracingIdentifiers.ATTR_OUTCOME, finalExceptionSimpleName);
+      if (key.exceptionSimpleName != null) {
+        tags.put(TracingIdentifiers.ATTR_OUTCOME, key.exceptionSimpleName);
       } else {
         tags.put(TracingIdentifiers.ATTR_OUTCOME, "Success");
       }
@@ -628,6 +790,37 @@ public class Core implements CoreCouchbaseOps, AutoCloseable {
     });
   }
 
+  /**
+   * Returns the meters which track how well values compress for the given collection.
+   *
+   * @param collectionIdentifier the collection the values are written to.
+   * @return the (cached) compression metrics for the collection.
+   */
+  @Stability.Internal
+  public CompressionMetrics compressionMetrics(final CollectionIdentifier collectionIdentifier) {
+    CompressionMetrics metrics = compressionMetrics.get(collectionIdentifier);
+    if (metrics != null) {
+      return metrics;
+    }
+
+    return compressionMetrics.computeIfAbsent(collectionIdentifier, key -> {
+      Map<String, String> tags = new HashMap<>(5);
+      tags.put(TracingIdentifiers.ATTR_SERVICE, TracingIdentifiers.SERVICE_KV);
+      tags.put(TracingIdentifiers.ATTR_NAME, key.bucket());
+      tags.put(TracingIdentifiers.ATTR_SCOPE, key.scope().orElse(CollectionIdentifier.DEFAULT_SCOPE));
+      tags.put(TracingIdentifiers.ATTR_COLLECTION, key.collection().orElse(CollectionIdentifier.DEFAULT_COLLECTION));
+      return new CompressionMetrics(coreContext.environment().meter(), tags);
+    });
+  }
+
+  /**
+   * Returns the coordinator which coalesces the observe polls of legacy durability checks.
+   */
+  @Stability.Internal
+  public ObserveCoordinator observeCoordinator() {
+    return observeCoordinator;
+  }
+
   /**
    * Create a {@link Node} from the given identifier.
    *
@@ -670,7 +863,10 @@ public class Core implements CoreCouchbaseOps, AutoCloseable {
       }
 
       if ((!stillPresentInBuckets && !stillPresentInGlobal) || !node.hasServicesEnabled()) {
-        return node.disconnect().doOnTerminate(() -> nodes.remove(node));
+        return node.disconnect().doOnTerminate(() -> {
+          nodes.remove(node);
+          keyValueLocator.nodesChanged();
+        });
       }
 
       return Mono.empty();
@@ -968,20 +1164,20 @@ public class Core implements CoreCouchbaseOps, AutoCloseable {
    * @param serviceType the service type for which a locator should be returned.
    * @return the locator for the service type, or an exception if unknown.
    */
-  private static Locator locator(final ServiceType serviceType) {
+  private Locator locator(final ServiceType serviceType) {
     switch (serviceType) {
       case KV:
-        return KEY_VALUE_LOCATOR;
+        return keyValueLocator;
       case MANAGER:
         return MANAGER_LOCATOR;
       case QUERY:
-        return QUERY_LOCATOR;
+        return queryLocator;
       case ANALYTICS:
-        return ANALYTICS_LOCATOR;
+        return analyticsLocator;
       case SEARCH:
-        return SEARCH_LOCATOR;
+        return searchLocator;
       case VIEWS:
-        return VIEWS_LOCATOR;
+        return viewsLocator;
       case EVENTING:
         return EVENTING_LOCATOR;
       case BACKUP:
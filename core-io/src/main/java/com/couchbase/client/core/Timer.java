@@ -25,12 +25,21 @@ import com.couchbase.client.core.deps.io.netty.util.Timeout;
 import com.couchbase.client.core.deps.io.netty.util.concurrent.DefaultThreadFactory;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * The {@link Timer} acts as the main timing facility for various operations, for
  * example to track and time out requests if they run for too long or for rescheduling needs.
+ * <p>
+ * The timer is split into multiple shards (by default one per event loop thread, see
+ * {@link com.couchbase.client.core.env.CoreEnvironment#timerShards()}), each one being its own wheel driven by its own thread. A
+ * calling thread always picks the same shard, so threads submitting (and cancelling) timeouts concurrently (like
+ * the event loops completing requests) do not contend on a single timeout queue. Independent of the sharding,
+ * the number of requests outstanding for retry is kept in a striped counter.
  *
  * @since 2.0.0
  */
@@ -47,9 +56,25 @@ public class Timer {
   private static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
 
   /**
-   * The internal timer.
+   * The maximum number of shards, since every shard runs its own ticking thread.
    */
-  private final HashedWheelTimer wheelTimer;
+  public static final int MAX_NUM_SHARDS = 16;
+
+  /**
+   * Hands out a slot to every thread which uses a sharded timer, so that threads are spread evenly across shards.
+   */
+  private static final AtomicInteger NEXT_THREAD_SLOT = new AtomicInteger();
+
+  /**
+   * The slot of the current thread, assigned on first use.
+   */
+  private static final ThreadLocal<Integer> THREAD_SLOT =
+    ThreadLocal.withInitial(() -> NEXT_THREAD_SLOT.getAndIncrement() & Integer.MAX_VALUE);
+
+  /**
+   * The internal timers, one per shard.
+   */
+  private final HashedWheelTimer[] wheelTimers;
 
   /**
    * Set to true once stopped.
@@ -59,7 +84,7 @@ public class Timer {
   /**
    * Number of requests currently outstanding for retry.
    */
-  private final AtomicLong outstandingForRetry = new AtomicLong(0);
+  private final LongAdder outstandingForRetry = new LongAdder();
 
   /**
    * The maximum number of outstanding operations until backpressure kicks in.
@@ -73,7 +98,18 @@ public class Timer {
    * @return the created timer.
    */
   public static Timer create(final long maxNumRequestsInRetry) {
-    return new Timer(maxNumRequestsInRetry);
+    return create(maxNumRequestsInRetry, defaultNumShards(Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * Creates a new {@link Timer} with a custom number of shards.
+   *
+   * @param maxNumRequestsInRetry the maximum number of requests in retry allowed before backpressure hits.
+   * @param numShards the number of independent wheels (and threads) to spread the timeouts across.
+   * @return the created timer.
+   */
+  public static Timer create(final long maxNumRequestsInRetry, final int numShards) {
+    return new Timer(maxNumRequestsInRetry, numShards);
   }
 
   /**
@@ -88,18 +124,63 @@ public class Timer {
     return timer;
   }
 
+  /**
+   * Creates and starts a timer with a custom number of shards.
+   *
+   * @param maxNumRequestsInRetry the maximum number of requests in retry allowed before backpressure hits.
+   * @param numShards the number of independent wheels (and threads) to spread the timeouts across.
+   * @return the created and started timer.
+   */
+  public static Timer createAndStart(final long maxNumRequestsInRetry, final int numShards) {
+    Timer timer = create(maxNumRequestsInRetry, numShards);
+    timer.start();
+    return timer;
+  }
+
   /**
    * Internal timer constructor.
    *
    * @param maxNumRequestsInRetry the maximum number of requests in retry allowed before backpressure hits.
+   * @param numShards the number of shards to create.
    */
-  private Timer(final long maxNumRequestsInRetry) {
+  private Timer(final long maxNumRequestsInRetry, final int numShards) {
+    if (numShards < 1 || numShards > MAX_NUM_SHARDS) {
+      throw new IllegalArgumentException("The number of timer shards must be between 1 and " + MAX_NUM_SHARDS
+        + ", but got " + numShards);
+    }
     this.maxNumRequestsInRetry = maxNumRequestsInRetry;
-    wheelTimer = new HashedWheelTimer(
-      new DefaultThreadFactory("cb-timer", true),
-      DEFAULT_TICK_DURATION.toMillis(),
-      TimeUnit.MILLISECONDS
-    );
+    wheelTimers = new HashedWheelTimer[numShards];
+    for (int i = 0; i < numShards; i++) {
+      wheelTimers[i] = new HashedWheelTimer(
+        new DefaultThreadFactory("cb-timer", true),
+        DEFAULT_TICK_DURATION.toMillis(),
+        TimeUnit.MILLISECONDS
+      );
+    }
+  }
+
+  /**
+   * Returns the default number of shards for the given number of threads which schedule timeouts (usually the
+   * event loops), which is one shard per thread capped at {@link #MAX_NUM_SHARDS}.
+   *
+   * @param numThreads the number of threads scheduling timeouts.
+   * @return the number of shards to use.
+   */
+  public static int defaultNumShards(final int numThreads) {
+    return Math.max(1, Math.min(numThreads, MAX_NUM_SHARDS));
+  }
+
+  /**
+   * Returns the shard for the calling thread.
+   * <p>
+   * Every thread gets a slot assigned the first time it uses a sharded timer, so a thread keeps using the same
+   * wheel and the event loop threads (which all schedule timeouts) are spread round-robin across the wheels.
+   */
+  private HashedWheelTimer wheelTimer() {
+    if (wheelTimers.length == 1) {
+      return wheelTimers[0];
+    }
+    return wheelTimers[THREAD_SLOT.get() % wheelTimers.length];
   }
 
   /**
@@ -118,7 +199,7 @@ public class Timer {
       return;
     }
 
-    if (outstandingForRetry.get() >= maxNumRequestsInRetry) {
+    if (outstandingForRetry.sum() >= maxNumRequestsInRetry) {
       request.cancel(CancellationReason.TOO_MANY_REQUESTS_IN_RETRY);
       return;
     }
@@ -144,15 +225,14 @@ public class Timer {
       return null;
     }
 
-    if (outstandingForRetry.incrementAndGet() >= maxNumRequestsInRetry) {
-      if (respectMax) {
-        outstandingForRetry.getAndDecrement();
-        return null;
-      }
+    outstandingForRetry.increment();
+    if (respectMax && outstandingForRetry.sum() >= maxNumRequestsInRetry) {
+      outstandingForRetry.decrement();
+      return null;
     }
 
-    return wheelTimer.newTimeout(timeout -> {
-      outstandingForRetry.decrementAndGet();
+    return wheelTimer().newTimeout(timeout -> {
+      outstandingForRetry.decrement();
       callback.run();
     }, runAfter.toNanos(), TimeUnit.NANOSECONDS);
   }
@@ -168,7 +248,7 @@ public class Timer {
       return;
     }
 
-    final Timeout registration = wheelTimer.newTimeout(
+    final Timeout registration = wheelTimer().newTimeout(
       timeout -> request.cancel(CancellationReason.TIMEOUT),
       request.timeout().toNanos(),
       TimeUnit.NANOSECONDS
@@ -176,11 +256,47 @@ public class Timer {
     request.timeoutRegistration(registration);
   }
 
+  /**
+   * Registers a batch of requests which share a single deadline.
+   * <p>
+   * Instead of one timeout per request, a single timeout is scheduled which cancels all requests of the batch
+   * that are still incomplete once it fires. The caller is responsible for cancelling the returned registration
+   * once all requests have completed. Note that the registration is not attached to the individual requests,
+   * since completing one of them must not cancel the timeout for the others.
+   *
+   * @param requests the requests to track.
+   * @param timeout the timeout for the whole batch.
+   * @return the shared registration, or null if the timer is already stopped (and the requests got cancelled).
+   */
+  public Timeout registerBatch(final Collection<? extends Request<? extends Response>> requests,
+                               final Duration timeout) {
+    if (stopped) {
+      for (Request<? extends Response> request : requests) {
+        request.cancel(CancellationReason.SHUTDOWN);
+      }
+      return null;
+    }
+
+    return wheelTimer().newTimeout(
+      t -> {
+        for (Request<? extends Response> request : requests) {
+          if (!request.completed()) {
+            request.cancel(CancellationReason.TIMEOUT);
+          }
+        }
+      },
+      timeout.toNanos(),
+      TimeUnit.NANOSECONDS
+    );
+  }
+
   /**
    * Starts this timer.
    */
   public void start() {
-    wheelTimer.start();
+    for (HashedWheelTimer wheelTimer : wheelTimers) {
+      wheelTimer.start();
+    }
   }
 
   /**
@@ -188,7 +304,9 @@ public class Timer {
    */
   public void stop() {
     stopped = true;
-    wheelTimer.stop();
+    for (HashedWheelTimer wheelTimer : wheelTimers) {
+      wheelTimer.stop();
+    }
   }
 
 
@@ -196,13 +314,13 @@ public class Timer {
    * Returns the number of requests currently outstanding for retry.
    */
   public long outstandingForRetry() {
-    return outstandingForRetry.get();
+    return outstandingForRetry.sum();
   }
 
   @Override
   public String toString() {
     return "Timer{" +
-      "wheelTimer=" + wheelTimer +
+      "wheelTimers=" + Arrays.toString(wheelTimers) +
       ", stopped=" + stopped +
       ", outstandingForRetry=" + outstandingForRetry +
       ", maxNumRequestsInRetry=" + maxNumRequestsInRetry +
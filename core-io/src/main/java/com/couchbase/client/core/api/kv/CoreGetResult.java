@@ -18,15 +18,19 @@ package com.couchbase.client.core.api.kv;
 
 import com.couchbase.client.core.CoreKeyspace;
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
 import reactor.util.annotation.Nullable;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
 
 import static java.util.Objects.requireNonNull;
 
 @Stability.Internal
 public final class CoreGetResult extends CoreKvResult {
-  private final byte[] content;
+  private byte[] content;
+  @Nullable private final ByteBuf contentBuffer;
   private final int flags;
   private final long cas;
   @Nullable private final Instant expiry;
@@ -41,19 +45,72 @@ public final class CoreGetResult extends CoreKvResult {
       long cas,
       @Nullable Instant expiry,
       boolean replica
+  ) {
+    this(meta, keyspace, key, requireNonNull(content), null, flags, cas, expiry, replica);
+  }
+
+  private CoreGetResult(
+      @Nullable CoreKvResponseMetadata meta,
+      CoreKeyspace keyspace,
+      String key,
+      @Nullable byte[] content,
+      @Nullable ByteBuf contentBuffer,
+      int flags,
+      long cas,
+      @Nullable Instant expiry,
+      boolean replica
   ) {
     super(keyspace, key, meta);
-    this.content = requireNonNull(content);
+    this.content = content;
+    this.contentBuffer = contentBuffer;
     this.flags = flags;
     this.cas = cas;
     this.expiry = expiry;
     this.replica = replica;
   }
 
+  /**
+   * Creates a result which reads its content from a (retained) network buffer instead of an array copy.
+   * <p>
+   * The result does not take ownership of the buffer: whoever created the buffer view releases it, and the
+   * content must be consumed before that happens.
+   */
+  public static CoreGetResult withContentBuffer(
+      @Nullable CoreKvResponseMetadata meta,
+      CoreKeyspace keyspace,
+      String key,
+      ByteBuf contentBuffer,
+      int flags,
+      long cas,
+      @Nullable Instant expiry,
+      boolean replica
+  ) {
+    return new CoreGetResult(meta, keyspace, key, null, requireNonNull(contentBuffer), flags, cas, expiry, replica);
+  }
+
+  /**
+   * Returns the content.
+   * <p>
+   * If this result reads from a network buffer, the content is copied out of the buffer on first access.
+   */
   public byte[] content() {
+    if (content == null) {
+      content = ByteBufUtil.getBytes(contentBuffer);
+    }
     return content;
   }
 
+  /**
+   * Returns a read-only view of the content, without copying it if this result reads from a network buffer.
+   * <p>
+   * In that case the view is only valid until the network buffer is released.
+   */
+  public ByteBuffer contentBuffer() {
+    return contentBuffer != null
+      ? contentBuffer.nioBuffer().asReadOnlyBuffer()
+      : ByteBuffer.wrap(content).asReadOnlyBuffer();
+  }
+
   public int flags() {
     return flags;
   }
@@ -26,11 +26,16 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import static java.util.Collections.emptyList;
+
 @Stability.Internal
 public interface CoreKvOps {
 
@@ -412,6 +417,70 @@ public interface CoreKvOps {
     ).toMono());
   }
 
+  /**
+   * Fetches multiple documents at once.
+   * <p>
+   * The default implementation issues one {@link #getAsync} per key, implementations are free to dispatch the
+   * whole batch more efficiently.
+   *
+   * @return one response per distinct key, in the iteration order of the given keys.
+   */
+  default Map<String, CoreAsyncResponse<CoreGetResult>> getMultiAsync(
+      CoreCommonOptions common,
+      Collection<String> keys
+  ) {
+    Map<String, CoreAsyncResponse<CoreGetResult>> responses = new LinkedHashMap<>();
+    for (String key : keys) {
+      if (!responses.containsKey(key)) {
+        responses.put(key, getAsync(common, key, emptyList(), false));
+      }
+    }
+    return responses;
+  }
+
+  /**
+   * Upserts multiple documents at once.
+   * <p>
+   * The default implementation issues one {@link #upsertAsync} per document, implementations are free to
+   * dispatch the whole batch more efficiently.
+   *
+   * @return one response per document, in the iteration order of the given map.
+   */
+  default Map<String, CoreAsyncResponse<CoreMutationResult>> upsertMultiAsync(
+      CoreCommonOptions common,
+      Map<String, Supplier<CoreEncodedContent>> documents,
+      CoreDurability durability,
+      CoreExpiry expiry,
+      boolean preserveExpiry
+  ) {
+    Map<String, CoreAsyncResponse<CoreMutationResult>> responses = new LinkedHashMap<>();
+    documents.forEach((key, content) ->
+        responses.put(key, upsertAsync(common, key, content, durability, expiry, preserveExpiry)));
+    return responses;
+  }
+
+  /**
+   * Removes multiple documents at once, regardless of their CAS.
+   * <p>
+   * The default implementation issues one {@link #removeAsync} per key, implementations are free to dispatch the
+   * whole batch more efficiently.
+   *
+   * @return one response per distinct key, in the iteration order of the given keys.
+   */
+  default Map<String, CoreAsyncResponse<CoreMutationResult>> removeMultiAsync(
+      CoreCommonOptions common,
+      Collection<String> keys,
+      CoreDurability durability
+  ) {
+    Map<String, CoreAsyncResponse<CoreMutationResult>> responses = new LinkedHashMap<>();
+    for (String key : keys) {
+      if (!responses.containsKey(key)) {
+        responses.put(key, removeAsync(common, key, 0, durability));
+      }
+    }
+    return responses;
+  }
+
   Flux<CoreRangeScanItem> scanRequestReactive(
     CoreScanType scanType,
     CoreScanOptions options);
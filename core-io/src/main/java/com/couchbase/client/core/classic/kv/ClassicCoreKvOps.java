@@ -65,6 +65,7 @@ import com.couchbase.client.core.msg.kv.GetAndLockRequest;
 import com.couchbase.client.core.msg.kv.GetAndTouchRequest;
 import com.couchbase.client.core.msg.kv.GetMetaRequest;
 import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.GetResponse;
 import com.couchbase.client.core.msg.kv.InsertRequest;
 import com.couchbase.client.core.msg.kv.KeyValueRequest;
 import com.couchbase.client.core.msg.kv.RemoveRequest;
@@ -88,8 +89,13 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
@@ -125,6 +131,7 @@ import static com.couchbase.client.core.msg.ResponseStatus.NOT_STORED;
 import static com.couchbase.client.core.msg.ResponseStatus.SUBDOC_FAILURE;
 import static com.couchbase.client.core.util.Validators.notNull;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 
 @Stability.Internal
@@ -155,27 +162,9 @@ public final class ClassicCoreKvOps implements CoreKvOps {
   public CoreAsyncResponse<CoreGetResult> getAsync(CoreCommonOptions common, String key, List<String> projections, boolean withExpiry) {
     validateGetParams(common, key, projections, withExpiry);
 
-    Duration timeout = timeout(common);
-    RetryStrategy retryStrategy = retryStrategy(common);
-
     if (!withExpiry && projections.isEmpty()) {
-      RequestSpan span = span(common, TracingIdentifiers.SPAN_REQUEST_KV_GET);
-      GetRequest request = new GetRequest(key, timeout, ctx, collectionIdentifier, retryStrategy, span);
-      setClientContext(request, common);
-
-      return newAsyncResponse(
-          request,
-          it -> new CoreGetResult(
-              CoreKvResponseMetadata.from(it.flexibleExtras()),
-              keyspace,
-              key,
-              it.content(),
-              it.flags(),
-              it.cas(),
-              null,
-              false
-          )
-      );
+      GetRequest request = getRequest(common, key);
+      return newAsyncResponse(request, it -> getResult(key, it));
     }
 
     SubdocGetRequest request = getWithProjectionsOrExpiryRequest(common, key, projections, withExpiry);
@@ -190,6 +179,96 @@ public final class ClassicCoreKvOps implements CoreKvOps {
     );
   }
 
+  /**
+   * Fetches a full document in retained-buffer mode and decodes it while the network buffer is still alive.
+   * <p>
+   * Instead of a copy, the decoder sees the content through {@link CoreGetResult#contentBuffer()}, a read-only view
+   * of the network buffer. The buffer is released as soon as the decoder returns, so the decoder must not hold on
+   * to the view (or the result) after that.
+   *
+   * @param common the common options.
+   * @param key the document id.
+   * @param decoder turns the result into its final representation.
+   * @return the async response with the decoded value.
+   */
+  public <T> CoreAsyncResponse<T> getAndDecodeAsync(CoreCommonOptions common, String key,
+                                                    Function<CoreGetResult, T> decoder) {
+    validateGetParams(common, key, emptyList(), false);
+    notNull(decoder, "decoder");
+
+    GetRequest request = getRequest(common, key, true);
+    return newAsyncResponse(request, it -> {
+      try {
+        return decoder.apply(retainedGetResult(key, it));
+      } finally {
+        it.release();
+      }
+    });
+  }
+
+  @Override
+  public Map<String, CoreAsyncResponse<CoreGetResult>> getMultiAsync(
+      CoreCommonOptions common,
+      Collection<String> keys
+  ) {
+    Set<String> distinctKeys = new LinkedHashSet<>(notNull(keys, "keys"));
+    for (String key : distinctKeys) {
+      validateGetParams(common, key, emptyList(), false);
+    }
+
+    Map<String, CoreAsyncResponse<CoreGetResult>> responses = new LinkedHashMap<>();
+    List<GetRequest> requests = new ArrayList<>(distinctKeys.size());
+    for (String key : distinctKeys) {
+      GetRequest request = getRequest(common, key);
+      requests.add(request);
+      responses.put(key, ClassicHelper.newAsyncResponse(
+          request,
+          handleResponse(request, ClassicCoreKvOps::commonKvResponseCheck, it -> getResult(key, it))
+      ));
+    }
+
+    core.sendBatch(requests);
+    return responses;
+  }
+
+  private GetRequest getRequest(CoreCommonOptions common, String key) {
+    return getRequest(common, key, false);
+  }
+
+  private GetRequest getRequest(CoreCommonOptions common, String key, boolean retainContent) {
+    RequestSpan span = span(common, TracingIdentifiers.SPAN_REQUEST_KV_GET);
+    GetRequest request = new GetRequest(key, timeout(common), ctx, collectionIdentifier, retryStrategy(common), span,
+      retainContent);
+    setClientContext(request, common);
+    return request;
+  }
+
+  private CoreGetResult getResult(String key, GetResponse response) {
+    return new CoreGetResult(
+        CoreKvResponseMetadata.from(response.flexibleExtras()),
+        keyspace,
+        key,
+        response.content(),
+        response.flags(),
+        response.cas(),
+        null,
+        false
+    );
+  }
+
+  private CoreGetResult retainedGetResult(String key, GetResponse response) {
+    return CoreGetResult.withContentBuffer(
+        CoreKvResponseMetadata.from(response.flexibleExtras()),
+        keyspace,
+        key,
+        response.contentBuffer(),
+        response.flags(),
+        response.cas(),
+        null,
+        false
+    );
+  }
+
   private SubdocGetRequest getWithProjectionsOrExpiryRequest(
       CoreCommonOptions common,
       String key,
@@ -434,6 +513,42 @@ public final class ClassicCoreKvOps implements CoreKvOps {
   ) {
     validateUpsertParams(common, key, content, durability, expiry, preserveExpiry);
 
+    UpsertRequest request = upsertRequest(common, key, content, durability, expiry, preserveExpiry);
+    core.send(request);
+    return upsertResponse(request, key, durability);
+  }
+
+  @Override
+  public Map<String, CoreAsyncResponse<CoreMutationResult>> upsertMultiAsync(
+      CoreCommonOptions common,
+      Map<String, Supplier<CoreEncodedContent>> documents,
+      CoreDurability durability,
+      CoreExpiry expiry,
+      boolean preserveExpiry
+  ) {
+    notNull(documents, "documents");
+    documents.forEach((key, content) -> validateUpsertParams(common, key, content, durability, expiry, preserveExpiry));
+
+    Map<String, CoreAsyncResponse<CoreMutationResult>> responses = new LinkedHashMap<>();
+    List<UpsertRequest> requests = new ArrayList<>(documents.size());
+    documents.forEach((key, content) -> {
+      UpsertRequest request = upsertRequest(common, key, content, durability, expiry, preserveExpiry);
+      requests.add(request);
+      responses.put(key, upsertResponse(request, key, durability));
+    });
+
+    core.sendBatch(requests);
+    return responses;
+  }
+
+  private UpsertRequest upsertRequest(
+      CoreCommonOptions common,
+      String key,
+      Supplier<CoreEncodedContent> content,
+      CoreDurability durability,
+      CoreExpiry expiry,
+      boolean preserveExpiry
+  ) {
     Duration timeout = timeout(common, durability);
     RetryStrategy retryStrategy = retryStrategy(common);
 
@@ -467,21 +582,7 @@ public final class ClassicCoreKvOps implements CoreKvOps {
         .clientContext(common.clientContext())
         .encodeLatency(encodingNanos);
 
-    CompletableFuture<CoreMutationResult> future = executeWithoutMarkingComplete(
-        request,
-        it -> new CoreMutationResult(
-            CoreKvResponseMetadata.from(it.flexibleExtras()),
-            keyspace,
-            key,
-            it.cas(),
-            it.mutationToken()
-        )
-    );
-
-    future = maybeWrapWithLegacyDurability(future, key, durability, core, request)
-        .whenComplete((response, failure) -> markComplete(request, failure));
-
-    return ClassicHelper.newAsyncResponse(request, future);
+    return request;
   }
 
   @Override
@@ -556,6 +657,35 @@ public final class ClassicCoreKvOps implements CoreKvOps {
   ) {
     validateRemoveParams(common, key, cas, durability);
 
+    RemoveRequest request = removeRequest(common, key, cas, durability);
+    core.send(request);
+    return removeResponse(request, key, durability);
+  }
+
+  @Override
+  public Map<String, CoreAsyncResponse<CoreMutationResult>> removeMultiAsync(
+      CoreCommonOptions common,
+      Collection<String> keys,
+      CoreDurability durability
+  ) {
+    Set<String> distinctKeys = new LinkedHashSet<>(notNull(keys, "keys"));
+    for (String key : distinctKeys) {
+      validateRemoveParams(common, key, 0, durability);
+    }
+
+    Map<String, CoreAsyncResponse<CoreMutationResult>> responses = new LinkedHashMap<>();
+    List<RemoveRequest> requests = new ArrayList<>(distinctKeys.size());
+    for (String key : distinctKeys) {
+      RemoveRequest request = removeRequest(common, key, 0, durability);
+      requests.add(request);
+      responses.put(key, removeResponse(request, key, durability));
+    }
+
+    core.sendBatch(requests);
+    return responses;
+  }
+
+  private RemoveRequest removeRequest(CoreCommonOptions common, String key, long cas, CoreDurability durability) {
     Duration timeout = timeout(common, durability);
     RetryStrategy retryStrategy = retryStrategy(common);
 
@@ -575,15 +705,51 @@ public final class ClassicCoreKvOps implements CoreKvOps {
     request.context()
         .clientContext(common.clientContext());
 
-    CompletableFuture<CoreMutationResult> future = executeWithoutMarkingComplete(
+    return request;
+  }
+
+  private CoreAsyncResponse<CoreMutationResult> upsertResponse(
+      UpsertRequest request,
+      String key,
+      CoreDurability durability
+  ) {
+    return mutationResponse(request, key, durability, it -> new CoreMutationResult(
+        CoreKvResponseMetadata.from(it.flexibleExtras()),
+        keyspace,
+        key,
+        it.cas(),
+        it.mutationToken()
+    ));
+  }
+
+  private CoreAsyncResponse<CoreMutationResult> removeResponse(
+      RemoveRequest request,
+      String key,
+      CoreDurability durability
+  ) {
+    return mutationResponse(request, key, durability, it -> new CoreMutationResult(
+        CoreKvResponseMetadata.from(it.flexibleExtras()),
+        keyspace,
+        key,
+        it.cas(),
+        it.mutationToken()
+    ));
+  }
+
+  /**
+   * Turns the response of a (possibly not yet dispatched) mutation into a result, applying legacy durability
+   * if needed.
+   */
+  private <T extends BaseResponse> CoreAsyncResponse<CoreMutationResult> mutationResponse(
+      KeyValueRequest<T> request,
+      String key,
+      CoreDurability durability,
+      Function<T, CoreMutationResult> responseTransformer
+  ) {
+    CompletableFuture<CoreMutationResult> future = handleResponseWithoutMarkingComplete(
         request,
-        it -> new CoreMutationResult(
-            CoreKvResponseMetadata.from(it.flexibleExtras()),
-            keyspace,
-            key,
-            it.cas(),
-            it.mutationToken()
-        )
+        ClassicCoreKvOps::commonKvResponseCheck,
+        responseTransformer
     );
 
     future = maybeWrapWithLegacyDurability(future, key, durability, core, request)
@@ -927,6 +1093,23 @@ public final class ClassicCoreKvOps implements CoreKvOps {
       Function<T, R> responseTransformer
   ) {
     core.send(request);
+    return handleResponseWithoutMarkingComplete(request, responseChecker, responseTransformer);
+  }
+
+  private <T extends BaseResponse, R> CompletableFuture<R> handleResponse(
+      KeyValueRequest<T> request,
+      BiConsumer<KeyValueRequest<T>, T> responseChecker,
+      Function<T, R> responseTransformer
+  ) {
+    return handleResponseWithoutMarkingComplete(request, responseChecker, responseTransformer)
+        .whenComplete((response, failure) -> markComplete(request, failure));
+  }
+
+  private <T extends BaseResponse, R> CompletableFuture<R> handleResponseWithoutMarkingComplete(
+      KeyValueRequest<T> request,
+      BiConsumer<KeyValueRequest<T>, T> responseChecker,
+      Function<T, R> responseTransformer
+  ) {
     return request
         .response()
         .thenApply(response -> {
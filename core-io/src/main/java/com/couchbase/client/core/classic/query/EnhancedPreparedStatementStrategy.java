@@ -24,6 +24,8 @@ import com.couchbase.client.core.msg.query.QueryRequest;
 import com.couchbase.client.core.msg.query.QueryResponse;
 import reactor.core.publisher.Mono;
 
+import java.util.function.Consumer;
+
 /**
  * Server remembers query plan; client sends just the prepared statement name.
  * Client can prepare + execute with a single command.
@@ -36,13 +38,7 @@ public class EnhancedPreparedStatementStrategy extends PreparedStatementStrategy
   }
 
   @Override
-  public Mono<QueryResponse> execute(QueryRequest request) {
-    return Mono.fromCallable(() -> cache.get(request.statement()))
-        .flatMap(preparedStatement -> executeAlreadyPrepared(request, preparedStatement))
-        .switchIfEmpty(prepareAndExecute(request));
-  }
-
-  private Mono<QueryResponse> prepareAndExecute(QueryRequest request) {
+  protected Mono<QueryResponse> prepareAndExecute(QueryRequest request, Consumer<PreparedStatement> onPrepared) {
     return executeAdhoc(request.toPrepareRequest(true, requestTracer())) // auto-execute!
         .flatMap(queryResponse -> {
           // intercept the response and pluck out the prepared statement name
@@ -52,7 +48,7 @@ public class EnhancedPreparedStatementStrategy extends PreparedStatementStrategy
                 new CouchbaseException("Failed to locate prepared statement name in query response; this is a query bug!")
             );
           }
-          cache.put(request.statement(), PreparedStatement.enhanced(preparedName));
+          onPrepared.accept(PreparedStatement.enhanced(preparedName));
           return Mono.just(queryResponse);
         });
   }
@@ -25,6 +25,8 @@ import com.couchbase.client.core.msg.query.QueryRequest;
 import com.couchbase.client.core.msg.query.QueryResponse;
 import reactor.core.publisher.Mono;
 
+import java.util.function.Consumer;
+
 /**
  * Client remembers query plan and sends it on every request.
  * Prepare and execute are separate commands.
@@ -37,9 +39,9 @@ public class LegacyPreparedStatementStrategy extends PreparedStatementStrategy {
   }
 
   @Override
-  public Mono<QueryResponse> execute(QueryRequest request) {
-    return Mono.fromCallable(() -> cache.get(request.statement()))
-        .switchIfEmpty(prepare(request))
+  protected Mono<QueryResponse> prepareAndExecute(QueryRequest request, Consumer<PreparedStatement> onPrepared) {
+    return prepare(request)
+        .doOnNext(onPrepared)
         .flatMap(preparedStatement -> executeAlreadyPrepared(request, preparedStatement));
   }
 
@@ -51,7 +53,6 @@ public class LegacyPreparedStatementStrategy extends PreparedStatementStrategy {
           PreparedStatement prepared = PreparedStatement.legacy(
               node.get("name").textValue(),
               node.get("encoded_plan").textValue());
-          cache.put(originalRequest.statement(), prepared);
           return Mono.just(prepared);
         });
   }
@@ -19,33 +19,95 @@ package com.couchbase.client.core.classic.query;
 import com.couchbase.client.core.Core;
 import com.couchbase.client.core.Reactor;
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.Counter;
+import com.couchbase.client.core.cnc.Meter;
 import com.couchbase.client.core.cnc.RequestTracer;
 import com.couchbase.client.core.msg.query.PreparedStatement;
 import com.couchbase.client.core.msg.query.QueryRequest;
 import com.couchbase.client.core.msg.query.QueryResponse;
-import com.couchbase.client.core.util.LRUCache;
+import com.couchbase.client.core.util.ConcurrentLruCache;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
-import java.util.Collections;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
 
+import static com.couchbase.client.core.cnc.TracingIdentifiers.ATTR_OUTCOME;
+import static com.couchbase.client.core.cnc.TracingIdentifiers.ATTR_SERVICE;
+import static com.couchbase.client.core.cnc.TracingIdentifiers.METER_PREPARED_STATEMENTS;
+import static com.couchbase.client.core.cnc.TracingIdentifiers.METER_PREPARED_STATEMENTS_EVICTIONS;
+import static com.couchbase.client.core.cnc.TracingIdentifiers.SERVICE_QUERY;
+import static com.couchbase.client.core.util.CbCollections.mapOf;
 import static java.util.Objects.requireNonNull;
 
 @Stability.Internal
 public abstract class PreparedStatementStrategy {
   private final Core core;
-  protected final Map<String, PreparedStatement> cache; // key is query statement
+  private final ConcurrentLruCache<String, PreparedStatement> cache; // key is query statement
+
+  /**
+   * Statements which are currently being prepared, so that concurrent cache misses for the same statement
+   * wait for a single PREPARE instead of each sending their own.
+   */
+  private final ConcurrentMap<String, Sinks.One<PreparedStatement>> inFlight = new ConcurrentHashMap<>();
+
+  private final Counter hits;
+  private final Counter misses;
 
   public PreparedStatementStrategy(Core core, int cacheSize) {
     this.core = requireNonNull(core);
-    this.cache = Collections.synchronizedMap(new LRUCache<>(cacheSize));
+
+    Meter meter = core.context().environment().meter();
+    this.hits = meter.counter(METER_PREPARED_STATEMENTS, mapOf(ATTR_SERVICE, SERVICE_QUERY, ATTR_OUTCOME, "hit"));
+    this.misses = meter.counter(METER_PREPARED_STATEMENTS, mapOf(ATTR_SERVICE, SERVICE_QUERY, ATTR_OUTCOME, "miss"));
+    Counter evictions = meter.counter(METER_PREPARED_STATEMENTS_EVICTIONS, mapOf(ATTR_SERVICE, SERVICE_QUERY));
+    this.cache = new ConcurrentLruCache<>(cacheSize, () -> evictions.incrementBy(1));
   }
 
   protected RequestTracer requestTracer() {
     return core.context().environment().requestTracer();
   }
 
-  public abstract Mono<QueryResponse> execute(QueryRequest request);
+  /**
+   * Executes a query using a cached prepared statement, preparing the statement first if needed.
+   */
+  public Mono<QueryResponse> execute(QueryRequest request) {
+    return Mono.defer(() -> {
+      String statement = request.statement();
+      PreparedStatement cached = cache.get(statement);
+      if (cached != null) {
+        hits.incrementBy(1);
+        return executeAlreadyPrepared(request, cached);
+      }
+      misses.incrementBy(1);
+
+      Sinks.One<PreparedStatement> sink = Sinks.one();
+      Sinks.One<PreparedStatement> existing = inFlight.putIfAbsent(statement, sink);
+      if (existing != null) {
+        // Someone else is preparing this statement already. If that fails, start over (and maybe prepare it ourselves).
+        return existing.asMono()
+            .flatMap(prepared -> executeAlreadyPrepared(request, prepared))
+            .switchIfEmpty(Mono.defer(() -> execute(request)));
+      }
+
+      return prepareAndExecute(request, prepared -> {
+        cache.put(statement, prepared);
+        sink.tryEmitValue(prepared);
+      }).doFinally(signal -> {
+        inFlight.remove(statement, sink);
+        sink.tryEmitEmpty();
+      });
+    });
+  }
+
+  /**
+   * Prepares the statement of the request and executes it.
+   *
+   * @param request the query to prepare and execute.
+   * @param onPrepared must be called with the prepared statement as soon as it is known.
+   */
+  protected abstract Mono<QueryResponse> prepareAndExecute(QueryRequest request, Consumer<PreparedStatement> onPrepared);
 
   /**
    * Executes a query using an existing prepared statement.
@@ -280,6 +280,13 @@ public class TracingIdentifiers {
   public static final String METER_OPERATIONS = "db.couchbase.operations";
   public static final String METER_TRANSACTION_TOTAL = "db.couchbase.transactions.total";
   public static final String METER_TRANSACTION_ATTEMPTS = "db.couchbase.transactions.attempts";
+  public static final String METER_COMPRESSION_VALUES = "db.couchbase.compression.values";
+  public static final String METER_COMPRESSION_INPUT_BYTES = "db.couchbase.compression.input_bytes";
+  public static final String METER_COMPRESSION_OUTPUT_BYTES = "db.couchbase.compression.output_bytes";
+  public static final String METER_PREPARED_STATEMENTS = "db.couchbase.query.prepared_statements";
+  public static final String METER_PREPARED_STATEMENTS_EVICTIONS = "db.couchbase.query.prepared_statements.evictions";
+  public static final String METER_TLS_HANDSHAKES = "db.couchbase.tls.handshakes";
+  public static final String METER_TLS_HANDSHAKE_DURATION = "db.couchbase.tls.handshake_duration";
 
   public static final String ATTR_DURABILITY = "db.couchbase.durability";
 
@@ -19,22 +19,52 @@ package com.couchbase.client.core.cnc.metrics;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.ValueRecorder;
 import com.couchbase.client.core.deps.org.HdrHistogram.Histogram;
-import com.couchbase.client.core.deps.org.LatencyUtils.LatencyStats;
+import com.couchbase.client.core.deps.org.HdrHistogram.Recorder;
+import reactor.util.annotation.Nullable;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Aggregates value information in a histogram.
+ * <p>
+ * Values are recorded into one of several striped recorders, chosen by the recording thread, so that threads
+ * which complete requests concurrently do not contend on the same histogram counts. The stripes are plain, packed
+ * HdrHistogram recorders which only grow with the range of values they actually see. They are created lazily
+ * (recorders which only see little traffic usually only ever use one or two) and are merged into a single
+ * histogram when the stats are cleared.
  */
 @Stability.Volatile
 public class AggregatingValueRecorder implements ValueRecorder {
 
+  /**
+   * The maximum number of stripes per recorder, needs to be a power of two.
+   */
+  private static final int MAX_STRIPES = 16;
+
+  private static final int STRIPES = Math.min(
+    MAX_STRIPES,
+    Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1) << 1)
+  );
+
+  private static final int SIGNIFICANT_DIGITS = 2;
+
   private final String name;
 
   private final Map<String, String> tags;
 
-  private final LatencyStats recorderStats = new LatencyStats();
+  private final AtomicReferenceArray<Recorder> stripes = new AtomicReferenceArray<>(STRIPES);
+
+  /**
+   * The interval histograms handed back to the stripes for reuse, only accessed when clearing the stats.
+   */
+  private final Histogram[] intervals = new Histogram[STRIPES];
+
+  /**
+   * The histogram the intervals are merged into, only accessed when clearing the stats.
+   */
+  private Histogram merged;
 
   public AggregatingValueRecorder(final String name, final Map<String, String> tags) {
     this.name = name;
@@ -43,11 +73,51 @@ public class AggregatingValueRecorder implements ValueRecorder {
 
   @Override
   public void recordValue(long value) {
-    recorderStats.recordLatency(value);
+    stripe().recordValue(value);
   }
 
+  private Recorder stripe() {
+    int index = (int) Thread.currentThread().getId() & (STRIPES - 1);
+    Recorder recorder = stripes.get(index);
+    if (recorder == null) {
+      stripes.compareAndSet(index, null, new Recorder(SIGNIFICANT_DIGITS, true));
+      recorder = stripes.get(index);
+    }
+    return recorder;
+  }
+
+  /**
+   * Returns the values recorded across all stripes since the last call, or null if no value has been recorded.
+   * <p>
+   * The returned histogram is reused by the next call, so it must not be held onto. Must not be called
+   * concurrently.
+   */
+  @Nullable
   Histogram clearStats() {
-    return recorderStats.getIntervalHistogram();
+    boolean empty = true;
+    for (int i = 0; i < STRIPES; i++) {
+      Recorder recorder = stripes.get(i);
+      if (recorder == null) {
+        continue;
+      }
+
+      Histogram interval = recorder.getIntervalHistogram(intervals[i]);
+      intervals[i] = interval;
+      if (interval.getTotalCount() == 0) {
+        continue;
+      }
+
+      if (empty) {
+        if (merged == null) {
+          merged = new Histogram(SIGNIFICANT_DIGITS);
+        } else {
+          merged.reset();
+        }
+        empty = false;
+      }
+      merged.add(interval);
+    }
+    return empty ? null : merged;
   }
 
   Map<String, String> tags() {
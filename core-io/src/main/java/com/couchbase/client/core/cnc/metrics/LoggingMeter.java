@@ -158,7 +158,7 @@ public class LoggingMeter implements Meter {
 
         AggregatingValueRecorder avr = entry.getValue();
         Histogram histogram = avr.clearStats();
-        if (histogram.getTotalCount() == 0) {
+        if (histogram == null) {
           continue;
         }
         wroteRow = true;
@@ -19,6 +19,8 @@ package com.couchbase.client.core.config;
 import com.couchbase.client.core.env.CoreEnvironment;
 import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.core.json.Mapper;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonParser;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonToken;
 import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.DeserializationFeature;
 import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.InjectableValues;
 
@@ -53,4 +55,72 @@ public final class BucketConfigParser {
             throw new CouchbaseException("Could not parse configuration", e);
         }
     }
+
+    /**
+     * Extracts only the bucket name and the revision of a raw configuration, without parsing the rest of it.
+     * <p>
+     * This is used to discard configs which are not newer than the current one (which is the case for most configs
+     * proposed by the refreshers) before paying for the full parse. The top level fields are streamed and
+     * everything nested is skipped, so no intermediate objects are created.
+     *
+     * @param input the raw string input.
+     * @return the name and version, or null if the input does not contain a bucket name or could not be read.
+     */
+    static Header parseHeader(final String input) {
+        String name = null;
+        long rev = 0;
+        long revEpoch = 0;
+        boolean revFound = false;
+        boolean revEpochFound = false;
+
+        try (JsonParser parser = Mapper.reader().getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("rev".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    rev = parser.getLongValue();
+                    revFound = true;
+                } else if ("revEpoch".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    revEpoch = parser.getLongValue();
+                    revEpochFound = true;
+                } else if ("name".equals(field) && value == JsonToken.VALUE_STRING) {
+                    name = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+
+                if (name != null && revFound && revEpochFound) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+
+        return name == null || !revFound ? null : new Header(name, new ConfigVersion(revEpoch, rev));
+    }
+
+    /**
+     * The name and version of a raw configuration, see {@link #parseHeader(String)}.
+     */
+    static final class Header {
+        private final String name;
+        private final ConfigVersion version;
+
+        Header(final String name, final ConfigVersion version) {
+            this.name = name;
+            this.version = version;
+        }
+
+        String name() {
+            return name;
+        }
+
+        ConfigVersion version() {
+            return version;
+        }
+    }
 }
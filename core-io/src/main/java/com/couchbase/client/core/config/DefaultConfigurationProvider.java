@@ -350,6 +350,9 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
   @Override
   public void proposeBucketConfig(final ProposedBucketConfigContext ctx) {
     if (!shutdown.get()) {
+      if (!ctx.forcesOverride() && isOldOrSameRevision(ctx.config())) {
+        return;
+      }
       try {
         BucketConfig config = BucketConfigParser.parse(
           ctx.config(),
@@ -555,6 +558,37 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
     return collectionMapRefreshInProgress.contains(identifier);
   }
 
+  /**
+   * Checks the revision of a proposed config against the current one before it is fully parsed.
+   * <p>
+   * Most configs proposed by the refreshers and server notifications carry a revision which has already been
+   * applied, so discarding them up front avoids building the complete node list and partition map just to throw
+   * it away again. If the revision cannot be determined, the config goes through the full parse and check.
+   *
+   * @param rawConfig the raw config to check.
+   * @return true if the config has been ignored since it is not newer than the current one.
+   */
+  private boolean isOldOrSameRevision(final String rawConfig) {
+    BucketConfigParser.Header header = BucketConfigParser.parseHeader(rawConfig);
+    if (header == null) {
+      return false;
+    }
+
+    BucketConfig oldConfig = currentConfig.bucketConfig(header.name());
+    if (oldConfig == null || !header.version().isLessThanOrEqualTo(oldConfig.version())) {
+      return false;
+    }
+
+    eventBus.publish(new ConfigIgnoredEvent(
+      core.context(),
+      ConfigIgnoredEvent.Reason.OLD_OR_SAME_REVISION,
+      Optional.empty(),
+      Optional.empty(),
+      Optional.of(header.name())
+    ));
+    return true;
+  }
+
   /**
    * Analyzes the given config and decides if to apply it (and does so if needed).
    *
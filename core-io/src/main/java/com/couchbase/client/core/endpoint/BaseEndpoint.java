@@ -52,6 +52,7 @@ import com.couchbase.client.core.env.SecurityConfig;
 import com.couchbase.client.core.error.BucketNotFoundException;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.error.SecurityException;
+import com.couchbase.client.core.io.netty.IoUringTransport;
 import com.couchbase.client.core.io.netty.PipelineErrorHandler;
 import com.couchbase.client.core.io.netty.SslHandlerFactory;
 import com.couchbase.client.core.io.netty.TrafficCaptureHandler;
@@ -102,6 +103,11 @@ import static com.couchbase.client.core.logging.RedactableArgument.redactMeta;
  */
 public abstract class BaseEndpoint implements Endpoint {
 
+  /**
+   * The time constant with which the latency average decays, in nanoseconds.
+   */
+  private static final double LATENCY_DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
   /**
    * Holds the current state of this endpoint.
    */
@@ -164,6 +170,16 @@ public abstract class BaseEndpoint implements Endpoint {
    */
   private volatile long lastResponseTimestamp;
 
+  /**
+   * Holds the peak-sensitive exponentially weighted moving average of the response latency, in nanoseconds.
+   */
+  private volatile double latencyEwma;
+
+  /**
+   * Holds the unix nanotime when the latency average was last updated.
+   */
+  private volatile long latencyEwmaUpdatedAt;
+
   /**
    * Holds the timestamp this endpoint was last successfully connected.
    */
@@ -233,6 +249,8 @@ public abstract class BaseEndpoint implements Endpoint {
       return KQueueSocketChannel.class;
     } else if (eventLoopGroup instanceof EpollEventLoopGroup) {
       return EpollSocketChannel.class;
+    } else if (IoUringTransport.isEventLoopGroup(eventLoopGroup)) {
+      return IoUringTransport.socketChannelClass();
     } else if (eventLoopGroup instanceof NioEventLoopGroup) {
       return NioSocketChannel.class;
     } else if (eventLoopGroup instanceof DefaultEventLoopGroup) {
@@ -333,6 +351,10 @@ public abstract class BaseEndpoint implements Endpoint {
             channelBootstrap.option(
               EpollChannelOption.TCP_KEEPIDLE,
               (int) TimeUnit.MILLISECONDS.toSeconds(env.ioConfig().tcpKeepAliveTime().toMillis()));
+          } else if (IoUringTransport.isEventLoopGroup(eventLoopGroup)) {
+            channelBootstrap.option(
+              IoUringTransport.tcpKeepIdleOption(),
+              (int) TimeUnit.MILLISECONDS.toSeconds(env.ioConfig().tcpKeepAliveTime().toMillis()));
           }
         }
 
@@ -597,16 +619,17 @@ public abstract class BaseEndpoint implements Endpoint {
         });
       }
 
-      channel
-        .writeAndFlush(request)
-        .addListener(f -> {
-          if (!f.isSuccess()) {
-            EndpointContext context = endpointContext.get();
-            Event.Severity severity = disconnect.get() ? Event.Severity.DEBUG : Event.Severity.WARN;
-            context.environment().eventBus().publish(new EndpointWriteFailedEvent(severity, context, f.cause()));
-            RetryOrchestrator.maybeRetry(context, request, RetryReason.ENDPOINT_NOT_WRITABLE);
-          }
-        });
+      ChannelFuture writeFuture = FlushBatch.deferFlush(channel)
+        ? channel.write(request)
+        : channel.writeAndFlush(request);
+      writeFuture.addListener(f -> {
+        if (!f.isSuccess()) {
+          EndpointContext context = endpointContext.get();
+          Event.Severity severity = disconnect.get() ? Event.Severity.DEBUG : Event.Severity.WARN;
+          context.environment().eventBus().publish(new EndpointWriteFailedEvent(severity, context, f.cause()));
+          RetryOrchestrator.maybeRetry(context, request, RetryReason.ENDPOINT_NOT_WRITABLE);
+        }
+      });
     } else {
       RetryReason retryReason = circuitBreaker.allowsRequest()
         ? RetryReason.ENDPOINT_NOT_WRITABLE
@@ -630,6 +653,37 @@ public abstract class BaseEndpoint implements Endpoint {
     return lastResponseTimestamp;
   }
 
+  @Override
+  public long latencyEwma() {
+    double current = latencyEwma;
+    if (current == 0) {
+      return 0;
+    }
+    return (long) (current * Math.exp(-(System.nanoTime() - latencyEwmaUpdatedAt) / LATENCY_DECAY_NANOS));
+  }
+
+  /**
+   * Called from the event loop handlers with the latency of a response, feeding {@link #latencyEwma()}.
+   * <p>
+   * A latency above the current average replaces it right away, lower latencies are blended in with a weight which
+   * grows with the time since the last update. So a degraded endpoint is noticed with the first slow response,
+   * while a recovered one is trusted again gradually.
+   *
+   * @param latency the time between writing the request and receiving the response, in nanoseconds.
+   */
+  @Stability.Internal
+  public void recordLatency(final long latency) {
+    long now = System.nanoTime();
+    double current = latencyEwma();
+    if (latency >= current) {
+      latencyEwma = latency;
+    } else {
+      double weight = Math.exp(-(now - latencyEwmaUpdatedAt) / LATENCY_DECAY_NANOS);
+      latencyEwma = current * weight + latency * (1 - weight);
+    }
+    latencyEwmaUpdatedAt = now;
+  }
+
   /**
    * Called from the event loop handlers to mark a request as being completed.
    *
@@ -83,6 +83,17 @@ public interface Endpoint extends Stateful<EndpointState> {
    */
   long lastResponseReceived();
 
+  /**
+   * Returns the smoothed latency of the responses received on this endpoint (or 0 if none received yet).
+   * <p>
+   * The value decays while no responses are received, so that an endpoint which has been slow in the past is
+   * eventually tried again.
+   *
+   * @return the smoothed response latency, in nanoseconds.
+   */
+  @Stability.Internal
+  long latencyEwma();
+
   /**
    * Returns the timestamp when the endpoint was last connected successfully (nanoseconds).
    *
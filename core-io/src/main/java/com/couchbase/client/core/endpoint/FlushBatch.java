@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.endpoint;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.channel.Channel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Defers channel flushes while a batch of requests is dispatched from the calling thread.
+ * <p>
+ * Usually every request written by an endpoint is flushed right away. When many requests are sent in one go
+ * (for example from a bulk KV operation), this results in one flush (and usually one syscall) per request. While
+ * a batch is running, endpoints only write their requests and remember the channel, and every channel which saw
+ * at least one write is flushed exactly once when the batch is done.
+ * <p>
+ * Batches are bound to the thread which runs them. Requests which are dispatched later from other threads (i.e.
+ * retries) are flushed individually as usual.
+ */
+@Stability.Internal
+public final class FlushBatch {
+
+  private static final ThreadLocal<FlushBatch> CURRENT = new ThreadLocal<>();
+
+  private final Set<Channel> channels = Collections.newSetFromMap(new IdentityHashMap<>());
+  private final List<Channel> orderedChannels = new ArrayList<>();
+
+  private FlushBatch() { }
+
+  /**
+   * Runs the dispatch logic with deferred flushing and flushes all written channels afterwards.
+   * <p>
+   * If a batch is already running on this thread, the dispatch simply joins it.
+   *
+   * @param dispatch the logic which sends the requests into the endpoints.
+   */
+  public static void run(final Runnable dispatch) {
+    if (CURRENT.get() != null) {
+      dispatch.run();
+      return;
+    }
+
+    FlushBatch batch = new FlushBatch();
+    CURRENT.set(batch);
+    try {
+      dispatch.run();
+    } finally {
+      CURRENT.remove();
+      batch.flushAll();
+    }
+  }
+
+  /**
+   * Called by an endpoint before writing to the given channel.
+   *
+   * @param channel the channel which is about to be written to.
+   * @return true if the flush is deferred to the end of the running batch, false if the caller needs to flush.
+   */
+  static boolean deferFlush(final Channel channel) {
+    FlushBatch batch = CURRENT.get();
+    if (batch == null) {
+      return false;
+    }
+    if (batch.channels.add(channel)) {
+      batch.orderedChannels.add(channel);
+    }
+    return true;
+  }
+
+  private void flushAll() {
+    for (Channel channel : orderedChannels) {
+      channel.flush();
+    }
+  }
+
+}
@@ -23,6 +23,7 @@ import com.couchbase.client.core.io.netty.TrafficCaptureHandler;
 import com.couchbase.client.core.io.netty.kv.ErrorMapLoadingHandler;
 import com.couchbase.client.core.io.netty.kv.FeatureNegotiatingHandler;
 import com.couchbase.client.core.io.netty.kv.KeyValueMessageHandler;
+import com.couchbase.client.core.io.netty.kv.KeyValueWriteAggregator;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocolDecodeHandler;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocolVerificationHandler;
 import com.couchbase.client.core.io.netty.kv.SelectBucketHandler;
@@ -31,6 +32,7 @@ import com.couchbase.client.core.service.ServiceContext;
 import com.couchbase.client.core.service.ServiceType;
 
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -44,6 +46,25 @@ public class KeyValueEndpoint extends BaseEndpoint {
     Integer.toString(FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES)
   ));
 
+  /**
+   * The maximum size of a single aggregate of encoded requests, 0 disables write aggregation.
+   * <p>
+   * Requests are encoded straight into the aggregate, so aggregation does not copy them. The default of 16384
+   * matches the maximum TLS record size.
+   */
+  private static final int WRITE_AGGREGATION_MAX_BYTES = Integer.parseInt(System.getProperty(
+    "com.couchbase.experimental.writeAggregationMaxBytes",
+    "16384"
+  ));
+
+  /**
+   * The maximum number of requests in a single aggregate of encoded requests.
+   */
+  private static final int WRITE_AGGREGATION_MAX_REQUESTS = Integer.parseInt(System.getProperty(
+    "com.couchbase.experimental.writeAggregationMaxRequests",
+    "128"
+  ));
+
   public KeyValueEndpoint(final ServiceContext ctx, final String hostname,
                           final int port, final Optional<String> bucketname, final Authenticator authenticator) {
     super(hostname, port, ctx.environment().ioEnvironment().kvEventLoopGroup().get(),
@@ -72,7 +93,10 @@ public class KeyValueEndpoint extends BaseEndpoint {
     @Override
     public void init(BaseEndpoint endpoint, ChannelPipeline pipeline) {
       if (FLUSH_CONSOLIDATION_LIMIT > 0) {
-        pipeline.addLast(new FlushConsolidationHandler(FLUSH_CONSOLIDATION_LIMIT, true));
+        pipeline.addLast(
+          FlushConsolidationHandler.class.getName(),
+          new FlushConsolidationHandler(FLUSH_CONSOLIDATION_LIMIT, true)
+        );
       }
 
       if (pipeline.get(TrafficCaptureHandler.class) != null) {
@@ -94,6 +118,22 @@ public class KeyValueEndpoint extends BaseEndpoint {
         new MemcacheProtocolVerificationHandler(ctx)
       );
 
+      if (WRITE_AGGREGATION_MAX_BYTES > 0) {
+        // Needs to sit closer to the transport than the verification handler, which only accepts single packets,
+        // and than the flush consolidation handler, which batches up the writes between two flushes for it.
+        List<String> names = pipeline.names();
+        String before = MemcacheProtocolDecodeHandler.class.getName();
+        int flushConsolidationIndex = names.indexOf(FlushConsolidationHandler.class.getName());
+        if (flushConsolidationIndex >= 0 && flushConsolidationIndex < names.indexOf(before)) {
+          before = FlushConsolidationHandler.class.getName();
+        }
+        pipeline.addBefore(
+          before,
+          KeyValueWriteAggregator.class.getName(),
+          new KeyValueWriteAggregator(WRITE_AGGREGATION_MAX_BYTES, WRITE_AGGREGATION_MAX_REQUESTS)
+        );
+      }
+
       pipeline.addLast(new FeatureNegotiatingHandler(ctx, serverFeatures()));
       pipeline.addLast(new ErrorMapLoadingHandler(ctx));
 
@@ -30,6 +30,8 @@ import com.couchbase.client.core.deps.io.grpc.ClientInterceptor;
 import com.couchbase.client.core.deps.io.grpc.ClientStreamTracer;
 import com.couchbase.client.core.deps.io.grpc.ConnectivityState;
 import com.couchbase.client.core.deps.io.grpc.EquivalentAddressGroup;
+import com.couchbase.client.core.deps.io.grpc.ForwardingClientCall;
+import com.couchbase.client.core.deps.io.grpc.ForwardingClientCallListener;
 import com.couchbase.client.core.deps.io.grpc.ManagedChannel;
 import com.couchbase.client.core.deps.io.grpc.ManagedChannelBuilder;
 import com.couchbase.client.core.deps.io.grpc.Metadata;
@@ -72,6 +74,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Objects.requireNonNull;
 
@@ -85,6 +88,7 @@ public class ProtostellarEndpoint {
   public static ProtostellarStatsCollector collector;
 
   private final AtomicBoolean shutdown = new AtomicBoolean(false);
+  private final AtomicInteger inFlight = new AtomicInteger();
   private final ManagedChannel managedChannel;
   private final KvServiceGrpc.KvServiceFutureStub kvStub;
   private final KvServiceGrpc.KvServiceBlockingStub kvBlockingStub;
@@ -187,15 +191,53 @@ public class ProtostellarEndpoint {
       }
     };
 
+    ClientInterceptor tracker = new InFlightTracker();
+
     // withWaitForReady exists but better to do retries ourselves for ErrorContext transparency.
-    kvStub = KvServiceGrpc.newFutureStub(managedChannel).withInterceptors(ci).withCallCredentials(creds);
-    kvBlockingStub = KvServiceGrpc.newBlockingStub(managedChannel).withInterceptors(ci).withCallCredentials(creds);
-    analyticsStub = AnalyticsServiceGrpc.newStub(managedChannel).withCallCredentials(creds);
-    queryStub = QueryServiceGrpc.newStub(managedChannel).withCallCredentials(creds);
-    searchStub = SearchServiceGrpc.newStub(managedChannel).withCallCredentials(creds);
-    hooksBlockingStub = HooksServiceGrpc.newBlockingStub(managedChannel).withCallCredentials(creds);
-    collectionAdminStub = CollectionAdminServiceGrpc.newFutureStub(managedChannel).withCallCredentials(creds);
-    bucketAdminStub = BucketAdminServiceGrpc.newFutureStub(managedChannel).withCallCredentials(creds);
+    kvStub = KvServiceGrpc.newFutureStub(managedChannel).withInterceptors(ci, tracker).withCallCredentials(creds);
+    kvBlockingStub = KvServiceGrpc.newBlockingStub(managedChannel).withInterceptors(ci, tracker).withCallCredentials(creds);
+    analyticsStub = AnalyticsServiceGrpc.newStub(managedChannel).withInterceptors(tracker).withCallCredentials(creds);
+    queryStub = QueryServiceGrpc.newStub(managedChannel).withInterceptors(tracker).withCallCredentials(creds);
+    searchStub = SearchServiceGrpc.newStub(managedChannel).withInterceptors(tracker).withCallCredentials(creds);
+    hooksBlockingStub = HooksServiceGrpc.newBlockingStub(managedChannel).withInterceptors(tracker).withCallCredentials(creds);
+    collectionAdminStub = CollectionAdminServiceGrpc.newFutureStub(managedChannel).withInterceptors(tracker).withCallCredentials(creds);
+    bucketAdminStub = BucketAdminServiceGrpc.newFutureStub(managedChannel).withInterceptors(tracker).withCallCredentials(creds);
+  }
+
+  /**
+   * Counts the RPCs which have been started on the channel and not closed yet.
+   */
+  private class InFlightTracker implements ClientInterceptor {
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+      return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(next.newCall(method, callOptions)) {
+        @Override
+        public void start(Listener<RespT> responseListener, Metadata headers) {
+          inFlight.incrementAndGet();
+          try {
+            super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(responseListener) {
+              @Override
+              public void onClose(Status status, Metadata trailers) {
+                inFlight.decrementAndGet();
+                super.onClose(status, trailers);
+              }
+            }, headers);
+          } catch (RuntimeException e) {
+            // onClose is only called for calls which have been started successfully.
+            inFlight.decrementAndGet();
+            throw e;
+          }
+        }
+      };
+    }
+  }
+
+  /**
+   * Returns the number of RPCs currently in flight on this endpoint.
+   */
+  @Stability.Internal
+  public int inFlight() {
+    return inFlight.get();
   }
 
   private ManagedChannel channel(ProtostellarContext ctx) {
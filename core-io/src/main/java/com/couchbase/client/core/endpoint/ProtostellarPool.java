@@ -16,47 +16,231 @@
 
 package com.couchbase.client.core.endpoint;
 
+import com.couchbase.client.core.Timer;
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.env.IoConfig;
 import com.couchbase.client.core.protostellar.ProtostellarContext;
 import com.couchbase.client.core.util.HostAndPort;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 import static java.util.Collections.unmodifiableList;
 
 /**
  * Maintains a pool of ProtostellarEndpoints.
+ * <p>
+ * Every RPC is sent on the endpoint with the fewest RPCs in flight. Since the server only allows a limited number of
+ * concurrent HTTP/2 streams per connection ({@link IoConfig#protostellarMaxConcurrentStreams()}), and queues
+ * everything beyond that, the pool opens another endpoint once even the least loaded one is saturated, up to
+ * {@link IoConfig#maxProtostellarChannels()}.
+ * <p>
+ * Once the load has been low enough for {@link #SCALE_DOWN_INTERVAL} that the remaining endpoints would be at most
+ * half utilized, the least loaded endpoint is removed again, down to {@link IoConfig#minProtostellarChannels()}. A
+ * removed endpoint is only shut down after its in-flight RPCs have completed, which is checked from the {@link Timer}.
  */
 @Stability.Internal
 public class ProtostellarPool {
-  private final List<ProtostellarEndpoint> endpoints;
+
+  /**
+   * How long the load has to stay low before an endpoint is removed.
+   */
+  static final Duration SCALE_DOWN_INTERVAL = Duration.ofSeconds(10);
+
+  /**
+   * How long a removed endpoint is kept open at least, for RPCs which picked it just before it was removed. Also the
+   * interval in which removed endpoints are checked for RPCs still in flight.
+   */
+  static final Duration RETIREMENT_GRACE_PERIOD = Duration.ofSeconds(1);
+
+  private final int minEndpoints;
+  private final int maxEndpoints;
+  private final int maxConcurrentStreams;
+  private final Supplier<ProtostellarEndpoint> endpointFactory;
+  private final Timer timer;
+  private final LongSupplier nanoTime;
   private final AtomicLong lastUsed = new AtomicLong(0);
 
+  private volatile List<ProtostellarEndpoint> endpoints;
+  private volatile boolean shutdown;
+
+  /**
+   * When the load last dropped low enough to remove an endpoint, or 0 if it is not low right now.
+   */
+  private volatile long lowLoadSince;
+
+  /**
+   * The endpoints which have been removed, but not shut down yet. Guarded by this.
+   */
+  private final List<RetiredEndpoint> retired = new ArrayList<>();
+
+  /**
+   * If a check for drained endpoints is scheduled on the timer. Guarded by this.
+   */
+  private boolean drainScheduled;
+
   public ProtostellarPool(ProtostellarContext ctx, HostAndPort remote) {
-    // JVMCBC-1196: assuming ProtostellarPool is kept, add configuration options for it.
-    int numEndpoints = Integer.parseInt(System.getProperty("com.couchbase.protostellar.numEndpoints", "3"));
-    List<ProtostellarEndpoint> endpoints = new ArrayList<>(numEndpoints);
-    for (int i = 0; i < numEndpoints; i++) {
-      endpoints.add(new ProtostellarEndpoint(ctx, remote));
+    this(
+      ctx.environment().ioConfig(),
+      () -> new ProtostellarEndpoint(ctx, remote),
+      ctx.environment().timer(),
+      System::nanoTime
+    );
+  }
+
+  ProtostellarPool(IoConfig config, Supplier<ProtostellarEndpoint> endpointFactory, Timer timer,
+                   LongSupplier nanoTime) {
+    this.minEndpoints = config.minProtostellarChannels();
+    this.maxEndpoints = config.maxProtostellarChannels();
+    this.maxConcurrentStreams = config.protostellarMaxConcurrentStreams();
+    this.endpointFactory = endpointFactory;
+    this.timer = timer;
+    this.nanoTime = nanoTime;
+
+    List<ProtostellarEndpoint> endpoints = new ArrayList<>(minEndpoints);
+    for (int i = 0; i < minEndpoints; i++) {
+      endpoints.add(endpointFactory.get());
     }
     this.endpoints = unmodifiableList(endpoints);
   }
 
-  public void shutdown(Duration timeout) {
+  public synchronized void shutdown(Duration timeout) {
+    shutdown = true;
     endpoints.forEach(endpoint -> endpoint.shutdown(timeout));
+    retired.forEach(r -> r.endpoint.shutdown(timeout));
+    retired.clear();
   }
 
   public ProtostellarEndpoint endpoint() {
-    // Just using a basic round-robin strategy for now
-    int index = (int) ((lastUsed.getAndIncrement() & 0x7fffffffffffffffL) % endpoints.size());
-    // logger.info("Using endpoint {}", index);
-    return endpoints.get(index);
+    List<ProtostellarEndpoint> current = endpoints;
+    int size = current.size();
+
+    // Starting at a rotating offset spreads the requests evenly while all endpoints are equally loaded.
+    int start = (int) ((lastUsed.getAndIncrement() & 0x7fffffffffffffffL) % size);
+    ProtostellarEndpoint best = null;
+    int bestInFlight = Integer.MAX_VALUE;
+    int totalInFlight = 0;
+    for (int i = 0; i < size; i++) {
+      ProtostellarEndpoint endpoint = current.get((start + i) % size);
+      int inFlight = endpoint.inFlight();
+      totalInFlight += inFlight;
+      if (inFlight < bestInFlight) {
+        best = endpoint;
+        bestInFlight = inFlight;
+      }
+    }
+
+    if (bestInFlight >= maxConcurrentStreams && size < maxEndpoints) {
+      ProtostellarEndpoint added = scaleUp(current);
+      if (added != null) {
+        return added;
+      }
+    } else {
+      checkScaleDown(size, totalInFlight);
+    }
+    return best;
   }
 
   public List<ProtostellarEndpoint> endpoints() {
     return endpoints;
   }
+
+  /**
+   * Adds an endpoint, unless the pool has been changed concurrently (in which case the caller just uses the
+   * endpoints which are there now).
+   */
+  private synchronized ProtostellarEndpoint scaleUp(final List<ProtostellarEndpoint> expected) {
+    if (shutdown || endpoints != expected || expected.size() >= maxEndpoints) {
+      return null;
+    }
+    ProtostellarEndpoint added = endpointFactory.get();
+    List<ProtostellarEndpoint> updated = new ArrayList<>(expected);
+    updated.add(added);
+    endpoints = unmodifiableList(updated);
+    lowLoadSince = 0;
+    return added;
+  }
+
+  private void checkScaleDown(final int size, final int totalInFlight) {
+    boolean lowLoad = size > minEndpoints && totalInFlight <= (size - 1) * maxConcurrentStreams / 2;
+    if (!lowLoad) {
+      if (lowLoadSince != 0) {
+        lowLoadSince = 0;
+      }
+      return;
+    }
+
+    long now = nanoTime.getAsLong();
+    long since = lowLoadSince;
+    if (since == 0) {
+      lowLoadSince = now;
+    } else if (now - since >= SCALE_DOWN_INTERVAL.toNanos()) {
+      scaleDown(size, now);
+    }
+  }
+
+  private synchronized void scaleDown(final int expectedSize, final long now) {
+    List<ProtostellarEndpoint> current = endpoints;
+    if (shutdown || current.size() != expectedSize || current.size() <= minEndpoints) {
+      return;
+    }
+
+    ProtostellarEndpoint leastLoaded = current.get(0);
+    for (ProtostellarEndpoint endpoint : current) {
+      if (endpoint.inFlight() < leastLoaded.inFlight()) {
+        leastLoaded = endpoint;
+      }
+    }
+
+    List<ProtostellarEndpoint> updated = new ArrayList<>(current);
+    updated.remove(leastLoaded);
+    endpoints = unmodifiableList(updated);
+    retired.add(new RetiredEndpoint(leastLoaded, now));
+    scheduleDrain();
+
+    // The next endpoint is only removed if the load stays low for another interval.
+    lowLoadSince = now;
+  }
+
+  private synchronized void scheduleDrain() {
+    if (!drainScheduled) {
+      drainScheduled = timer.schedule(this::shutdownDrainedEndpoints, RETIREMENT_GRACE_PERIOD) != null;
+    }
+  }
+
+  private synchronized void shutdownDrainedEndpoints() {
+    drainScheduled = false;
+    if (shutdown) {
+      return;
+    }
+
+    long now = nanoTime.getAsLong();
+    Iterator<RetiredEndpoint> it = retired.iterator();
+    while (it.hasNext()) {
+      RetiredEndpoint r = it.next();
+      if (now - r.retiredAt >= RETIREMENT_GRACE_PERIOD.toNanos() && r.endpoint.inFlight() == 0) {
+        // Nothing is in flight anymore, so this does not block.
+        r.endpoint.shutdown(Duration.ZERO);
+        it.remove();
+      }
+    }
+    if (!retired.isEmpty()) {
+      scheduleDrain();
+    }
+  }
+
+  private static class RetiredEndpoint {
+    private final ProtostellarEndpoint endpoint;
+    private final long retiredAt;
+
+    RetiredEndpoint(ProtostellarEndpoint endpoint, long retiredAt) {
+      this.endpoint = endpoint;
+      this.retiredAt = retiredAt;
+    }
+  }
 }
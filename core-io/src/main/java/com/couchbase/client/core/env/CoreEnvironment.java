@@ -141,6 +141,7 @@ public class CoreEnvironment implements AutoCloseable {
   private final int schedulerThreadCount;
   private final OrphanReporter orphanReporter;
   private final long maxNumRequestsInRetry;
+  private final int timerShards;
   private final List<RequestCallback> requestCallbacks;
   private final CoreTransactionsConfig transactionsConfig;
 
@@ -183,12 +184,17 @@ public class CoreEnvironment implements AutoCloseable {
     this.eventBus = Optional
       .ofNullable(builder.eventBus)
       .orElse(new OwnedSupplier<>(DefaultEventBus.create(scheduler.get())));
-    this.timer = Timer.createAndStart(maxNumRequestsInRetry);
+    this.ioEnvironment = builder.ioEnvironment.build();
+
+    // Every event loop schedules and cancels timeouts, so by default each one gets its own timer shard.
+    this.timerShards = builder.timerShards != null
+      ? builder.timerShards
+      : Timer.defaultNumShards(ioEnvironment.eventLoopThreadCount());
+    this.timer = Timer.createAndStart(maxNumRequestsInRetry, timerShards);
 
 
     this.securityConfig = builder.securityConfig.build();
 
-    this.ioEnvironment = builder.ioEnvironment.build();
     this.ioConfig = builder.ioConfig.build();
     this.compressionConfig = builder.compressionConfig.build();
     this.timeoutConfig = builder.timeoutConfig.build();
@@ -445,6 +451,13 @@ public class CoreEnvironment implements AutoCloseable {
     return maxNumRequestsInRetry;
   }
 
+  /**
+   * Returns the number of shards (each one with its own wheel and thread) the timer is split into.
+   */
+  public int timerShards() {
+    return timerShards;
+  }
+
   @Stability.Volatile
   public CoreTransactionsConfig transactionsConfig() {
     return transactionsConfig;
@@ -576,6 +589,7 @@ public class CoreEnvironment implements AutoCloseable {
 
     input.put("userAgent", userAgent.formattedLong());
     input.put("maxNumRequestsInRetry", maxNumRequestsInRetry);
+    input.put("timerShards", timerShards);
 
     input.put("ioEnvironment", ioEnvironment.exportAsMap());
     input.put("ioConfig", ioConfig.exportAsMap());
@@ -630,6 +644,7 @@ public class CoreEnvironment implements AutoCloseable {
     private Supplier<Meter> meter = null;
     private RetryStrategy retryStrategy = null;
     private long maxNumRequestsInRetry = DEFAULT_MAX_NUM_REQUESTS_IN_RETRY;
+    private Integer timerShards = null;
     private final List<RequestCallback> requestCallbacks = new ArrayList<>();
     protected CoreTransactionsConfig transactionsConfig = null;
 
@@ -786,6 +801,25 @@ public class CoreEnvironment implements AutoCloseable {
       return self();
     }
 
+    /**
+     * Allows to customize the number of shards the timer is split into.
+     * <p>
+     * Every shard is its own timing wheel driven by its own thread, and a thread which schedules a timeout always
+     * uses the same shard, so that the event loops do not contend on a single timeout queue. By default, there is
+     * one shard per event loop thread (see {@link IoEnvironment#eventLoopThreadCount()}).
+     *
+     * @param timerShards the number of shards, between 1 and {@link Timer#MAX_NUM_SHARDS}.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    public SELF timerShards(final int timerShards) {
+      if (timerShards < 1 || timerShards > Timer.MAX_NUM_SHARDS) {
+        throw InvalidArgumentException.fromMessage("timerShards must be between 1 and " + Timer.MAX_NUM_SHARDS
+          + ", but got " + timerShards);
+      }
+      this.timerShards = timerShards;
+      return self();
+    }
+
     /**
      * Immediately loads the properties from the given loader into the environment.
      *
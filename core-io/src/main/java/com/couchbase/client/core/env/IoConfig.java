@@ -19,15 +19,18 @@ package com.couchbase.client.core.env;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.endpoint.CircuitBreaker;
 import com.couchbase.client.core.endpoint.CircuitBreakerConfig;
+import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.node.MemcachedHashingStrategy;
 import com.couchbase.client.core.node.Sdk2CompatibleMemcachedHashingStrategy;
 import com.couchbase.client.core.node.StandardMemcachedHashingStrategy;
 import com.couchbase.client.core.service.AbstractPooledEndpointServiceConfig;
 import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.service.strategy.EndpointSelection;
 
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -50,6 +53,17 @@ public class IoConfig {
   public static final Duration DEFAULT_IDLE_HTTP_CONNECTION_TIMEOUT = AbstractPooledEndpointServiceConfig.DEFAULT_IDLE_TIME;
   public static final Duration DEFAULT_CONFIG_IDLE_REDIAL_TIMEOUT = Duration.ofMinutes(5);
   public static final MemcachedHashingStrategy DEFAULT_MEMCACHED_HASHING_STRATEGY = StandardMemcachedHashingStrategy.INSTANCE;
+  public static final EndpointSelection DEFAULT_ENDPOINT_SELECTION = EndpointSelection.ROUND_ROBIN;
+  public static final int DEFAULT_MIN_PROTOSTELLAR_CHANNELS = 3;
+  public static final int DEFAULT_MAX_PROTOSTELLAR_CHANNELS = 16;
+  public static final int DEFAULT_PROTOSTELLAR_MAX_CONCURRENT_STREAMS = 100;
+
+  /**
+   * The services for which the endpoint selection can be customized.
+   */
+  private static final Set<ServiceType> ENDPOINT_SELECTION_SERVICES = Collections.unmodifiableSet(
+    EnumSet.of(ServiceType.QUERY, ServiceType.SEARCH, ServiceType.ANALYTICS, ServiceType.VIEWS)
+  );
 
   private final boolean mutationTokensEnabled;
   private final Duration configPollInterval;
@@ -71,6 +85,10 @@ public class IoConfig {
   private final Duration idleHttpConnectionTimeout;
   private final Duration configIdleRedialTimeout;
   private final MemcachedHashingStrategy memcachedHashingStrategy;
+  private final Map<ServiceType, EndpointSelection> endpointSelection;
+  private final int minProtostellarChannels;
+  private final int maxProtostellarChannels;
+  private final int protostellarMaxConcurrentStreams;
 
   private IoConfig(Builder builder) {
     mutationTokensEnabled = builder.mutationTokensEnabled;
@@ -97,6 +115,17 @@ public class IoConfig {
     idleHttpConnectionTimeout = builder.idleHttpConnectionTimeout;
     configIdleRedialTimeout = builder.configIdleRedialTimeout;
     memcachedHashingStrategy = builder.memcachedHashingStrategy;
+    endpointSelection = Collections.unmodifiableMap(new EnumMap<>(builder.endpointSelection));
+    minProtostellarChannels = builder.minProtostellarChannels;
+    maxProtostellarChannels = builder.maxProtostellarChannels != null
+      ? builder.maxProtostellarChannels
+      : Math.max(DEFAULT_MAX_PROTOSTELLAR_CHANNELS, minProtostellarChannels);
+    protostellarMaxConcurrentStreams = builder.protostellarMaxConcurrentStreams;
+
+    if (maxProtostellarChannels < minProtostellarChannels) {
+      throw InvalidArgumentException.fromMessage("maxProtostellarChannels (" + maxProtostellarChannels
+        + ") must not be smaller than minProtostellarChannels (" + minProtostellarChannels + ")");
+    }
   }
 
   public static IoConfig create() {
@@ -211,6 +240,55 @@ public class IoConfig {
     return builder().memcachedHashingStrategy(memcachedHashingStrategy);
   }
 
+  /**
+   * Customizes how requests are spread over the endpoints and nodes of the given service.
+   *
+   * @param serviceType the service to customize, one of query, search, analytics and views.
+   * @param endpointSelection the endpoint selection to use.
+   * @return this {@link Builder} for chaining purposes.
+   * @see Builder#endpointSelection(ServiceType, EndpointSelection)
+   */
+  @Stability.Volatile
+  public static Builder endpointSelection(ServiceType serviceType, EndpointSelection endpointSelection) {
+    return builder().endpointSelection(serviceType, endpointSelection);
+  }
+
+  /**
+   * Customizes the minimum number of channels opened to a Protostellar endpoint.
+   *
+   * @param minProtostellarChannels the minimum number of channels.
+   * @return this {@link Builder} for chaining purposes.
+   * @see Builder#minProtostellarChannels(int)
+   */
+  @Stability.Volatile
+  public static Builder minProtostellarChannels(int minProtostellarChannels) {
+    return builder().minProtostellarChannels(minProtostellarChannels);
+  }
+
+  /**
+   * Customizes the maximum number of channels opened to a Protostellar endpoint.
+   *
+   * @param maxProtostellarChannels the maximum number of channels.
+   * @return this {@link Builder} for chaining purposes.
+   * @see Builder#maxProtostellarChannels(int)
+   */
+  @Stability.Volatile
+  public static Builder maxProtostellarChannels(int maxProtostellarChannels) {
+    return builder().maxProtostellarChannels(maxProtostellarChannels);
+  }
+
+  /**
+   * Customizes how many concurrent RPCs a single Protostellar channel is expected to carry.
+   *
+   * @param protostellarMaxConcurrentStreams the number of concurrent streams per channel.
+   * @return this {@link Builder} for chaining purposes.
+   * @see Builder#protostellarMaxConcurrentStreams(int)
+   */
+  @Stability.Volatile
+  public static Builder protostellarMaxConcurrentStreams(int protostellarMaxConcurrentStreams) {
+    return builder().protostellarMaxConcurrentStreams(protostellarMaxConcurrentStreams);
+  }
+
   public CircuitBreakerConfig kvCircuitBreakerConfig() {
     return kvCircuitBreakerConfig;
   }
@@ -297,6 +375,29 @@ public class IoConfig {
     return memcachedHashingStrategy;
   }
 
+  /**
+   * Returns the endpoint selection configured for the given service, {@link #DEFAULT_ENDPOINT_SELECTION} if none.
+   */
+  @Stability.Volatile
+  public EndpointSelection endpointSelection(final ServiceType serviceType) {
+    return endpointSelection.getOrDefault(serviceType, DEFAULT_ENDPOINT_SELECTION);
+  }
+
+  @Stability.Volatile
+  public int minProtostellarChannels() {
+    return minProtostellarChannels;
+  }
+
+  @Stability.Volatile
+  public int maxProtostellarChannels() {
+    return maxProtostellarChannels;
+  }
+
+  @Stability.Volatile
+  public int protostellarMaxConcurrentStreams() {
+    return protostellarMaxConcurrentStreams;
+  }
+
   /**
    * Returns this config as a map so it can be exported into i.e. JSON for display.
    */
@@ -323,6 +424,12 @@ public class IoConfig {
     export.put("idleHttpConnectionTimeoutMs", idleHttpConnectionTimeout.toMillis());
     export.put("configIdleRedialTimeoutMs", configIdleRedialTimeout.toMillis());
     export.put("memcachedHashingStrategy", memcachedHashingStrategy.getClass().getSimpleName());
+    Map<String, String> endpointSelectionExport = new LinkedHashMap<>();
+    endpointSelection.forEach((serviceType, selection) -> endpointSelectionExport.put(serviceType.ident(), selection.name()));
+    export.put("endpointSelection", endpointSelectionExport);
+    export.put("minProtostellarChannels", minProtostellarChannels);
+    export.put("maxProtostellarChannels", maxProtostellarChannels);
+    export.put("protostellarMaxConcurrentStreams", protostellarMaxConcurrentStreams);
     return export;
   }
 
@@ -348,6 +455,10 @@ public class IoConfig {
     private Duration idleHttpConnectionTimeout = DEFAULT_IDLE_HTTP_CONNECTION_TIMEOUT;
     private Duration configIdleRedialTimeout = DEFAULT_CONFIG_IDLE_REDIAL_TIMEOUT;
     private MemcachedHashingStrategy memcachedHashingStrategy = DEFAULT_MEMCACHED_HASHING_STRATEGY;
+    private final Map<ServiceType, EndpointSelection> endpointSelection = new EnumMap<>(ServiceType.class);
+    private int minProtostellarChannels = DEFAULT_MIN_PROTOSTELLAR_CHANNELS;
+    private Integer maxProtostellarChannels = null;
+    private int protostellarMaxConcurrentStreams = DEFAULT_PROTOSTELLAR_MAX_CONCURRENT_STREAMS;
 
     public IoConfig build() {
       return new IoConfig(this);
@@ -662,5 +773,84 @@ public class IoConfig {
       return this;
     }
 
+    /**
+     * Customizes how requests are spread over the endpoints and nodes of the given service.
+     * <p>
+     * By default, requests are distributed in a round-robin fashion, independent of how loaded the endpoints and
+     * nodes are. If one node of a service degrades, it still receives its share of the traffic. All other
+     * {@link EndpointSelection}s steer requests away from endpoints and nodes which respond slowly or have many
+     * requests in flight.
+     *
+     * @param serviceType the service to customize, one of query, search, analytics and views.
+     * @param endpointSelection the endpoint selection to use.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder endpointSelection(final ServiceType serviceType, final EndpointSelection endpointSelection) {
+      notNull(serviceType, "ServiceType");
+      notNull(endpointSelection, "EndpointSelection");
+      if (!ENDPOINT_SELECTION_SERVICES.contains(serviceType)) {
+        throw InvalidArgumentException.fromMessage("The endpoint selection cannot be customized for the "
+          + serviceType.ident() + " service, only for " + ENDPOINT_SELECTION_SERVICES);
+      }
+      this.endpointSelection.put(serviceType, endpointSelection);
+      return this;
+    }
+
+    /**
+     * Customizes the minimum number of channels opened to a Protostellar endpoint (3 by default).
+     * <p>
+     * These channels are opened up front and kept open even if there is no load. If the minimum is larger than the
+     * default maximum and no maximum is set, the maximum is raised to the minimum.
+     *
+     * @param minProtostellarChannels the minimum number of channels, at least 1.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder minProtostellarChannels(final int minProtostellarChannels) {
+      if (minProtostellarChannels < 1) {
+        throw InvalidArgumentException.fromMessage("minProtostellarChannels must be >= 1");
+      }
+      this.minProtostellarChannels = minProtostellarChannels;
+      return this;
+    }
+
+    /**
+     * Customizes the maximum number of channels opened to a Protostellar endpoint (16 by default, or the minimum if
+     * that is larger).
+     * <p>
+     * Additional channels are opened once all channels carry {@link #protostellarMaxConcurrentStreams(int)} RPCs,
+     * and closed again once the load goes down.
+     *
+     * @param maxProtostellarChannels the maximum number of channels, at least the minimum.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder maxProtostellarChannels(final int maxProtostellarChannels) {
+      if (maxProtostellarChannels < 1) {
+        throw InvalidArgumentException.fromMessage("maxProtostellarChannels must be >= 1");
+      }
+      this.maxProtostellarChannels = maxProtostellarChannels;
+      return this;
+    }
+
+    /**
+     * Customizes how many concurrent RPCs a single Protostellar channel is expected to carry (100 by default).
+     * <p>
+     * This should match the HTTP/2 MAX_CONCURRENT_STREAMS setting of the server: RPCs beyond that limit are queued
+     * on the channel until a stream frees up, so the pool opens another channel before that happens.
+     *
+     * @param protostellarMaxConcurrentStreams the number of concurrent streams per channel, at least 1.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder protostellarMaxConcurrentStreams(final int protostellarMaxConcurrentStreams) {
+      if (protostellarMaxConcurrentStreams < 1) {
+        throw InvalidArgumentException.fromMessage("protostellarMaxConcurrentStreams must be >= 1");
+      }
+      this.protostellarMaxConcurrentStreams = protostellarMaxConcurrentStreams;
+      return this;
+    }
+
   }
 }
@@ -25,6 +25,7 @@ import com.couchbase.client.core.deps.io.netty.channel.kqueue.KQueueEventLoopGro
 import com.couchbase.client.core.deps.io.netty.channel.nio.NioEventLoopGroup;
 import com.couchbase.client.core.deps.io.netty.util.concurrent.DefaultThreadFactory;
 import com.couchbase.client.core.error.InvalidArgumentException;
+import com.couchbase.client.core.io.netty.IoUringTransport;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -56,7 +57,8 @@ import static com.couchbase.client.core.util.Validators.notNull;
  * <p>
  * By default, the SDK will use "native" event loop groups - epoll on linux and kqueue on OSX in favor of the more
  * generic and slower NIO transport. This should work fine out of the box nearly always, but you can disable it through
- * the {@link #enableNativeIo(boolean)} builder setting.
+ * the {@link #enableNativeIo(boolean)} builder setting. On linux, the io_uring transport can be used instead of epoll
+ * through {@link #enableIoUring(boolean)}.
  * <p>
  * You cannot re-use your own event loop groups from your own application because the SDK ships a repackaged netty
  * version to avoid version and classpath issues.
@@ -79,10 +81,16 @@ public class IoEnvironment {
    */
   public static final boolean DEFAULT_NATIVE_IO_ENABLED = true;
 
+  /**
+   * The io_uring transport is disabled by default.
+   */
+  public static final boolean DEFAULT_IO_URING_ENABLED = false;
+
   @Stability.Internal
   public static final int DEFAULT_EVENT_LOOP_THREAD_COUNT = fairThreadCount();
 
   private final boolean nativeIoEnabled;
+  private final boolean ioUringEnabled;
   private final int eventLoopThreadCount;
   private final Supplier<EventLoopGroup> managerEventLoopGroup;
   private final Supplier<EventLoopGroup> kvEventLoopGroup;
@@ -273,6 +281,19 @@ public class IoEnvironment {
     return builder().enableNativeIo(nativeIoEnabled);
   }
 
+  /**
+   * If set to true (disabled by default), the io_uring transport is used on linux instead of epoll.
+   * <p>
+   * See {@link Builder#enableIoUring(boolean)} for details.
+   *
+   * @param ioUringEnabled if the io_uring transport should be used if available.
+   * @return this {@link Builder} for chaining purposes.
+   */
+  @Stability.Volatile
+  public static Builder enableIoUring(boolean ioUringEnabled) {
+    return builder().enableIoUring(ioUringEnabled);
+  }
+
   /**
    * Returns this environment as a map so it can be exported into i.e. JSON for display.
    */
@@ -280,6 +301,7 @@ public class IoEnvironment {
   Map<String, Object> exportAsMap() {
     final Map<String, Object> export = new LinkedHashMap<>();
     export.put("nativeIoEnabled", nativeIoEnabled);
+    export.put("ioUringEnabled", ioUringEnabled);
     export.put("eventLoopThreadCount", eventLoopThreadCount);
 
     final Set<String> eventLoopGroups = new HashSet<>();
@@ -298,6 +320,7 @@ public class IoEnvironment {
 
   private IoEnvironment(final Builder builder) {
     nativeIoEnabled = builder.nativeIoEnabled;
+    ioUringEnabled = builder.ioUringEnabled;
     eventLoopThreadCount = builder.eventLoopThreadCount;
 
     Supplier<EventLoopGroup> httpDefaultGroup = null;
@@ -307,16 +330,16 @@ public class IoEnvironment {
       || builder.viewEventLoopGroup == null
       || builder.eventingEventLoopGroup == null
       || builder.backupEventLoopGroup == null) {
-      httpDefaultGroup = createEventLoopGroup(nativeIoEnabled, eventLoopThreadCount, "cb-io-http");
+      httpDefaultGroup = createEventLoopGroup(nativeIoEnabled, ioUringEnabled, eventLoopThreadCount, "cb-io-http");
     }
 
     managerEventLoopGroup = builder.managerEventLoopGroup == null
-      ? createEventLoopGroup(nativeIoEnabled, 1, "cb-io-manager")
+      ? createEventLoopGroup(nativeIoEnabled, ioUringEnabled, 1, "cb-io-manager")
       : builder.managerEventLoopGroup;
     sanityCheckEventLoop(managerEventLoopGroup);
 
     kvEventLoopGroup = builder.kvEventLoopGroup == null
-      ? createEventLoopGroup(nativeIoEnabled, eventLoopThreadCount, "cb-io-kv")
+      ? createEventLoopGroup(nativeIoEnabled, ioUringEnabled, eventLoopThreadCount, "cb-io-kv")
       : builder.kvEventLoopGroup;
     sanityCheckEventLoop(kvEventLoopGroup);
 
@@ -444,6 +467,14 @@ public class IoEnvironment {
     return nativeIoEnabled;
   }
 
+  /**
+   * Returns true if the io_uring transport should be used if available.
+   */
+  @Stability.Volatile
+  public boolean ioUringEnabled() {
+    return ioUringEnabled;
+  }
+
   /**
    * Returns the thread count per event loop.
    */
@@ -500,18 +531,23 @@ public class IoEnvironment {
    * available on the current platform.
    *
    * <p>If KQueue or Epoll native transports are available, it will use those. If not
-   * there is always the fallback to the Nio transport which is always available.</p>
+   * there is always the fallback to the Nio transport which is always available. If io_uring is enabled
+   * and supported by the kernel, it is preferred over Epoll.</p>
    *
    * @param nativeIoEnabled native IO enabled.
+   * @param ioUringEnabled io_uring enabled.
    * @param numThreads number of threads to to assign to the group.
    * @param poolName the name of the threads.
    * @return the created group.
    */
-  private static OwnedSupplier<EventLoopGroup> createEventLoopGroup(final boolean nativeIoEnabled, final int numThreads,
+  private static OwnedSupplier<EventLoopGroup> createEventLoopGroup(final boolean nativeIoEnabled,
+                                                                    final boolean ioUringEnabled, final int numThreads,
                                                                     final String poolName) {
     final ThreadFactory threadFactory = new DefaultThreadFactory(poolName, true);
 
-    if (nativeIoEnabled && Epoll.isAvailable()) {
+    if (nativeIoEnabled && ioUringEnabled && IoUringTransport.isAvailable()) {
+      return new OwnedSupplier<>(IoUringTransport.createEventLoopGroup(numThreads, threadFactory));
+    } else if (nativeIoEnabled && Epoll.isAvailable()) {
       return new OwnedSupplier<>(new EpollEventLoopGroup(numThreads, threadFactory));
     } else if (nativeIoEnabled && KQueue.isAvailable()) {
       return new OwnedSupplier<>(new KQueueEventLoopGroup(numThreads, threadFactory));
@@ -540,6 +576,7 @@ public class IoEnvironment {
   public static class Builder {
 
     private boolean nativeIoEnabled = DEFAULT_NATIVE_IO_ENABLED;
+    private boolean ioUringEnabled = DEFAULT_IO_URING_ENABLED;
     private Supplier<EventLoopGroup> managerEventLoopGroup = null;
     private Supplier<EventLoopGroup> kvEventLoopGroup = null;
     private Supplier<EventLoopGroup> queryEventLoopGroup = null;
@@ -707,6 +744,26 @@ public class IoEnvironment {
       return this;
     }
 
+    /**
+     * If set to true (disabled by default), the io_uring transport is used on linux instead of epoll.
+     * <p>
+     * io_uring submits and completes socket reads and writes through shared ring buffers instead of individual
+     * system calls, which can considerably reduce the syscall overhead at high operation rates. It covers the KV
+     * as well as the HTTP based services.
+     * <p>
+     * The transport requires linux with a kernel of at least 5.9 and the io_uring transport module on the
+     * classpath. If either is missing, or native IO is disabled through {@link #enableNativeIo(boolean)}, the SDK
+     * silently falls back to epoll (or NIO), so it is safe to enable this on all platforms.
+     *
+     * @param ioUringEnabled if the io_uring transport should be used if available.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder enableIoUring(final boolean ioUringEnabled) {
+      this.ioUringEnabled = ioUringEnabled;
+      return this;
+    }
+
     /**
      * Overrides the number of threads used per event loop.
      * <p>
@@ -38,6 +38,7 @@ public class CollectionIdentifier {
   private final boolean isDefault;
   private final Optional<String> scope;
   private final Optional<String> collection;
+  private final int hashCode;
 
   public static CollectionIdentifier fromDefault(String bucket) {
     return new CollectionIdentifier(bucket, Optional.of(DEFAULT_SCOPE), Optional.of(DEFAULT_COLLECTION));
@@ -52,6 +53,7 @@ public class CollectionIdentifier {
     this.scope = scope;
     this.collection = collection;
     this.isDefault = Optional.of(DEFAULT_SCOPE).equals(scope) && Optional.of(DEFAULT_COLLECTION).equals(collection);
+    this.hashCode = Objects.hash(bucket, scope, collection);
   }
 
   public String bucket() {
@@ -75,14 +77,15 @@ public class CollectionIdentifier {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     CollectionIdentifier that = (CollectionIdentifier) o;
-    return Objects.equals(bucket, that.bucket) &&
+    return hashCode == that.hashCode &&
+      Objects.equals(bucket, that.bucket) &&
       Objects.equals(scope, that.scope) &&
       Objects.equals(collection, that.collection);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(bucket, scope, collection);
+    return hashCode;
   }
 
   @Override
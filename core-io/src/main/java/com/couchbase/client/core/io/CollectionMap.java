@@ -18,19 +18,26 @@ package com.couchbase.client.core.io;
 
 import com.couchbase.client.core.util.UnsignedLEB128;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The {@link CollectionMap} maps a locator to the encoded collection ID representation.
+ * <p>
+ * Collection IDs are stored per bucket in copy-on-write maps: lookups (which happen for every KV request) are a
+ * plain read of an immutable map, while the rare updates (when a collection ID is refreshed) copy the map of the
+ * affected bucket. The stored values are the encoded key prefixes, so they can be written in front of the key
+ * as-is.
  */
 public class CollectionMap {
 
   /**
-   * Holds the actual inner map.
+   * Holds the collection IDs per bucket.
    */
-  private final ConcurrentHashMap<CollectionIdentifier, byte[]> inner = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, BucketCollections> buckets = new ConcurrentHashMap<>();
 
   /**
    * Holds the identifier for the default collection.
@@ -49,7 +56,8 @@ public class CollectionMap {
     if (key.isDefault()) {
       return DEFAULT_ID;
     }
-    return inner.get(key);
+    BucketCollections collections = buckets.get(key.bucket());
+    return collections == null ? null : collections.get(key);
   }
 
   /**
@@ -59,7 +67,7 @@ public class CollectionMap {
    * @param value the value associated.
    */
   public void put(final CollectionIdentifier key, byte[] value) {
-    inner.put(key, value);
+    buckets.computeIfAbsent(key.bucket(), b -> new BucketCollections()).put(key, value);
   }
 
   /**
@@ -69,12 +77,7 @@ public class CollectionMap {
    * @return true if so, false otherwise.
    */
   public boolean hasBucketMap(final String bucket) {
-    for (CollectionIdentifier identifier : inner.keySet()) {
-      if (bucket.equals(identifier.bucket())) {
-        return true;
-      }
-    }
-    return false;
+    return buckets.containsKey(bucket);
   }
 
   /**
@@ -83,6 +86,32 @@ public class CollectionMap {
    * @return the inner map, immutable.
    */
   public Map<CollectionIdentifier, byte[]> inner() {
-    return Collections.unmodifiableMap(inner);
+    Map<CollectionIdentifier, byte[]> result = new HashMap<>();
+    for (BucketCollections collections : buckets.values()) {
+      result.putAll(collections.collections);
+    }
+    return Collections.unmodifiableMap(result);
+  }
+
+  /**
+   * The copy-on-write collection IDs of a single bucket.
+   */
+  private static class BucketCollections {
+
+    private volatile Map<CollectionIdentifier, byte[]> collections = Collections.emptyMap();
+
+    byte[] get(final CollectionIdentifier key) {
+      return collections.get(key);
+    }
+
+    synchronized void put(final CollectionIdentifier key, final byte[] value) {
+      if (Arrays.equals(collections.get(key), value)) {
+        return;
+      }
+      Map<CollectionIdentifier, byte[]> updated = new HashMap<>(collections);
+      updated.put(key, value);
+      collections = updated;
+    }
   }
+
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.channel.Channel;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelOption;
+import com.couchbase.client.core.deps.io.netty.channel.EventLoopGroup;
+import com.couchbase.client.core.deps.io.netty.channel.ServerChannel;
+import reactor.util.annotation.Nullable;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Provides access to Netty's io_uring transport, which is only available on Linux with a recent enough kernel.
+ * <p>
+ * The transport ships as a separate (incubator) module, so all of its classes are loaded reflectively: if they are
+ * not on the classpath, or the kernel does not support io_uring, {@link #isAvailable()} returns false and the
+ * callers fall back to the next best transport.
+ */
+@Stability.Internal
+public class IoUringTransport {
+
+  private static final String PACKAGE = "com.couchbase.client.core.deps.io.netty.incubator.channel.uring.";
+  private static final String EVENT_LOOP_GROUP = PACKAGE + "IOUringEventLoopGroup";
+
+  private IoUringTransport() {
+    throw new AssertionError("not instantiable");
+  }
+
+  private static class InitOnDemandHolder {
+    /**
+     * Only initialized on first use, since checking the availability loads the native library.
+     */
+    private static final Throwable UNAVAILABILITY_CAUSE = checkAvailability();
+  }
+
+  private static Throwable checkAvailability() {
+    try {
+      Class<?> ioUring = Class.forName(PACKAGE + "IOUring");
+      return (Throwable) ioUring.getMethod("unavailabilityCause").invoke(null);
+    } catch (Throwable t) {
+      return t;
+    }
+  }
+
+  /**
+   * Returns true if the io_uring transport is on the classpath and supported by the kernel.
+   */
+  public static boolean isAvailable() {
+    return InitOnDemandHolder.UNAVAILABILITY_CAUSE == null;
+  }
+
+  /**
+   * Returns the reason why the transport is not available, or null if it is.
+   */
+  public static @Nullable Throwable unavailabilityCause() {
+    return InitOnDemandHolder.UNAVAILABILITY_CAUSE;
+  }
+
+  /**
+   * Creates a new io_uring event loop group; must only be called if {@link #isAvailable()}.
+   *
+   * @param numThreads the number of threads.
+   * @param threadFactory the factory for the threads.
+   * @return the created group.
+   */
+  public static EventLoopGroup createEventLoopGroup(final int numThreads, final ThreadFactory threadFactory) {
+    try {
+      return (EventLoopGroup) Class
+        .forName(EVENT_LOOP_GROUP)
+        .getConstructor(int.class, ThreadFactory.class)
+        .newInstance(numThreads, threadFactory);
+    } catch (Exception e) {
+      throw new IllegalStateException("Could not create io_uring event loop group", e);
+    }
+  }
+
+  /**
+   * Returns true if the given group is an io_uring event loop group.
+   */
+  public static boolean isEventLoopGroup(final EventLoopGroup eventLoopGroup) {
+    return eventLoopGroup.getClass().getName().equals(EVENT_LOOP_GROUP);
+  }
+
+  /**
+   * Returns the socket channel class to use with an io_uring event loop group.
+   */
+  public static Class<? extends Channel> socketChannelClass() {
+    return loadClass("IOUringSocketChannel", Channel.class);
+  }
+
+  /**
+   * Returns the server socket channel class to use with an io_uring event loop group.
+   */
+  public static Class<? extends ServerChannel> serverSocketChannelClass() {
+    return loadClass("IOUringServerSocketChannel", ServerChannel.class);
+  }
+
+  /**
+   * Returns the channel option which configures the tcp keepalive idle time, in seconds.
+   */
+  @SuppressWarnings("unchecked")
+  public static ChannelOption<Integer> tcpKeepIdleOption() {
+    try {
+      return (ChannelOption<Integer>) Class.forName(PACKAGE + "IOUringChannelOption").getField("TCP_KEEPIDLE").get(null);
+    } catch (Exception e) {
+      throw new IllegalStateException("Could not load io_uring channel option", e);
+    }
+  }
+
+  private static <T> Class<? extends T> loadClass(final String name, final Class<T> type) {
+    try {
+      return Class.forName(PACKAGE + name).asSubclass(type);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("The io_uring transport is not on the classpath", e);
+    }
+  }
+
+}
@@ -229,7 +229,11 @@ public abstract class NonChunkedHttpMessageHandler extends ChannelDuplexHandler
     try {
       if (msg instanceof FullHttpResponse) {
         try {
-          currentRequest.context().dispatchLatency(System.nanoTime() - dispatchTimingStart);
+          long latency = System.nanoTime() - dispatchTimingStart;
+          currentRequest.context().dispatchLatency(latency);
+          if (endpoint != null) {
+            endpoint.recordLatency(latency);
+          }
           if (currentDispatchSpan != null) {
             currentDispatchSpan.end();
           }
@@ -19,22 +19,38 @@ package com.couchbase.client.core.io.netty;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.events.io.CustomTlsCiphersEnabledEvent;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
 import com.couchbase.client.core.deps.io.netty.handler.ssl.OpenSsl;
+import com.couchbase.client.core.deps.io.netty.handler.ssl.OpenSslSessionContext;
+import com.couchbase.client.core.deps.io.netty.handler.ssl.SslContext;
 import com.couchbase.client.core.deps.io.netty.handler.ssl.SslContextBuilder;
 import com.couchbase.client.core.deps.io.netty.handler.ssl.SslHandler;
 import com.couchbase.client.core.deps.io.netty.handler.ssl.SslProvider;
 import com.couchbase.client.core.endpoint.EndpointContext;
+import com.couchbase.client.core.env.Authenticator;
+import com.couchbase.client.core.env.CoreEnvironment;
 import com.couchbase.client.core.env.SecurityConfig;
 import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.core.error.InvalidArgumentException;
+import com.couchbase.client.core.service.ServiceType;
 
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSessionContext;
 import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * This factory creates {@link SslHandler} based on a given configuration.
+ * <p>
+ * The {@link SslContext} is built once per environment and authenticator and shared by all endpoints, instead of
+ * once per channel. Since the context also holds the client session cache, reconnecting endpoints can resume an
+ * earlier session with the same node (through session tickets or session IDs) and skip the full handshake. Every
+ * handshake is reported through the {@link TlsHandshakeMetrics}.
  *
  * @since 2.0.0
  */
@@ -51,33 +67,38 @@ public class SslHandlerFactory {
     private static final boolean OPENSSL_AVAILABLE = OpenSsl.isAvailable();
   }
 
+  /**
+   * The number of sessions kept for resumption, per shared context.
+   */
+  private static final int SESSION_CACHE_SIZE = 1024;
+
+  /**
+   * How long a cached session can be resumed, in seconds.
+   */
+  private static final int SESSION_TIMEOUT_SECONDS = 3600;
+
+  /**
+   * Holds the state shared by all endpoints of an environment. Weakly keyed, so it goes away with the environment.
+   */
+  private static final Map<CoreEnvironment, SharedState> SHARED_STATE = Collections.synchronizedMap(new WeakHashMap<>());
+
   public static SslHandler get(final ByteBufAllocator allocator, final SecurityConfig config,
                                final EndpointContext endpointContext) throws Exception {
-    SslContextBuilder context = sslContextBuilder(config.nativeTlsEnabled());
-
-    if (config.trustManagerFactory() != null) {
-      context.trustManager(config.trustManagerFactory());
-    } else if (config.trustCertificates() != null && !config.trustCertificates().isEmpty()) {
-      context.trustManager(config.trustCertificates().toArray(new X509Certificate[0]));
-    }
+    CoreEnvironment environment = endpointContext.environment();
+    SharedState shared = SHARED_STATE.computeIfAbsent(environment, env -> new SharedState());
 
     List<String> ciphers = config.ciphers();
     if (ciphers != null && !ciphers.isEmpty()) {
-      context.ciphers(ciphers);
       endpointContext.environment().eventBus().publish(
         new CustomTlsCiphersEnabledEvent(ciphers, endpointContext)
       );
     }
 
-    endpointContext.authenticator().applyTlsProperties(context);
-
-    final SslHandler sslHandler = context.build().newHandler(
+    SSLEngine sslEngine = shared.context(config, endpointContext.authenticator()).newEngine(
       allocator,
       endpointContext.remoteSocket().host(),
       endpointContext.remoteSocket().port()
     );
-
-    SSLEngine sslEngine = sslHandler.engine();
     SSLParameters sslParameters = sslEngine.getSSLParameters();
 
     if (config.hostnameVerificationEnabled()) {
@@ -86,7 +107,48 @@ public class SslHandlerFactory {
 
     sslEngine.setSSLParameters(sslParameters);
 
-    return sslHandler;
+    return new MeteredSslHandler(sslEngine, shared.metrics(environment, endpointContext.serviceType()));
+  }
+
+  /**
+   * Returns the context shared by all endpoints with the same environment and authenticator as the given one.
+   */
+  static SslContext sharedContext(final SecurityConfig config, final EndpointContext endpointContext)
+    throws Exception {
+    return SHARED_STATE
+      .computeIfAbsent(endpointContext.environment(), env -> new SharedState())
+      .context(config, endpointContext.authenticator());
+  }
+
+  /**
+   * Builds a new context for the given configuration and authenticator, with the client session cache enabled.
+   */
+  private static SslContext buildContext(final SecurityConfig config, final Authenticator authenticator)
+    throws Exception {
+    SslContextBuilder context = sslContextBuilder(config.nativeTlsEnabled())
+      .sessionCacheSize(SESSION_CACHE_SIZE)
+      .sessionTimeout(SESSION_TIMEOUT_SECONDS);
+
+    if (config.trustManagerFactory() != null) {
+      context.trustManager(config.trustManagerFactory());
+    } else if (config.trustCertificates() != null && !config.trustCertificates().isEmpty()) {
+      context.trustManager(config.trustCertificates().toArray(new X509Certificate[0]));
+    }
+
+    List<String> ciphers = config.ciphers();
+    if (ciphers != null && !ciphers.isEmpty()) {
+      context.ciphers(ciphers);
+    }
+
+    authenticator.applyTlsProperties(context);
+
+    SslContext sslContext = context.build();
+    SSLSessionContext sessionContext = sslContext.sessionContext();
+    if (sessionContext instanceof OpenSslSessionContext) {
+      // netty disables the client session cache of the OpenSSL provider by default, the JDK one is always on.
+      ((OpenSslSessionContext) sessionContext).setSessionCacheEnabled(true);
+    }
+    return sslContext;
   }
 
   private static SslContextBuilder sslContextBuilder(final boolean nativeTlsEnabled) {
@@ -103,6 +165,81 @@ public class SslHandlerFactory {
     return InitOnDemandHolder.OPENSSL_AVAILABLE;
   }
 
+  /**
+   * The contexts and handshake metrics shared by all endpoints of one environment.
+   */
+  private static final class SharedState {
+
+    private final Map<Authenticator, SslContext> contexts = new WeakHashMap<>();
+    private final Map<ServiceType, TlsHandshakeMetrics> metrics = new EnumMap<>(ServiceType.class);
+
+    /**
+     * The configuration the cached contexts have been built from.
+     */
+    private SecurityConfig config;
+
+    synchronized SslContext context(final SecurityConfig config, final Authenticator authenticator)
+      throws Exception {
+      if (this.config != config) {
+        contexts.clear();
+        this.config = config;
+      }
+      SslContext context = contexts.get(authenticator);
+      if (context == null) {
+        context = buildContext(config, authenticator);
+        contexts.put(authenticator, context);
+      }
+      return context;
+    }
+
+    synchronized TlsHandshakeMetrics metrics(final CoreEnvironment environment, final ServiceType serviceType) {
+      return metrics.computeIfAbsent(serviceType, type -> new TlsHandshakeMetrics(environment.meter(), type));
+    }
+  }
+
+  /**
+   * Reports the outcome and duration of the handshake to the {@link TlsHandshakeMetrics}.
+   * <p>
+   * A session counts as resumed if it has been created before the handshake started, which works the same for
+   * session IDs and tickets and for both the JDK and the OpenSSL provider.
+   */
+  private static final class MeteredSslHandler extends SslHandler {
+
+    private long handshakeStartNanos;
+    private long handshakeStartMillis;
+
+    MeteredSslHandler(final SSLEngine engine, final TlsHandshakeMetrics metrics) {
+      super(engine);
+      handshakeFuture().addListener(future -> {
+        if (future.isSuccess()) {
+          boolean resumed = engine().getSession().getCreationTime() < handshakeStartMillis;
+          metrics.succeeded(resumed, System.nanoTime() - handshakeStartNanos);
+        } else if (handshakeStartNanos != 0) {
+          metrics.failed();
+        }
+      });
+    }
+
+    @Override
+    public void handlerAdded(final ChannelHandlerContext ctx) throws Exception {
+      if (ctx.channel().isActive()) {
+        markHandshakeStart();
+      }
+      super.handlerAdded(ctx);
+    }
+
+    @Override
+    public void channelActive(final ChannelHandlerContext ctx) throws Exception {
+      markHandshakeStart();
+      super.channelActive(ctx);
+    }
+
+    private void markHandshakeStart() {
+      handshakeStartNanos = System.nanoTime();
+      handshakeStartMillis = System.currentTimeMillis();
+    }
+  }
+
   /**
    * Lists the default ciphers used for this platform.
    * <p>
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.CbTracing;
+import com.couchbase.client.core.cnc.Counter;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.cnc.ValueRecorder;
+import com.couchbase.client.core.service.ServiceType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the meters which track the TLS handshakes of a single service.
+ * <p>
+ * Every handshake is counted by its outcome (a full handshake, an abbreviated one which resumed an earlier session,
+ * or a failure), so the resumption rate is the share of resumed handshakes among the successful ones. The duration
+ * of successful handshakes is recorded in microseconds, also tagged with the outcome.
+ */
+@Stability.Internal
+public final class TlsHandshakeMetrics {
+
+  static final String OUTCOME_FULL = "full";
+  static final String OUTCOME_RESUMED = "resumed";
+  static final String OUTCOME_FAILED = "failed";
+
+  private final Counter full;
+  private final Counter resumed;
+  private final Counter failed;
+  private final ValueRecorder fullDuration;
+  private final ValueRecorder resumedDuration;
+
+  /**
+   * Creates the handshake meters.
+   *
+   * @param meter the meter to create the counters and value recorders on.
+   * @param serviceType the service the handshakes are performed for.
+   */
+  public TlsHandshakeMetrics(final Meter meter, final ServiceType serviceType) {
+    String service = CbTracing.getTracingId(serviceType);
+    this.full = meter.counter(TracingIdentifiers.METER_TLS_HANDSHAKES, tags(service, OUTCOME_FULL));
+    this.resumed = meter.counter(TracingIdentifiers.METER_TLS_HANDSHAKES, tags(service, OUTCOME_RESUMED));
+    this.failed = meter.counter(TracingIdentifiers.METER_TLS_HANDSHAKES, tags(service, OUTCOME_FAILED));
+    this.fullDuration = meter.valueRecorder(TracingIdentifiers.METER_TLS_HANDSHAKE_DURATION, tags(service, OUTCOME_FULL));
+    this.resumedDuration = meter.valueRecorder(
+      TracingIdentifiers.METER_TLS_HANDSHAKE_DURATION,
+      tags(service, OUTCOME_RESUMED)
+    );
+  }
+
+  private static Map<String, String> tags(final String service, final String outcome) {
+    Map<String, String> tags = new HashMap<>(2);
+    tags.put(TracingIdentifiers.ATTR_SERVICE, service);
+    tags.put(TracingIdentifiers.ATTR_OUTCOME, outcome);
+    return tags;
+  }
+
+  /**
+   * Records a successful handshake.
+   *
+   * @param resumedSession true if an earlier session has been resumed.
+   * @param durationNanos how long the handshake took.
+   */
+  void succeeded(final boolean resumedSession, final long durationNanos) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(durationNanos);
+    if (resumedSession) {
+      resumed.incrementBy(1);
+      resumedDuration.recordValue(micros);
+    } else {
+      full.incrementBy(1);
+      fullDuration.recordValue(micros);
+    }
+  }
+
+  /**
+   * Records a handshake which failed.
+   */
+  void failed() {
+    failed.incrementBy(1);
+  }
+
+}
@@ -243,7 +243,11 @@ public abstract class ChunkedMessageHandler
   }
 
   private void handleHttpResponse(final ChannelHandlerContext ctx, final HttpResponse msg) {
-    currentRequest.context().dispatchLatency(System.nanoTime() - dispatchTimingStart);
+    long latency = System.nanoTime() - dispatchTimingStart;
+    currentRequest.context().dispatchLatency(latency);
+    if (endpoint != null) {
+      endpoint.recordLatency(latency);
+    }
     if (currentDispatchSpan != null) {
       currentDispatchSpan.end();
     }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.Counter;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.cnc.metrics.NoopMeter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the meters which track how well document bodies compress for a single collection.
+ * <p>
+ * For every value which is considered for compression, the number of values per outcome as well as the bytes
+ * before and after the compression decision are counted. This allows to spot collections which pay the compression
+ * cost without getting anything back.
+ */
+@Stability.Internal
+public final class CompressionMetrics {
+
+  /**
+   * Used if no meter is available (i.e. for requests which are not bound to a core).
+   */
+  public static final CompressionMetrics NOOP = new CompressionMetrics(NoopMeter.INSTANCE, Collections.emptyMap());
+
+  static final String OUTCOME_COMPRESSED = "compressed";
+  static final String OUTCOME_REJECTED = "rejected";
+  static final String OUTCOME_INCOMPRESSIBLE = "incompressible";
+
+  private final Counter compressed;
+  private final Counter rejected;
+  private final Counter incompressible;
+  private final Counter inputBytes;
+  private final Counter outputBytes;
+
+  /**
+   * Creates the compression meters.
+   *
+   * @param meter the meter to create the counters on.
+   * @param tags the tags which identify the collection.
+   */
+  public CompressionMetrics(final Meter meter, final Map<String, String> tags) {
+    this.compressed = meter.counter(TracingIdentifiers.METER_COMPRESSION_VALUES, withOutcome(tags, OUTCOME_COMPRESSED));
+    this.rejected = meter.counter(TracingIdentifiers.METER_COMPRESSION_VALUES, withOutcome(tags, OUTCOME_REJECTED));
+    this.incompressible = meter.counter(
+      TracingIdentifiers.METER_COMPRESSION_VALUES,
+      withOutcome(tags, OUTCOME_INCOMPRESSIBLE)
+    );
+    this.inputBytes = meter.counter(TracingIdentifiers.METER_COMPRESSION_INPUT_BYTES, tags);
+    this.outputBytes = meter.counter(TracingIdentifiers.METER_COMPRESSION_OUTPUT_BYTES, tags);
+  }
+
+  private static Map<String, String> withOutcome(final Map<String, String> tags, final String outcome) {
+    Map<String, String> result = new HashMap<>(tags);
+    result.put(TracingIdentifiers.ATTR_OUTCOME, outcome);
+    return result;
+  }
+
+  /**
+   * Records a value which has been sent compressed.
+   */
+  void compressed(final int inputLength, final int outputLength) {
+    compressed.incrementBy(1);
+    inputBytes.incrementBy(inputLength);
+    outputBytes.incrementBy(outputLength);
+  }
+
+  /**
+   * Records a value which has been compressed, but did not meet the minimum ratio and is sent as-is.
+   */
+  void rejected(final int inputLength) {
+    rejected.incrementBy(1);
+    inputBytes.incrementBy(inputLength);
+    outputBytes.incrementBy(inputLength);
+  }
+
+  /**
+   * Records a value which has not been compressed at all since it looked incompressible.
+   */
+  void incompressible(final int inputLength) {
+    incompressible.incrementBy(1);
+    inputBytes.incrementBy(inputLength);
+    outputBytes.incrementBy(inputLength);
+  }
+
+}
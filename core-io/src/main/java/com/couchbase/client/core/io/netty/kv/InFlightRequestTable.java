@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.cnc.RequestSpan;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import reactor.util.annotation.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * Holds all requests which have been written on a KV channel and are waiting for their response, keyed by opaque.
+ * <p>
+ * The request, its dispatch start timestamp and the (optional) dispatch span are stored side by side in an
+ * open-addressed table with linear probing, so that neither the write nor the response path needs to box the
+ * timestamp or perform more than one hash lookup.
+ * <p>
+ * Since opaques are handed out sequentially per channel, the opaque itself is used as the hash which spreads
+ * outstanding requests perfectly across the slots.
+ * <p>
+ * This class is not thread-safe and must only be accessed from the event loop of the channel that owns it.
+ */
+final class InFlightRequestTable {
+
+  /**
+   * The initial capacity, needs to be a power of two.
+   */
+  private static final int DEFAULT_CAPACITY = 64;
+
+  private int[] opaques;
+  private KeyValueRequest<Response>[] requests;
+  private long[] dispatchStarts;
+  private RequestSpan[] dispatchSpans;
+  private int mask;
+  private int size;
+
+  InFlightRequestTable() {
+    allocate(DEFAULT_CAPACITY);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void allocate(final int capacity) {
+    opaques = new int[capacity];
+    requests = (KeyValueRequest<Response>[]) new KeyValueRequest[capacity];
+    dispatchStarts = new long[capacity];
+    dispatchSpans = new RequestSpan[capacity];
+    mask = capacity - 1;
+  }
+
+  /**
+   * Stores a written request, replacing any previous request stored under the same opaque.
+   *
+   * @param opaque the opaque of the request.
+   * @param request the request itself.
+   * @param dispatchStart the nano timestamp when the request has been written.
+   * @param dispatchSpan the dispatch span, can be null.
+   */
+  void put(final int opaque, final KeyValueRequest<Response> request, final long dispatchStart,
+           final RequestSpan dispatchSpan) {
+    if ((size + 1) << 1 > requests.length) {
+      grow();
+    }
+
+    int slot = opaque & mask;
+    while (requests[slot] != null) {
+      if (opaques[slot] == opaque) {
+        break;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    if (requests[slot] == null) {
+      size++;
+    }
+    opaques[slot] = opaque;
+    requests[slot] = request;
+    dispatchStarts[slot] = dispatchStart;
+    dispatchSpans[slot] = dispatchSpan;
+  }
+
+  /**
+   * Attaches the dispatch span to the request stored under the given opaque, if it is still present.
+   *
+   * @param opaque the opaque of the request.
+   * @param dispatchSpan the dispatch span.
+   */
+  void dispatchSpan(final int opaque, final RequestSpan dispatchSpan) {
+    int slot = opaque & mask;
+    while (requests[slot] != null) {
+      if (opaques[slot] == opaque) {
+        dispatchSpans[slot] = dispatchSpan;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  /**
+   * Removes the request for the given opaque and hands it to the handler together with its dispatch start and span.
+   * <p>
+   * The handler is called once the request has been removed, so it is free to store requests in this table again.
+   *
+   * @param opaque the opaque of the request.
+   * @param ctx the channel handler context, passed through to the handler.
+   * @param response the response for the request, passed through to the handler.
+   * @param handler the handler which is called if the request is found.
+   * @return true if the request has been found and handed to the handler, false otherwise.
+   */
+  boolean remove(final int opaque, final ChannelHandlerContext ctx, final ByteBuf response,
+                 final RemovalHandler handler) {
+    int slot = opaque & mask;
+    while (requests[slot] != null) {
+      if (opaques[slot] == opaque) {
+        KeyValueRequest<Response> request = requests[slot];
+        long dispatchStart = dispatchStarts[slot];
+        RequestSpan dispatchSpan = dispatchSpans[slot];
+        removeSlot(slot);
+        size--;
+        handler.removed(ctx, response, request, dispatchStart, dispatchSpan);
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  /**
+   * Calls the consumer for every outstanding request.
+   */
+  void forEach(final Consumer<KeyValueRequest<Response>> consumer) {
+    for (KeyValueRequest<Response> request : requests) {
+      if (request != null) {
+        consumer.accept(request);
+      }
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Clears the slot and shifts subsequent entries of the same probe sequence back, so that lookups never
+   * need tombstones.
+   */
+  private void removeSlot(final int slot) {
+    int gap = slot;
+    int next = (gap + 1) & mask;
+    while (requests[next] != null) {
+      int ideal = opaques[next] & mask;
+      if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+        opaques[gap] = opaques[next];
+        requests[gap] = requests[next];
+        dispatchStarts[gap] = dispatchStarts[next];
+        dispatchSpans[gap] = dispatchSpans[next];
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    requests[gap] = null;
+    dispatchSpans[gap] = null;
+  }
+
+  /**
+   * Receives a request which has been removed from the table, together with its dispatch bookkeeping.
+   * <p>
+   * The context and response are passed through from the caller, so that the handler does not need to capture
+   * them and can be allocated once per table owner.
+   */
+  @FunctionalInterface
+  interface RemovalHandler {
+    void removed(ChannelHandlerContext ctx, ByteBuf response, KeyValueRequest<Response> request, long dispatchStart,
+                 @Nullable RequestSpan dispatchSpan);
+  }
+
+  private void grow() {
+    int[] oldOpaques = opaques;
+    KeyValueRequest<Response>[] oldRequests = requests;
+    long[] oldDispatchStarts = dispatchStarts;
+    RequestSpan[] oldDispatchSpans = dispatchSpans;
+
+    allocate(oldRequests.length << 1);
+    size = 0;
+    for (int i = 0; i < oldRequests.length; i++) {
+      if (oldRequests[i] != null) {
+        put(oldOpaques[i], oldRequests[i], oldDispatchStarts[i], oldDispatchSpans[i]);
+      }
+    }
+  }
+
+}
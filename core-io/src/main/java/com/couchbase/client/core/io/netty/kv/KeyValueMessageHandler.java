@@ -35,13 +35,12 @@ import com.couchbase.client.core.config.ConfigurationProvider;
 import com.couchbase.client.core.config.MemcachedBucketConfig;
 import com.couchbase.client.core.config.ProposedBucketConfigContext;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelDuplexHandler;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelPromise;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
-import com.couchbase.client.core.deps.io.netty.util.collection.IntObjectHashMap;
-import com.couchbase.client.core.deps.io.netty.util.collection.IntObjectMap;
 import com.couchbase.client.core.endpoint.BaseEndpoint;
 import com.couchbase.client.core.endpoint.EndpointContext;
 import com.couchbase.client.core.env.CompressionConfig;
@@ -99,19 +98,14 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
   private final EndpointContext endpointContext;
 
   /**
-   * Holds all outstanding requests based on their opaque.
+   * Holds all outstanding requests, their dispatch timestamps and spans based on their opaque.
    */
-  private final IntObjectMap<KeyValueRequest<Response>> writtenRequests;
+  private final InFlightRequestTable writtenRequests;
 
   /**
-   * Holds all outstanding requests based on their opaque.
+   * Handles the responses for requests removed from {@link #writtenRequests}.
    */
-  private final IntObjectMap<RequestSpan> writtenRequestDispatchSpans;
-
-  /**
-   * Holds the start timestamps for the outstanding dispatched requests.
-   */
-  private final IntObjectMap<Long> writtenRequestDispatchTimings;
+  private final InFlightRequestTable.RemovalHandler responseHandler = this::handleResponse;
 
   /**
    * The compression config used for this handler.
@@ -148,6 +142,11 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
    */
   private ErrorMap errorMap;
 
+  /**
+   * The allocator requests are encoded with, which belongs to the write aggregator if one is in the pipeline.
+   */
+  private ByteBufAllocator encodeAllocator;
+
   /**
    * Knows if the tracer is an internal or external one for optimizations.
    */
@@ -162,15 +161,24 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
                                 final Optional<String> bucketName) {
     this.endpoint = endpoint;
     this.endpointContext = endpointContext;
-    this.writtenRequests = new IntObjectHashMap<>();
-    this.writtenRequestDispatchTimings = new IntObjectHashMap<>();
-    this.writtenRequestDispatchSpans = new IntObjectHashMap<>();
+    this.writtenRequests = new InFlightRequestTable();
     this.compressionConfig = endpointContext.environment().compressionConfig();
     this.eventBus = endpointContext.environment().eventBus();
     this.bucketName = bucketName;
     this.isInternalTracer = CbTracing.isInternalTracer(endpointContext.environment().requestTracer());
   }
 
+  /**
+   * Picks the allocator requests are encoded with, since the write aggregator is already part of the pipeline.
+   *
+   * @param ctx the channel context.
+   */
+  @Override
+  public void handlerAdded(final ChannelHandlerContext ctx) {
+    KeyValueWriteAggregator aggregator = ctx.pipeline().get(KeyValueWriteAggregator.class);
+    encodeAllocator = aggregator != null ? aggregator.allocator() : ctx.alloc();
+  }
+
   /**
    * Actions to be performed when the channel becomes active.
    *
@@ -230,33 +238,9 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
       KeyValueRequest<Response> request = (KeyValueRequest<Response>) msg;
 
       int opaque = request.opaque();
-      writtenRequests.put(opaque, request);
       try {
-        ctx.write(request.encode(ctx.alloc(), opaque, channelContext), promise);
-        writtenRequestDispatchTimings.put(opaque, (Long) System.nanoTime());
-        if (request.requestSpan() != null) {
-          RequestTracer tracer = endpointContext.environment().requestTracer();
-          RequestSpan dispatchSpan = tracer.requestSpan(TracingIdentifiers.SPAN_DISPATCH, request.requestSpan());
-
-          if (!isInternalTracer) {
-            setCommonDispatchSpanAttributes(
-              dispatchSpan,
-              ctx.channel().attr(ChannelAttributes.CHANNEL_ID_KEY).get(),
-              ioContext.localHostname(),
-              ioContext.localPort(),
-              endpoint.remoteHostname(),
-              endpoint.remotePort(),
-              null
-            );
-            setNumericOperationId(dispatchSpan, request.opaque());
-            setCommonKVSpanAttributes(dispatchSpan, request);
-          }
-
-          writtenRequestDispatchSpans.put(opaque, dispatchSpan);
-        }
-
+        ctx.write(request.encode(encodeAllocator, opaque, channelContext), promise);
       } catch (Throwable err) {
-        writtenRequests.remove(opaque);
         if (err instanceof CollectionNotFoundException) {
           if (channelContext.collectionsEnabled()) {
             ConfigurationProvider cp = ioContext.core().configurationProvider();
@@ -271,6 +255,29 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
           }
         }
         request.fail(err);
+        return;
+      }
+
+      // Track the request before creating the span, so that it completes with its response no matter what.
+      writtenRequests.put(opaque, request, System.nanoTime(), null);
+      if (request.requestSpan() != null) {
+        RequestTracer tracer = endpointContext.environment().requestTracer();
+        RequestSpan dispatchSpan = tracer.requestSpan(TracingIdentifiers.SPAN_DISPATCH, request.requestSpan());
+
+        if (!isInternalTracer) {
+          setCommonDispatchSpanAttributes(
+            dispatchSpan,
+            ctx.channel().attr(ChannelAttributes.CHANNEL_ID_KEY).get(),
+            ioContext.localHostname(),
+            ioContext.localPort(),
+            endpoint.remoteHostname(),
+            endpoint.remotePort(),
+            null
+          );
+          setNumericOperationId(dispatchSpan, request.opaque());
+          setCommonKVSpanAttributes(dispatchSpan, request);
+        }
+        writtenRequests.dispatchSpan(opaque, dispatchSpan);
       }
     } else {
       eventBus.publish(new InvalidRequestDetectedEvent(ioContext, ServiceType.KV, msg));
@@ -302,9 +309,9 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
 
   @Override
   public void channelInactive(final ChannelHandlerContext ctx) {
-    for (KeyValueRequest<? extends  Response> request : writtenRequests.values()) {
-      RetryOrchestrator.maybeRetry(ioContext, request, RetryReason.CHANNEL_CLOSED_WHILE_IN_FLIGHT);
-    }
+    writtenRequests.forEach(request ->
+      RetryOrchestrator.maybeRetry(ioContext, request, RetryReason.CHANNEL_CLOSED_WHILE_IN_FLIGHT)
+    );
     ctx.fireChannelInactive();
   }
 
@@ -324,14 +331,24 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
     }
 
     int opaque = MemcacheProtocol.opaque(response);
-    KeyValueRequest<Response> request = writtenRequests.remove(opaque);
-
-    if (request == null) {
+    if (!writtenRequests.remove(opaque, ctx, response, responseHandler)) {
       handleUnknownResponseReceived(ctx, response);
-      return;
     }
+  }
 
-    long originalStart = completeRequestTimings(request, response, opaque);
+  /**
+   * Handles the response for a request which has been removed from the written requests.
+   *
+   * @param ctx the channel handler context from netty.
+   * @param response the response to handle.
+   * @param request the request the response belongs to.
+   * @param dispatchStart the nano timestamp when the request has been written.
+   * @param dispatchSpan the dispatch span of the request, if present.
+   */
+  private void handleResponse(final ChannelHandlerContext ctx, final ByteBuf response,
+                              final KeyValueRequest<Response> request, final long dispatchStart,
+                              final RequestSpan dispatchSpan) {
+    long originalStart = completeRequestTimings(request, response, dispatchStart, dispatchSpan);
 
     short statusCode = MemcacheProtocol.status(response);
     ResponseStatus status = MemcacheProtocol.decodeStatus(statusCode);
@@ -418,17 +435,16 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
    *
    * @param request the request to complete.
    * @param response the response to complete.
-   * @param opaque the opaque for the request.
+   * @param start the nano timestamp when the request has been written.
+   * @param dispatchSpan the dispatch span of the request, if present.
    */
   private long completeRequestTimings(final KeyValueRequest<Response> request, final ByteBuf response,
-                                      final int opaque) {
+                                      final long start, final RequestSpan dispatchSpan) {
     long serverTime = MemcacheProtocol.parseServerDurationFromResponse(response);
     request.context().serverLatency(serverTime);
 
-    long start = writtenRequestDispatchTimings.remove(opaque);
     request.context().dispatchLatency(System.nanoTime() - start);
 
-    RequestSpan dispatchSpan = writtenRequestDispatchSpans.remove(opaque);
     if (dispatchSpan != null) {
       if (!isInternalTracer) {
         TracingUtils.setServerDurationAttribute(dispatchSpan, serverTime);
@@ -486,8 +502,7 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
     decoded.feedItems(MemcacheProtocol.body(response).orElse(EMPTY_BUFFER), hasLastItem, completeStream);
 
     if (decoded.status() == ResponseStatus.SUCCESS) {
-      writtenRequests.put(request.opaque(), request);
-      writtenRequestDispatchTimings.put(request.opaque(), (Long) originalStart);
+      writtenRequests.put(request.opaque(), request, originalStart, null);
     }
   }
 
@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.CompositeByteBuf;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelDuplexHandler;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelPromise;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregates KV requests written between two flushes into a shared, pre-sized buffer.
+ * <p>
+ * Every request written through the {@link KeyValueMessageHandler} would otherwise be encoded into its own small
+ * buffer. Even with consolidated flushes, the transport (and the SSL handler, if enabled) would then be handed
+ * dozens of tiny buffers per flush. Instead, the message handler encodes with the {@link #allocator()} of this
+ * handler, which hands out the packet buffers as slices of one pooled aggregate buffer. The requests are encoded
+ * straight into the aggregate, without any copy, which results in fewer gathering write segments per syscall and
+ * fewer, larger TLS records.
+ * <p>
+ * This handler does not defer flushes itself. It relies on a flush consolidation handler in front of it (on the
+ * side of the request handlers), so that the writes between two flushes it sees are already batched. On every
+ * flush the current aggregate is written out and flushed right away. An aggregate is also written out early once
+ * it hits the byte or request limit.
+ * <p>
+ * The size of the aggregation buffer adapts to the observed load: it grows if the buffer ran full between two
+ * flushes and shrinks again after consecutive flushes which only used a fraction of it. Packets which are large
+ * relative to the current buffer size get a buffer of their own and are passed through as-is, just like buffers
+ * which have not been allocated through this handler.
+ * <p>
+ * This handler must be placed between the transport and both the {@link MemcacheProtocolVerificationHandler}
+ * (since the aggregates contain more than one packet) and the flush consolidation handler.
+ */
+public class KeyValueWriteAggregator extends ChannelDuplexHandler {
+
+  /**
+   * The smallest size the aggregation buffer shrinks to.
+   */
+  static final int MIN_CAPACITY = 1024;
+
+  /**
+   * The size the aggregation buffer starts out with.
+   */
+  static final int INITIAL_CAPACITY = 4096;
+
+  private final int maxBytes;
+  private final int maxRequests;
+  private final List<ChannelPromise> promises = new ArrayList<>();
+
+  private ChannelHandlerContext ctx;
+  private PacketAllocator allocator;
+
+  private ByteBuf aggregate;
+  private ByteBuf reservedPacket;
+  private int aggregatedRequests;
+  private int capacity;
+
+  private boolean ranFullSinceFlush;
+  private int bytesSinceFlush;
+  private boolean shrinkNext;
+
+  /**
+   * Creates a new {@link KeyValueWriteAggregator}.
+   *
+   * @param maxBytes the maximum size of a single aggregate (the buffer will never grow larger than this).
+   * @param maxRequests the maximum number of requests in a single aggregate.
+   */
+  public KeyValueWriteAggregator(final int maxBytes, final int maxRequests) {
+    if (maxBytes < MIN_CAPACITY) {
+      throw new IllegalArgumentException("The aggregation limit must be at least " + MIN_CAPACITY + " bytes");
+    }
+    if (maxRequests < 1) {
+      throw new IllegalArgumentException("At least one request must fit into an aggregate");
+    }
+    this.maxBytes = maxBytes;
+    this.maxRequests = maxRequests;
+    this.capacity = Math.min(INITIAL_CAPACITY, maxBytes);
+  }
+
+  @Override
+  public void handlerAdded(final ChannelHandlerContext ctx) {
+    this.ctx = ctx;
+    this.allocator = new PacketAllocator(this, ctx.alloc());
+  }
+
+  @Override
+  public void handlerRemoved(final ChannelHandlerContext ctx) {
+    writeAggregate(ctx);
+  }
+
+  /**
+   * Returns the allocator requests need to be encoded with, so that their packets end up in the aggregate.
+   */
+  ByteBufAllocator allocator() {
+    return allocator;
+  }
+
+  @Override
+  public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+    if (msg != null && msg == reservedPacket) {
+      // A packet which has been encoded straight into the aggregate, so only the promise needs to be tracked.
+      ByteBuf packet = reservedPacket;
+      reservedPacket = null;
+      bytesSinceFlush += packet.readableBytes();
+      aggregatedRequests++;
+      packet.release();
+      if (!promise.isVoid()) {
+        promises.add(promise);
+      }
+      return;
+    }
+
+    writeAggregate(ctx);
+    ctx.write(msg, promise);
+  }
+
+  @Override
+  public void flush(final ChannelHandlerContext ctx) {
+    writeAggregate(ctx);
+    adaptCapacity();
+    ctx.flush();
+  }
+
+  @Override
+  public void disconnect(final ChannelHandlerContext ctx, final ChannelPromise promise) throws Exception {
+    writeAggregate(ctx);
+    ctx.disconnect(promise);
+  }
+
+  @Override
+  public void close(final ChannelHandlerContext ctx, final ChannelPromise promise) throws Exception {
+    writeAggregate(ctx);
+    ctx.close(promise);
+  }
+
+  @Override
+  public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+    // Hands anything still held back to the (now closed) transport, which fails the writes and releases the buffer.
+    writeAggregate(ctx);
+    ctx.fireChannelInactive();
+  }
+
+  @Override
+  public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+    if (!ctx.channel().isWritable()) {
+      // Hand over what we are holding back, so it is written with the next flush.
+      writeAggregate(ctx);
+    }
+    ctx.fireChannelWritabilityChanged();
+  }
+
+  /**
+   * Returns the current size of the aggregation buffer.
+   */
+  int capacity() {
+    return capacity;
+  }
+
+  /**
+   * Returns the buffer a single packet of the given size is encoded into.
+   * <p>
+   * Unless the packet is large, the buffer is an empty slice of the aggregate. The packet has to be written to the
+   * pipeline (and reach this handler) right after it has been encoded, since the region is already reserved in
+   * the aggregate.
+   *
+   * @param size the exact size of the packet.
+   * @return the buffer to write the packet into.
+   */
+  ByteBuf packetBuffer(final int size) {
+    if (size > capacity >>> 1) {
+      return ctx.alloc().buffer(size);
+    }
+
+    if (aggregate != null && (aggregate.writableBytes() < size || aggregatedRequests >= maxRequests)) {
+      ranFullSinceFlush = true;
+      writeAggregate(ctx);
+    }
+    if (aggregate == null) {
+      aggregate = ctx.alloc().ioBuffer(capacity, capacity);
+    }
+
+    int index = aggregate.writerIndex();
+    aggregate.writerIndex(index + size);
+    reservedPacket = aggregate.retainedSlice(index, size).clear();
+    return reservedPacket;
+  }
+
+  /**
+   * Writes out the current aggregate (if any) and completes the promises of all requests it contains once the
+   * write is done.
+   */
+  private void writeAggregate(final ChannelHandlerContext ctx) {
+    if (aggregate == null) {
+      return;
+    }
+
+    ByteBuf toWrite = aggregate;
+    aggregate = null;
+    reservedPacket = null;
+    aggregatedRequests = 0;
+
+    if (promises.isEmpty()) {
+      ctx.write(toWrite, ctx.voidPromise());
+      return;
+    }
+
+    ChannelPromise[] toNotify = promises.toArray(new ChannelPromise[0]);
+    promises.clear();
+    ctx.write(toWrite).addListener(f -> {
+      for (ChannelPromise promise : toNotify) {
+        if (f.isSuccess()) {
+          promise.trySuccess();
+        } else {
+          promise.tryFailure(f.cause());
+        }
+      }
+    });
+  }
+
+  /**
+   * Grows the buffer if it ran full since the last flush and shrinks it after two consecutive flushes which used
+   * less than a quarter of it.
+   */
+  private void adaptCapacity() {
+    if (ranFullSinceFlush) {
+      capacity = Math.min(capacity << 1, maxBytes);
+      shrinkNext = false;
+    } else if (bytesSinceFlush < capacity >>> 2 && capacity > MIN_CAPACITY) {
+      if (shrinkNext) {
+        capacity = Math.max(capacity >>> 1, MIN_CAPACITY);
+        shrinkNext = false;
+      } else {
+        shrinkNext = true;
+      }
+    } else {
+      shrinkNext = false;
+    }
+    ranFullSinceFlush = false;
+    bytesSinceFlush = 0;
+  }
+
+  /**
+   * The allocator requests are encoded with.
+   * <p>
+   * All regular allocations (i.e. for keys or extras which are only needed while encoding) are delegated to the
+   * channel allocator, only {@link MemcacheProtocol} asks for the buffer of the complete packet through
+   * {@link #packetBuffer(int)}.
+   */
+  static final class PacketAllocator implements ByteBufAllocator {
+
+    private final KeyValueWriteAggregator aggregator;
+    private final ByteBufAllocator delegate;
+
+    PacketAllocator(final KeyValueWriteAggregator aggregator, final ByteBufAllocator delegate) {
+      this.aggregator = aggregator;
+      this.delegate = delegate;
+    }
+
+    ByteBuf packetBuffer(final int size) {
+      return aggregator.packetBuffer(size);
+    }
+
+    @Override
+    public ByteBuf buffer() {
+      return delegate.buffer();
+    }
+
+    @Override
+    public ByteBuf buffer(final int initialCapacity) {
+      return delegate.buffer(initialCapacity);
+    }
+
+    @Override
+    public ByteBuf buffer(final int initialCapacity, final int maxCapacity) {
+      return delegate.buffer(initialCapacity, maxCapacity);
+    }
+
+    @Override
+    public ByteBuf ioBuffer() {
+      return delegate.ioBuffer();
+    }
+
+    @Override
+    public ByteBuf ioBuffer(final int initialCapacity) {
+      return delegate.ioBuffer(initialCapacity);
+    }
+
+    @Override
+    public ByteBuf ioBuffer(final int initialCapacity, final int maxCapacity) {
+      return delegate.ioBuffer(initialCapacity, maxCapacity);
+    }
+
+    @Override
+    public ByteBuf heapBuffer() {
+      return delegate.heapBuffer();
+    }
+
+    @Override
+    public ByteBuf heapBuffer(final int initialCapacity) {
+      return delegate.heapBuffer(initialCapacity);
+    }
+
+    @Override
+    public ByteBuf heapBuffer(final int initialCapacity, final int maxCapacity) {
+      return delegate.heapBuffer(initialCapacity, maxCapacity);
+    }
+
+    @Override
+    public ByteBuf directBuffer() {
+      return delegate.directBuffer();
+    }
+
+    @Override
+    public ByteBuf directBuffer(final int initialCapacity) {
+      return delegate.directBuffer(initialCapacity);
+    }
+
+    @Override
+    public ByteBuf directBuffer(final int initialCapacity, final int maxCapacity) {
+      return delegate.directBuffer(initialCapacity, maxCapacity);
+    }
+
+    @Override
+    public CompositeByteBuf compositeBuffer() {
+      return delegate.compositeBuffer();
+    }
+
+    @Override
+    public CompositeByteBuf compositeBuffer(final int maxNumComponents) {
+      return delegate.compositeBuffer(maxNumComponents);
+    }
+
+    @Override
+    public CompositeByteBuf compositeHeapBuffer() {
+      return delegate.compositeHeapBuffer();
+    }
+
+    @Override
+    public CompositeByteBuf compositeHeapBuffer(final int maxNumComponents) {
+      return delegate.compositeHeapBuffer(maxNumComponents);
+    }
+
+    @Override
+    public CompositeByteBuf compositeDirectBuffer() {
+      return delegate.compositeDirectBuffer();
+    }
+
+    @Override
+    public CompositeByteBuf compositeDirectBuffer(final int maxNumComponents) {
+      return delegate.compositeDirectBuffer(maxNumComponents);
+    }
+
+    @Override
+    public boolean isDirectBufferPooled() {
+      return delegate.isDirectBufferPooled();
+    }
+
+    @Override
+    public int calculateNewCapacity(final int minNewCapacity, final int maxCapacity) {
+      return delegate.calculateNewCapacity(minNewCapacity, maxCapacity);
+    }
+  }
+
+}
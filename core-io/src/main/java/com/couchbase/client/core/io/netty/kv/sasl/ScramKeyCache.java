@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv.sasl;
+
+import javax.security.sasl.SaslException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A process-wide, bounded cache of the keys derived from a password during a SCRAM handshake.
+ * <p>
+ * Deriving the salted password runs thousands of HMAC iterations, and the salt and iteration count the server
+ * sends only change when the password does. Without this cache, every KV connection would redo the same
+ * derivation, which adds up to a noticeable CPU spike when hundreds of endpoints reconnect at once (i.e. after a
+ * failover). Concurrent handshakes with the same credentials wait for a single derivation.
+ * <p>
+ * Entries are identified by a SHA-256 digest over the algorithm, username, password, salt and iteration count, so
+ * the password itself is never kept. Only the client and server key are cached, not the salted password. Cached
+ * keys are handed out as copies and zeroed once their entry is evicted.
+ */
+final class ScramKeyCache {
+
+  /**
+   * The maximum number of entries, more than enough for the credentials one process uses.
+   */
+  static final int MAX_ENTRIES = 64;
+
+  static final ScramKeyCache INSTANCE = new ScramKeyCache(MAX_ENTRIES);
+
+  private final int maxEntries;
+
+  /**
+   * Holds the entries in access order, guarded by its own monitor.
+   */
+  private final LinkedHashMap<ByteBuffer, Entry> entries;
+
+  ScramKeyCache(final int maxEntries) {
+    this.maxEntries = maxEntries;
+    this.entries = new LinkedHashMap<>(maxEntries + 1, 1.0f, true);
+  }
+
+  /**
+   * Returns the keys for the given credentials and server parameters, deriving them if not cached.
+   *
+   * @param algorithm the HMAC algorithm.
+   * @param username the name of the user.
+   * @param password the password of the user.
+   * @param salt the salt sent by the server.
+   * @param iterations the iteration count sent by the server.
+   * @param derivation derives the keys on a cache miss.
+   * @return copies of the keys, which the caller is expected to zero once done.
+   */
+  ScramKeys get(final String algorithm, final String username, final char[] password, final byte[] salt,
+                final int iterations, final Derivation derivation) throws SaslException {
+    ByteBuffer id = identify(algorithm, username, password, salt, iterations);
+
+    Entry entry;
+    Entry evicted = null;
+    synchronized (entries) {
+      entry = entries.computeIfAbsent(id, k -> new Entry());
+      if (entries.size() > maxEntries) {
+        Iterator<Entry> eldest = entries.values().iterator();
+        evicted = eldest.next();
+        eldest.remove();
+      }
+    }
+    if (evicted != null) {
+      // Outside of the map lock, since zeroing waits for a derivation which might still be running.
+      evicted.evict();
+    }
+    return entry.get(derivation);
+  }
+
+  int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  private static ByteBuffer identify(final String algorithm, final String username, final char[] password,
+                                     final byte[] salt, final int iterations) throws SaslException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new SaslException("SHA-256 not supported", e);
+    }
+
+    update(digest, algorithm.getBytes(UTF_8));
+    update(digest, username.getBytes(UTF_8));
+    ByteBuffer encoded = UTF_8.encode(CharBuffer.wrap(password));
+    byte[] encodedPassword = new byte[encoded.remaining()];
+    encoded.get(encodedPassword);
+    try {
+      update(digest, encodedPassword);
+    } finally {
+      Arrays.fill(encodedPassword, (byte) 0);
+      Arrays.fill(encoded.array(), (byte) 0);
+    }
+    update(digest, salt);
+    update(digest, ByteBuffer.allocate(4).putInt(iterations).array());
+    return ByteBuffer.wrap(digest.digest());
+  }
+
+  /**
+   * Adds the value with a length prefix, so that no two different inputs produce the same digest input.
+   */
+  private static void update(final MessageDigest digest, final byte[] value) {
+    digest.update(ByteBuffer.allocate(4).putInt(value.length).array());
+    digest.update(value);
+  }
+
+  /**
+   * Derives the keys for a cache miss.
+   */
+  @FunctionalInterface
+  interface Derivation {
+    ScramKeys derive() throws SaslException;
+  }
+
+  /**
+   * A cache entry, which derives its keys at most once while it is cached.
+   */
+  private static final class Entry {
+    private ScramKeys keys;
+
+    synchronized ScramKeys get(final Derivation derivation) throws SaslException {
+      if (keys == null) {
+        keys = derivation.derive();
+      }
+      return keys.copy();
+    }
+
+    synchronized void evict() {
+      if (keys != null) {
+        keys.zero();
+        keys = null;
+      }
+    }
+  }
+
+  /**
+   * The keys derived from the salted password.
+   */
+  static final class ScramKeys {
+    private final byte[] clientKey;
+    private final byte[] serverKey;
+
+    ScramKeys(final byte[] clientKey, final byte[] serverKey) {
+      this.clientKey = clientKey;
+      this.serverKey = serverKey;
+    }
+
+    /**
+     * ClientKey := HMAC(SaltedPassword, "Client Key")
+     */
+    byte[] clientKey() {
+      return clientKey;
+    }
+
+    /**
+     * ServerKey := HMAC(SaltedPassword, "Server Key")
+     */
+    byte[] serverKey() {
+      return serverKey;
+    }
+
+    ScramKeys copy() {
+      return new ScramKeys(clientKey.clone(), serverKey.clone());
+    }
+
+    void zero() {
+      Arrays.fill(clientKey, (byte) 0);
+      Arrays.fill(serverKey, (byte) 0);
+    }
+  }
+
+}
@@ -35,6 +35,7 @@ import java.security.Key;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
@@ -52,8 +53,9 @@ class ScramSaslClient implements SaslClient  {
   private final MessageDigest digest;
 
   private String clientNonce;
+  private String username;
   private byte[] salt;
-  private byte[] saltedPassword;
+  private ScramKeyCache.ScramKeys keys;
   private int iterationCount;
   private String clientFirstMessage;
   private String clientFirstMessageBare;
@@ -110,7 +112,8 @@ class ScramSaslClient implements SaslClient  {
         throw new SaslException("Initial challenge should be without input data");
       }
 
-      clientFirstMessage = "n,,n=" + getUserName() + ",r=" + clientNonce;
+      username = getUserName();
+      clientFirstMessage = "n,,n=" + username + ",r=" + clientNonce;
       clientFirstMessageBare = clientFirstMessage.substring(3);
       return clientFirstMessage.getBytes(UTF_8);
     } else if (serverFirstMessage == null) {
@@ -145,8 +148,8 @@ class ScramSaslClient implements SaslClient  {
         throw InvalidArgumentException.fromMessage("missing mandatory key in serverFirstMessage");
       }
 
-      // We have the salt, time to generate the salted password
-      generateSaltedPassword();
+      // We have the salt, time to derive the keys from the salted password
+      deriveKeys();
 
       clientFinalMessageNoProof = "c=biws,r=" + nonce;
       String client_final_message = clientFinalMessageNoProof + ",p=" + Base64.getEncoder().encodeToString(getClientProof());
@@ -171,6 +174,7 @@ class ScramSaslClient implements SaslClient  {
       }
 
       String myServerSignature = Base64.getEncoder().encodeToString(getServerSignature());
+      dispose();
       if (!myServerSignature.equals(attributes.get("v"))) {
         throw new SaslException("Server signature is incorrect");
       }
@@ -202,7 +206,10 @@ class ScramSaslClient implements SaslClient  {
 
   @Override
   public void dispose() {
-
+    if (keys != null) {
+      keys.zero();
+      keys = null;
+    }
   }
 
   private String getUserName() throws SaslException {
@@ -300,7 +307,11 @@ class ScramSaslClient implements SaslClient  {
     }
   }
 
-  private void generateSaltedPassword() throws SaslException {
+  /**
+   * Looks up the client and server key for the password in the {@link ScramKeyCache}, running the expensive
+   * {@link #pbkdf2(String, byte[], int)} only if they are not cached yet.
+   */
+  private void deriveKeys() throws SaslException {
     final PasswordCallback passwordCallback = new PasswordCallback("Password", false);
     try {
       callbacks.handle(new Callback[]{passwordCallback});
@@ -313,9 +324,18 @@ class ScramSaslClient implements SaslClient  {
       throw new SaslException("Password can't be null");
     }
 
-    String password = new String(pw);
-    saltedPassword = pbkdf2(password, salt, iterationCount);
-    passwordCallback.clearPassword();
+    try {
+      keys = ScramKeyCache.INSTANCE.get(hmacAlgorithm, username, pw, salt, iterationCount, () -> {
+        byte[] saltedPassword = pbkdf2(new String(pw), salt, iterationCount);
+        try {
+          return new ScramKeyCache.ScramKeys(hmac(saltedPassword, CLIENT_KEY), hmac(saltedPassword, SERVER_KEY));
+        } finally {
+          Arrays.fill(saltedPassword, (byte) 0);
+        }
+      });
+    } finally {
+      passwordCallback.clearPassword();
+    }
   }
 
   /**
@@ -326,8 +346,7 @@ class ScramSaslClient implements SaslClient  {
    * ServerSignature := HMAC(ServerKey, AuthMessage)</p>
    */
   private byte[] getServerSignature() {
-    byte[] serverKey = hmac(saltedPassword, SERVER_KEY);
-    return hmac(serverKey, getAuthMessage().getBytes(UTF_8));
+    return hmac(keys.serverKey(), getAuthMessage().getBytes(UTF_8));
   }
 
   /**
@@ -343,7 +362,7 @@ class ScramSaslClient implements SaslClient  {
    * ClientProof     := ClientKey XOR ClientSignature</p>
    */
   private byte[] getClientProof() {
-    byte[] clientKey = hmac(saltedPassword, CLIENT_KEY);
+    byte[] clientKey = keys.clientKey().clone();
     byte[] storedKey = digest.digest(clientKey);
     byte[] clientSignature = hmac(storedKey, getAuthMessage().getBytes(UTF_8));
 
@@ -16,8 +16,12 @@
 
 package com.couchbase.client.core.kv;
 
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
 import com.couchbase.client.core.util.Bytes;
+import reactor.util.annotation.Nullable;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Arrays;
@@ -38,7 +42,10 @@ public class CoreRangeScanItem {
 
   private final byte[] keyBytes;
 
-  private final byte[] value;
+  private byte[] value;
+
+  @Nullable
+  private final ByteBuf valueBuffer;
 
   public static CoreRangeScanItem keyOnly(final byte[] key) {
     return new CoreRangeScanItem(0, null, 0, 0, key, Bytes.EMPTY_BYTE_ARRAY);
@@ -49,15 +56,30 @@ public class CoreRangeScanItem {
     return new CoreRangeScanItem(flags, expiry, seqno, cas, key, value);
   }
 
+  /**
+   * Creates an item whose value is a retained, read-only view of the network buffer, which the consumer of the
+   * item owns until {@link #release()} is called.
+   */
+  public static CoreRangeScanItem keyAndRetainedBody(final int flags, final Instant expiry, final long seqno,
+                                                     final long cas, final byte[] key, final ByteBuf valueBuffer) {
+    return new CoreRangeScanItem(flags, expiry, seqno, cas, key, null, notNull(valueBuffer, "RangeScanItem Value"));
+  }
+
   protected CoreRangeScanItem(final int flags, final Instant expiry, final long seqno, final long cas,
                               final byte[] key, final byte[] value) {
+    this(flags, expiry, seqno, cas, key, notNull(value, "RangeScanItem Value"), null);
+  }
+
+  private CoreRangeScanItem(final int flags, final Instant expiry, final long seqno, final long cas,
+                            final byte[] key, @Nullable final byte[] value, @Nullable final ByteBuf valueBuffer) {
     this.flags = flags;
     this.expiry = expiry;
     this.seqno = seqno;
     this.cas = cas;
     this.keyBytes = key;
     this.key = new String(notNull(key, "RangeScanItem Key"), StandardCharsets.UTF_8);
-    this.value = notNull(value, "RangeScanItem Value");
+    this.value = value;
+    this.valueBuffer = valueBuffer;
   }
 
   public int flags() {
@@ -84,23 +106,58 @@ public class CoreRangeScanItem {
     return keyBytes;
   }
 
+  /**
+   * Returns the value.
+   * <p>
+   * If this item retains the network buffer, the value is copied out of the buffer on first access.
+   */
   public byte[] value() {
+    if (value == null) {
+      value = ByteBufUtil.getBytes(valueBuffer);
+    }
     return value;
   }
 
+  /**
+   * Returns a read-only view of the value, without copying it if this item retains the network buffer.
+   * <p>
+   * In that case the view is only valid until {@link #release()} is called.
+   */
+  public ByteBuffer valueBuffer() {
+    return valueBuffer != null
+      ? valueBuffer.nioBuffer().asReadOnlyBuffer()
+      : ByteBuffer.wrap(value).asReadOnlyBuffer();
+  }
+
+  /**
+   * Returns true if this item retains the network buffer and needs to be released.
+   */
+  public boolean retainsValueBuffer() {
+    return valueBuffer != null;
+  }
+
+  /**
+   * Releases the retained network buffer, if present.
+   *
+   * @return true if the buffer has been deallocated as a result of this call.
+   */
+  public boolean release() {
+    return valueBuffer != null && valueBuffer.release();
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     CoreRangeScanItem that = (CoreRangeScanItem) o;
-    return flags == that.flags && seqno == that.seqno && cas == that.cas && Objects.equals(expiry, that.expiry) && Objects.equals(key, that.key) && Arrays.equals(keyBytes, that.keyBytes) && Arrays.equals(value, that.value);
+    return flags == that.flags && seqno == that.seqno && cas == that.cas && Objects.equals(expiry, that.expiry) && Objects.equals(key, that.key) && Arrays.equals(keyBytes, that.keyBytes) && Arrays.equals(value(), that.value());
   }
 
   @Override
   public int hashCode() {
     int result = Objects.hash(flags, expiry, seqno, cas, key);
     result = 31 * result + Arrays.hashCode(keyBytes);
-    result = 31 * result + Arrays.hashCode(value);
+    result = 31 * result + Arrays.hashCode(value());
     return result;
   }
 
@@ -113,7 +170,7 @@ public class CoreRangeScanItem {
       ", cas=" + cas +
       ", key='" + key + '\'' +
       ", keyBytes=" + Arrays.toString(keyBytes) +
-      ", value=" + Arrays.toString(value) +
+      ", value=" + Arrays.toString(value()) +
       '}';
   }
 }
@@ -48,6 +48,42 @@ public interface CoreScanOptions {
 
   int batchByteLimit();
 
+  /**
+   * The maximum number of partitions which are streamed at the same time.
+   * <p>
+   * The default of 1 streams all partitions one after another, in partition order.
+   */
+  default int concurrency() {
+    return 1;
+  }
+
+  /**
+   * The maximum number of partitions which are streamed at the same time from a single node.
+   * <p>
+   * 0 (the default) means that only the overall {@link #concurrency()} applies. This limit is only honored
+   * if {@link #ordered()} is false, since an ordered stream has to drain the partitions in partition order.
+   */
+  default int perNodeConcurrency() {
+    return 0;
+  }
+
+  /**
+   * If partitions are streamed concurrently, defines if the items are still emitted in partition order
+   * (buffering the partitions which are ahead) or as soon as they arrive from any partition.
+   */
+  default boolean ordered() {
+    return true;
+  }
+
+  /**
+   * If true, the item values are retained, read-only views of the network buffer instead of array copies.
+   * <p>
+   * The consumer then owns every item it receives and must call {@link CoreRangeScanItem#release()} once done.
+   */
+  default boolean retainValues() {
+    return false;
+  }
+
   default Map<Short, MutationToken> consistencyMap(){
     return consistentWith() == null ? new HashMap<>() : consistentWith().toMap();
   }
@@ -45,16 +45,23 @@ import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import static com.couchbase.client.core.util.Validators.notNull;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -174,14 +181,35 @@ public class RangeScanOrchestrator {
 
     final AtomicLong itemsStreamed = new AtomicLong();
 
-    int numPartitions = ((CouchbaseBucketConfig) currentBucketConfig).numberOfPartitions();
+    final CouchbaseBucketConfig bucketConfig = (CouchbaseBucketConfig) currentBucketConfig;
+    final int numPartitions = bucketConfig.numberOfPartitions();
+    final int concurrency = Math.max(1, options.concurrency());
 
-    List<Flux<CoreRangeScanItem>> partitionStreams = new ArrayList<>(numPartitions);
-    for (short i = 0; i < numPartitions; i++) {
-      partitionStreams.add(streamForPartition(i, createSupplier, options));
+    Flux<CoreRangeScanItem> stream;
+    if (concurrency == 1 || options.ordered()) {
+      List<Flux<CoreRangeScanItem>> partitionStreams = new ArrayList<>(numPartitions);
+      for (short i = 0; i < numPartitions; i++) {
+        partitionStreams.add(streamForPartition(i, createSupplier, options));
+      }
+      stream = concurrency == 1
+        ? Flux.concat(partitionStreams)
+        : Flux.mergeSequential(partitionStreams, concurrency, Queues.SMALL_BUFFER_SIZE);
+    } else {
+      int perNodeConcurrency = options.perNodeConcurrency() <= 0
+        ? concurrency
+        : Math.min(options.perNodeConcurrency(), concurrency);
+      stream = Flux.defer(() -> new PartitionScheduler(
+        bucketConfig,
+        concurrency,
+        perNodeConcurrency,
+        partition -> streamForPartition(partition, createSupplier, options)
+      ).stream());
     }
 
-    Flux<CoreRangeScanItem> stream = Flux.concat(partitionStreams);
+    if (options.retainValues()) {
+      // Items which are dropped on the way (i.e. buffered when the stream is cancelled) never reach the consumer.
+      stream = stream.doOnDiscard(CoreRangeScanItem.class, CoreRangeScanItem::release);
+    }
 
     return stream
       .doOnNext(item -> itemsStreamed.incrementAndGet())
@@ -298,6 +326,112 @@ public class RangeScanOrchestrator {
       .filter(item -> !(item instanceof LastCoreRangeScanItem));
   }
 
+  /**
+   * Streams partitions concurrently and unordered, while making sure that neither the overall nor the
+   * per-node limit of in-flight partition streams is exceeded.
+   * <p>
+   * Partitions are grouped by the node which currently hosts the active partition and started in a round-robin
+   * fashion across the nodes, so that all nodes are kept busy. Once a partition stream terminates, the next
+   * pending partition (if any) is started in its place. Note that the node grouping is only used for scheduling,
+   * so a rebalance during the scan does not affect correctness.
+   */
+  private static class PartitionScheduler {
+
+    private final Map<Short, Queue<Short>> pendingByNode = new LinkedHashMap<>();
+    private final Map<Short, Integer> inFlightByNode = new HashMap<>();
+    private final Sinks.Many<Flux<CoreRangeScanItem>> partitionStreams = Sinks.many().unicast().onBackpressureBuffer();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final Function<Short, Flux<CoreRangeScanItem>> streamFactory;
+    private final int concurrency;
+    private final int perNodeConcurrency;
+
+    private int inFlight;
+    private int remaining;
+
+    PartitionScheduler(final CouchbaseBucketConfig config, final int concurrency, final int perNodeConcurrency,
+                       final Function<Short, Flux<CoreRangeScanItem>> streamFactory) {
+      this.concurrency = concurrency;
+      this.perNodeConcurrency = perNodeConcurrency;
+      this.streamFactory = streamFactory;
+
+      int numPartitions = config.numberOfPartitions();
+      for (short i = 0; i < numPartitions; i++) {
+        pendingByNode.computeIfAbsent(config.nodeIndexForActive(i, false), k -> new ArrayDeque<>()).add(i);
+      }
+      this.remaining = numPartitions;
+    }
+
+    Flux<CoreRangeScanItem> stream() {
+      drain();
+      return partitionStreams.asFlux().flatMap(s -> s, concurrency);
+    }
+
+    private synchronized void partitionDone(final short node) {
+      inFlight--;
+      remaining--;
+      inFlightByNode.merge(node, -1, Integer::sum);
+    }
+
+    /**
+     * Picks the next partitions to stream while holding the lock, so it can be called from any thread.
+     */
+    private synchronized List<short[]> nextPartitions() {
+      List<short[]> next = new ArrayList<>();
+      boolean progress = true;
+      while (progress && inFlight < concurrency) {
+        progress = false;
+        for (Map.Entry<Short, Queue<Short>> entry : pendingByNode.entrySet()) {
+          if (inFlight >= concurrency) {
+            break;
+          }
+          short node = entry.getKey();
+          if (entry.getValue().isEmpty() || inFlightByNode.getOrDefault(node, 0) >= perNodeConcurrency) {
+            continue;
+          }
+          inFlight++;
+          inFlightByNode.merge(node, 1, Integer::sum);
+          next.add(new short[] { node, entry.getValue().poll() });
+          progress = true;
+        }
+      }
+      return next;
+    }
+
+    private synchronized boolean allPartitionsDone() {
+      return remaining == 0;
+    }
+
+    /**
+     * Emits newly started partition streams, serialized through a work-in-progress counter since completing a
+     * partition stream (which triggers the next drain) can happen synchronously while emitting.
+     */
+    private void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      do {
+        for (short[] next : nextPartitions()) {
+          short node = next[0];
+          Flux<CoreRangeScanItem> partitionStream = streamFactory
+            .apply(next[1])
+            .doFinally(signal -> {
+              partitionDone(node);
+              drain();
+            });
+          if (partitionStreams.tryEmitNext(partitionStream).isFailure()) {
+            return;
+          }
+        }
+        if (allPartitionsDone()) {
+          partitionStreams.tryEmitComplete();
+          return;
+        }
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+  }
+
   /**
    * Cancel the rangescan request.
    */
@@ -71,7 +71,7 @@ public class AppendRequest extends BaseKeyValueRequest<AppendResponse> implement
       byte datatype = 0;
       CompressionConfig config = ctx.compressionConfig();
       if (config != null && config.enabled() && this.content.length >= config.minSize()) {
-        ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(this.content, config.minRatio());
+        ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(alloc, this.content, config.minRatio(), compressionMetrics());
         if (maybeCompressed != null) {
           datatype |= MemcacheProtocol.Datatype.SNAPPY.datatype();
           content = maybeCompressed;
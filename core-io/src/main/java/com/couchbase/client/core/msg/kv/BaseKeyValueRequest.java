@@ -16,6 +16,7 @@
 
 package com.couchbase.client.core.msg.kv;
 
+import com.couchbase.client.core.Core;
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.cnc.CbTracing;
 import com.couchbase.client.core.cnc.RequestSpan;
@@ -27,6 +28,7 @@ import com.couchbase.client.core.error.FeatureNotAvailableException;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.error.context.ReducedKeyValueErrorContext;
 import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.io.netty.kv.CompressionMetrics;
 import com.couchbase.client.core.io.netty.kv.ErrorMap;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.msg.BaseRequest;
@@ -186,6 +188,16 @@ public abstract class BaseKeyValueRequest<R extends Response>
     }
   }
 
+  /**
+   * Returns the compression metrics for the collection of this request.
+   *
+   * @return the metrics from the core, or a no-op instance if this request is not bound to a core.
+   */
+  protected CompressionMetrics compressionMetrics() {
+    Core core = context().core();
+    return core == null ? CompressionMetrics.NOOP : core.compressionMetrics(collectionIdentifier);
+  }
+
 
 
   /**
@@ -38,6 +38,7 @@ import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noBody;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noCas;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noDatatype;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noExtras;
+import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.retainedBody;
 
 /**
  * Represents a KV Get (full document) operation.
@@ -46,10 +47,29 @@ import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noExtras;
  */
 public class GetRequest extends BaseKeyValueRequest<GetResponse> {
 
+  /**
+   * If true, the response retains a view of the network buffer instead of copying the content.
+   */
+  private final boolean retainContent;
+
   public GetRequest(final String key, final Duration timeout, final CoreContext ctx,
                     final CollectionIdentifier collectionIdentifier, final RetryStrategy retryStrategy,
                     final RequestSpan span) {
+    this(key, timeout, ctx, collectionIdentifier, retryStrategy, span, false);
+  }
+
+  /**
+   * Creates a new {@link GetRequest}, optionally in retained-buffer mode.
+   * <p>
+   * If retainContent is true, the {@link GetResponse} holds a reference-counted, read-only view of the network
+   * buffer instead of a byte array copy. The consumer of the response then owns this reference and must
+   * call {@link GetResponse#release()} once done with the content.
+   */
+  public GetRequest(final String key, final Duration timeout, final CoreContext ctx,
+                    final CollectionIdentifier collectionIdentifier, final RetryStrategy retryStrategy,
+                    final RequestSpan span, final boolean retainContent) {
     super(timeout, ctx, retryStrategy, key, collectionIdentifier, span);
+    this.retainContent = retainContent;
 
     if (span != null) {
       span.attribute(TracingIdentifiers.ATTR_OPERATION, TracingIdentifiers.SPAN_REQUEST_KV_GET);
@@ -74,14 +94,36 @@ public class GetRequest extends BaseKeyValueRequest<GetResponse> {
     long cas = cas(response);
 
     if (status.success()) {
-      byte[] content = bodyAsBytes(response);
       int flags = extrasAsInt(response, 0, 0);
+      if (retainContent) {
+        return GetResponse.withRetainedContent(status, retainedBody(response), cas, flags);
+      }
+      byte[] content = bodyAsBytes(response);
       return new GetResponse(status, content, cas, flags);
     } else {
       return new GetResponse(status, null, cas, 0);
     }
   }
 
+  /**
+   * Releases a retained content buffer right away if the request has already been completed otherwise
+   * (i.e. timed out or cancelled), since nobody will pick up the response.
+   */
+  @Override
+  public void succeed(final GetResponse result) {
+    super.succeed(result);
+    if (result.retainsContentBuffer() && (!succeeded() || response().getNow(null) != result)) {
+      result.release();
+    }
+  }
+
+  /**
+   * Returns true if the response retains the network buffer instead of copying the content.
+   */
+  public boolean retainContent() {
+    return retainContent;
+  }
+
   @Override
   public boolean idempotent() {
     return true;
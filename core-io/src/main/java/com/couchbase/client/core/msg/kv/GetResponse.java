@@ -17,6 +17,9 @@
 package com.couchbase.client.core.msg.kv;
 
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.msg.ResponseStatus;
 
 /**
@@ -27,24 +30,81 @@ import com.couchbase.client.core.msg.ResponseStatus;
 @Stability.Internal
 public final class GetResponse extends KeyValueBaseResponse {
 
-  private final byte[] content;
+  private byte[] content;
+  private final ByteBuf contentBuffer;
   private final long cas;
   private final int flags;
 
   public GetResponse(final ResponseStatus status, final byte[] content, final long cas, final int flags) {
+    this(status, content, null, cas, flags);
+  }
+
+  private GetResponse(final ResponseStatus status, final byte[] content, final ByteBuf contentBuffer,
+                      final long cas, final int flags) {
     super(status);
     this.content = content;
+    this.contentBuffer = contentBuffer;
     this.cas = cas;
     this.flags = flags;
   }
 
+  /**
+   * Creates a response which holds on to a retained, read-only view of the network buffer instead of a copy.
+   *
+   * @param status the response status.
+   * @param contentBuffer the retained content buffer, owned by this response until released.
+   * @param cas the cas of the document.
+   * @param flags the flags of the document.
+   * @return the created response.
+   * @see #release()
+   */
+  public static GetResponse withRetainedContent(final ResponseStatus status, final ByteBuf contentBuffer,
+                                                final long cas, final int flags) {
+    return new GetResponse(status, null, contentBuffer, cas, flags);
+  }
+
   /**
    * Returns the content, but might be empty or null.
+   * <p>
+   * If this response holds a retained content buffer, the content is copied out of the buffer on first access,
+   * which must happen before the buffer is released.
    */
   public byte[] content() {
+    if (content == null && contentBuffer != null) {
+      content = ByteBufUtil.getBytes(contentBuffer);
+    }
     return content;
   }
 
+  /**
+   * Returns a read-only view of the content without copying it, or null if not found.
+   * <p>
+   * If the request has been sent with a retained content buffer, the returned buffer is backed by the network
+   * buffer and only valid until {@link #release()} is called. Otherwise the returned buffer wraps the content.
+   */
+  public ByteBuf contentBuffer() {
+    if (contentBuffer != null) {
+      return contentBuffer.duplicate();
+    }
+    return content == null ? null : Unpooled.wrappedBuffer(content).asReadOnly();
+  }
+
+  /**
+   * Returns true if this response holds a retained content buffer which needs to be released.
+   */
+  public boolean retainsContentBuffer() {
+    return contentBuffer != null;
+  }
+
+  /**
+   * Releases the retained content buffer, if present.
+   *
+   * @return true if the buffer has been deallocated as a result of this call.
+   */
+  public boolean release() {
+    return contentBuffer != null && contentBuffer.release();
+  }
+
   /**
    * Returns the CAS value of the document at the time of the fetch.
    */
@@ -47,6 +47,8 @@ public class RangeScanContinueRequest extends PredeterminedPartitionRequest<Rang
 
   private final boolean keysOnly;
 
+  private final boolean retainValues;
+
   public RangeScanContinueRequest(CoreRangeScanId id,
                                   Sinks.Many<CoreRangeScanItem> sink,
                                   String key,
@@ -69,6 +71,7 @@ public class RangeScanContinueRequest extends PredeterminedPartitionRequest<Rang
     this.timeLimit = Math.toIntExact(timeout().toMillis());
     this.sink = sink;
     this.keysOnly = options.idsOnly();
+    this.retainValues = options.retainValues();
   }
 
 
@@ -90,7 +93,7 @@ public class RangeScanContinueRequest extends PredeterminedPartitionRequest<Rang
   @Override
   public RangeScanContinueResponse decode(final ByteBuf response, final KeyValueChannelContext ctx) {
     ResponseStatus status = decodeStatus(response);
-    return new RangeScanContinueResponse(status, sink, keysOnly);
+    return new RangeScanContinueResponse(status, sink, keysOnly, retainValues);
   }
 
   public CoreRangeScanId rangeScanId() {
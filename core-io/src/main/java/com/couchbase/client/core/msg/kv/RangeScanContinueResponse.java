@@ -36,12 +36,24 @@ public class RangeScanContinueResponse extends BaseResponse {
 
   private final Sinks.Many<CoreRangeScanItem> items;
   private final boolean keysOnly;
+  private final boolean retainValues;
 
   public RangeScanContinueResponse(final ResponseStatus status, final Sinks.Many<CoreRangeScanItem> items,
                                    final boolean keysOnly) {
+    this(status, items, keysOnly, false);
+  }
+
+  /**
+   * Creates a new response, optionally emitting items whose values retain the network buffer.
+   *
+   * @param retainValues if true, values are retained views of the buffer which the item consumer must release.
+   */
+  public RangeScanContinueResponse(final ResponseStatus status, final Sinks.Many<CoreRangeScanItem> items,
+                                   final boolean keysOnly, final boolean retainValues) {
     super(status);
     this.items = notNull(items, "CoreRangeScanItems Sink");
     this.keysOnly = keysOnly;
+    this.retainValues = retainValues;
   }
 
   public Flux<CoreRangeScanItem> items() {
@@ -115,6 +127,16 @@ public class RangeScanContinueResponse extends BaseResponse {
       byte dataType = itemsBuf.readByte();
 
       byte[] key = readLengthPrefixedBytes(itemsBuf);
+      if (retainValues && !MemcacheProtocol.Datatype.isSnappy(dataType)) {
+        int valueLength = Math.toIntExact(UnsignedLEB128.read(itemsBuf));
+        ByteBuf value = itemsBuf.readRetainedSlice(valueLength).asReadOnly();
+        CoreRangeScanItem item = CoreRangeScanItem.keyAndRetainedBody(flags, expiryInstant, seqno, cas, key, value);
+        if (items.tryEmitNext(item).isFailure()) {
+          item.release();
+        }
+        continue;
+      }
+
       byte[] rawValue = readLengthPrefixedBytes(itemsBuf);
       byte[] value = MemcacheProtocol.tryDecompression(rawValue, dataType);
 
@@ -90,7 +90,7 @@ public class ReplaceRequest extends BaseKeyValueRequest<ReplaceResponse> impleme
       byte datatype = 0;
       CompressionConfig config = ctx.compressionConfig();
       if (config != null && config.enabled() && this.content.length >= config.minSize()) {
-        ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(this.content, config.minRatio());
+        ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(alloc, this.content, config.minRatio(), compressionMetrics());
         if (maybeCompressed != null) {
           datatype |= MemcacheProtocol.Datatype.SNAPPY.datatype();
           content = maybeCompressed;
@@ -17,10 +17,15 @@
 package com.couchbase.client.core.msg.kv;
 
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
 import com.couchbase.client.core.error.CouchbaseException;
 import reactor.util.annotation.Nullable;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -33,7 +38,8 @@ public class SubDocumentField implements Serializable {
 
   private final SubDocumentOpResponseStatus status;
   @Nullable private final CouchbaseException error;
-  private final byte[] value;
+  private byte[] value;
+  @Nullable private final transient ByteBuf valueBuffer;
   private final String path;
   private final SubdocCommandType type;
 
@@ -42,6 +48,21 @@ public class SubDocumentField implements Serializable {
     this.status = requireNonNull(status);
     this.error = error.orElse(null);
     this.value = requireNonNull(value);
+    this.valueBuffer = null;
+    this.path = requireNonNull(path);
+    this.type = requireNonNull(type);
+  }
+
+  /**
+   * Creates a field which reads its value from a view of the network buffer instead of an array copy.
+   * <p>
+   * The buffer is owned (and released) by the {@link SubdocGetResponse} this field belongs to.
+   */
+  SubDocumentField(SubDocumentOpResponseStatus status, Optional<CouchbaseException> error, ByteBuf valueBuffer,
+                   String path, SubdocCommandType type) {
+    this.status = requireNonNull(status);
+    this.error = error.orElse(null);
+    this.valueBuffer = requireNonNull(valueBuffer);
     this.path = requireNonNull(path);
     this.type = requireNonNull(type);
   }
@@ -60,10 +81,29 @@ public class SubDocumentField implements Serializable {
     }
   }
 
+  /**
+   * Returns the value.
+   * <p>
+   * If this field reads from a network buffer, the value is copied out of the buffer on first access.
+   */
   public byte[] value() {
+    if (value == null) {
+      value = ByteBufUtil.getBytes(valueBuffer);
+    }
     return value;
   }
 
+  /**
+   * Returns a read-only view of the value, without copying it if this field reads from a network buffer.
+   * <p>
+   * In that case the view is only valid until the response of this field is released.
+   */
+  public ByteBuffer valueBuffer() {
+    return valueBuffer != null
+      ? valueBuffer.nioBuffer().asReadOnlyBuffer()
+      : ByteBuffer.wrap(value).asReadOnlyBuffer();
+  }
+
   public String path() {
     return path;
   }
@@ -72,11 +112,16 @@ public class SubDocumentField implements Serializable {
     return type;
   }
 
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    value();
+    out.defaultWriteObject();
+  }
+
   @Override
   public String toString() {
     return "SubdocField{" +
       "status=" + status +
-      ", value=" + new String(value, UTF_8) +
+      ", value=" + new String(value(), UTF_8) +
       ", path='" + path + '\'' +
       '}';
   }
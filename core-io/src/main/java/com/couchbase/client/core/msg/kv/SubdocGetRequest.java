@@ -63,6 +63,11 @@ public class SubdocGetRequest extends BaseKeyValueRequest<SubdocGetResponse> {
   private final List<Command> commands;
   private final String origKey;
 
+  /**
+   * If true, the response retains a view of the network buffer instead of copying the field values.
+   */
+  private final boolean retainContent;
+
   public static SubdocGetRequest create(final Duration timeout, final CoreContext ctx, CollectionIdentifier collectionIdentifier,
                                         final RetryStrategy retryStrategy, final String key,
                                         final byte flags, final List<CoreSubdocGetCommand> commands, final RequestSpan span) {
@@ -72,10 +77,25 @@ public class SubdocGetRequest extends BaseKeyValueRequest<SubdocGetResponse> {
   public SubdocGetRequest(final Duration timeout, final CoreContext ctx, CollectionIdentifier collectionIdentifier,
                           final RetryStrategy retryStrategy, final String key,
                           final byte flags, final List<Command> commands, final RequestSpan span) {
+    this(timeout, ctx, collectionIdentifier, retryStrategy, key, flags, commands, span, false);
+  }
+
+  /**
+   * Creates a new {@link SubdocGetRequest}, optionally in retained-buffer mode.
+   * <p>
+   * If retainContent is true, the fields of the {@link SubdocGetResponse} are views of the network buffer instead of
+   * byte array copies. The consumer of the response then owns this buffer and must call
+   * {@link SubdocGetResponse#release()} once done with the values.
+   */
+  public SubdocGetRequest(final Duration timeout, final CoreContext ctx, CollectionIdentifier collectionIdentifier,
+                          final RetryStrategy retryStrategy, final String key,
+                          final byte flags, final List<Command> commands, final RequestSpan span,
+                          final boolean retainContent) {
     super(timeout, ctx, retryStrategy, key, collectionIdentifier, span);
     this.flags = flags;
     this.commands = commands;
     this.origKey = key;
+    this.retainContent = retainContent;
 
     if (span != null) {
       span.attribute(TracingIdentifiers.ATTR_OPERATION, TracingIdentifiers.SPAN_REQUEST_KV_LOOKUP_IN);
@@ -171,6 +191,7 @@ public class SubdocGetRequest extends BaseKeyValueRequest<SubdocGetResponse> {
     ResponseStatus status = decodeStatus(response);
 
     SubDocumentField[] values = null;
+    ByteBuf retainedBody = null;
     List<CouchbaseException> errors = null;
     Optional<CouchbaseException> error = Optional.empty();
     String bodyErrorMessage = null;
@@ -188,22 +209,36 @@ public class SubdocGetRequest extends BaseKeyValueRequest<SubdocGetResponse> {
     if (maybeBody.isPresent()) {
       ByteBuf body = maybeBody.get();
       if (isSuccess) {
+        if (retainContent) {
+          retainedBody = MemcacheProtocol.retainedBody(response);
+          body = retainedBody.duplicate();
+        }
         values = new SubDocumentField[commands.size()];
-        for (Command command : commands) {
-          short statusRaw = body.readShort();
-          SubDocumentOpResponseStatus fieldStatus = decodeSubDocumentStatus(statusRaw);
-          Optional<CouchbaseException> fieldError = Optional.empty();
-          if (fieldStatus != SubDocumentOpResponseStatus.SUCCESS) {
-            if (errors == null) errors = new ArrayList<>();
-            CouchbaseException err = mapSubDocumentError(this, fieldStatus, command.path, command.originalIndex(), flexibleExtras);
-            errors.add(err);
-            fieldError = Optional.of(err);
+        try {
+          for (Command command : commands) {
+            short statusRaw = body.readShort();
+            SubDocumentOpResponseStatus fieldStatus = decodeSubDocumentStatus(statusRaw);
+            Optional<CouchbaseException> fieldError = Optional.empty();
+            if (fieldStatus != SubDocumentOpResponseStatus.SUCCESS) {
+              if (errors == null) errors = new ArrayList<>();
+              CouchbaseException err = mapSubDocumentError(this, fieldStatus, command.path, command.originalIndex(), flexibleExtras);
+              errors.add(err);
+              fieldError = Optional.of(err);
+            }
+            int valueLength = body.readInt();
+            SubDocumentField op;
+            if (retainedBody != null) {
+              op = new SubDocumentField(fieldStatus, fieldError, body.readSlice(valueLength), command.path, command.type);
+            } else {
+              byte[] value = new byte[valueLength];
+              body.readBytes(value, 0, valueLength);
+              op = new SubDocumentField(fieldStatus, fieldError, value, command.path, command.type);
+            }
+            values[command.originalIndex] = op;
           }
-          int valueLength = body.readInt();
-          byte[] value = new byte[valueLength];
-          body.readBytes(value, 0, valueLength);
-          SubDocumentField op = new SubDocumentField(fieldStatus, fieldError, value, command.path, command.type);
-          values[command.originalIndex] = op;
+        } catch (RuntimeException ex) {
+          ReferenceCountUtil.release(retainedBody);
+          throw ex;
         }
       } else if (isJson) {
         // Body contains an error message
@@ -233,7 +268,26 @@ public class SubdocGetRequest extends BaseKeyValueRequest<SubdocGetResponse> {
       error = Optional.of(nonFieldError);
     }
 
-    return new SubdocGetResponse(status, error, values, cas(response), isDeleted, flexibleExtras);
+    return new SubdocGetResponse(status, error, values, cas(response), isDeleted, flexibleExtras, retainedBody);
+  }
+
+  /**
+   * Releases a retained network buffer right away if the request has already been completed otherwise
+   * (i.e. timed out or cancelled), since nobody will pick up the response.
+   */
+  @Override
+  public void succeed(final SubdocGetResponse result) {
+    super.succeed(result);
+    if (result.retainsContentBuffer() && (!succeeded() || response().getNow(null) != result)) {
+      result.release();
+    }
+  }
+
+  /**
+   * Returns true if the response retains the network buffer instead of copying the field values.
+   */
+  public boolean retainContent() {
+    return retainContent;
   }
 
   public static class Command {
@@ -16,6 +16,7 @@
 
 package com.couchbase.client.core.msg.kv;
 
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
 import com.couchbase.client.core.msg.ResponseStatus;
@@ -30,6 +31,7 @@ public class SubdocGetResponse extends KeyValueBaseResponse {
   private final long cas;
   private final Optional<CouchbaseException> error;
   private final boolean isDeleted;
+  @Nullable private final ByteBuf retainedBody;
 
   public SubdocGetResponse(ResponseStatus status,
                            Optional<CouchbaseException> error,
@@ -37,11 +39,26 @@ public class SubdocGetResponse extends KeyValueBaseResponse {
                            long cas,
                            final boolean isDeleted,
                            @Nullable MemcacheProtocol.FlexibleExtras flexibleExtras) {
+    this(status, error, values, cas, isDeleted, flexibleExtras, null);
+  }
+
+  /**
+   * Creates a response whose field values are views of a retained network buffer, which this response owns
+   * until {@link #release()} is called.
+   */
+  SubdocGetResponse(ResponseStatus status,
+                    Optional<CouchbaseException> error,
+                    @Nullable SubDocumentField[] values,
+                    long cas,
+                    final boolean isDeleted,
+                    @Nullable MemcacheProtocol.FlexibleExtras flexibleExtras,
+                    @Nullable ByteBuf retainedBody) {
     super(status, flexibleExtras);
     this.error = error;
     this.values = values == null ? new SubDocumentField[0] : values;
     this.cas = cas;
     this.isDeleted = isDeleted;
+    this.retainedBody = retainedBody;
   }
 
   public SubDocumentField[] values() {
@@ -61,6 +78,24 @@ public class SubdocGetResponse extends KeyValueBaseResponse {
     return isDeleted;
   }
 
+  /**
+   * Returns true if the field values are views of a retained network buffer which needs to be released.
+   */
+  public boolean retainsContentBuffer() {
+    return retainedBody != null;
+  }
+
+  /**
+   * Releases the retained network buffer, if present.
+   * <p>
+   * Afterwards, only values which have already been accessed through {@link SubDocumentField#value()} stay readable.
+   *
+   * @return true if the buffer has been deallocated as a result of this call.
+   */
+  public boolean release() {
+    return retainedBody != null && retainedBody.release();
+  }
+
   @Override
   public String toString() {
     return "SubdocGetResponse{" +
@@ -24,6 +24,7 @@ import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.Response;
 import com.couchbase.client.core.msg.analytics.AnalyticsRequest;
 import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.service.strategy.EndpointSelection;
 
 public class AnalyticsLocator extends RoundRobinLocator {
 
@@ -31,6 +32,10 @@ public class AnalyticsLocator extends RoundRobinLocator {
     super(ServiceType.ANALYTICS);
   }
 
+  public AnalyticsLocator(final EndpointSelection endpointSelection) {
+    super(ServiceType.ANALYTICS, endpointSelection);
+  }
+
   @Override
   protected boolean checkServiceNotAvailable(Request<? extends Response> request, ClusterConfig config) {
     if (request instanceof AnalyticsRequest) {
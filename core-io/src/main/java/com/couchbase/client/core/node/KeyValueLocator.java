@@ -23,7 +23,6 @@ import com.couchbase.client.core.config.BucketConfig;
 import com.couchbase.client.core.config.ClusterConfig;
 import com.couchbase.client.core.config.CouchbaseBucketConfig;
 import com.couchbase.client.core.config.MemcachedBucketConfig;
-import com.couchbase.client.core.config.NodeInfo;
 import com.couchbase.client.core.error.FeatureNotAvailableException;
 import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.msg.Request;
@@ -39,8 +38,13 @@ import com.couchbase.client.core.retry.AuthErrorDecider;
 import com.couchbase.client.core.retry.RetryOrchestrator;
 import com.couchbase.client.core.retry.RetryReason;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.zip.CRC32;
 
 import static java.util.Objects.requireNonNull;
@@ -56,6 +60,21 @@ import static java.util.Objects.requireNonNull;
  */
 public class KeyValueLocator implements Locator {
 
+  /**
+   * Reused per thread, since a checksum needs to be calculated for every KV request.
+   */
+  private static final ThreadLocal<CRC32> CRC32_PER_THREAD = ThreadLocal.withInitial(CRC32::new);
+
+  /**
+   * Holds the current routing snapshot per bucket.
+   */
+  private final Map<String, PartitionRouting> routings = new ConcurrentHashMap<>();
+
+  /**
+   * Bumped every time the managed nodes change, which invalidates all routing snapshots.
+   */
+  private final AtomicLong nodesVersion = new AtomicLong();
+
   @Override
   public void dispatch(final Request<? extends Response> request, final List<Node> nodes,
                        final ClusterConfig config, final CoreContext ctx) {
@@ -133,8 +152,8 @@ public class KeyValueLocator implements Locator {
     request.cancel(CancellationReason.TARGET_NODE_REMOVED);
   }
 
-  private static void couchbaseBucket(final KeyValueRequest<?> request, final List<Node> nodes,
-                                      final CouchbaseBucketConfig config, CoreContext ctx) {
+  private void couchbaseBucket(final KeyValueRequest<?> request, final List<Node> nodes,
+                               final CouchbaseBucketConfig config, CoreContext ctx) {
     if(!precheckCouchbaseBucket(request, config)) {
       return;
     }
@@ -153,12 +172,10 @@ public class KeyValueLocator implements Locator {
       return;
     }
 
-    NodeInfo nodeInfo = config.nodeAtIndex(nodeId);
-    for (Node node : nodes) {
-      if (node.identifier().equals(nodeInfo.identifier())) {
-        node.send(request);
-        return;
-      }
+    Node node = nodeAtIndex(request.bucket(), nodeId, nodes, config);
+    if (node != null) {
+      node.send(request);
+      return;
     }
 
     if(handleNotEqualNodeSizes(config.nodes().size(), nodes.size(), ctx)) {
@@ -174,6 +191,44 @@ public class KeyValueLocator implements Locator {
     }
   }
 
+  /**
+   * Returns the managed node for the given node index of the config, or null if it is not managed (yet).
+   * <p>
+   * The lookup goes through the routing snapshot of the bucket, which is only rebuilt once the config or the
+   * managed nodes changed since it has been built. If the node is not part of the snapshot (which is common during
+   * a rebalance, since nodes are added asynchronously after a new config arrived), the result is kept until either
+   * of them changes.
+   */
+  private Node nodeAtIndex(final String bucket, final int nodeId, final List<Node> nodes,
+                           final CouchbaseBucketConfig config) {
+    long version = nodesVersion.get();
+    PartitionRouting routing = routings.get(bucket);
+    if (routing == null || !routing.isValidFor(config, version)) {
+      routing = new PartitionRouting(config, nodes, version);
+      routings.put(bucket, routing);
+    }
+    return routing.node(nodeId);
+  }
+
+  /**
+   * Invalidates all routing snapshots, needs to be called after every change to the managed nodes.
+   * <p>
+   * Nodes can be replaced without changing the size of the node list (or even the position of a node with the same
+   * identifier), so the snapshots cannot detect a change from the node list on their own.
+   */
+  public void nodesChanged() {
+    nodesVersion.incrementAndGet();
+  }
+
+  /**
+   * Drops the routing snapshot of the given bucket, needs to be called once the bucket is closed.
+   *
+   * @param bucket the name of the closed bucket.
+   */
+  public void bucketClosed(final String bucket) {
+    routings.remove(bucket);
+  }
+
   private static boolean precheckCouchbaseBucket(final KeyValueRequest<?> request, final CouchbaseBucketConfig config) {
     if (request instanceof SyncDurabilityRequest) {
       Optional<DurabilityLevel> level = ((SyncDurabilityRequest) request).durabilityLevel();
@@ -281,6 +336,53 @@ public class KeyValueLocator implements Locator {
     return false;
   }
 
+  /**
+   * Reorders a batch of requests so that all requests which are going to be dispatched to the same node are
+   * adjacent, keeping the original order within each node.
+   * <p>
+   * This is only an ordering hint for batched dispatch (it does not dispatch anything itself), so requests for
+   * which the node cannot be determined up front (no config yet, memcached buckets or targeted requests) are
+   * simply kept at the end of the list.
+   *
+   * @param requests the requests to group.
+   * @param config the current cluster config.
+   * @return the grouped requests.
+   */
+  public static <R extends KeyValueRequest<?>> List<R> groupByNode(final List<R> requests,
+                                                                   final ClusterConfig config) {
+    if (requests.size() < 2) {
+      return requests;
+    }
+
+    Map<Integer, List<R>> groups = new LinkedHashMap<>();
+    List<R> ungrouped = new ArrayList<>();
+    for (R request : requests) {
+      int nodeId = -1;
+      BucketConfig bucketConfig = config.bucketConfig(request.bucket());
+      if (request.target() == null
+        && bucketConfig instanceof CouchbaseBucketConfig
+        && ((CouchbaseBucketConfig) bucketConfig).numberOfPartitions() > 0
+        && !(request instanceof PredeterminedPartitionRequest)) {
+        CouchbaseBucketConfig cbc = (CouchbaseBucketConfig) bucketConfig;
+        int partitionId = partitionForKey(request.key(), cbc.numberOfPartitions());
+        nodeId = calculateNodeId(partitionId, request, cbc);
+      }
+
+      if (nodeId < 0) {
+        ungrouped.add(request);
+      } else {
+        groups.computeIfAbsent(nodeId, k -> new ArrayList<>()).add(request);
+      }
+    }
+
+    List<R> grouped = new ArrayList<>(requests.size());
+    for (List<R> group : groups.values()) {
+      grouped.addAll(group);
+    }
+    grouped.addAll(ungrouped);
+    return grouped;
+  }
+
   /**
    * Calculate the partition offset for the given key.
    *
@@ -289,7 +391,8 @@ public class KeyValueLocator implements Locator {
    * @return the calculated partition.
    */
   public static int partitionForKey(final byte[] id, final int numPartitions) {
-    CRC32 crc32 = new CRC32();
+    CRC32 crc32 = CRC32_PER_THREAD.get();
+    crc32.reset();
     crc32.update(id, 0, id.length);
     long rv = (crc32.getValue() >> 16) & 0x7fff;
     return (int) rv &numPartitions - 1;
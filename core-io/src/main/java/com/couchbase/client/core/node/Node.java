@@ -54,6 +54,7 @@ import com.couchbase.client.core.service.ServiceState;
 import com.couchbase.client.core.service.ServiceType;
 import com.couchbase.client.core.service.ViewService;
 import com.couchbase.client.core.service.ViewServiceConfig;
+import com.couchbase.client.core.service.strategy.EwmaLatencySelectionStrategy;
 import com.couchbase.client.core.util.CompositeStateful;
 import com.couchbase.client.core.util.Stateful;
 import reactor.core.publisher.Flux;
@@ -422,6 +423,49 @@ public class Node implements Stateful<NodeState> {
     return enabledServices.get() != 0;
   }
 
+  /**
+   * Returns the number of requests currently in flight to the given service on this node.
+   * <p>
+   * If the service is enabled for more than one bucket, the outstanding requests are summed up.
+   *
+   * @param type the service type to check.
+   * @return the number of outstanding requests.
+   */
+  @Stability.Internal
+  public long outstandingRequests(final ServiceType type) {
+    long outstanding = 0;
+    for (Map<ServiceType, Service> scope : services.values()) {
+      Service service = scope.get(type);
+      if (service != null) {
+        outstanding += service.outstandingRequests();
+      }
+    }
+    return outstanding;
+  }
+
+  /**
+   * Returns the estimated cost of sending one more request to the given service on this node.
+   * <p>
+   * If the service is enabled for more than one bucket, the outstanding requests are summed up and the highest
+   * latency is used.
+   *
+   * @param type the service type to check.
+   * @return the cost as computed by {@link EwmaLatencySelectionStrategy#cost(long, long)}, lower is better.
+   */
+  @Stability.Internal
+  public double loadCost(final ServiceType type) {
+    long outstanding = 0;
+    long latency = 0;
+    for (Map<ServiceType, Service> scope : services.values()) {
+      Service service = scope.get(type);
+      if (service != null) {
+        outstanding += service.outstandingRequests();
+        latency = Math.max(latency, service.latencyEwma());
+      }
+    }
+    return EwmaLatencySelectionStrategy.cost(latency, outstanding);
+  }
+
   /**
    * Helper method to create the {@link Service} based on the service type provided.
    *
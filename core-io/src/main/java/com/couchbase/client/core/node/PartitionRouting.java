@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.node;
+
+import com.couchbase.client.core.config.CouchbaseBucketConfig;
+import com.couchbase.client.core.config.NodeInfo;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot which maps the node indexes of a bucket config (as referenced from its partition map)
+ * straight to the managed {@link Node}s.
+ * <p>
+ * Without it, every KV request would need to scan the list of managed nodes and compare node identifiers to find
+ * its target. The snapshot is only valid for the exact config instance and version of the managed nodes it has been
+ * built from, and is rebuilt lazily once either of them changes.
+ */
+final class PartitionRouting {
+
+  private final CouchbaseBucketConfig config;
+  private final long nodesVersion;
+  private final Node[] nodesByIndex;
+
+  /**
+   * Creates a new snapshot.
+   *
+   * @param config the bucket config to build the snapshot for.
+   * @param nodes the managed nodes.
+   * @param nodesVersion the version of the managed nodes, which needs to be read before the nodes themselves.
+   */
+  PartitionRouting(final CouchbaseBucketConfig config, final List<Node> nodes, final long nodesVersion) {
+    this.config = config;
+    this.nodesVersion = nodesVersion;
+
+    Map<NodeIdentifier, Node> byIdentifier = new HashMap<>();
+    for (Node node : nodes) {
+      byIdentifier.put(node.identifier(), node);
+    }
+
+    List<NodeInfo> nodeInfos = config.nodes();
+    this.nodesByIndex = new Node[nodeInfos.size()];
+    for (int i = 0; i < nodesByIndex.length; i++) {
+      nodesByIndex[i] = byIdentifier.get(nodeInfos.get(i).identifier());
+    }
+  }
+
+  /**
+   * Returns true if this snapshot has been built from the given config and version of the managed nodes.
+   */
+  boolean isValidFor(final CouchbaseBucketConfig config, final long nodesVersion) {
+    return this.config == config && this.nodesVersion == nodesVersion;
+  }
+
+  /**
+   * Returns the node for the given index in the config, or null if it is not (yet) managed.
+   *
+   * @param nodeIndex the index of the node in the config.
+   */
+  Node node(final int nodeIndex) {
+    return nodeIndex < nodesByIndex.length ? nodesByIndex[nodeIndex] : null;
+  }
+
+}
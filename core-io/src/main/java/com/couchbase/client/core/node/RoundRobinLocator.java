@@ -32,10 +32,12 @@ import com.couchbase.client.core.retry.AuthErrorDecider;
 import com.couchbase.client.core.retry.RetryOrchestrator;
 import com.couchbase.client.core.retry.RetryReason;
 import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.service.strategy.EndpointSelection;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static java.util.Objects.requireNonNull;
@@ -61,13 +63,45 @@ public class RoundRobinLocator implements Locator {
    */
   private final ServiceType serviceType;
 
+  /**
+   * How nodes are picked for untargeted requests.
+   */
+  private final EndpointSelection endpointSelection;
+
   public RoundRobinLocator(final ServiceType serviceType) {
-    this(serviceType, new Random().nextInt(1024));
+    this(serviceType, EndpointSelection.ROUND_ROBIN);
+  }
+
+  /**
+   * Creates a locator which selects nodes according to the given endpoint selection.
+   * <p>
+   * Untargeted requests go to:
+   * <ul>
+   *   <li>{@link EndpointSelection#ROUND_ROBIN}: the next node in turn.</li>
+   *   <li>{@link EndpointSelection#LEAST_IN_FLIGHT}: the node with the fewest requests in flight for the service,
+   *   see {@link Node#outstandingRequests(ServiceType)}.</li>
+   *   <li>{@link EndpointSelection#EWMA_LATENCY}: the node with the lowest {@link Node#loadCost(ServiceType)}.</li>
+   *   <li>{@link EndpointSelection#POWER_OF_TWO_CHOICES}: the node with the lower {@link Node#loadCost(ServiceType)}
+   *   out of two randomly sampled ones.</li>
+   * </ul>
+   * Nodes which are equally good are picked in turn.
+   *
+   * @param serviceType the service type to locate nodes for.
+   * @param endpointSelection the endpoint selection configured for the service.
+   */
+  public RoundRobinLocator(final ServiceType serviceType, final EndpointSelection endpointSelection) {
+    this(serviceType, new Random().nextInt(1024), endpointSelection);
   }
 
   RoundRobinLocator(final ServiceType serviceType, final long initialValue) {
+    this(serviceType, initialValue, EndpointSelection.ROUND_ROBIN);
+  }
+
+  RoundRobinLocator(final ServiceType serviceType, final long initialValue,
+                    final EndpointSelection endpointSelection) {
     counter = new AtomicLong(initialValue);
     this.serviceType = serviceType;
+    this.endpointSelection = requireNonNull(endpointSelection);
   }
 
   @Override
@@ -207,8 +241,15 @@ public class RoundRobinLocator implements Locator {
   private void dispatchUntargeted(final Request<? extends Response> request, final List<Node> nodes,
                                   final CoreContext ctx) {
     int nodeSize = nodes.size();
-    int offset = (int) Math.floorMod(counter.getAndIncrement(), (long) nodeSize);
-    Node node = nodes.get(offset);
+    Node node;
+    if (nodeSize == 1 || endpointSelection == EndpointSelection.ROUND_ROBIN) {
+      int offset = (int) Math.floorMod(counter.getAndIncrement(), (long) nodeSize);
+      node = nodes.get(offset);
+    } else if (endpointSelection == EndpointSelection.POWER_OF_TWO_CHOICES) {
+      node = leastLoadedOfTwo(nodes);
+    } else {
+      node = lowestScored(nodes);
+    }
     if (node != null) {
       node.send(request);
     } else {
@@ -217,6 +258,51 @@ public class RoundRobinLocator implements Locator {
     }
   }
 
+  /**
+   * Returns the node with the lowest score for the configured endpoint selection.
+   * <p>
+   * The scan starts at a rotating offset, so that nodes with the same score are picked in a round-robin fashion.
+   *
+   * @param nodes the filtered nodes, at least one.
+   * @return the node with the lowest score.
+   */
+  private Node lowestScored(final List<Node> nodes) {
+    int nodeSize = nodes.size();
+    int startIndex = (int) Math.floorMod(counter.getAndIncrement(), (long) nodeSize);
+
+    Node selected = null;
+    double lowestScore = Double.MAX_VALUE;
+    for (int i = 0; i < nodeSize; i++) {
+      Node node = nodes.get((startIndex + i) % nodeSize);
+      double score = endpointSelection == EndpointSelection.LEAST_IN_FLIGHT
+        ? node.outstandingRequests(serviceType)
+        : node.loadCost(serviceType);
+      if (score < lowestScore) {
+        selected = node;
+        lowestScore = score;
+      }
+    }
+    return selected;
+  }
+
+  /**
+   * Samples two distinct nodes at random and returns the one with the lower load cost for the service.
+   *
+   * @param nodes the filtered nodes, at least two.
+   * @return the less loaded of the two sampled nodes.
+   */
+  private Node leastLoadedOfTwo(final List<Node> nodes) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(nodes.size());
+    int second = random.nextInt(nodes.size() - 1);
+    if (second >= first) {
+      second++;
+    }
+    Node a = nodes.get(first);
+    Node b = nodes.get(second);
+    return a.loadCost(serviceType) <= b.loadCost(serviceType) ? a : b;
+  }
+
   /**
    * Filters the list of nodes by the {@link ServiceType}.
    *
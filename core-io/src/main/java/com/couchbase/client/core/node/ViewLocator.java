@@ -24,6 +24,7 @@ import com.couchbase.client.core.error.FeatureNotAvailableException;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.Response;
 import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.service.strategy.EndpointSelection;
 
 /**
  * The {@link ViewLocator} extends the round-robin locator with some custom checks.
@@ -34,6 +35,10 @@ public class ViewLocator extends RoundRobinLocator {
     super(ServiceType.VIEWS);
   }
 
+  public ViewLocator(final EndpointSelection endpointSelection) {
+    super(ServiceType.VIEWS, endpointSelection);
+  }
+
   @Override
   protected boolean checkServiceNotAvailable(Request<? extends Response> request, final ClusterConfig config) {
     String bucket = request.bucket();
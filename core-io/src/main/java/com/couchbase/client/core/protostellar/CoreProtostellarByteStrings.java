@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.protostellar;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.com.google.protobuf.ByteOutput;
+import com.couchbase.client.core.deps.com.google.protobuf.ByteString;
+import com.couchbase.client.core.deps.com.google.protobuf.UnsafeByteOperations;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Moves document content in and out of protobuf {@link ByteString}s without copying it where possible.
+ * <p>
+ * Both directions rely on the content never being modified once it has been handed over: the encoded content of a
+ * request is produced by the transcoder and owned by the request from then on, and the messages of a response are
+ * dropped as soon as it has been converted.
+ */
+@Stability.Internal
+public class CoreProtostellarByteStrings {
+  private CoreProtostellarByteStrings() {}
+
+  private static final byte[] EMPTY = new byte[0];
+
+  /**
+   * Wraps the content of a request without copying it.
+   *
+   * @param content the content, which must not be modified afterwards.
+   * @return a byte string backed by the given array.
+   */
+  public static ByteString wrap(final byte[] content) {
+    return content.length == 0 ? ByteString.EMPTY : UnsafeByteOperations.unsafeWrap(content);
+  }
+
+  /**
+   * Returns the content of a response as a byte array.
+   * <p>
+   * If the byte string is backed by an array of exactly its size (which is the case for content parsed off the
+   * wire), that array is returned as-is. Otherwise, as for slices and concatenations, the content is copied.
+   *
+   * @param content the byte string which must not be used afterwards.
+   * @return the content, possibly shared with the byte string.
+   */
+  public static byte[] unsafeBytes(final ByteString content) {
+    if (content.isEmpty()) {
+      return EMPTY;
+    }
+    try {
+      ArrayCapture capture = new ArrayCapture(content.size());
+      UnsafeByteOperations.unsafeWriteTo(content, capture);
+      return capture.result();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Keeps the backing array if the whole content is handed over lazily in one piece, and copies it otherwise.
+   */
+  private static final class ArrayCapture extends ByteOutput {
+    private final int size;
+    private byte[] backing;
+    private byte[] copy;
+    private int position;
+
+    ArrayCapture(final int size) {
+      this.size = size;
+    }
+
+    @Override
+    public void writeLazy(final byte[] value, final int offset, final int length) {
+      if (position == 0 && offset == 0 && length == size && value.length == size) {
+        backing = value;
+        position = length;
+      } else {
+        write(value, offset, length);
+      }
+    }
+
+    @Override
+    public void writeLazy(final ByteBuffer value) {
+      if (position == 0 && value.hasArray() && value.arrayOffset() + value.position() == 0
+        && value.remaining() == size && value.array().length == size) {
+        backing = value.array();
+        position = size;
+      } else {
+        write(value);
+      }
+    }
+
+    @Override
+    public void write(final byte value) {
+      ensureCopy(1);
+      copy[position++] = value;
+    }
+
+    @Override
+    public void write(final byte[] value, final int offset, final int length) {
+      ensureCopy(length);
+      System.arraycopy(value, offset, copy, position, length);
+      position += length;
+    }
+
+    @Override
+    public void write(final ByteBuffer value) {
+      int length = value.remaining();
+      ensureCopy(length);
+      value.duplicate().get(copy, position, length);
+      position += length;
+    }
+
+    private void ensureCopy(final int length) {
+      if (position + length > size) {
+        throw new IllegalStateException("Byte string wrote more than its size of " + size + " bytes");
+      }
+      if (copy == null) {
+        copy = new byte[size];
+        if (backing != null) {
+          System.arraycopy(backing, 0, copy, 0, position);
+          backing = null;
+        }
+      }
+    }
+
+    byte[] result() {
+      return backing != null ? backing : copy;
+    }
+  }
+
+}
@@ -21,8 +21,8 @@ import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.api.kv.CoreDurability;
 import com.couchbase.client.core.api.kv.CoreExpiry;
 import com.couchbase.client.core.cnc.TracingIdentifiers;
-import com.couchbase.client.core.deps.com.google.protobuf.ByteString;
 import com.couchbase.client.core.endpoint.http.CoreCommonOptions;
+import com.couchbase.client.core.protostellar.CoreProtostellarByteStrings;
 import com.couchbase.client.core.protostellar.CoreProtostellarUtil;
 import com.couchbase.client.core.protostellar.ProtostellarKeyValueRequest;
 import com.couchbase.client.core.protostellar.ProtostellarRequest;
@@ -58,7 +58,7 @@ public class CoreProtoStellarKvBinaryRequests {
       .setScopeName(keyspace.scope())
       .setCollectionName(keyspace.collection())
       .setKey(key)
-      .setContent(ByteString.copyFrom(content))
+      .setContent(CoreProtostellarByteStrings.wrap(content))
       .setCas(cas);
 
     if (!durability.isNone()) {
@@ -90,7 +90,7 @@ public class CoreProtoStellarKvBinaryRequests {
       .setScopeName(keyspace.scope())
       .setCollectionName(keyspace.collection())
       .setKey(key)
-      .setContent(ByteString.copyFrom(content))
+      .setContent(CoreProtostellarByteStrings.wrap(content))
       .setCas(cas);
 
     if (!durability.isNone()) {
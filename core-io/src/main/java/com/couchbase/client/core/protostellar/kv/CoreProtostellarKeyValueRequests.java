@@ -27,9 +27,9 @@ import com.couchbase.client.core.api.kv.CoreSubdocMutateCommand;
 import com.couchbase.client.core.cnc.CbTracing;
 import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.cnc.TracingIdentifiers;
-import com.couchbase.client.core.deps.com.google.protobuf.ByteString;
 import com.couchbase.client.core.deps.com.google.protobuf.Timestamp;
 import com.couchbase.client.core.endpoint.http.CoreCommonOptions;
+import com.couchbase.client.core.protostellar.CoreProtostellarByteStrings;
 import com.couchbase.client.core.protostellar.CoreProtostellarUtil;
 import com.couchbase.client.core.protostellar.ProtostellarKeyValueRequest;
 import com.couchbase.client.core.protostellar.ProtostellarRequest;
@@ -198,7 +198,7 @@ public class CoreProtostellarKeyValueRequests {
       .setScopeName(keyspace.scope())
       .setCollectionName(keyspace.collection())
       .setKey(key)
-      .setContent(ByteString.copyFrom(encoded.getT1().encoded()))
+      .setContent(CoreProtostellarByteStrings.wrap(encoded.getT1().encoded()))
       .setContentFlags(encoded.getT1().flags());
 
     expiry.when(
@@ -248,7 +248,7 @@ public class CoreProtostellarKeyValueRequests {
       .setCollectionName(keyspace.collection())
       .setKey(key)
       .setCas(cas)
-      .setContent(ByteString.copyFrom(encoded.getT1().encoded()))
+      .setContent(CoreProtostellarByteStrings.wrap(encoded.getT1().encoded()))
       .setContentFlags(encoded.getT1().flags());
 
     if (!preserveExpiry) {
@@ -298,7 +298,7 @@ public class CoreProtostellarKeyValueRequests {
       .setScopeName(keyspace.scope())
       .setCollectionName(keyspace.collection())
       .setKey(key)
-      .setContent(ByteString.copyFrom(encoded.getT1().encoded()))
+      .setContent(CoreProtostellarByteStrings.wrap(encoded.getT1().encoded()))
       .setContentFlags(encoded.getT1().flags());
 
     if (!preserveExpiry) {
@@ -539,7 +539,7 @@ public class CoreProtostellarKeyValueRequests {
           MutateInRequest.Spec.Builder builder = MutateInRequest.Spec.newBuilder()
             .setOperation(operation)
             .setPath(path)
-            .setContent(ByteString.copyFrom(command.fragment()));
+            .setContent(CoreProtostellarByteStrings.wrap(command.fragment()));
 
           if (command.xattr() || command.expandMacro() || command.createParent()) {
             MutateInRequest.Spec.Flags.Builder flagsBuilder = MutateInRequest.Spec.Flags.newBuilder();
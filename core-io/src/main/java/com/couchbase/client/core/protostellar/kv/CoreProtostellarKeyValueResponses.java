@@ -32,6 +32,7 @@ import com.couchbase.client.core.msg.kv.MutationToken;
 import com.couchbase.client.core.msg.kv.SubDocumentField;
 import com.couchbase.client.core.msg.kv.SubDocumentOpResponseStatus;
 import com.couchbase.client.core.msg.kv.SubdocCommandType;
+import com.couchbase.client.core.protostellar.CoreProtostellarByteStrings;
 import com.couchbase.client.core.protostellar.CoreProtostellarErrorHandlingUtil;
 import com.couchbase.client.core.protostellar.CoreProtostellarUtil;
 import com.couchbase.client.core.protostellar.ProtostellarRequest;
@@ -108,7 +109,7 @@ public class CoreProtostellarKeyValueResponses {
     return new CoreGetResult(CoreKvResponseMetadata.NONE,
       keyspace,
       key,
-      response.getContent().toByteArray(),
+      CoreProtostellarByteStrings.unsafeBytes(response.getContent()),
       response.getContentFlags(),
       response.getCas(),
       CoreProtostellarUtil.convertExpiry(response.hasExpiry(), response.getExpiry()),
@@ -119,7 +120,7 @@ public class CoreProtostellarKeyValueResponses {
     return new CoreGetResult(CoreKvResponseMetadata.NONE,
       keyspace,
       key,
-      response.getContent().toByteArray(),
+      CoreProtostellarByteStrings.unsafeBytes(response.getContent()),
       response.getContentFlags(),
       response.getCas(),
       CoreProtostellarUtil.convertExpiry(response.hasExpiry(), response.getExpiry()),
@@ -130,7 +131,7 @@ public class CoreProtostellarKeyValueResponses {
     return new CoreGetResult(CoreKvResponseMetadata.NONE,
       keyspace,
       key,
-      response.getContent().toByteArray(),
+      CoreProtostellarByteStrings.unsafeBytes(response.getContent()),
       response.getContentFlags(),
       response.getCas(),
       CoreProtostellarUtil.convertExpiry(response.hasExpiry(), response.getExpiry()),
@@ -146,7 +147,7 @@ public class CoreProtostellarKeyValueResponses {
 
       responses.add(new SubDocumentField(SubDocumentOpResponseStatus.SUCCESS,
         Optional.empty(),
-        resp.getContent().toByteArray(),
+        CoreProtostellarByteStrings.unsafeBytes(resp.getContent()),
         original.path(),
         original.type()));
     }
@@ -179,7 +180,7 @@ public class CoreProtostellarKeyValueResponses {
 
       responses.add(new SubDocumentField(stat,
               Optional.ofNullable(exception),
-              resp.getContent().toByteArray(),
+              CoreProtostellarByteStrings.unsafeBytes(resp.getContent()),
               original.path(),
               original.type()));
     }
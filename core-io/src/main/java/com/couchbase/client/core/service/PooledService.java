@@ -401,6 +401,32 @@ abstract class PooledService implements Service {
     return endpointStates.states();
   }
 
+  @Override
+  public long outstandingRequests() {
+    long outstanding = 0;
+    for (Endpoint endpoint : endpoints) {
+      outstanding += endpoint.outstandingRequests();
+    }
+    return outstanding;
+  }
+
+  /**
+   * Returns the average of the smoothed latencies of all endpoints which have received responses.
+   */
+  @Override
+  public long latencyEwma() {
+    long sum = 0;
+    int count = 0;
+    for (Endpoint endpoint : endpoints) {
+      long latency = endpoint.latencyEwma();
+      if (latency > 0) {
+        sum += latency;
+        count++;
+      }
+    }
+    return count == 0 ? 0 : sum / count;
+  }
+
   @Override
   public Stream<EndpointDiagnostics> diagnostics() {
     return Stream
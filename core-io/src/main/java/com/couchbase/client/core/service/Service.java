@@ -81,4 +81,20 @@ public interface Service extends Stateful<ServiceState> {
 
   @Stability.Internal
   Stream<InternalEndpointDiagnostics> internalDiagnostics();
+
+  /**
+   * Returns the number of requests currently in flight on the endpoints of this service.
+   */
+  @Stability.Internal
+  default long outstandingRequests() {
+    return 0;
+  }
+
+  /**
+   * Returns the smoothed response latency of this service in nanoseconds, or 0 if unknown.
+   */
+  @Stability.Internal
+  default long latencyEwma() {
+    return 0;
+  }
 }
@@ -16,7 +16,6 @@
 
 package com.couchbase.client.core.service.kv;
 
-import com.couchbase.client.core.Reactor;
 import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.cnc.TracingIdentifiers;
 import com.couchbase.client.core.config.BucketConfig;
@@ -77,33 +76,25 @@ public class Observe {
     MutationToken mutationToken = ctx.mutationToken().get();
     String id = ctx.key();
 
-    List<ObserveViaSeqnoRequest> requests = new ArrayList<>();
+    List<Integer> replicas = new ArrayList<>();
     if (ctx.persistTo() != ObservePersistTo.NONE) {
-      final RequestSpan span = ctx.environment().requestTracer()
-        .requestSpan(TracingIdentifiers.SPAN_REQUEST_KV_OBSERVE, parent);
-      requests.add(new ObserveViaSeqnoRequest(timeout, ctx, ctx.collectionIdentifier(), retryStrategy, 0, true,
-        mutationToken.partitionUUID(), id, span));
+      replicas.add(0);
     }
 
     if (ctx.persistTo().touchesReplica() || ctx.replicateTo().touchesReplica()) {
-      for (short i = 1; i <= bucketReplicas; i++) {
-        final RequestSpan span = ctx.environment().requestTracer()
-          .requestSpan(TracingIdentifiers.SPAN_REQUEST_KV_OBSERVE, parent);
-        requests.add(new ObserveViaSeqnoRequest(timeout, ctx, ctx.collectionIdentifier(), retryStrategy, i, false,
-          mutationToken.partitionUUID(), id, span));
+      for (int i = 1; i <= bucketReplicas; i++) {
+        replicas.add(i);
       }
     }
 
-    return Flux.fromIterable(requests)
-      .flatMap(request -> {
-        ctx.core().send(request);
-        return Reactor
-          .wrap(request, request.response(), true)
-          .doOnNext(ignored -> request.context().logicallyComplete())
-          .doOnError(err -> request.context().logicallyComplete(err))
-          .doOnCancel(() -> request.context().logicallyComplete())
-          .onErrorResume(t-> Mono.empty());
-      })
+    ObserveCoordinator coordinator = ctx.core().observeCoordinator();
+    return Flux.fromIterable(replicas)
+      .flatMap(replica -> coordinator.poll(ctx.core(), ctx.collectionIdentifier().bucket(), mutationToken, replica, () -> {
+        final RequestSpan span = ctx.environment().requestTracer()
+          .requestSpan(TracingIdentifiers.SPAN_REQUEST_KV_OBSERVE, parent);
+        return new ObserveViaSeqnoRequest(timeout, ctx, ctx.collectionIdentifier(), retryStrategy, replica,
+          replica == 0, mutationToken.partitionUUID(), id, span);
+      }))
       .map(response -> ObserveItem.fromMutationToken(mutationToken, response));
   }
 
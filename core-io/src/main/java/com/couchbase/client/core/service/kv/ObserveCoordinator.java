@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.kv;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.Reactor;
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.msg.kv.MutationToken;
+import com.couchbase.client.core.msg.kv.ObserveViaSeqnoRequest;
+import com.couchbase.client.core.msg.kv.ObserveViaSeqnoResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces the observe polls of concurrent durability checks.
+ * <p>
+ * An observe request reports the sequence numbers of a whole partition on one node, not of a single document. So
+ * while a poll for a partition (and replica) is in flight, every other durability check which needs the same
+ * information just waits for that response instead of sending its own request. A bulk load with
+ * {@link Observe.ObservePersistTo} or {@link Observe.ObserveReplicateTo} therefore sends at most one request per
+ * partition and replica at a time, no matter how many mutations are waiting, and every waiter is completed as soon
+ * as a response shows that its sequence number has been reached.
+ */
+@Stability.Internal
+public class ObserveCoordinator {
+
+  private final ConcurrentMap<PollKey, Sinks.One<ObserveViaSeqnoResponse>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the response of the next observe poll for the partition of the token on the given replica.
+   * <p>
+   * If no poll for them is in flight, the request is created and dispatched; otherwise the in-flight poll is joined
+   * and the request is never created. Failed polls complete empty, the caller is expected to poll again.
+   *
+   * @param core the core to dispatch the request on.
+   * @param bucket the name of the bucket.
+   * @param token the mutation token which identifies the partition.
+   * @param replica the replica to observe (0 for the active).
+   * @param request creates the request if it needs to be sent.
+   * @return a mono with the response, or empty if the poll failed.
+   */
+  Mono<ObserveViaSeqnoResponse> poll(final Core core, final String bucket, final MutationToken token, final int replica,
+                                     final Supplier<ObserveViaSeqnoRequest> request) {
+    return Mono.defer(() -> {
+      PollKey key = new PollKey(bucket, token.partitionID(), token.partitionUUID(), replica);
+      Sinks.One<ObserveViaSeqnoResponse> sink = Sinks.one();
+      Sinks.One<ObserveViaSeqnoResponse> existing = inFlight.putIfAbsent(key, sink);
+      if (existing != null) {
+        return existing.asMono();
+      }
+
+      // The poll is not bound to any single waiter, so that none of them can cancel it for the others.
+      ObserveViaSeqnoRequest req = request.get();
+      core.send(req);
+      Reactor
+        .wrap(req, req.response(), true)
+        .doFinally(signal -> inFlight.remove(key, sink))
+        .subscribe(
+          response -> {
+            sink.tryEmitValue(response);
+            req.context().logicallyComplete();
+          },
+          err -> {
+            sink.tryEmitEmpty();
+            req.context().logicallyComplete(err);
+          },
+          sink::tryEmitEmpty
+        );
+      return sink.asMono();
+    });
+  }
+
+  private static final class PollKey {
+    private final String bucket;
+    private final short partition;
+    private final long partitionUUID;
+    private final int replica;
+
+    PollKey(final String bucket, final short partition, final long partitionUUID, final int replica) {
+      this.bucket = bucket;
+      this.partition = partition;
+      this.partitionUUID = partitionUUID;
+      this.replica = replica;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PollKey pollKey = (PollKey) o;
+      return partition == pollKey.partition
+        && partitionUUID == pollKey.partitionUUID
+        && replica == pollKey.replica
+        && Objects.equals(bucket, pollKey.bucket);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(bucket, partition, partitionUUID, replica);
+    }
+  }
+
+}
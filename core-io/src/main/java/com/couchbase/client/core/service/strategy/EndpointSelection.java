@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.env.IoConfig;
+import com.couchbase.client.core.service.EndpointSelectionStrategy;
+
+/**
+ * The ways in which requests can be spread over the nodes (and endpoints) of a pooled HTTP service.
+ * <p>
+ * Configured per service through {@link IoConfig.Builder#endpointSelection}. The modes mostly differ in how the
+ * node is picked, which is where the load of the service is visible. The endpoints of the pooled HTTP services are
+ * not pipelined, so an endpoint can only take a request while it has none in flight. Within a node, all endpoints
+ * which can take a request are therefore equally loaded, and only the latency they observed can tell them apart.
+ */
+@Stability.Volatile
+public enum EndpointSelection {
+
+  /**
+   * Cycles through the nodes and endpoints, independent of how loaded they are. This is the default.
+   */
+  ROUND_ROBIN,
+
+  /**
+   * Picks the node with the fewest requests in flight for the service, and any idle endpoint on it.
+   */
+  LEAST_IN_FLIGHT,
+
+  /**
+   * Picks the node with the lowest smoothed response latency, weighted by its requests in flight, and the idle
+   * endpoint on it with the lowest smoothed latency.
+   */
+  EWMA_LATENCY,
+
+  /**
+   * Samples two nodes at random and picks the one with the lower smoothed latency (weighted by its requests in
+   * flight), then does the same for two of its endpoints.
+   */
+  POWER_OF_TWO_CHOICES;
+
+  /**
+   * Creates a new strategy instance for this mode; every service needs its own.
+   */
+  @Stability.Internal
+  public EndpointSelectionStrategy createStrategy() {
+    switch (this) {
+      case LEAST_IN_FLIGHT:
+        return new LeastInFlightSelectionStrategy();
+      case EWMA_LATENCY:
+        return new EwmaLatencySelectionStrategy();
+      case POWER_OF_TWO_CHOICES:
+        return new PowerOfTwoChoicesSelectionStrategy();
+      default:
+        return new RoundRobinSelectionStrategy();
+    }
+  }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.endpoint.Endpoint;
+
+/**
+ * Selects the endpoint with the lowest smoothed response latency, weighted by its outstanding requests.
+ * <p>
+ * Endpoints which have not received a response yet are tried first, so that they get a latency to compare.
+ */
+public class EwmaLatencySelectionStrategy extends ScoringSelectionStrategy {
+
+  @Override
+  protected double score(final Endpoint endpoint) {
+    return cost(endpoint.latencyEwma(), endpoint.outstandingRequests());
+  }
+
+  /**
+   * Returns the estimated cost of sending one more request to a target with the given latency and load.
+   * <p>
+   * Unknown latencies are treated as the lowest possible latency, so that targets without responses are still
+   * compared by their outstanding requests.
+   *
+   * @param latencyEwma the smoothed latency in nanoseconds, or 0 if unknown.
+   * @param outstandingRequests the number of requests currently in flight.
+   * @return the cost, lower is better.
+   */
+  @Stability.Internal
+  public static double cost(final long latencyEwma, final long outstandingRequests) {
+    return (double) Math.max(latencyEwma, 1) * (outstandingRequests + 1);
+  }
+
+}
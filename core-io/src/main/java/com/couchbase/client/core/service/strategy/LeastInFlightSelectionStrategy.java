@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.endpoint.Endpoint;
+
+/**
+ * Selects the endpoint with the fewest outstanding requests.
+ * <p>
+ * This only balances pipelined endpoints. A non-pipelined endpoint (like the ones of all pooled HTTP services) can
+ * only take a request while it has none in flight, so all candidates score the same and the selection rotates over
+ * the idle endpoints. For those services the requests in flight are balanced across nodes instead, see
+ * {@link EndpointSelection#LEAST_IN_FLIGHT}.
+ */
+public class LeastInFlightSelectionStrategy extends ScoringSelectionStrategy {
+
+  @Override
+  protected double score(final Endpoint endpoint) {
+    return endpoint.outstandingRequests();
+  }
+
+}
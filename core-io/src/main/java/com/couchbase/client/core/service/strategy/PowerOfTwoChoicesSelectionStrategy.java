@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.endpoint.Endpoint;
+import com.couchbase.client.core.endpoint.EndpointState;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.service.EndpointSelectionStrategy;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Samples two endpoints at random and selects the one with the lower load.
+ * <p>
+ * The load is compared by {@link EwmaLatencySelectionStrategy#cost(long, long)}. Comparing only two random
+ * endpoints instead of all of them avoids that every concurrent caller piles onto the same "best" endpoint, while
+ * still steering clear of the slow ones.
+ */
+public class PowerOfTwoChoicesSelectionStrategy implements EndpointSelectionStrategy {
+
+  @Override
+  public <R extends Request<? extends Response>> Endpoint select(final R request,
+                                                                 final List<Endpoint> endpoints) {
+    // `endpoints` is mutable and might be modified concurrently, see RoundRobinSelectionStrategy.
+    int endpointsSize = endpoints.size();
+    if (endpointsSize == 0) {
+      return null;
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(endpointsSize);
+    if (endpointsSize == 1) {
+      return eligible(endpoints, first);
+    }
+    int second = random.nextInt(endpointsSize - 1);
+    if (second >= first) {
+      second++;
+    }
+
+    Endpoint a = eligible(endpoints, first);
+    Endpoint b = eligible(endpoints, second);
+    if (a != null && b != null) {
+      return cost(a) <= cost(b) ? a : b;
+    } else if (a != null || b != null) {
+      return a != null ? a : b;
+    }
+
+    // Neither sample can take the request, fall back to any endpoint which can.
+    for (int i = 1; i < endpointsSize; i++) {
+      Endpoint endpoint = eligible(endpoints, (first + i) % endpointsSize);
+      if (endpoint != null) {
+        return endpoint;
+      }
+    }
+    return null;
+  }
+
+  private static double cost(final Endpoint endpoint) {
+    return EwmaLatencySelectionStrategy.cost(endpoint.latencyEwma(), endpoint.outstandingRequests());
+  }
+
+  /**
+   * Returns the endpoint at the index if it can take a request right now, null otherwise.
+   */
+  private static Endpoint eligible(final List<Endpoint> endpoints, final int index) {
+    try {
+      Endpoint endpoint = endpoints.get(index);
+      return endpoint.state() == EndpointState.CONNECTED && endpoint.freeToWrite() ? endpoint : null;
+    } catch (IndexOutOfBoundsException ignore) {
+      // Endpoint list was modified concurrently.
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.endpoint.Endpoint;
+import com.couchbase.client.core.endpoint.EndpointState;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.service.EndpointSelectionStrategy;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selects the connected endpoint with the lowest score, out of the ones which can take a request right now.
+ * <p>
+ * The scan starts at a rotating offset, so that endpoints with the same score are picked in a round-robin fashion.
+ * Note that non-pipelined endpoints can only take a request while they have none in flight, so a score based on
+ * the requests in flight does not tell them apart.
+ */
+abstract class ScoringSelectionStrategy implements EndpointSelectionStrategy {
+
+  private final AtomicInteger skip = new AtomicInteger(0);
+
+  @Override
+  public <R extends Request<? extends Response>> Endpoint select(final R request,
+                                                                 final List<Endpoint> endpoints) {
+    // `endpoints` is mutable and might be modified concurrently, see RoundRobinSelectionStrategy.
+    int endpointsSize = endpoints.size();
+    if (endpointsSize == 0) {
+      return null;
+    }
+
+    int startIndex = (skip.incrementAndGet() & 0x7fffffff) % endpointsSize;
+
+    Endpoint selected = null;
+    double lowestScore = Double.MAX_VALUE;
+    for (int i = 0; i < endpointsSize; i++) {
+      try {
+        Endpoint endpoint = endpoints.get((startIndex + i) % endpointsSize);
+        if (endpoint.state() == EndpointState.CONNECTED && endpoint.freeToWrite()) {
+          double score = score(endpoint);
+          if (score < lowestScore) {
+            selected = endpoint;
+            lowestScore = score;
+          }
+        }
+      } catch (IndexOutOfBoundsException ignore) {
+        // Endpoint list was modified concurrently, continue with the rest.
+      }
+    }
+    return selected;
+  }
+
+  /**
+   * Returns the score of a connected endpoint; lower is better.
+   */
+  protected abstract double score(Endpoint endpoint);
+
+}
@@ -103,6 +103,7 @@ import com.couchbase.client.core.transaction.support.SpanWrapper;
 import com.couchbase.client.core.transaction.support.SpanWrapperUtil;
 import com.couchbase.client.core.transaction.support.StagedMutation;
 import com.couchbase.client.core.transaction.support.StagedMutationType;
+import com.couchbase.client.core.transaction.support.StagedMutations;
 import com.couchbase.client.core.transaction.support.TransactionFields;
 import com.couchbase.client.core.transaction.util.CoreTransactionAttemptContextHooks;
 import com.couchbase.client.core.transaction.util.DebugUtil;
@@ -132,6 +133,7 @@ import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -201,7 +203,7 @@ public class CoreTransactionAttemptContext {
 
     // TXNJ-64: Commit documents in the order they were staged
     // Does not need to be threadsafe, always written under lock (in addStageMutation we need to atomically remove and add it)
-    private final ArrayList<StagedMutation> stagedMutationsLocked = new ArrayList<>();
+    private final StagedMutations stagedMutationsLocked = new StagedMutations();
 
     private final String attemptId;
     private final CoreTransactionContext overall;
@@ -277,7 +279,7 @@ public class CoreTransactionAttemptContext {
                         .put("numAtrs", config.numAtrs()));
 
         ArrayNode mutations = Mapper.createArrayNode();
-        stagedMutationsLocked.forEach(sm -> {
+        stagedMutationsLocked.all().forEach(sm -> {
            mutations.add(Mapper.createObjectNode()
                    .put("scp", sm.collection.scope().orElse(DEFAULT_SCOPE))
                    .put("coll", sm.collection.collection().orElse(DEFAULT_COLLECTION))
@@ -347,41 +349,31 @@ public class CoreTransactionAttemptContext {
         return overall.transactionId();
     }
 
-    private List<StagedMutation> stagedReplacesLocked() {
+    private Collection<StagedMutation> stagedReplacesLocked() {
         assertLocked("stagedReplaces");
         assertNotQueryMode("stagedReplaces");
-        return stagedMutationsLocked.stream().filter(v -> v.type == StagedMutationType.REPLACE).collect(Collectors.toList());
+        return stagedMutationsLocked.ofType(StagedMutationType.REPLACE);
     }
 
-    private List<StagedMutation> stagedRemovesLocked() {
+    private Collection<StagedMutation> stagedRemovesLocked() {
         assertLocked("stagedRemoves");
         assertNotQueryMode("stagedRemoves");
-        return stagedMutationsLocked.stream().filter(v -> v.type == StagedMutationType.REMOVE).collect(Collectors.toList());
+        return stagedMutationsLocked.ofType(StagedMutationType.REMOVE);
     }
 
-    private List<StagedMutation> stagedInsertsLocked() {
+    private Collection<StagedMutation> stagedInsertsLocked() {
         assertNotQueryMode("stagedInserts");
         assertLocked("stagedInserts");
-        return stagedMutationsLocked.stream().filter(v -> v.type == StagedMutationType.INSERT).collect(Collectors.toList());
+        return stagedMutationsLocked.ofType(StagedMutationType.INSERT);
     }
 
     private Optional<StagedMutation> checkForOwnWriteLocked(CollectionIdentifier collection, String id) {
         assertLocked("checkForOwnWrite");
         assertNotQueryMode("checkForOwnWrite");
-        Optional<StagedMutation> ownReplace = stagedReplacesLocked().stream()
-                .filter(v -> v.collection.equals(collection) && v.id.equals(id))
-                .findFirst();
+        StagedMutation own = stagedMutationsLocked.get(collection, id);
 
-        if (ownReplace.isPresent()) {
-            return ownReplace;
-        }
-
-        Optional<StagedMutation> ownInserted = stagedInsertsLocked().stream()
-                .filter(v -> v.collection.equals(collection) && v.id.equals(id))
-                .findFirst();
-
-        if (ownInserted.isPresent()) {
-            return ownInserted;
+        if (own != null && (own.type == StagedMutationType.REPLACE || own.type == StagedMutationType.INSERT)) {
+            return Optional.of(own);
         }
 
         return Optional.empty();
@@ -459,11 +451,9 @@ public class CoreTransactionAttemptContext {
                                     ow.documentMetadata, ow.type.toString(), ow.crc32))));
                 }
             }
-            Optional<StagedMutation> ownRemove = stagedRemovesLocked().stream().filter(v -> {
-                return v.collection.equals(collection) && v.id.equals(id);
-            }).findFirst();
+            StagedMutation ownRemove = stagedMutationsLocked.get(collection, id, StagedMutationType.REMOVE);
 
-            if (ownRemove.isPresent()) {
+            if (ownRemove != null) {
                 LOGGER.info(attemptId, "found own-write of removed doc %s",
                         DebugUtil.docId(collection, id));
 
@@ -1729,7 +1719,6 @@ public class CoreTransactionAttemptContext {
         return Mono.defer(() -> {
             return doUnderLock("addStagedMutation " + DebugUtil.docId(sm.collection, sm.id),
                     () -> Mono.fromRunnable(() -> {
-                        removeStagedMutationLocked(sm.collection, sm.id);
                         stagedMutationsLocked.add(sm);
                     }));
         });
@@ -1772,14 +1761,12 @@ public class CoreTransactionAttemptContext {
 
     private Optional<StagedMutation> findStagedMutationLocked(CollectionIdentifier collection, String docId) {
         assertLocked("findStagedMutation");
-        return stagedMutationsLocked.stream()
-                .filter(v -> v.collection.equals(collection) && v.id.equals(docId))
-                .findFirst();
+        return Optional.ofNullable(stagedMutationsLocked.get(collection, docId));
     }
 
     private void removeStagedMutationLocked(CollectionIdentifier collection, String id) {
         assertLocked("removeStagedMutation");
-        stagedMutationsLocked.removeIf(v -> v.collection.equals(collection) && v.id.equals(id));
+        stagedMutationsLocked.remove(collection, id);
     }
 
     private static LogDeferThrowable dbg(Throwable err) {
@@ -2154,7 +2141,7 @@ public class CoreTransactionAttemptContext {
         }
     }
 
-    private byte[] listToDocRecords(List<StagedMutation> docs) throws JsonProcessingException {
+    private byte[] listToDocRecords(Collection<StagedMutation> docs) throws JsonProcessingException {
         ArrayNode root = Mapper.createArrayNode();
         docs.forEach(doc -> {
             ObjectNode jn = Mapper.createObjectNode();
@@ -2227,9 +2214,9 @@ public class CoreTransactionAttemptContext {
                 atrCollection().get(),
                 state,
                 // We're not locked here, but we're at the end of the lambda. Nothing can be adding to it.
-                toDocRecords(stagedMutationsLocked.stream().filter(v -> v.type == StagedMutationType.REPLACE).collect(Collectors.toList())),
-                toDocRecords(stagedMutationsLocked.stream().filter(v -> v.type == StagedMutationType.REMOVE).collect(Collectors.toList())),
-                toDocRecords(stagedMutationsLocked.stream().filter(v -> v.type == StagedMutationType.INSERT).collect(Collectors.toList())),
+                toDocRecords(stagedMutationsLocked.ofType(StagedMutationType.REPLACE)),
+                toDocRecords(stagedMutationsLocked.ofType(StagedMutationType.REMOVE)),
+                toDocRecords(stagedMutationsLocked.ofType(StagedMutationType.INSERT)),
                 Duration.ZERO,
                 Optional.empty(),
                 transactionElapsedTimeMillis,
@@ -2559,13 +2546,10 @@ public class CoreTransactionAttemptContext {
             assertLocked("commitDocs");
             long start = System.nanoTime();
 
-            // TXNJ-64 - commit in the order the docs were staged
-            return Flux.fromIterable(stagedMutationsLocked)
-                    .publishOn(scheduler())
-
-                    .concatMap(staged -> {
-                        return commitDocWrapperLocked(span, staged);
-                    })
+            // TXNJ-64 - commit in the order the docs were staged.  Each document is staged at most once, so committing
+            // several of them in parallel (if configured) never reorders the writes to any single document.
+            return unstageEach(stagedMutationsLocked.all(), config.unstagingConcurrency(), scheduler(),
+                    staged -> commitDocWrapperLocked(span, staged))
 
                     .then(Mono.defer(() -> {
                         long elapsed = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
@@ -3521,12 +3505,41 @@ public class CoreTransactionAttemptContext {
         });
     }
 
-    private Mono<Void> rollbackDocsLocked(boolean isAppRollback, SpanWrapper span) {
+    /**
+     * Unstages the given documents, up to {@code concurrency} of them at the same time, in the order they were staged.
+     * <p>
+     * Once unstaging a document fails, no further documents are started, but the ones already in-flight are allowed to
+     * complete rather than being cancelled midway.  The first failure is then raised, so that with a concurrency of 1
+     * this behaves exactly like unstaging the documents one after the other.
+     */
+    static <T> Mono<Void> unstageEach(Collection<T> docs, int concurrency, Scheduler scheduler, Function<T, Mono<Void>> unstage) {
         return Mono.defer(() -> {
-            return Flux.fromIterable(stagedMutationsLocked)
-                    .publishOn(scheduler())
+            AtomicReference<Throwable> firstError = new AtomicReference<>();
+
+            return Flux.fromIterable(docs)
+                    .publishOn(scheduler)
 
-                    .concatMap(staged -> {
+                    .flatMap(doc -> {
+                        if (firstError.get() != null) {
+                            return Mono.empty();
+                        }
+                        return unstage.apply(doc)
+                                .onErrorResume(err -> {
+                                    firstError.compareAndSet(null, err);
+                                    return Mono.empty();
+                                });
+                    }, concurrency)
+
+                    .then(Mono.defer(() -> {
+                        Throwable err = firstError.get();
+                        return err == null ? Mono.<Void>empty() : Mono.<Void>error(err);
+                    }));
+        });
+    }
+
+    private Mono<Void> rollbackDocsLocked(boolean isAppRollback, SpanWrapper span) {
+        return Mono.defer(() -> {
+            return unstageEach(stagedMutationsLocked.all(), config.unstagingConcurrency(), scheduler(), staged -> {
                         switch (staged.type) {
                             case INSERT:
                                 return rollbackStagedInsertLocked(isAppRollback, span, staged.collection, staged.id, staged.cas);
@@ -4436,7 +4449,7 @@ public class CoreTransactionAttemptContext {
         });
     }
 
-    private List<DocRecord> toDocRecords(final List<StagedMutation> mutations) {
+    private List<DocRecord> toDocRecords(final Collection<StagedMutation> mutations) {
         return mutations.stream()
                 .map(m -> new DocRecord(m.collection.bucket(),
                         m.collection.scope().orElse(DEFAULT_SCOPE),
@@ -4653,7 +4666,7 @@ public class CoreTransactionAttemptContext {
         sb.append("id=").append(attemptId.substring(0, TransactionLogEvent.CHARS_TO_LOG));
         sb.append(",state=").append(state);
         sb.append(",atr=").append(ActiveTransactionRecordUtil.getAtrDebug(atrCollection, atrId));
-        sb.append(",staged=").append(stagedMutationsLocked.stream().map(StagedMutation::toString).collect(Collectors.toList()));
+        sb.append(",staged=").append(stagedMutationsLocked.all().stream().map(StagedMutation::toString).collect(Collectors.toList()));
         sb.append('}');
         return sb.toString();
     }
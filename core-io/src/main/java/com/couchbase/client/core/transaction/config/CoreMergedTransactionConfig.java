@@ -78,6 +78,10 @@ public class CoreMergedTransactionConfig {
         return config.numAtrs();
     }
 
+    public int unstagingConcurrency() {
+        return config.unstagingConcurrency();
+    }
+
     public Optional<CollectionIdentifier> metadataCollection() {
         if (perConfig.isPresent() && perConfig.get().metadataCollection().isPresent()) {
             return perConfig.get().metadataCollection();
@@ -17,6 +17,7 @@
 package com.couchbase.client.core.transaction.config;
 
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.msg.kv.DurabilityLevel;
 import com.couchbase.client.core.transaction.cleanup.CleanerFactory;
@@ -36,6 +37,7 @@ public class CoreTransactionsConfig {
 
     public static final Duration DEFAULT_TRANSACTION_TIMEOUT = Duration.ofSeconds(15);
     public static final DurabilityLevel DEFAULT_TRANSACTION_DURABILITY_LEVEL = DurabilityLevel.MAJORITY;
+    public static final int DEFAULT_UNSTAGING_CONCURRENCY = 1;
 
     private final DurabilityLevel durabilityLevel;
     private final Duration timeout;
@@ -48,6 +50,8 @@ public class CoreTransactionsConfig {
     // Note this isn't a top-level option in TransactionConfig.Builder (correctly).  Just saving creating a
     // TransactionConfigQuery internal object.
     private final Optional<String> scanConsistency;
+    // How many documents are committed or rolled back in parallel once the transaction reached the point of no return.
+    private final int unstagingConcurrency;
 
     public CoreTransactionsConfig(DurabilityLevel durabilityLevel,
                                   Duration timeout,
@@ -59,6 +63,24 @@ public class CoreTransactionsConfig {
                                   Optional<CollectionIdentifier> metadataCollection,
                                   Optional<String> scanConsistency
     ) {
+        this(durabilityLevel, timeout, cleanupConfig, attemptContextFactory, cleanerFactory, clientRecordFactory, numAtrs,
+                metadataCollection, scanConsistency, DEFAULT_UNSTAGING_CONCURRENCY);
+    }
+
+    public CoreTransactionsConfig(DurabilityLevel durabilityLevel,
+                                  Duration timeout,
+                                  CoreTransactionsCleanupConfig cleanupConfig,
+                                  @Nullable TransactionAttemptContextFactory attemptContextFactory,
+                                  @Nullable CleanerFactory cleanerFactory,
+                                  @Nullable ClientRecordFactory clientRecordFactory,
+                                  int numAtrs,
+                                  Optional<CollectionIdentifier> metadataCollection,
+                                  Optional<String> scanConsistency,
+                                  int unstagingConcurrency
+    ) {
+        if (unstagingConcurrency < 1) {
+            throw InvalidArgumentException.fromMessage("unstagingConcurrency must be at least 1, but was " + unstagingConcurrency);
+        }
         this.durabilityLevel = Objects.requireNonNull(durabilityLevel);
         this.timeout = Objects.requireNonNull(timeout);
         this.cleanupConfig = Objects.requireNonNull(cleanupConfig);
@@ -68,6 +90,7 @@ public class CoreTransactionsConfig {
         this.numAtrs = numAtrs;
         this.metadataCollection = Objects.requireNonNull(metadataCollection);
         this.scanConsistency = Objects.requireNonNull(scanConsistency);
+        this.unstagingConcurrency = unstagingConcurrency;
 
         metadataCollection.ifPresent(mc -> cleanupConfig.cleanupSet().add(mc));
     }
@@ -132,6 +155,10 @@ public class CoreTransactionsConfig {
         return scanConsistency;
     }
 
+    public int unstagingConcurrency() {
+        return unstagingConcurrency;
+    }
+
     @Stability.Volatile
     public Map<String, Object> exportAsMap() {
         Map<String, Object> export = new LinkedHashMap<>();
@@ -141,6 +168,7 @@ public class CoreTransactionsConfig {
         export.put("numAtrs", numAtrs);
         export.put("metadataCollection", metadataCollection.map(CollectionIdentifier::toString).orElse("none"));
         export.put("scanConsistency", scanConsistency.orElse("none"));
+        export.put("unstagingConcurrency", unstagingConcurrency);
         return export;
     }
 }
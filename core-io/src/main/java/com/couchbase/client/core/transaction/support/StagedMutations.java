@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.core.transaction.support;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import reactor.util.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The mutations staged by a transaction attempt, indexed by document.
+ * <p>
+ * Holds at most one mutation per document.  Mutations are kept in the order they were (last) staged, which is the
+ * order they must be committed in (TXNJ-64), and can additionally be viewed per {@link StagedMutationType} without
+ * scanning or copying.
+ * <p>
+ * Not threadsafe: it is always accessed under the attempt lock.
+ */
+@Stability.Internal
+public class StagedMutations {
+    private final Map<Key, StagedMutation> all = new LinkedHashMap<>();
+    private final Map<StagedMutationType, Map<Key, StagedMutation>> byType = new EnumMap<>(StagedMutationType.class);
+
+    public StagedMutations() {
+        for (StagedMutationType type : StagedMutationType.values()) {
+            byType.put(type, new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * Adds the mutation, replacing any mutation previously staged for the same document.  The mutation is moved to
+     * the end of the commit order.
+     */
+    public void add(StagedMutation sm) {
+        Key key = new Key(sm.collection, sm.id);
+        remove(key);
+        all.put(key, sm);
+        byType.get(sm.type).put(key, sm);
+    }
+
+    /**
+     * Returns the mutation staged for this document, or null if there is none.
+     */
+    public @Nullable StagedMutation get(CollectionIdentifier collection, String id) {
+        return all.get(new Key(collection, id));
+    }
+
+    /**
+     * Returns the mutation staged for this document if it has the given type, or null otherwise.
+     */
+    public @Nullable StagedMutation get(CollectionIdentifier collection, String id, StagedMutationType type) {
+        return byType.get(type).get(new Key(collection, id));
+    }
+
+    public void remove(CollectionIdentifier collection, String id) {
+        remove(new Key(collection, id));
+    }
+
+    private void remove(Key key) {
+        StagedMutation removed = all.remove(key);
+        if (removed != null) {
+            byType.get(removed.type).remove(key);
+        }
+    }
+
+    /**
+     * All staged mutations in commit order, as a read-only view.
+     */
+    public Collection<StagedMutation> all() {
+        return Collections.unmodifiableCollection(all.values());
+    }
+
+    /**
+     * The staged mutations of the given type in commit order, as a read-only view.
+     */
+    public Collection<StagedMutation> ofType(StagedMutationType type) {
+        return Collections.unmodifiableCollection(byType.get(type).values());
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    public boolean isEmpty() {
+        return all.isEmpty();
+    }
+
+    public void clear() {
+        all.clear();
+        byType.values().forEach(Map::clear);
+    }
+
+    private static final class Key {
+        private final CollectionIdentifier collection;
+        private final String id;
+        private final int hash;
+
+        Key(CollectionIdentifier collection, String id) {
+            this.collection = collection;
+            this.id = id;
+            this.hash = 31 * collection.hashCode() + id.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && id.equals(other.id) && collection.equals(other.collection);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -62,15 +62,15 @@ public class MeteringUnits {
     private int readUnits;
     private int writeUnits;
 
-    public int readUnits() {
+    public synchronized int readUnits() {
       return readUnits;
     }
 
-    public int writeUnits() {
+    public synchronized int writeUnits() {
       return writeUnits;
     }
 
-    public void add(@Nullable MemcacheProtocol.FlexibleExtras flexibleExtras) {
+    public synchronized void add(@Nullable MemcacheProtocol.FlexibleExtras flexibleExtras) {
       if (flexibleExtras != null) {
         if (flexibleExtras.readUnits != UNITS_NOT_PRESENT) {
           readUnits += flexibleExtras.readUnits;
@@ -85,7 +85,7 @@ public class MeteringUnits {
       add(from(err));
     }
 
-    public void add(@Nullable MeteringUnits units) {
+    public synchronized void add(@Nullable MeteringUnits units) {
       if (units != null) {
         if (units.readUnits != null) {
           readUnits += units.readUnits;
@@ -96,7 +96,7 @@ public class MeteringUnits {
       }
     }
 
-    public MeteringUnits build() {
+    public synchronized MeteringUnits build() {
       return new MeteringUnits(readUnits == 0 ? null : readUnits, writeUnits == 0 ? null : writeUnits);
     }
 
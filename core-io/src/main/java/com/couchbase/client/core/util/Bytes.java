@@ -21,6 +21,7 @@ import com.couchbase.client.core.error.CouchbaseException;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 import static com.couchbase.client.core.util.Validators.notNull;
 
@@ -34,6 +35,16 @@ public class Bytes {
    */
   public static final byte[] EMPTY_BYTE_ARRAY = new byte[]{};
 
+  /**
+   * Copies the remaining bytes of the buffer into a new array, without modifying the position of the buffer.
+   */
+  public static byte[] remainingBytes(ByteBuffer buffer) {
+    notNull(buffer, "buffer");
+    byte[] result = new byte[buffer.remaining()];
+    buffer.duplicate().get(result);
+    return result;
+  }
+
   public static byte[] readAllBytes(InputStream is) {
     notNull(is, "input stream");
     try {
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.util;
+
+import com.couchbase.client.core.annotation.Stability;
+import reactor.util.annotation.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded cache which approximates LRU eviction with the CLOCK ("second chance") algorithm.
+ * <p>
+ * Unlike an access-ordered {@link LRUCache}, reads do not reorder anything: a hit only sets a flag on the entry,
+ * so concurrent readers never contend on a shared lock. Once the cache grows beyond its capacity, the writer sweeps
+ * the entries in insertion order, gives every recently read entry a second chance and evicts the first one which
+ * has not been read since the last sweep.
+ */
+@Stability.Internal
+public class ConcurrentLruCache<K, V> {
+
+  private final int maxCapacity;
+  private final Runnable onEviction;
+  private final ConcurrentMap<K, Node<K, V>> entries = new ConcurrentHashMap<>();
+
+  /**
+   * All nodes in sweep order. May contain nodes which have been replaced or removed in the meantime; those are
+   * dropped once the sweep reaches them.
+   */
+  private final Queue<Node<K, V>> clock = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger clockSize = new AtomicInteger();
+
+  public ConcurrentLruCache(final int maxCapacity) {
+    this(maxCapacity, () -> { });
+  }
+
+  /**
+   * Creates a new cache.
+   *
+   * @param maxCapacity the maximum number of entries.
+   * @param onEviction called every time an entry has been evicted because the cache was full.
+   */
+  public ConcurrentLruCache(final int maxCapacity, final Runnable onEviction) {
+    if (maxCapacity < 1) {
+      throw new IllegalArgumentException("maxCapacity must be > 0, but got " + maxCapacity);
+    }
+    this.maxCapacity = maxCapacity;
+    this.onEviction = requireNonNull(onEviction);
+  }
+
+  public @Nullable V get(final K key) {
+    Node<K, V> node = entries.get(key);
+    if (node == null) {
+      return null;
+    }
+    if (!node.referenced) {
+      node.referenced = true;
+    }
+    return node.value;
+  }
+
+  public void put(final K key, final V value) {
+    Node<K, V> node = new Node<>(key, requireNonNull(value));
+    entries.put(key, node);
+    clock.offer(node);
+    if (clockSize.incrementAndGet() > maxCapacity) {
+      sweep();
+    }
+  }
+
+  public void remove(final K key) {
+    Node<K, V> node = entries.remove(key);
+    // If a concurrent sweep holds the node right now, it is not in the clock and the sweep drops it instead.
+    if (node != null && clock.remove(node)) {
+      clockSize.decrementAndGet();
+    }
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private synchronized void sweep() {
+    while (clockSize.get() > maxCapacity) {
+      Node<K, V> node = clock.poll();
+      if (node == null) {
+        return;
+      }
+
+      if (entries.get(node.key) != node) {
+        clockSize.decrementAndGet();
+      } else if (node.referenced) {
+        node.referenced = false;
+        clock.offer(node);
+      } else {
+        clockSize.decrementAndGet();
+        if (entries.remove(node.key, node)) {
+          onEviction.run();
+        }
+      }
+    }
+  }
+
+  private static final class Node<K, V> {
+    final K key;
+    final V value;
+    volatile boolean referenced;
+
+    Node(final K key, final V value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+}
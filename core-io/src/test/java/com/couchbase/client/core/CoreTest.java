@@ -23,13 +23,21 @@ import com.couchbase.client.core.config.BucketConfig;
 import com.couchbase.client.core.config.BucketConfigParser;
 import com.couchbase.client.core.config.ClusterConfig;
 import com.couchbase.client.core.config.ConfigurationProvider;
+import com.couchbase.client.core.deps.io.netty.util.Timeout;
 import com.couchbase.client.core.env.Authenticator;
 import com.couchbase.client.core.env.CoreEnvironment;
 import com.couchbase.client.core.env.PasswordAuthenticator;
 import com.couchbase.client.core.error.GlobalConfigNotFoundException;
 import com.couchbase.client.core.error.UnsupportedConfigMechanismException;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.CancellationReason;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.GetResponse;
 import com.couchbase.client.core.node.Node;
 import com.couchbase.client.core.node.NodeIdentifier;
+import com.couchbase.client.core.retry.BestEffortRetryStrategy;
 import com.couchbase.client.core.service.ServiceType;
 import com.couchbase.client.core.util.ConnectionString;
 import org.junit.jupiter.api.AfterAll;
@@ -42,18 +50,27 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static com.couchbase.client.test.Util.readResource;
+import static com.couchbase.client.test.Util.waitUntilCondition;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -534,4 +551,100 @@ class CoreTest {
     }
   }
 
+  @Test
+  void sendBatchKeepsTimeoutOfEachRequest() throws Exception {
+    MockConfigProvider mockConfigProvider = new MockConfigProvider();
+
+    Node mock101 = mock(Node.class);
+    configureMock(mock101, "mock101", "10.143.190.101", 8091);
+    when(mock101.hasServicesEnabled()).thenReturn(true);
+    List<Request<?>> sent = new CopyOnWriteArrayList<>();
+    doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(mock101).send(any());
+
+    try (Core core = new Core(ENV, AUTHENTICATOR, CONNECTION_STRING) {
+      @Override
+      public ConfigurationProvider createConfigurationProvider() {
+        return mockConfigProvider.configProvider;
+      }
+
+      @Override
+      protected Node createNode(final NodeIdentifier target, final Optional<String> alternate) {
+        return mock101;
+      }
+    }) {
+      mockConfigProvider.accept(BucketConfigParser.parse(
+        readResource("one_node_config.json", CoreTest.class),
+        ENV,
+        LOCALHOST
+      ));
+      verify(mock101, timeout(TIMEOUT).times(1))
+        .addService(ServiceType.KV, 11210, Optional.of("travel-sample"));
+
+      GetRequest shortTimeout = getRequest(core, "a", Duration.ofMillis(100));
+      GetRequest longTimeout = getRequest(core, "b", Duration.ofSeconds(30));
+      GetRequest failing = getRequest(core, "c", Duration.ofSeconds(30));
+      core.sendBatch(Arrays.asList(shortTimeout, longTimeout, failing));
+
+      verify(mock101, timeout(TIMEOUT).times(3)).send(any());
+      assertEquals(3, sent.size());
+
+      // A failure of one request does not affect the others of the batch.
+      failing.fail(new IllegalStateException("failed"));
+      assertTrue(failing.response().isCompletedExceptionally());
+      assertFalse(longTimeout.completed());
+
+      // Each request times out after its own timeout, not the longest one of the batch.
+      waitUntilCondition(shortTimeout::completed);
+      assertEquals(CancellationReason.TIMEOUT, shortTimeout.cancellationReason());
+      assertFalse(longTimeout.completed());
+
+      longTimeout.succeed(new GetResponse(ResponseStatus.SUCCESS, new byte[0], 1, 0));
+      assertEquals(ResponseStatus.SUCCESS, longTimeout.response().get().status());
+    }
+  }
+
+  @Test
+  void sharesBatchRegistrationPerTimeoutAndCancelsItOnCompletion() {
+    Timer timer = Timer.createAndStart(Long.MAX_VALUE);
+    try {
+      GetRequest a = getRequest(null, "a", Duration.ofSeconds(30));
+      GetRequest b = getRequest(null, "b", Duration.ofSeconds(30));
+      GetRequest c = getRequest(null, "c", Duration.ofSeconds(60));
+
+      List<Timeout> registrations = Core.registerBatchTimeouts(timer, Arrays.asList(a, b, c));
+      assertNotNull(registrations);
+      assertEquals(2, registrations.size());
+
+      a.succeed(new GetResponse(ResponseStatus.SUCCESS, new byte[0], 1, 0));
+      assertFalse(registrations.get(0).isCancelled());
+
+      b.fail(new IllegalStateException("failed"));
+      assertTrue(registrations.get(0).isCancelled());
+      assertFalse(registrations.get(1).isCancelled());
+
+      c.cancel(CancellationReason.STOPPED_LISTENING);
+      assertTrue(registrations.get(1).isCancelled());
+    } finally {
+      timer.stop();
+    }
+  }
+
+  @Test
+  void cancelsBatchWhenTimerIsStopped() {
+    Timer timer = Timer.createAndStart(Long.MAX_VALUE);
+    timer.stop();
+
+    GetRequest a = getRequest(null, "a", Duration.ofSeconds(30));
+    GetRequest b = getRequest(null, "b", Duration.ofSeconds(60));
+    assertNull(Core.registerBatchTimeouts(timer, Arrays.asList(a, b)));
+    assertEquals(CancellationReason.SHUTDOWN, a.cancellationReason());
+    assertEquals(CancellationReason.SHUTDOWN, b.cancellationReason());
+  }
+
+  private static GetRequest getRequest(final Core core, final String key, final Duration timeout) {
+    CoreContext ctx = core == null ? new CoreContext(mock(Core.class), 1, ENV, AUTHENTICATOR) : core.context();
+    return new GetRequest(key, timeout, ctx, CollectionIdentifier.fromDefault("travel-sample"),
+      BestEffortRetryStrategy.INSTANCE, null);
+  }
+
 }
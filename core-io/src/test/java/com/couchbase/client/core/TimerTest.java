@@ -23,13 +23,22 @@ import com.couchbase.client.core.msg.Response;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class TimerTest {
 
@@ -81,4 +90,64 @@ class TimerTest {
     }
   }
 
-}
\ No newline at end of file
+  @Test
+  void accountsAndFiresAcrossShards() throws Exception {
+    int numThreads = 8;
+    int tasksPerThread = 100;
+    Timer timer = Timer.createAndStart(Long.MAX_VALUE, 4);
+    try {
+      CountDownLatch fired = new CountDownLatch(numThreads * tasksPerThread);
+      List<Thread> threads = new ArrayList<>();
+      for (int i = 0; i < numThreads; i++) {
+        threads.add(new Thread(() -> {
+          for (int j = 0; j < tasksPerThread; j++) {
+            timer.schedule(fired::countDown, Duration.ofMillis(100));
+          }
+        }));
+      }
+      threads.forEach(Thread::start);
+      for (Thread thread : threads) {
+        thread.join();
+      }
+
+      assertTrue(fired.await(5, TimeUnit.SECONDS));
+      assertEquals(0, timer.outstandingForRetry());
+    } finally {
+      timer.stop();
+    }
+  }
+
+  @Test
+  void rejectsInvalidNumberOfShards() {
+    assertThrows(IllegalArgumentException.class, () -> Timer.create(2, 0));
+    assertThrows(IllegalArgumentException.class, () -> Timer.create(2, Timer.MAX_NUM_SHARDS + 1));
+  }
+
+  @Test
+  void derivesDefaultNumberOfShardsFromThreads() {
+    assertEquals(1, Timer.defaultNumShards(0));
+    assertEquals(1, Timer.defaultNumShards(1));
+    assertEquals(4, Timer.defaultNumShards(4));
+    assertEquals(Timer.MAX_NUM_SHARDS, Timer.defaultNumShards(1000));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void cancelsIncompleteRequestsOfBatchOnTimeout() throws Exception {
+    Timer timer = Timer.createAndStart(2);
+    try {
+      Request<Response> completed = mock(Request.class);
+      when(completed.completed()).thenReturn(true);
+      Request<Response> incomplete = mock(Request.class);
+
+      Timeout registration = timer.registerBatch(Arrays.asList(completed, incomplete), Duration.ofMillis(50));
+      verify(incomplete, timeout(5000)).cancel(CancellationReason.TIMEOUT);
+      verify(completed, never()).cancel(any(CancellationReason.class));
+      verify(completed, never()).timeoutRegistration(any(Timeout.class));
+      assertTrue(registration.isExpired());
+    } finally {
+      timer.stop();
+    }
+  }
+
+}
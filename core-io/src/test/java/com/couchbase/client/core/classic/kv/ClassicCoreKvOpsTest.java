@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.classic.kv;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.CoreKeyspace;
+import com.couchbase.client.core.api.kv.CoreAsyncResponse;
+import com.couchbase.client.core.api.kv.CoreDurability;
+import com.couchbase.client.core.api.kv.CoreEncodedContent;
+import com.couchbase.client.core.api.kv.CoreExpiry;
+import com.couchbase.client.core.api.kv.CoreGetResult;
+import com.couchbase.client.core.api.kv.CoreMutationResult;
+import com.couchbase.client.core.cnc.metrics.NoopMeter;
+import com.couchbase.client.core.config.ConfigurationProvider;
+import com.couchbase.client.core.endpoint.http.CoreCommonOptions;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.env.PasswordAuthenticator;
+import com.couchbase.client.core.error.AmbiguousTimeoutException;
+import com.couchbase.client.core.error.DocumentNotFoundException;
+import com.couchbase.client.core.error.UnambiguousTimeoutException;
+import com.couchbase.client.core.msg.CancellationReason;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.GetResponse;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import com.couchbase.client.core.msg.kv.RemoveRequest;
+import com.couchbase.client.core.msg.kv.RemoveResponse;
+import com.couchbase.client.core.msg.kv.UpsertRequest;
+import com.couchbase.client.core.msg.kv.UpsertResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the batched operations of the {@link ClassicCoreKvOps}.
+ */
+class ClassicCoreKvOpsTest {
+
+  private static CoreEnvironment ENV;
+
+  private Core core;
+  private ClassicCoreKvOps ops;
+  private List<List<KeyValueRequest<?>>> batches;
+
+  @BeforeAll
+  static void beforeAll() {
+    ENV = CoreEnvironment.create();
+  }
+
+  @AfterAll
+  static void afterAll() {
+    ENV.shutdown();
+  }
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void beforeEach() {
+    core = mock(Core.class);
+    CoreContext ctx = new CoreContext(core, 1, ENV, PasswordAuthenticator.create("user", "pass"));
+    when(core.context()).thenReturn(ctx);
+    ConfigurationProvider configurationProvider = mock(ConfigurationProvider.class);
+    when(configurationProvider.configs()).thenReturn(Flux.empty());
+    when(core.configurationProvider()).thenReturn(configurationProvider);
+    when(core.responseMetric(any(), any())).thenReturn(NoopMeter.INSTANCE.valueRecorder("test", emptyMap()));
+
+    batches = new ArrayList<>();
+    doAnswer(invocation -> batches.add(new ArrayList<>(invocation.getArgument(0))))
+      .when(core).sendBatch(anyList());
+
+    ops = new ClassicCoreKvOps(core, new CoreKeyspace("bucket", "_default", "_default"));
+  }
+
+  @Test
+  void getMultiCompletesEachKeyIndependently() throws Exception {
+    Map<String, CoreAsyncResponse<CoreGetResult>> responses = ops.getMultiAsync(
+      CoreCommonOptions.DEFAULT,
+      Arrays.asList("found", "missing", "found", "timeout")
+    );
+
+    assertEquals(Arrays.asList("found", "missing", "timeout"), new ArrayList<>(responses.keySet()));
+    assertEquals(1, batches.size());
+    verify(core, never()).send(any());
+
+    List<KeyValueRequest<?>> batch = batches.get(0);
+    assertEquals(3, batch.size());
+    ((GetRequest) batch.get(0)).succeed(new GetResponse(ResponseStatus.SUCCESS, "{}".getBytes(UTF_8), 1, 0));
+    ((GetRequest) batch.get(1)).succeed(new GetResponse(ResponseStatus.NOT_FOUND, null, 0, 0));
+    batch.get(2).cancel(CancellationReason.TIMEOUT);
+
+    CoreGetResult found = responses.get("found").toFuture().get();
+    assertArrayEquals("{}".getBytes(UTF_8), found.content());
+    assertEquals(1, found.cas());
+    assertCause(DocumentNotFoundException.class, responses.get("missing"));
+    assertCause(UnambiguousTimeoutException.class, responses.get("timeout"));
+  }
+
+  @Test
+  void upsertMultiCompletesEachDocumentIndependently() throws Exception {
+    Map<String, Supplier<CoreEncodedContent>> documents = new LinkedHashMap<>();
+    documents.put("a", () -> CoreEncodedContent.of("{}".getBytes(UTF_8), 0));
+    documents.put("b", () -> CoreEncodedContent.of("[]".getBytes(UTF_8), 0));
+
+    Map<String, CoreAsyncResponse<CoreMutationResult>> responses = ops.upsertMultiAsync(
+      CoreCommonOptions.DEFAULT,
+      documents,
+      CoreDurability.NONE,
+      CoreExpiry.NONE,
+      false
+    );
+
+    List<KeyValueRequest<?>> batch = batches.get(0);
+    assertEquals(2, batch.size());
+
+    UpsertResponse success = mock(UpsertResponse.class);
+    when(success.status()).thenReturn(ResponseStatus.SUCCESS);
+    when(success.cas()).thenReturn(5L);
+    when(success.mutationToken()).thenReturn(Optional.empty());
+    ((UpsertRequest) batch.get(0)).succeed(success);
+    batch.get(1).cancel(CancellationReason.TIMEOUT);
+
+    assertEquals(5, responses.get("a").toFuture().get().cas());
+    assertCause(AmbiguousTimeoutException.class, responses.get("b"));
+  }
+
+  @Test
+  void removeMultiCompletesEachKeyIndependently() throws Exception {
+    Map<String, CoreAsyncResponse<CoreMutationResult>> responses = ops.removeMultiAsync(
+      CoreCommonOptions.DEFAULT,
+      Arrays.asList("a", "b", "a"),
+      CoreDurability.NONE
+    );
+
+    List<KeyValueRequest<?>> batch = batches.get(0);
+    assertEquals(2, batch.size());
+
+    RemoveResponse success = mock(RemoveResponse.class);
+    when(success.status()).thenReturn(ResponseStatus.SUCCESS);
+    when(success.cas()).thenReturn(7L);
+    when(success.mutationToken()).thenReturn(Optional.empty());
+    RemoveResponse notFound = mock(RemoveResponse.class);
+    when(notFound.status()).thenReturn(ResponseStatus.NOT_FOUND);
+
+    ((RemoveRequest) batch.get(1)).succeed(notFound);
+    assertCause(DocumentNotFoundException.class, responses.get("b"));
+
+    ((RemoveRequest) batch.get(0)).succeed(success);
+    assertEquals(7, responses.get("a").toFuture().get().cas());
+  }
+
+  private static void assertCause(final Class<? extends Throwable> expected, final CoreAsyncResponse<?> response) {
+    ExecutionException ex = assertThrows(ExecutionException.class, () -> response.toFuture().get());
+    assertInstanceOf(expected, ex.getCause());
+  }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.classic.query;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.env.PasswordAuthenticator;
+import com.couchbase.client.core.msg.query.PreparedStatement;
+import com.couchbase.client.core.msg.query.QueryRequest;
+import com.couchbase.client.core.msg.query.QueryResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the caching and single-flight behavior of the {@link PreparedStatementStrategy}.
+ */
+class PreparedStatementStrategyTest {
+
+  private static CoreEnvironment ENV;
+
+  private RecordingStrategy strategy;
+
+  @BeforeAll
+  static void beforeAll() {
+    ENV = CoreEnvironment.create();
+  }
+
+  @AfterAll
+  static void afterAll() {
+    ENV.shutdown();
+  }
+
+  @BeforeEach
+  void beforeEach() {
+    Core core = mock(Core.class);
+    CoreContext ctx = new CoreContext(core, 1, ENV, PasswordAuthenticator.create("user", "pass"));
+    when(core.context()).thenReturn(ctx);
+    strategy = new RecordingStrategy(core);
+  }
+
+  @Test
+  void concurrentMissesShareOnePreparation() throws Exception {
+    QueryRequest request = queryRequest();
+    CompletableFuture<QueryResponse> leader = strategy.execute(request).toFuture();
+    CompletableFuture<QueryResponse> follower = strategy.execute(request).toFuture();
+    assertEquals(1, strategy.preparations.size());
+    assertEquals(0, strategy.executions.size());
+
+    PreparedStatement prepared = PreparedStatement.enhanced("p1");
+    QueryResponse leaderResponse = mock(QueryResponse.class);
+    strategy.preparations.get(0).complete(prepared, leaderResponse);
+
+    assertSame(leaderResponse, leader.get());
+    assertSame(strategy.executeResponse, follower.get());
+    assertEquals(1, strategy.executions.size());
+    assertSame(prepared, strategy.executions.get(0));
+
+    // The statement is cached now, so another execution neither prepares nor waits.
+    assertSame(strategy.executeResponse, strategy.execute(request).toFuture().get());
+    assertEquals(1, strategy.preparations.size());
+    assertEquals(2, strategy.executions.size());
+  }
+
+  @Test
+  void followerPreparesItselfIfLeaderFails() throws Exception {
+    QueryRequest request = queryRequest();
+    CompletableFuture<QueryResponse> leader = strategy.execute(request).toFuture();
+    CompletableFuture<QueryResponse> follower = strategy.execute(request).toFuture();
+    assertEquals(1, strategy.preparations.size());
+
+    strategy.preparations.get(0).fail(new IllegalStateException("prepare failed"));
+    ExecutionException ex = assertThrows(ExecutionException.class, leader::get);
+    assertInstanceOf(IllegalStateException.class, ex.getCause());
+
+    assertEquals(2, strategy.preparations.size());
+    assertFalse(follower.isDone());
+
+    QueryResponse followerResponse = mock(QueryResponse.class);
+    strategy.preparations.get(1).complete(PreparedStatement.enhanced("p2"), followerResponse);
+    assertSame(followerResponse, follower.get());
+    assertTrue(strategy.executions.isEmpty());
+  }
+
+  private static QueryRequest queryRequest() {
+    QueryRequest request = mock(QueryRequest.class);
+    when(request.statement()).thenReturn("select 1");
+    return request;
+  }
+
+  /**
+   * A strategy which records its preparations and executions instead of sending them to the cluster.
+   */
+  private static class RecordingStrategy extends PreparedStatementStrategy {
+
+    final List<Preparation> preparations = new ArrayList<>();
+    final List<PreparedStatement> executions = new ArrayList<>();
+    final QueryResponse executeResponse = mock(QueryResponse.class);
+
+    RecordingStrategy(final Core core) {
+      super(core, 10);
+    }
+
+    @Override
+    protected Mono<QueryResponse> prepareAndExecute(final QueryRequest request,
+                                                    final Consumer<PreparedStatement> onPrepared) {
+      Preparation preparation = new Preparation(onPrepared);
+      preparations.add(preparation);
+      return preparation.response.asMono();
+    }
+
+    @Override
+    protected Mono<QueryResponse> executeAlreadyPrepared(final QueryRequest request,
+                                                         final PreparedStatement prepared) {
+      executions.add(prepared);
+      return Mono.just(executeResponse);
+    }
+  }
+
+  private static class Preparation {
+
+    final Consumer<PreparedStatement> onPrepared;
+    final Sinks.One<QueryResponse> response = Sinks.one();
+
+    Preparation(final Consumer<PreparedStatement> onPrepared) {
+      this.onPrepared = onPrepared;
+    }
+
+    void complete(final PreparedStatement prepared, final QueryResponse queryResponse) {
+      onPrepared.accept(prepared);
+      response.tryEmitValue(queryResponse);
+    }
+
+    void fail(final Throwable cause) {
+      response.tryEmitError(cause);
+    }
+  }
+
+}
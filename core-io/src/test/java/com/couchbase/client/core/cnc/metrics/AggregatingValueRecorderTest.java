@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc.metrics;
+
+import com.couchbase.client.core.deps.org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AggregatingValueRecorderTest {
+
+  @Test
+  void mergesValuesRecordedFromManyThreads() throws Exception {
+    AggregatingValueRecorder recorder = new AggregatingValueRecorder("name", Collections.emptyMap());
+
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      long value = valueForThread(i);
+      Thread thread = new Thread(() -> {
+        for (int j = 0; j < 1000; j++) {
+          recorder.recordValue(value);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    Histogram histogram = recorder.clearStats();
+    assertEquals(8000, histogram.getTotalCount());
+    for (int i = 0; i < 8; i++) {
+      assertEquals(1000, histogram.getCountAtValue(valueForThread(i)));
+    }
+  }
+
+  @Test
+  void onlyReturnsValuesOfTheCurrentInterval() {
+    AggregatingValueRecorder recorder = new AggregatingValueRecorder("name", Collections.emptyMap());
+    assertNull(recorder.clearStats());
+
+    recorder.recordValue(1000);
+    recorder.recordValue(2000);
+    assertEquals(2, recorder.clearStats().getTotalCount());
+    assertNull(recorder.clearStats());
+
+    recorder.recordValue(3000);
+    Histogram histogram = recorder.clearStats();
+    assertEquals(1, histogram.getTotalCount());
+    assertEquals(1, histogram.getCountAtValue(3000));
+  }
+
+  private static long valueForThread(final int thread) {
+    return (thread + 1) * 10_000_000L;
+  }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.config;
+
+import org.junit.jupiter.api.Test;
+
+import static com.couchbase.client.test.Util.readResource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BucketConfigParserTest {
+
+  @Test
+  void parsesHeaderOfFullConfig() {
+    String raw = readResource("config_higher_rev_higher_epoch.json", BucketConfigParserTest.class);
+    BucketConfigParser.Header header = BucketConfigParser.parseHeader(raw);
+    assertEquals("travel-sample", header.name());
+    assertEquals(new ConfigVersion(2, 2), header.version());
+  }
+
+  @Test
+  void parsesHeaderIndependentOfFieldOrder() {
+    BucketConfigParser.Header header = BucketConfigParser.parseHeader(
+      "{\"nodes\":[{\"hostname\":\"a\"}],\"name\":\"foo\",\"vBucketServerMap\":{\"rev\":99},\"rev\":5}"
+    );
+    assertEquals("foo", header.name());
+    assertEquals(new ConfigVersion(0, 5), header.version());
+  }
+
+  @Test
+  void returnsNullIfHeaderIncomplete() {
+    assertNull(BucketConfigParser.parseHeader("{\"name\":\"foo\"}"));
+    assertNull(BucketConfigParser.parseHeader("{\"rev\":1}"));
+    assertNull(BucketConfigParser.parseHeader("{\"rev\":$REV,\"name\":\"foo\"}"));
+    assertNull(BucketConfigParser.parseHeader("[]"));
+  }
+
+}
@@ -59,6 +59,7 @@ import static com.couchbase.client.test.Util.waitUntilCondition;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -368,6 +369,24 @@ class BaseEndpointTest {
     assertEquals(0, endpoint.outstandingRequests());
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void defersFlushWhileBatchIsRunning() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    InstrumentedEndpoint endpoint = connectSuccessfully(channel);
+
+    Request<Response> request = mock(Request.class);
+    when(request.response()).thenReturn(new CompletableFuture<>());
+    when(request.context()).thenReturn(new RequestContext(ctx, request));
+
+    FlushBatch.run(() -> {
+      endpoint.send(request);
+      assertNull(channel.readOutbound());
+    });
+
+    assertEquals(request, channel.readOutbound());
+  }
+
   /**
    * Helper method to DRY up the case where we just need to connect properly.
    *
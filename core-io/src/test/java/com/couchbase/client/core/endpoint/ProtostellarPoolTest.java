@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.endpoint;
+
+import com.couchbase.client.core.Timer;
+import com.couchbase.client.core.deps.io.netty.util.Timeout;
+import com.couchbase.client.core.env.IoConfig;
+import com.couchbase.client.core.error.InvalidArgumentException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProtostellarPoolTest {
+
+  private static final int STREAMS = 10;
+  private static final Duration SCALE_DOWN_MINUS_ONE = ProtostellarPool.SCALE_DOWN_INTERVAL.minusMillis(1);
+
+  private final List<ProtostellarEndpoint> created = new ArrayList<>();
+  private final List<AtomicInteger> load = new ArrayList<>();
+  private final List<Runnable> scheduled = new ArrayList<>();
+  private long now;
+
+  @BeforeEach
+  void setup() {
+    created.clear();
+    load.clear();
+    scheduled.clear();
+    now = 1;
+  }
+
+  @Test
+  void picksLeastLoadedEndpoint() {
+    ProtostellarPool pool = pool(3, 5);
+    assertEquals(3, pool.endpoints().size());
+
+    load.get(0).set(4);
+    load.get(1).set(1);
+    load.get(2).set(7);
+    for (int i = 0; i < 10; i++) {
+      assertSame(created.get(1), pool.endpoint());
+    }
+  }
+
+  @Test
+  void addsEndpointsWhenSaturatedUpToMax() {
+    ProtostellarPool pool = pool(2, 3);
+    load.get(0).set(STREAMS);
+    load.get(1).set(STREAMS - 1);
+    assertSame(created.get(1), pool.endpoint());
+    assertEquals(2, pool.endpoints().size());
+
+    load.get(1).set(STREAMS);
+    ProtostellarEndpoint added = pool.endpoint();
+    assertSame(created.get(2), added);
+    assertEquals(3, pool.endpoints().size());
+
+    load.get(2).set(STREAMS);
+    pool.endpoint();
+    assertEquals(3, pool.endpoints().size());
+    assertEquals(3, created.size());
+  }
+
+  @Test
+  void removesEndpointsAfterLowLoadDownToMin() {
+    ProtostellarPool pool = pool(1, 3);
+    load.get(0).set(STREAMS);
+    pool.endpoint();
+    load.get(1).set(STREAMS);
+    pool.endpoint();
+    assertEquals(3, pool.endpoints().size());
+
+    load.get(0).set(2);
+    load.get(1).set(0);
+    load.get(2).set(3);
+    pool.endpoint();
+    advance(SCALE_DOWN_MINUS_ONE);
+    pool.endpoint();
+    assertEquals(3, pool.endpoints().size());
+
+    advance(Duration.ofMillis(1));
+    pool.endpoint();
+    assertEquals(2, pool.endpoints().size());
+    assertFalse(pool.endpoints().contains(created.get(1)));
+
+    // The next one is only removed after another interval.
+    pool.endpoint();
+    assertEquals(2, pool.endpoints().size());
+    advance(ProtostellarPool.SCALE_DOWN_INTERVAL);
+    pool.endpoint();
+    assertEquals(1, pool.endpoints().size());
+
+    advance(ProtostellarPool.SCALE_DOWN_INTERVAL);
+    pool.endpoint();
+    assertEquals(1, pool.endpoints().size());
+  }
+
+  @Test
+  void keepsEndpointsWhileLoadIsHigh() {
+    ProtostellarPool pool = pool(1, 2);
+    load.get(0).set(STREAMS);
+    pool.endpoint();
+    assertEquals(2, pool.endpoints().size());
+
+    load.get(0).set(STREAMS / 2 + 1);
+    load.get(1).set(STREAMS / 2);
+    pool.endpoint();
+    advance(ProtostellarPool.SCALE_DOWN_INTERVAL);
+    pool.endpoint();
+    assertEquals(2, pool.endpoints().size());
+  }
+
+  @Test
+  void shutsDownRemovedEndpointOnceDrained() {
+    ProtostellarPool pool = pool(1, 2);
+    load.get(0).set(STREAMS);
+    pool.endpoint();
+
+    load.get(0).set(1);
+    load.get(1).set(2);
+    pool.endpoint();
+    advance(ProtostellarPool.SCALE_DOWN_INTERVAL);
+    pool.endpoint();
+    assertEquals(1, pool.endpoints().size());
+    ProtostellarEndpoint removed = created.get(0);
+    assertFalse(pool.endpoints().contains(removed));
+
+    // Draining is only checked from the timer, and not before the grace period has passed.
+    load.get(0).set(0);
+    pool.endpoint();
+    runScheduled();
+    verify(removed, never()).shutdown(any());
+
+    advance(ProtostellarPool.RETIREMENT_GRACE_PERIOD);
+    load.get(0).set(1);
+    runScheduled();
+    verify(removed, never()).shutdown(any());
+
+    load.get(0).set(0);
+    runScheduled();
+    verify(removed).shutdown(Duration.ZERO);
+    assertTrue(scheduled.isEmpty());
+  }
+
+  @Test
+  void shutdownClosesAllEndpoints() {
+    ProtostellarPool pool = pool(2, 4);
+    pool.shutdown(Duration.ofSeconds(1));
+    created.forEach(endpoint -> verify(endpoint).shutdown(Duration.ofSeconds(1)));
+
+    load.get(0).set(STREAMS);
+    load.get(1).set(STREAMS);
+    pool.endpoint();
+    assertEquals(2, created.size());
+  }
+
+  @Test
+  void rejectsInvalidChannelLimits() {
+    assertThrows(InvalidArgumentException.class, () -> IoConfig.minProtostellarChannels(0));
+    assertThrows(InvalidArgumentException.class, () -> IoConfig.protostellarMaxConcurrentStreams(0));
+    assertThrows(InvalidArgumentException.class,
+      () -> IoConfig.minProtostellarChannels(4).maxProtostellarChannels(2).build());
+  }
+
+  @Test
+  void raisesDefaultMaxChannelsToMin() {
+    IoConfig config = IoConfig.minProtostellarChannels(IoConfig.DEFAULT_MAX_PROTOSTELLAR_CHANNELS + 4).build();
+    assertEquals(IoConfig.DEFAULT_MAX_PROTOSTELLAR_CHANNELS + 4, config.maxProtostellarChannels());
+    assertEquals(IoConfig.DEFAULT_MAX_PROTOSTELLAR_CHANNELS, IoConfig.create().maxProtostellarChannels());
+  }
+
+  private void advance(final Duration duration) {
+    now += duration.toNanos();
+  }
+
+  private void runScheduled() {
+    List<Runnable> tasks = new ArrayList<>(scheduled);
+    scheduled.clear();
+    tasks.forEach(Runnable::run);
+  }
+
+  private ProtostellarPool pool(final int min, final int max) {
+    IoConfig config = IoConfig.builder()
+      .minProtostellarChannels(min)
+      .maxProtostellarChannels(max)
+      .protostellarMaxConcurrentStreams(STREAMS)
+      .build();
+    Timer timer = mock(Timer.class);
+    when(timer.schedule(any(), any())).thenAnswer(invocation -> {
+      scheduled.add(invocation.getArgument(0));
+      return mock(Timeout.class);
+    });
+    return new ProtostellarPool(config, this::newEndpoint, timer, () -> now);
+  }
+
+  private ProtostellarEndpoint newEndpoint() {
+    AtomicInteger inFlight = new AtomicInteger();
+    ProtostellarEndpoint endpoint = mock(ProtostellarEndpoint.class);
+    when(endpoint.inFlight()).thenAnswer(invocation -> inFlight.get());
+    created.add(endpoint);
+    load.add(inFlight);
+    return endpoint;
+  }
+
+}
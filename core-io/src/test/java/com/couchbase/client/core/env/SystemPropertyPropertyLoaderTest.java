@@ -64,6 +64,18 @@ class SystemPropertyPropertyLoaderTest {
     });
   }
 
+  @Test
+  void shouldApplyTimerShards() {
+    Properties properties = new Properties();
+    properties.setProperty("com.couchbase.env.timerShards", "3");
+
+    parse(properties, env -> assertEquals(3, env.timerShards()));
+    parse(new Properties(), env -> assertEquals(
+      Math.min(env.ioEnvironment().eventLoopThreadCount(), 16),
+      env.timerShards()
+    ));
+  }
+
   @Test
   void shouldEnableEncryptionWithScheme() throws IOException {
     String certPath = "cert.pem";
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io;
+
+import com.couchbase.client.core.util.UnsignedLEB128;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CollectionMapTest {
+
+  @Test
+  void storesCollectionIdsPerBucket() {
+    CollectionMap map = new CollectionMap();
+    CollectionIdentifier fooTenant = new CollectionIdentifier("foo", Optional.of("tenants"), Optional.of("a"));
+    CollectionIdentifier barTenant = new CollectionIdentifier("bar", Optional.of("tenants"), Optional.of("a"));
+
+    assertFalse(map.hasBucketMap("foo"));
+    assertNull(map.get(fooTenant));
+
+    map.put(fooTenant, UnsignedLEB128.encode(8));
+    assertTrue(map.hasBucketMap("foo"));
+    assertFalse(map.hasBucketMap("bar"));
+    assertArrayEquals(UnsignedLEB128.encode(8), map.get(fooTenant));
+    assertNull(map.get(barTenant));
+
+    map.put(barTenant, UnsignedLEB128.encode(9));
+    map.put(fooTenant, UnsignedLEB128.encode(10));
+    assertArrayEquals(UnsignedLEB128.encode(10), map.get(fooTenant));
+    assertArrayEquals(UnsignedLEB128.encode(9), map.get(barTenant));
+    assertEquals(2, map.inner().size());
+  }
+
+  @Test
+  void alwaysReturnsDefaultCollectionId() {
+    CollectionMap map = new CollectionMap();
+    assertArrayEquals(UnsignedLEB128.encode(0), map.get(CollectionIdentifier.fromDefault("foo")));
+    assertFalse(map.hasBucketMap("foo"));
+  }
+
+}
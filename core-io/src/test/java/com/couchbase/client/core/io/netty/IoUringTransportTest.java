@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty;
+
+import com.couchbase.client.core.deps.io.netty.channel.EventLoopGroup;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.env.IoEnvironment;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IoUringTransportTest {
+
+  @Test
+  void reportsCauseIfUnavailable() {
+    if (IoUringTransport.isAvailable()) {
+      assertNull(IoUringTransport.unavailabilityCause());
+    } else {
+      assertNotNull(IoUringTransport.unavailabilityCause());
+    }
+  }
+
+  @Test
+  void fallsBackIfUnavailable() {
+    CoreEnvironment env = CoreEnvironment.builder().ioEnvironment(IoEnvironment.enableIoUring(true)).build();
+    try {
+      assertTrue(env.ioEnvironment().ioUringEnabled());
+
+      EventLoopGroup group = env.ioEnvironment().kvEventLoopGroup().get();
+      assertEquals(IoUringTransport.isAvailable(), IoUringTransport.isEventLoopGroup(group));
+    } finally {
+      env.shutdown();
+    }
+  }
+
+  @Test
+  void notUsedIfNativeIoDisabled() {
+    CoreEnvironment env = CoreEnvironment.builder()
+      .ioEnvironment(IoEnvironment.enableIoUring(true).enableNativeIo(false))
+      .build();
+    try {
+      assertFalse(IoUringTransport.isEventLoopGroup(env.ioEnvironment().kvEventLoopGroup().get()));
+    } finally {
+      env.shutdown();
+    }
+  }
+
+}
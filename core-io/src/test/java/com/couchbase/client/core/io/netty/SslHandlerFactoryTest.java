@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.cnc.EventBus;
+import com.couchbase.client.core.cnc.metrics.NoopMeter;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.handler.ssl.SslHandler;
+import com.couchbase.client.core.endpoint.EndpointContext;
+import com.couchbase.client.core.env.Authenticator;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.env.PasswordAuthenticator;
+import com.couchbase.client.core.env.SecurityConfig;
+import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.util.HostAndPort;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SslHandlerFactoryTest {
+
+  private static final SecurityConfig CONFIG = SecurityConfig
+    .enableTls(true)
+    .trustCertificates(SecurityConfig.capellaCaCertificates())
+    .enableNativeTls(false)
+    .build();
+
+  @Test
+  void sharesContextAcrossEndpointsOfEnvironment() throws Exception {
+    CoreEnvironment env = mockEnvironment();
+    Authenticator authenticator = PasswordAuthenticator.create("user", "pass");
+
+    EndpointContext kv1 = endpointContext(env, authenticator, "10.0.0.1", ServiceType.KV);
+    EndpointContext kv2 = endpointContext(env, authenticator, "10.0.0.2", ServiceType.KV);
+    EndpointContext query = endpointContext(env, authenticator, "10.0.0.1", ServiceType.QUERY);
+
+    assertSame(SslHandlerFactory.sharedContext(CONFIG, kv1), SslHandlerFactory.sharedContext(CONFIG, kv2));
+    assertSame(SslHandlerFactory.sharedContext(CONFIG, kv1), SslHandlerFactory.sharedContext(CONFIG, query));
+  }
+
+  @Test
+  void doesNotShareContextAcrossEnvironmentsOrAuthenticators() throws Exception {
+    Authenticator authenticator = PasswordAuthenticator.create("user", "pass");
+    EndpointContext first = endpointContext(mockEnvironment(), authenticator, "10.0.0.1", ServiceType.KV);
+    EndpointContext second = endpointContext(mockEnvironment(), authenticator, "10.0.0.1", ServiceType.KV);
+    EndpointContext otherAuthenticator = endpointContext(
+      first.environment(),
+      PasswordAuthenticator.create("other", "pass"),
+      "10.0.0.1",
+      ServiceType.KV
+    );
+
+    assertNotSame(SslHandlerFactory.sharedContext(CONFIG, first), SslHandlerFactory.sharedContext(CONFIG, second));
+    assertNotSame(
+      SslHandlerFactory.sharedContext(CONFIG, first),
+      SslHandlerFactory.sharedContext(CONFIG, otherAuthenticator)
+    );
+  }
+
+  @Test
+  void createsHandlerForRemotePeer() throws Exception {
+    EndpointContext ctx = endpointContext(
+      mockEnvironment(),
+      PasswordAuthenticator.create("user", "pass"),
+      "10.0.0.1",
+      ServiceType.KV
+    );
+
+    SslHandler handler = SslHandlerFactory.get(ByteBufAllocator.DEFAULT, CONFIG, ctx);
+    assertEquals("10.0.0.1", handler.engine().getPeerHost());
+    assertEquals(11207, handler.engine().getPeerPort());
+    assertEquals("HTTPS", handler.engine().getSSLParameters().getEndpointIdentificationAlgorithm());
+  }
+
+  private static CoreEnvironment mockEnvironment() {
+    CoreEnvironment env = mock(CoreEnvironment.class);
+    when(env.securityConfig()).thenReturn(CONFIG);
+    when(env.meter()).thenReturn(NoopMeter.INSTANCE);
+    when(env.eventBus()).thenReturn(mock(EventBus.class));
+    return env;
+  }
+
+  private static EndpointContext endpointContext(final CoreEnvironment env, final Authenticator authenticator,
+                                                 final String host, final ServiceType serviceType) {
+    CoreContext coreContext = new CoreContext(mock(Core.class), 1, env, authenticator);
+    return new EndpointContext(coreContext, new HostAndPort(host, 11207), null, serviceType,
+      Optional.empty(), Optional.empty(), Optional.empty());
+  }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.cnc.RequestSpan;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class InFlightRequestTableTest {
+
+  @Test
+  void storesAndRemovesEntries() {
+    InFlightRequestTable table = new InFlightRequestTable();
+    KeyValueRequest<Response> request = mockRequest();
+    RequestSpan span = mock(RequestSpan.class);
+
+    table.put(5, request, 1234, null);
+    table.dispatchSpan(5, span);
+    assertEquals(1, table.size());
+
+    Removal removal = new Removal();
+    assertTrue(table.remove(5, null, null, removal));
+    assertSame(request, removal.request);
+    assertEquals(1234, removal.dispatchStart);
+    assertSame(span, removal.dispatchSpan);
+    assertEquals(0, table.size());
+
+    Removal missing = new Removal();
+    assertFalse(table.remove(5, null, null, missing));
+    assertNull(missing.request);
+  }
+
+  @Test
+  void replacesEntryWithSameOpaque() {
+    InFlightRequestTable table = new InFlightRequestTable();
+    KeyValueRequest<Response> first = mockRequest();
+    KeyValueRequest<Response> second = mockRequest();
+
+    table.put(1, first, 1, mock(RequestSpan.class));
+    table.put(1, second, 2, null);
+    assertEquals(1, table.size());
+
+    Removal removal = new Removal();
+    assertTrue(table.remove(1, null, null, removal));
+    assertSame(second, removal.request);
+    assertEquals(2, removal.dispatchStart);
+    assertNull(removal.dispatchSpan);
+  }
+
+  @Test
+  void allowsReinsertingFromRemovalHandler() {
+    InFlightRequestTable table = new InFlightRequestTable();
+    KeyValueRequest<Response> request = mockRequest();
+    table.put(7, request, 10, null);
+
+    assertTrue(table.remove(7, null, null, (ctx, response, removed, dispatchStart, dispatchSpan) ->
+      table.put(7, removed, dispatchStart, null)));
+    assertEquals(1, table.size());
+
+    Removal removal = new Removal();
+    assertTrue(table.remove(7, null, null, removal));
+    assertSame(request, removal.request);
+    assertEquals(10, removal.dispatchStart);
+  }
+
+  /**
+   * Uses colliding and random opaques with interleaved removals to make sure entries stay reachable
+   * after growing the table and shifting back probe sequences.
+   */
+  @Test
+  void keepsEntriesReachableWithCollisionsAndGrowth() {
+    InFlightRequestTable table = new InFlightRequestTable();
+    Map<Integer, KeyValueRequest<Response>> expected = new HashMap<>();
+    Random random = new Random(42);
+
+    for (int i = 0; i < 2000; i++) {
+      int opaque = random.nextBoolean() ? i * 64 : random.nextInt();
+      KeyValueRequest<Response> request = mockRequest();
+      table.put(opaque, request, opaque, null);
+      expected.put(opaque, request);
+
+      if (random.nextInt(3) == 0) {
+        List<Integer> keys = new ArrayList<>(expected.keySet());
+        int toRemove = keys.get(random.nextInt(keys.size()));
+        Removal removal = new Removal();
+        assertTrue(table.remove(toRemove, null, null, removal));
+        assertSame(expected.remove(toRemove), removal.request);
+        assertEquals(toRemove, removal.dispatchStart);
+      }
+    }
+
+    assertEquals(expected.size(), table.size());
+    List<KeyValueRequest<Response>> visited = new ArrayList<>();
+    table.forEach(visited::add);
+    assertEquals(expected.size(), visited.size());
+
+    for (Map.Entry<Integer, KeyValueRequest<Response>> entry : expected.entrySet()) {
+      Removal removal = new Removal();
+      assertTrue(table.remove(entry.getKey(), null, null, removal));
+      assertSame(entry.getValue(), removal.request);
+    }
+    assertEquals(0, table.size());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static KeyValueRequest<Response> mockRequest() {
+    return mock(KeyValueRequest.class);
+  }
+
+  /**
+   * Records the values handed to the removal handler.
+   */
+  private static class Removal implements InFlightRequestTable.RemovalHandler {
+
+    KeyValueRequest<Response> request;
+    long dispatchStart;
+    RequestSpan dispatchSpan;
+
+    @Override
+    public void removed(final ChannelHandlerContext ctx, final ByteBuf response,
+                        final KeyValueRequest<Response> request, final long dispatchStart,
+                        final RequestSpan dispatchSpan) {
+      this.request = request;
+      this.dispatchStart = dispatchStart;
+      this.dispatchSpan = dispatchSpan;
+    }
+  }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelFuture;
+import com.couchbase.client.core.deps.io.netty.channel.embedded.EmbeddedChannel;
+import com.couchbase.client.core.deps.io.netty.handler.flush.FlushConsolidationHandler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noBody;
+import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noCas;
+import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noDatatype;
+import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noExtras;
+import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noPartition;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyValueWriteAggregatorTest {
+
+  @Test
+  void aggregatesSmallWritesUntilFlushed() {
+    KeyValueWriteAggregator aggregator = new KeyValueWriteAggregator(16384, 128);
+    EmbeddedChannel channel = new EmbeddedChannel(aggregator);
+
+    List<ChannelFuture> futures = new ArrayList<>();
+    futures.add(channel.write(packet(aggregator, 100, 'a')));
+    futures.add(channel.write(packet(aggregator, 200, 'b')));
+    assertNull(channel.readOutbound());
+    futures.add(channel.writeAndFlush(packet(aggregator, 300, 'c')));
+
+    ByteBuf aggregate = channel.readOutbound();
+    assertEquals(600, aggregate.readableBytes());
+    assertEquals('a', aggregate.getByte(0));
+    assertEquals('b', aggregate.getByte(100));
+    assertEquals('c', aggregate.getByte(300));
+    aggregate.release();
+
+    assertNull(channel.readOutbound());
+    for (ChannelFuture future : futures) {
+      assertTrue(future.isSuccess());
+    }
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void passesLargeWritesThroughInOrder() {
+    KeyValueWriteAggregator aggregator = new KeyValueWriteAggregator(16384, 128);
+    EmbeddedChannel channel = new EmbeddedChannel(aggregator);
+
+    channel.write(packet(aggregator, 100, 'a'));
+    channel.write(packet(aggregator, KeyValueWriteAggregator.INITIAL_CAPACITY, 'b'));
+    channel.writeAndFlush(packet(aggregator, 100, 'c'));
+
+    assertOutbound(channel, 100, 'a');
+    assertOutbound(channel, KeyValueWriteAggregator.INITIAL_CAPACITY, 'b');
+    assertOutbound(channel, 100, 'c');
+    assertNull(channel.readOutbound());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void writesAggregateEarlyWhenRequestLimitIsReached() {
+    KeyValueWriteAggregator aggregator = new KeyValueWriteAggregator(16384, 2);
+    EmbeddedChannel channel = new EmbeddedChannel(aggregator);
+
+    channel.write(packet(aggregator, 10, 'a'));
+    channel.write(packet(aggregator, 10, 'b'));
+    channel.writeAndFlush(packet(aggregator, 10, 'c'));
+
+    assertOutbound(channel, 20, 'a');
+    assertOutbound(channel, 10, 'c');
+    assertNull(channel.readOutbound());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void adaptsCapacityToLoad() {
+    KeyValueWriteAggregator aggregator = new KeyValueWriteAggregator(16384, 1024);
+    EmbeddedChannel channel = new EmbeddedChannel(aggregator);
+
+    for (int i = 0; i < 10; i++) {
+      channel.write(packet(aggregator, 1000, 'a'));
+    }
+    channel.flush();
+    assertEquals(KeyValueWriteAggregator.INITIAL_CAPACITY * 2, aggregator.capacity());
+
+    for (int i = 0; i < 2; i++) {
+      channel.writeAndFlush(packet(aggregator, 10, 'a'));
+    }
+    assertEquals(KeyValueWriteAggregator.INITIAL_CAPACITY, aggregator.capacity());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void aggregatesWritesConsolidatedByFlushConsolidationHandler() {
+    KeyValueWriteAggregator aggregator = new KeyValueWriteAggregator(16384, 128);
+    EmbeddedChannel channel = new EmbeddedChannel(aggregator, new FlushConsolidationHandler(256, true));
+
+    channel.writeAndFlush(packet(aggregator, 100, 'a'));
+    channel.writeAndFlush(packet(aggregator, 100, 'b'));
+    channel.writeAndFlush(packet(aggregator, 100, 'c'));
+    assertNull(channel.readOutbound());
+
+    // The consolidated flush writes out all requests since the last flush as one aggregate.
+    channel.runPendingTasks();
+    assertOutbound(channel, 300, 'a');
+    assertNull(channel.readOutbound());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void encodesRequestsStraightIntoTheAggregate() {
+    KeyValueWriteAggregator aggregator = new KeyValueWriteAggregator(16384, 128);
+    EmbeddedChannel channel = new EmbeddedChannel(aggregator);
+
+    int size = 0;
+    for (int opaque = 1; opaque <= 2; opaque++) {
+      ByteBuf key = Unpooled.copiedBuffer("key", UTF_8);
+      ByteBuf request = MemcacheProtocol.request(aggregator.allocator(), MemcacheProtocol.Opcode.GET, noDatatype(),
+        noPartition(), opaque, noCas(), noExtras(), key, noBody());
+      key.release();
+      size = request.readableBytes();
+      channel.write(request);
+    }
+    channel.flush();
+
+    ByteBuf aggregate = channel.readOutbound();
+    try {
+      assertEquals(2 * size, aggregate.readableBytes());
+      assertEquals(1, MemcacheProtocol.opaque(aggregate));
+      assertEquals(2, MemcacheProtocol.opaque(aggregate.slice(size, size)));
+    } finally {
+      aggregate.release();
+    }
+    assertNull(channel.readOutbound());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void writesAggregateBeforeForeignBuffers() {
+    KeyValueWriteAggregator aggregator = new KeyValueWriteAggregator(16384, 128);
+    EmbeddedChannel channel = new EmbeddedChannel(aggregator);
+
+    channel.write(packet(aggregator, 100, 'a'));
+    channel.writeAndFlush(Unpooled.copiedBuffer("bc", UTF_8));
+
+    assertOutbound(channel, 100, 'a');
+    assertOutbound(channel, 2, 'b');
+    assertNull(channel.readOutbound());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void rejectsInvalidLimits() {
+    assertThrows(IllegalArgumentException.class, () -> new KeyValueWriteAggregator(100, 128));
+    assertThrows(IllegalArgumentException.class, () -> new KeyValueWriteAggregator(16384, 0));
+  }
+
+  private static ByteBuf packet(final KeyValueWriteAggregator aggregator, final int size, final char fill) {
+    ByteBuf buf = aggregator.packetBuffer(size);
+    for (int i = 0; i < size; i++) {
+      buf.writeByte(fill);
+    }
+    return buf;
+  }
+
+  private static void assertOutbound(final EmbeddedChannel channel, final int size, final char first) {
+    ByteBuf buf = channel.readOutbound();
+    try {
+      assertEquals(size, buf.readableBytes());
+      assertEquals(first, buf.getByte(0));
+    } finally {
+      buf.release();
+    }
+  }
+
+}
@@ -22,8 +22,12 @@ import com.couchbase.client.core.cnc.EventBus;
 import com.couchbase.client.core.cnc.events.io.DurabilityTimeoutCoercedEvent;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.buffer.UnpooledByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.handler.codec.compression.DecompressionException;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
+import com.couchbase.client.core.deps.org.iq80.snappy.Snappy;
 import com.couchbase.client.core.env.Authenticator;
 import com.couchbase.client.core.env.CoreEnvironment;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol.Datatype;
@@ -31,15 +35,21 @@ import com.couchbase.client.core.msg.kv.DurabilityLevel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.EnumSet;
+import java.util.Random;
 import java.util.Set;
 import java.util.function.Function;
 
 import static com.couchbase.client.core.util.CbCollections.setOf;
 import static java.util.Collections.emptySet;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -238,4 +248,75 @@ class MemcacheProtocolTest {
       assertEquals((encoded & i), encoded);
     }
   }
+
+  @Test
+  void compressesIntoAllocatedBuffer() {
+    byte[] input = jsonLikeContent(4096);
+    ByteBuf compressed = MemcacheProtocol.tryCompression(ALLOC, input, 0.83, CompressionMetrics.NOOP);
+    try {
+      assertTrue(compressed.readableBytes() < input.length);
+      byte[] output = ByteBufUtil.getBytes(compressed);
+      assertArrayEquals(input, Snappy.uncompress(output, 0, output.length));
+    } finally {
+      ReferenceCountUtil.release(compressed);
+    }
+  }
+
+  @Test
+  void skipsHighEntropyValues() {
+    byte[] random = new byte[4096];
+    new Random(42).nextBytes(random);
+    assertTrue(MemcacheProtocol.looksIncompressible(random));
+    assertNull(MemcacheProtocol.tryCompression(ALLOC, random, 0.83, CompressionMetrics.NOOP));
+
+    assertFalse(MemcacheProtocol.looksIncompressible(jsonLikeContent(4096)));
+
+    byte[] small = new byte[MemcacheProtocol.ENTROPY_SAMPLE_SIZE - 1];
+    new Random(42).nextBytes(small);
+    assertFalse(MemcacheProtocol.looksIncompressible(small));
+  }
+
+  @Test
+  void decompressesHeapAndDirectBodies() {
+    byte[] input = jsonLikeContent(2048);
+    byte[] compressed = Snappy.compress(input);
+    ByteBuf response = MemcacheProtocol.response(ALLOC, MemcacheProtocol.Opcode.GET, Datatype.SNAPPY.datatype(),
+      (short) 0, 1, 0, Unpooled.EMPTY_BUFFER, Unpooled.EMPTY_BUFFER, Unpooled.wrappedBuffer(compressed));
+
+    ByteBuf heap = Unpooled.copiedBuffer(response);
+    ByteBuf direct = Unpooled.directBuffer(response.readableBytes()).writeBytes(response);
+    try {
+      for (ByteBuf message : new ByteBuf[] { heap, direct }) {
+        assertArrayEquals(input, MemcacheProtocol.bodyAsBytes(message));
+      }
+    } finally {
+      ReferenceCountUtil.release(response);
+      ReferenceCountUtil.release(heap);
+      ReferenceCountUtil.release(direct);
+    }
+  }
+
+  @Test
+  void rejectsTruncatedDirectBodies() {
+    byte[] compressed = Snappy.compress(jsonLikeContent(2048));
+    ByteBuf response = MemcacheProtocol.response(ALLOC, MemcacheProtocol.Opcode.GET, Datatype.SNAPPY.datatype(),
+      (short) 0, 1, 0, Unpooled.EMPTY_BUFFER, Unpooled.EMPTY_BUFFER,
+      Unpooled.wrappedBuffer(compressed, 0, compressed.length / 2));
+
+    ByteBuf direct = Unpooled.directBuffer(response.readableBytes()).writeBytes(response);
+    try {
+      assertThrows(DecompressionException.class, () -> MemcacheProtocol.bodyAsBytes(direct));
+    } finally {
+      ReferenceCountUtil.release(response);
+      ReferenceCountUtil.release(direct);
+    }
+  }
+
+  private static byte[] jsonLikeContent(final int size) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; sb.length() < size; i++) {
+      sb.append("{\"id\":").append(i).append(",\"name\":\"user-").append(i).append("\",\"active\":true}");
+    }
+    return sb.substring(0, size).getBytes(StandardCharsets.UTF_8);
+  }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv.sasl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+/**
+ * Verifies the functionality of the {@link ScramKeyCache}.
+ */
+class ScramKeyCacheTest {
+
+  private static final byte[] SALT = "salt".getBytes(UTF_8);
+
+  @Test
+  void derivesOncePerIdentity() throws Exception {
+    ScramKeyCache cache = new ScramKeyCache(8);
+    AtomicInteger derivations = new AtomicInteger();
+    ScramKeyCache.Derivation derivation = () -> {
+      derivations.incrementAndGet();
+      return new ScramKeyCache.ScramKeys(new byte[] {1, 2}, new byte[] {3, 4});
+    };
+
+    ScramKeyCache.ScramKeys first = cache.get("HmacSHA512", "user", "pass".toCharArray(), SALT, 4096, derivation);
+    ScramKeyCache.ScramKeys second = cache.get("HmacSHA512", "user", "pass".toCharArray(), SALT, 4096, derivation);
+    assertEquals(1, derivations.get());
+    assertNotSame(first.clientKey(), second.clientKey());
+    assertArrayEquals(first.clientKey(), second.clientKey());
+
+    cache.get("HmacSHA512", "user", "other".toCharArray(), SALT, 4096, derivation);
+    cache.get("HmacSHA512", "user", "pass".toCharArray(), "pepper".getBytes(UTF_8), 4096, derivation);
+    cache.get("HmacSHA512", "user", "pass".toCharArray(), SALT, 10000, derivation);
+    cache.get("HmacSHA256", "user", "pass".toCharArray(), SALT, 4096, derivation);
+    cache.get("HmacSHA512", "admin", "pass".toCharArray(), SALT, 4096, derivation);
+    assertEquals(6, derivations.get());
+  }
+
+  @Test
+  void handsOutCopies() throws Exception {
+    ScramKeyCache cache = new ScramKeyCache(8);
+    ScramKeyCache.Derivation derivation = () -> new ScramKeyCache.ScramKeys(new byte[] {1, 2}, new byte[] {3, 4});
+
+    cache.get("HmacSHA1", "user", "pass".toCharArray(), SALT, 4096, derivation).zero();
+    ScramKeyCache.ScramKeys keys = cache.get("HmacSHA1", "user", "pass".toCharArray(), SALT, 4096, derivation);
+    assertArrayEquals(new byte[] {1, 2}, keys.clientKey());
+    assertArrayEquals(new byte[] {3, 4}, keys.serverKey());
+  }
+
+  @Test
+  void zeroesEvictedKeys() throws Exception {
+    ScramKeyCache cache = new ScramKeyCache(2);
+    byte[] clientKey = {1, 2};
+    byte[] serverKey = {3, 4};
+
+    cache.get("HmacSHA1", "a", "pass".toCharArray(), SALT, 4096, () -> new ScramKeyCache.ScramKeys(clientKey, serverKey));
+    cache.get("HmacSHA1", "b", "pass".toCharArray(), SALT, 4096, () -> new ScramKeyCache.ScramKeys(new byte[1], new byte[1]));
+    cache.get("HmacSHA1", "c", "pass".toCharArray(), SALT, 4096, () -> new ScramKeyCache.ScramKeys(new byte[1], new byte[1]));
+
+    assertEquals(2, cache.size());
+    assertArrayEquals(new byte[] {0, 0}, clientKey);
+    assertArrayEquals(new byte[] {0, 0}, serverKey);
+  }
+
+}
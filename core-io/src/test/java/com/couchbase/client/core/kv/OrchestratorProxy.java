@@ -45,6 +45,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -84,6 +86,8 @@ class OrchestratorProxy {
 
   void prepare(final Map<Short, List<CoreRangeScanItem>> data) {
     when(bucketConfig.numberOfPartitions()).thenReturn(data.size());
+    when(bucketConfig.nodeIndexForActive(anyInt(), anyBoolean()))
+      .thenAnswer(invocation -> (short) (((int) invocation.getArgument(0)) % 2));
 
     Map<Short, String> uuids = new HashMap<>();
     Map<String, Short> reverseUuids = new HashMap<>();
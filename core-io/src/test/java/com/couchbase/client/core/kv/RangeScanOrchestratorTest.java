@@ -27,12 +27,15 @@ import reactor.core.publisher.Flux;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 
 import static com.couchbase.client.core.util.CbStrings.MAX_CODE_POINT_AS_STRING;
 import static com.couchbase.client.core.util.CbStrings.MIN_CODE_POINT_AS_STRING;
@@ -100,6 +103,47 @@ class RangeScanOrchestratorTest {
     assertEquals(10, result.size());
   }
 
+  /**
+   * Verifies that partitions streamed concurrently are still returned in partition order if requested.
+   */
+  @Test
+  void streamsConcurrentOrderedRangeScan() {
+    Map<Short, List<CoreRangeScanItem>> data = new HashMap<>();
+    List<CoreRangeScanItem> expected = new ArrayList<>();
+    for (short i = 0; i < 8; i++) {
+      data.put(i, randomItemsSorted(i + 1));
+      expected.addAll(data.get(i));
+    }
+    orchestrator.prepare(data);
+
+    TestScanOptions options = new TestScanOptions();
+    options.concurrency = 4;
+    List<CoreRangeScanItem> result = orchestrator.runRangeScan(new TestRangeScan(), options);
+    assertEquals(expected, result);
+  }
+
+  /**
+   * Verifies that all partitions are streamed if unordered and limited per node.
+   */
+  @Test
+  void streamsConcurrentUnorderedRangeScan() {
+    Map<Short, List<CoreRangeScanItem>> data = new HashMap<>();
+    Set<CoreRangeScanItem> expected = new HashSet<>();
+    for (short i = 0; i < 8; i++) {
+      data.put(i, randomItemsSorted(i + 1));
+      expected.addAll(data.get(i));
+    }
+    orchestrator.prepare(data);
+
+    TestScanOptions options = new TestScanOptions();
+    options.concurrency = 3;
+    options.perNodeConcurrency = 1;
+    options.ordered = false;
+    List<CoreRangeScanItem> result = orchestrator.runRangeScan(new TestRangeScan(), options);
+    assertEquals(expected.size(), result.size());
+    assertEquals(expected, new HashSet<>(result));
+  }
+
   /**
    * Makes sure the operation fails if the bucket capability is not enabled
    */
@@ -188,6 +232,9 @@ class RangeScanOrchestratorTest {
 
   class TestScanOptions implements CoreScanOptions{
     CoreCommonOptions commons = CoreCommonOptions.DEFAULT;
+    int concurrency = 1;
+    int perNodeConcurrency = 0;
+    boolean ordered = true;
 
     public TestScanOptions(){
     }
@@ -217,5 +264,20 @@ class RangeScanOrchestratorTest {
       return 0;
     }
 
+    @Override
+    public int concurrency() {
+      return concurrency;
+    }
+
+    @Override
+    public int perNodeConcurrency() {
+      return perNodeConcurrency;
+    }
+
+    @Override
+    public boolean ordered() {
+      return ordered;
+    }
+
   }
 }
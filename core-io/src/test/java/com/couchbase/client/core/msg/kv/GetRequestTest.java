@@ -30,6 +30,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -63,6 +64,50 @@ class GetRequestTest {
     assertEquals("2000000", Integer.toHexString(decoded.flags()));
   }
 
+  @Test
+  void decodeSuccessfulResponseWithRetainedContent() {
+    ByteBuf response = decodeHexDump(readResource(
+      "get_response_success.txt",
+      GetRequestTest.class
+    ));
+
+    GetRequest request = new GetRequest(null, TIMEOUT, CTX, null, RETRY, null, true);
+    GetResponse decoded = request.decode(response, null);
+    assertTrue(decoded.retainsContentBuffer());
+
+    // the response must stay readable after the network buffer has been released by the pipeline
+    response.release();
+    assertEquals(1, response.refCnt());
+
+    String expected = "{\"callsign\":\"AIRCALIN\",\"country\":\"France\","
+      + "\"iata\":\"SB\",\"icao\":\"ACI\",\"id\":139,"
+      + "\"name\":\"Air Caledonie International\",\"type\":\"airline\"}";
+
+    assertEquals(expected, decoded.contentBuffer().toString(UTF_8));
+    assertTrue(decoded.contentBuffer().isReadOnly());
+    assertArrayEquals(expected.getBytes(UTF_8), decoded.content());
+    assertEquals("2000000", Integer.toHexString(decoded.flags()));
+
+    assertTrue(decoded.release());
+    assertEquals(0, response.refCnt());
+  }
+
+  @Test
+  void releasesRetainedContentIfAlreadyCompleted() {
+    ByteBuf response = decodeHexDump(readResource(
+      "get_response_success.txt",
+      GetRequestTest.class
+    ));
+
+    GetRequest request = new GetRequest(null, TIMEOUT, CTX, null, RETRY, null, true);
+    GetResponse decoded = request.decode(response, null);
+    response.release();
+
+    request.fail(new RuntimeException("completed before the response arrived"));
+    request.succeed(decoded);
+    assertEquals(0, response.refCnt());
+  }
+
   @Test
   void decodeNotFoundResponse() {
     ByteBuf response = decodeHexDump(readResource(
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.msg.kv;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.kv.CoreRangeScanItem;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.util.UnsignedLEB128;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies how the {@link RangeScanContinueResponse} turns the streamed buffer into items.
+ */
+class RangeScanContinueResponseTest {
+
+  @Test
+  void copiesValuesByDefault() {
+    ByteBuf items = itemsBuffer("k1", "{\"a\":1}", "k2", "{\"b\":2}");
+    List<CoreRangeScanItem> decoded = feed(items, false);
+    items.release();
+
+    assertEquals(2, decoded.size());
+    assertFalse(decoded.get(0).retainsValueBuffer());
+    assertEquals("k1", decoded.get(0).key());
+    assertArrayEquals("{\"a\":1}".getBytes(UTF_8), decoded.get(0).value());
+    assertArrayEquals("{\"b\":2}".getBytes(UTF_8), decoded.get(1).value());
+  }
+
+  @Test
+  void retainsValuesIfEnabled() {
+    ByteBuf items = itemsBuffer("k1", "{\"a\":1}", "k2", "{\"b\":2}");
+    List<CoreRangeScanItem> decoded = feed(items, true);
+
+    // the items must stay readable after the network buffer has been released by the pipeline
+    items.release();
+    assertEquals(2, items.refCnt());
+
+    assertTrue(decoded.get(0).retainsValueBuffer());
+    assertTrue(decoded.get(0).valueBuffer().isReadOnly());
+    assertEquals("{\"a\":1}", UTF_8.decode(decoded.get(0).valueBuffer()).toString());
+    assertArrayEquals("{\"b\":2}".getBytes(UTF_8), decoded.get(1).value());
+
+    assertFalse(decoded.get(0).release());
+    assertTrue(decoded.get(1).release());
+    assertEquals(0, items.refCnt());
+  }
+
+  private static List<CoreRangeScanItem> feed(final ByteBuf items, final boolean retainValues) {
+    Sinks.Many<CoreRangeScanItem> sink = Sinks.many().replay().all();
+    RangeScanContinueResponse response = new RangeScanContinueResponse(ResponseStatus.CONTINUE, sink, false,
+      retainValues);
+    response.feedItems(items, false, true);
+    return response.items().collectList().block();
+  }
+
+  private static ByteBuf itemsBuffer(final String... keysAndValues) {
+    ByteBuf buffer = Unpooled.buffer();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      byte[] key = keysAndValues[i].getBytes(UTF_8);
+      byte[] value = keysAndValues[i + 1].getBytes(UTF_8);
+      buffer.writeInt(0).writeInt(0).writeLong(i).writeLong(i).writeByte(0);
+      UnsignedLEB128.write(buffer, key.length);
+      buffer.writeBytes(key);
+      UnsignedLEB128.write(buffer, value.length);
+      buffer.writeBytes(value);
+    }
+    return buffer;
+  }
+
+}
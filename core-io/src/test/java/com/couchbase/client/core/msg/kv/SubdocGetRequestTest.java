@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.msg.kv;
+
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.retry.RetryStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Verifies the decoding of the {@link SubdocGetRequest}.
+ */
+class SubdocGetRequestTest {
+
+  private static final Duration TIMEOUT = Duration.ZERO;
+  private static final CoreContext CTX = mock(CoreContext.class);
+  private static final RetryStrategy RETRY = mock(RetryStrategy.class);
+
+  private static final List<SubdocGetRequest.Command> COMMANDS = Arrays.asList(
+    new SubdocGetRequest.Command(SubdocCommandType.GET, "foo", false, 0),
+    new SubdocGetRequest.Command(SubdocCommandType.GET, "bar", false, 1)
+  );
+
+  @Test
+  void decodesFieldsIntoArrays() {
+    ByteBuf response = lookupResponse("\"a\"", "[1,2]");
+    SubdocGetRequest request = new SubdocGetRequest(TIMEOUT, CTX, null, RETRY, null, (byte) 0, COMMANDS, null);
+    SubdocGetResponse decoded = request.decode(response, null);
+    response.release();
+
+    assertEquals(ResponseStatus.SUCCESS, decoded.status());
+    assertFalse(decoded.retainsContentBuffer());
+    assertArrayEquals("\"a\"".getBytes(UTF_8), decoded.values()[0].value());
+    assertArrayEquals("[1,2]".getBytes(UTF_8), decoded.values()[1].value());
+  }
+
+  @Test
+  void decodesFieldsAsViewsOfRetainedBuffer() {
+    ByteBuf response = lookupResponse("\"a\"", "[1,2]");
+    SubdocGetRequest request = new SubdocGetRequest(TIMEOUT, CTX, null, RETRY, null, (byte) 0, COMMANDS, null, true);
+    SubdocGetResponse decoded = request.decode(response, null);
+
+    // the values must stay readable after the network buffer has been released by the pipeline
+    response.release();
+    assertEquals(1, response.refCnt());
+    assertTrue(decoded.retainsContentBuffer());
+
+    ByteBuffer first = decoded.values()[0].valueBuffer();
+    assertTrue(first.isReadOnly());
+    assertEquals("\"a\"", UTF_8.decode(first).toString());
+    assertEquals("[1,2]", UTF_8.decode(decoded.values()[1].valueBuffer()).toString());
+    assertArrayEquals("[1,2]".getBytes(UTF_8), decoded.values()[1].value());
+
+    assertTrue(decoded.release());
+    assertEquals(0, response.refCnt());
+  }
+
+  private static ByteBuf lookupResponse(final String... values) {
+    ByteBuf body = Unpooled.buffer();
+    for (String value : values) {
+      byte[] encoded = value.getBytes(UTF_8);
+      body.writeShort(0).writeInt(encoded.length).writeBytes(encoded);
+    }
+    return MemcacheProtocol.response(ByteBufAllocator.DEFAULT, MemcacheProtocol.Opcode.SUBDOC_MULTI_LOOKUP,
+      MemcacheProtocol.Datatype.JSON.datatype(), MemcacheProtocol.Status.SUCCESS.status(), 1, 0,
+      Unpooled.EMPTY_BUFFER, Unpooled.EMPTY_BUFFER, body);
+  }
+
+}
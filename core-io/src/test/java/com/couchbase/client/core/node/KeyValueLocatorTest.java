@@ -37,6 +37,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -271,4 +272,161 @@ class KeyValueLocatorTest {
     verify(request, times(1)).cancel(CancellationReason.TARGET_NODE_REMOVED);
   }
 
+  @Test
+  void groupsBatchByNodeAndKeepsUnknownLast() {
+    ClusterConfig configMock = mock(ClusterConfig.class);
+    CouchbaseBucketConfig bucketMock = mock(CouchbaseBucketConfig.class);
+    when(configMock.bucketConfig("bucket")).thenReturn(bucketMock);
+    when(bucketMock.numberOfPartitions()).thenReturn(1024);
+
+    List<GetRequest> requests = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      byte[] key = ("key-" + i).getBytes(UTF_8);
+      GetRequest request = mock(GetRequest.class);
+      when(request.bucket()).thenReturn(i == 5 ? "unknown" : "bucket");
+      when(request.key()).thenReturn(key);
+      short nodeIndex = (short) (i % 2);
+      when(bucketMock.nodeIndexForActive(KeyValueLocator.partitionForKey(key, 1024), false)).thenReturn(nodeIndex);
+      requests.add(request);
+    }
+
+    List<GetRequest> grouped = KeyValueLocator.groupByNode(requests, configMock);
+    assertEquals(
+      Arrays.asList(requests.get(0), requests.get(2), requests.get(4), requests.get(1), requests.get(3), requests.get(5)),
+      grouped
+    );
+  }
+
+
+  /**
+   * Nodes are added to the managed list asynchronously after a new config arrived, so the routing snapshot
+   * must not stick to a node list which was incomplete when it has been built.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void routesToNodesAddedAfterFirstDispatch() {
+    KeyValueLocator locator = new KeyValueLocator();
+
+    NodeInfo nodeInfo1 = new NodeInfo("http://foo:1234", "192.168.56.101:8091",
+      Collections.EMPTY_MAP, null);
+    NodeInfo nodeInfo2 = new NodeInfo("http://foo:1234", "192.168.56.102:8091",
+      Collections.EMPTY_MAP, null);
+
+    Node node1Mock = mock(Node.class);
+    when(node1Mock.identifier()).thenReturn(new NodeIdentifier("192.168.56.101", 8091));
+    Node node2Mock = mock(Node.class);
+    when(node2Mock.identifier()).thenReturn(new NodeIdentifier("192.168.56.102", 8091));
+    List<Node> nodes = new ArrayList<>(Collections.singletonList(node1Mock));
+
+    ClusterConfig configMock = mock(ClusterConfig.class);
+    CouchbaseBucketConfig bucketMock = mock(CouchbaseBucketConfig.class);
+    when(configMock.bucketConfig("bucket")).thenReturn(bucketMock);
+    when(bucketMock.nodes()).thenReturn(Arrays.asList(nodeInfo1, nodeInfo2));
+    when(bucketMock.numberOfPartitions()).thenReturn(1024);
+
+    GetRequest first = mock(GetRequest.class);
+    when(first.bucket()).thenReturn("bucket");
+    when(first.key()).thenReturn("key".getBytes(UTF_8));
+    when(bucketMock.nodeIndexForActive(656, false)).thenReturn((short) 0);
+    locator.dispatch(first, nodes, configMock, null);
+    verify(node1Mock, times(1)).send(first);
+
+    nodes.add(node2Mock);
+    locator.nodesChanged();
+    GetRequest second = mock(GetRequest.class);
+    when(second.bucket()).thenReturn("bucket");
+    when(second.key()).thenReturn("key".getBytes(UTF_8));
+    when(bucketMock.nodeIndexForActive(656, false)).thenReturn((short) 1);
+    locator.dispatch(second, nodes, configMock, null);
+    verify(node2Mock, times(1)).send(second);
+    verify(node1Mock, never()).send(second);
+  }
+
+  /**
+   * A node can be replaced without changing the size of the node list, which must still invalidate the
+   * routing snapshot.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void routesToNodeReplacedAfterFirstDispatch() {
+    KeyValueLocator locator = new KeyValueLocator();
+
+    NodeInfo nodeInfo1 = new NodeInfo("http://foo:1234", "192.168.56.101:8091",
+      Collections.EMPTY_MAP, null);
+    NodeInfo nodeInfo2 = new NodeInfo("http://foo:1234", "192.168.56.102:8091",
+      Collections.EMPTY_MAP, null);
+
+    Node node1Mock = mock(Node.class);
+    when(node1Mock.identifier()).thenReturn(new NodeIdentifier("192.168.56.101", 8091));
+    Node node2Mock = mock(Node.class);
+    when(node2Mock.identifier()).thenReturn(new NodeIdentifier("192.168.56.102", 8091));
+    Node removedNodeMock = mock(Node.class);
+    when(removedNodeMock.identifier()).thenReturn(new NodeIdentifier("192.168.56.103", 8091));
+    List<Node> nodes = new ArrayList<>(Arrays.asList(node1Mock, removedNodeMock));
+
+    ClusterConfig configMock = mock(ClusterConfig.class);
+    CouchbaseBucketConfig bucketMock = mock(CouchbaseBucketConfig.class);
+    when(configMock.bucketConfig("bucket")).thenReturn(bucketMock);
+    when(bucketMock.nodes()).thenReturn(Arrays.asList(nodeInfo1, nodeInfo2));
+    when(bucketMock.numberOfPartitions()).thenReturn(1024);
+
+    GetRequest first = mock(GetRequest.class);
+    when(first.bucket()).thenReturn("bucket");
+    when(first.key()).thenReturn("key".getBytes(UTF_8));
+    when(bucketMock.nodeIndexForActive(656, false)).thenReturn((short) 0);
+    locator.dispatch(first, nodes, configMock, null);
+    verify(node1Mock, times(1)).send(first);
+
+    nodes.set(1, node2Mock);
+    locator.nodesChanged();
+    GetRequest second = mock(GetRequest.class);
+    when(second.bucket()).thenReturn("bucket");
+    when(second.key()).thenReturn("key".getBytes(UTF_8));
+    when(bucketMock.nodeIndexForActive(656, false)).thenReturn((short) 1);
+    locator.dispatch(second, nodes, configMock, null);
+    verify(node2Mock, times(1)).send(second);
+    verify(removedNodeMock, never()).send(second);
+  }
+
+  /**
+   * A node can also be replaced by a new instance with the same identifier at the same position, which must not
+   * keep routing to the old instance.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void routesToNodeReplacedWithSameIdentifier() {
+    KeyValueLocator locator = new KeyValueLocator();
+
+    NodeInfo nodeInfo = new NodeInfo("http://foo:1234", "192.168.56.101:8091",
+      Collections.EMPTY_MAP, null);
+
+    Node oldNodeMock = mock(Node.class);
+    when(oldNodeMock.identifier()).thenReturn(new NodeIdentifier("192.168.56.101", 8091));
+    Node newNodeMock = mock(Node.class);
+    when(newNodeMock.identifier()).thenReturn(new NodeIdentifier("192.168.56.101", 8091));
+    List<Node> nodes = new ArrayList<>(Collections.singletonList(oldNodeMock));
+
+    ClusterConfig configMock = mock(ClusterConfig.class);
+    CouchbaseBucketConfig bucketMock = mock(CouchbaseBucketConfig.class);
+    when(configMock.bucketConfig("bucket")).thenReturn(bucketMock);
+    when(bucketMock.nodes()).thenReturn(Collections.singletonList(nodeInfo));
+    when(bucketMock.numberOfPartitions()).thenReturn(1024);
+    when(bucketMock.nodeIndexForActive(656, false)).thenReturn((short) 0);
+
+    GetRequest first = mock(GetRequest.class);
+    when(first.bucket()).thenReturn("bucket");
+    when(first.key()).thenReturn("key".getBytes(UTF_8));
+    locator.dispatch(first, nodes, configMock, null);
+    verify(oldNodeMock, times(1)).send(first);
+
+    nodes.set(0, newNodeMock);
+    locator.nodesChanged();
+    GetRequest second = mock(GetRequest.class);
+    when(second.bucket()).thenReturn("bucket");
+    when(second.key()).thenReturn("key".getBytes(UTF_8));
+    locator.dispatch(second, nodes, configMock, null);
+    verify(newNodeMock, times(1)).send(second);
+    verify(oldNodeMock, never()).send(second);
+  }
+
 }
@@ -23,6 +23,7 @@ import com.couchbase.client.core.msg.TargetedRequest;
 import com.couchbase.client.core.msg.manager.BucketConfigRequest;
 import com.couchbase.client.core.msg.query.QueryRequest;
 import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.service.strategy.EndpointSelection;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -174,4 +175,99 @@ class RoundRobinLocatorTest {
     verify(request, times(1)).cancel(CancellationReason.TARGET_NODE_REMOVED);
   }
 
+  @Test
+  void loadAwareSelectionAvoidsDegradedNode() {
+    Locator locator = new RoundRobinLocator(ServiceType.QUERY, 0, EndpointSelection.POWER_OF_TWO_CHOICES);
+
+    QueryRequest request = mock(QueryRequest.class);
+    ClusterConfig configMock = mock(ClusterConfig.class);
+    when(configMock.hasClusterOrBucketConfig()).thenReturn(true);
+
+    Node fastNode = mock(Node.class);
+    when(fastNode.serviceEnabled(ServiceType.QUERY)).thenReturn(true);
+    when(fastNode.identifier()).thenReturn(new NodeIdentifier("192.168.56.101", 8091));
+    when(fastNode.loadCost(ServiceType.QUERY)).thenReturn(1_000_000d);
+    Node slowNode = mock(Node.class);
+    when(slowNode.serviceEnabled(ServiceType.QUERY)).thenReturn(true);
+    when(slowNode.identifier()).thenReturn(new NodeIdentifier("192.168.56.102", 8091));
+    when(slowNode.loadCost(ServiceType.QUERY)).thenReturn(500_000_000d);
+    List<Node> nodes = new ArrayList<>(Arrays.asList(fastNode, slowNode));
+
+    for (int i = 0; i < 10; i++) {
+      locator.dispatch(request, nodes, configMock, null);
+    }
+    verify(fastNode, times(10)).send(request);
+    verify(slowNode, never()).send(request);
+  }
+
+  @Test
+  void leastInFlightSelectionPicksNodeWithFewestOutstandingRequests() {
+    Locator locator = new RoundRobinLocator(ServiceType.QUERY, 0, EndpointSelection.LEAST_IN_FLIGHT);
+
+    QueryRequest request = mock(QueryRequest.class);
+    ClusterConfig configMock = mock(ClusterConfig.class);
+    when(configMock.hasClusterOrBucketConfig()).thenReturn(true);
+
+    Node busyNode = queryNode("192.168.56.101", 8, 1_000_000d);
+    Node idleNode = queryNode("192.168.56.102", 1, 500_000_000d);
+    Node busierNode = queryNode("192.168.56.103", 12, 1_000_000d);
+    List<Node> nodes = new ArrayList<>(Arrays.asList(busyNode, idleNode, busierNode));
+
+    for (int i = 0; i < 10; i++) {
+      locator.dispatch(request, nodes, configMock, null);
+    }
+    verify(idleNode, times(10)).send(request);
+    verify(busyNode, never()).send(request);
+    verify(busierNode, never()).send(request);
+  }
+
+  @Test
+  void ewmaLatencySelectionPicksNodeWithLowestLoadCost() {
+    Locator locator = new RoundRobinLocator(ServiceType.QUERY, 0, EndpointSelection.EWMA_LATENCY);
+
+    QueryRequest request = mock(QueryRequest.class);
+    ClusterConfig configMock = mock(ClusterConfig.class);
+    when(configMock.hasClusterOrBucketConfig()).thenReturn(true);
+
+    Node slowNode = queryNode("192.168.56.101", 1, 500_000_000d);
+    Node fastNode = queryNode("192.168.56.102", 8, 1_000_000d);
+    Node slowerNode = queryNode("192.168.56.103", 0, 900_000_000d);
+    List<Node> nodes = new ArrayList<>(Arrays.asList(slowNode, fastNode, slowerNode));
+
+    for (int i = 0; i < 10; i++) {
+      locator.dispatch(request, nodes, configMock, null);
+    }
+    verify(fastNode, times(10)).send(request);
+    verify(slowNode, never()).send(request);
+    verify(slowerNode, never()).send(request);
+  }
+
+  @Test
+  void scoredSelectionRotatesBetweenEquallyLoadedNodes() {
+    Locator locator = new RoundRobinLocator(ServiceType.QUERY, 0, EndpointSelection.LEAST_IN_FLIGHT);
+
+    QueryRequest request = mock(QueryRequest.class);
+    ClusterConfig configMock = mock(ClusterConfig.class);
+    when(configMock.hasClusterOrBucketConfig()).thenReturn(true);
+
+    Node node1 = queryNode("192.168.56.101", 0, 1_000_000d);
+    Node node2 = queryNode("192.168.56.102", 0, 1_000_000d);
+    List<Node> nodes = new ArrayList<>(Arrays.asList(node1, node2));
+
+    for (int i = 0; i < 4; i++) {
+      locator.dispatch(request, nodes, configMock, null);
+    }
+    verify(node1, times(2)).send(request);
+    verify(node2, times(2)).send(request);
+  }
+
+  private static Node queryNode(final String address, final long outstandingRequests, final double loadCost) {
+    Node node = mock(Node.class);
+    when(node.serviceEnabled(ServiceType.QUERY)).thenReturn(true);
+    when(node.identifier()).thenReturn(new NodeIdentifier(address, 8091));
+    when(node.outstandingRequests(ServiceType.QUERY)).thenReturn(outstandingRequests);
+    when(node.loadCost(ServiceType.QUERY)).thenReturn(loadCost);
+    return node;
+  }
+
 }
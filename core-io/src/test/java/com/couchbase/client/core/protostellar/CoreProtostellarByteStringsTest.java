@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.protostellar;
+
+import com.couchbase.client.core.deps.com.google.protobuf.ByteString;
+import com.couchbase.client.core.deps.com.google.protobuf.UnsafeByteOperations;
+import com.couchbase.client.protostellar.kv.v1.GetResponse;
+import com.couchbase.client.protostellar.kv.v1.UpsertRequest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CoreProtostellarByteStringsTest {
+
+  private static final byte[] CONTENT = "{\"foo\":\"bar\"}".getBytes(UTF_8);
+
+  @Test
+  void wrapsWithoutCopy() {
+    byte[] content = CONTENT.clone();
+    ByteString wrapped = CoreProtostellarByteStrings.wrap(content);
+    assertSame(content, CoreProtostellarByteStrings.unsafeBytes(wrapped));
+    assertEquals(0, CoreProtostellarByteStrings.wrap(new byte[0]).size());
+  }
+
+  @Test
+  void keepsArrayOfParsedContent() throws Exception {
+    byte[] encoded = GetResponse.newBuilder().setContent(ByteString.copyFrom(CONTENT)).build().toByteArray();
+    ByteString content = GetResponse.parseFrom(encoded).getContent();
+
+    byte[] bytes = CoreProtostellarByteStrings.unsafeBytes(content);
+    assertArrayEquals(CONTENT, bytes);
+    assertSame(bytes, CoreProtostellarByteStrings.unsafeBytes(content));
+  }
+
+  @Test
+  void copiesSlicesAndConcatenations() {
+    byte[] content = CONTENT.clone();
+    ByteString wrapped = CoreProtostellarByteStrings.wrap(content);
+
+    byte[] slice = CoreProtostellarByteStrings.unsafeBytes(wrapped.substring(1, 5));
+    assertArrayEquals(new byte[]{content[1], content[2], content[3], content[4]}, slice);
+
+    ByteString rope = wrapped.concat(ByteString.copyFrom(content));
+    byte[] concatenated = CoreProtostellarByteStrings.unsafeBytes(rope);
+    assertEquals(content.length * 2, concatenated.length);
+    assertArrayEquals(rope.toByteArray(), concatenated);
+  }
+
+  @Test
+  void copiesDirectBuffers() {
+    ByteBuffer direct = ByteBuffer.allocateDirect(CONTENT.length);
+    direct.put(CONTENT).flip();
+    byte[] bytes = CoreProtostellarByteStrings.unsafeBytes(ByteString.copyFrom(direct.duplicate()));
+    assertArrayEquals(CONTENT, bytes);
+
+    byte[] wrapped = CoreProtostellarByteStrings.unsafeBytes(UnsafeByteOperations.unsafeWrap(direct));
+    assertArrayEquals(CONTENT, wrapped);
+    assertEquals(0, direct.position());
+  }
+
+  @Test
+  void requestSerializesWrappedContent() throws Exception {
+    byte[] content = CONTENT.clone();
+    UpsertRequest request = UpsertRequest.newBuilder()
+      .setKey("key")
+      .setContent(CoreProtostellarByteStrings.wrap(content))
+      .build();
+
+    UpsertRequest parsed = UpsertRequest.parseFrom(request.toByteArray());
+    assertArrayEquals(content, parsed.getContent().toByteArray());
+    assertNotSame(content, CoreProtostellarByteStrings.unsafeBytes(parsed.getContent()));
+  }
+
+}
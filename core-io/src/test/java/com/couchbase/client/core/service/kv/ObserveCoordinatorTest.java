@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.kv;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.cnc.metrics.NoopMeter;
+import com.couchbase.client.core.env.Authenticator;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.kv.MutationToken;
+import com.couchbase.client.core.msg.kv.ObserveViaSeqnoRequest;
+import com.couchbase.client.core.msg.kv.ObserveViaSeqnoResponse;
+import com.couchbase.client.core.retry.BestEffortRetryStrategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+class ObserveCoordinatorTest {
+
+  private static final CollectionIdentifier COLLECTION = CollectionIdentifier.fromDefault("bucket");
+
+  private static CoreEnvironment ENV;
+  private static CoreContext CTX;
+
+  @BeforeAll
+  static void beforeAll() {
+    ENV = CoreEnvironment.builder().meter(NoopMeter.INSTANCE).build();
+    CTX = new CoreContext(mock(Core.class), 1, ENV, mock(Authenticator.class));
+  }
+
+  @AfterAll
+  static void afterAll() {
+    ENV.shutdown();
+  }
+
+  @Test
+  void coalescesConcurrentPollsForSamePartitionAndReplica() {
+    Core core = mock(Core.class);
+    ObserveCoordinator coordinator = new ObserveCoordinator();
+    AtomicInteger created = new AtomicInteger();
+    AtomicReference<ObserveViaSeqnoRequest> sent = new AtomicReference<>();
+
+    MutationToken first = new MutationToken((short) 12, 1234, 10, "bucket");
+    MutationToken second = new MutationToken((short) 12, 1234, 20, "bucket");
+
+    Mono<ObserveViaSeqnoResponse> poll1 = coordinator.poll(core, "bucket", first, 0, () -> {
+      created.incrementAndGet();
+      sent.set(request("a", 0));
+      return sent.get();
+    });
+    Mono<ObserveViaSeqnoResponse> poll2 = coordinator.poll(core, "bucket", second, 0, () -> {
+      created.incrementAndGet();
+      return request("b", 0);
+    });
+
+    AtomicReference<ObserveViaSeqnoResponse> result1 = new AtomicReference<>();
+    AtomicReference<ObserveViaSeqnoResponse> result2 = new AtomicReference<>();
+    poll1.subscribe(result1::set);
+    poll2.subscribe(result2::set);
+    assertEquals(1, created.get());
+
+    ObserveViaSeqnoResponse response = new ObserveViaSeqnoResponse(ResponseStatus.SUCCESS, true, (short) 12, 1234,
+      15, 15, Optional.empty(), Optional.empty());
+    sent.get().succeed(response);
+    assertSame(response, result1.get());
+    assertSame(response, result2.get());
+
+    // Once completed, the next poll goes out on the wire again.
+    coordinator.poll(core, "bucket", first, 0, () -> {
+      created.incrementAndGet();
+      return request("a", 0);
+    }).subscribe();
+    assertEquals(2, created.get());
+  }
+
+  @Test
+  void doesNotCoalescePollsForDifferentReplicas() {
+    Core core = mock(Core.class);
+    ObserveCoordinator coordinator = new ObserveCoordinator();
+    AtomicInteger created = new AtomicInteger();
+    MutationToken token = new MutationToken((short) 12, 1234, 10, "bucket");
+
+    coordinator.poll(core, "bucket", token, 0, () -> {
+      created.incrementAndGet();
+      return request("a", 0);
+    }).subscribe();
+    coordinator.poll(core, "bucket", token, 1, () -> {
+      created.incrementAndGet();
+      return request("a", 1);
+    }).subscribe();
+    assertEquals(2, created.get());
+  }
+
+  @Test
+  void completesEmptyIfPollFails() {
+    Core core = mock(Core.class);
+    ObserveCoordinator coordinator = new ObserveCoordinator();
+    ObserveViaSeqnoRequest request = request("a", 0);
+    MutationToken token = new MutationToken((short) 12, 1234, 10, "bucket");
+
+    AtomicReference<ObserveViaSeqnoResponse> result = new AtomicReference<>();
+    AtomicInteger completed = new AtomicInteger();
+    coordinator.poll(core, "bucket", token, 0, () -> request)
+      .subscribe(result::set, err -> { }, completed::incrementAndGet);
+
+    request.fail(new RuntimeException("failed"));
+    assertNull(result.get());
+    assertEquals(1, completed.get());
+  }
+
+  private static ObserveViaSeqnoRequest request(final String key, final int replica) {
+    return new ObserveViaSeqnoRequest(Duration.ofSeconds(1), CTX, COLLECTION,
+      BestEffortRetryStrategy.INSTANCE, replica, replica == 0, 1234, key, null);
+  }
+
+}
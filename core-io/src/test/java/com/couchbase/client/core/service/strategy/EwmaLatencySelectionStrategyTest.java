@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.endpoint.Endpoint;
+import com.couchbase.client.core.endpoint.EndpointState;
+import com.couchbase.client.core.msg.Request;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static com.couchbase.client.core.util.CbCollections.listOf;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+class EwmaLatencySelectionStrategyTest {
+
+  @Test
+  void checksForEmptyEndpointList() {
+    assertNull(new EwmaLatencySelectionStrategy().select(request(), emptyList()));
+  }
+
+  @Test
+  void selectsFastestEndpoint() {
+    EwmaLatencySelectionStrategy strategy = new EwmaLatencySelectionStrategy();
+
+    List<Endpoint> endpoints = listOf(
+      readyEndpoint(5_000_000, 0),
+      readyEndpoint(1_000_000, 0),
+      readyEndpoint(9_000_000, 0)
+    );
+
+    for (int i = 0; i < 10; i++) {
+      assertSame(endpoints.get(1), strategy.select(request(), endpoints));
+    }
+  }
+
+  @Test
+  void weighsLatencyByOutstandingRequests() {
+    EwmaLatencySelectionStrategy strategy = new EwmaLatencySelectionStrategy();
+
+    List<Endpoint> endpoints = listOf(
+      readyEndpoint(1_000_000, 9),
+      readyEndpoint(2_000_000, 1)
+    );
+
+    for (int i = 0; i < 10; i++) {
+      assertSame(endpoints.get(1), strategy.select(request(), endpoints));
+    }
+  }
+
+  @Test
+  void ignoresUnreadyEndpoints() {
+    EwmaLatencySelectionStrategy strategy = new EwmaLatencySelectionStrategy();
+
+    List<Endpoint> endpoints = listOf(
+      unreadyEndpoint(),
+      readyEndpoint(9_000_000, 0)
+    );
+
+    for (int i = 0; i < 10; i++) {
+      assertSame(endpoints.get(1), strategy.select(request(), endpoints));
+    }
+  }
+
+  static Endpoint readyEndpoint(long latency, long outstanding) {
+    Endpoint e = Mockito.mock(Endpoint.class);
+    when(e.state()).thenReturn(EndpointState.CONNECTED);
+    when(e.freeToWrite()).thenReturn(true);
+    when(e.latencyEwma()).thenReturn(latency);
+    when(e.outstandingRequests()).thenReturn(outstanding);
+    return e;
+  }
+
+  static Endpoint unreadyEndpoint() {
+    Endpoint e = Mockito.mock(Endpoint.class);
+    when(e.state()).thenReturn(EndpointState.DISCONNECTING);
+    when(e.freeToWrite()).thenReturn(false);
+    return e;
+  }
+
+  static Request<?> request() {
+    return Mockito.mock(Request.class);
+  }
+
+}
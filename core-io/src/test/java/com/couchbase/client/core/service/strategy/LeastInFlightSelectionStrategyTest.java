@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.endpoint.Endpoint;
+import com.couchbase.client.core.endpoint.EndpointState;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.couchbase.client.core.service.strategy.EwmaLatencySelectionStrategyTest.readyEndpoint;
+import static com.couchbase.client.core.service.strategy.EwmaLatencySelectionStrategyTest.request;
+import static com.couchbase.client.core.service.strategy.EwmaLatencySelectionStrategyTest.unreadyEndpoint;
+import static com.couchbase.client.core.util.CbCollections.listOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeastInFlightSelectionStrategyTest {
+
+  /**
+   * Non-pipelined endpoints (like the ones of the pooled HTTP services) cannot take a request while one is in flight.
+   */
+  @Test
+  void skipsBusyNonPipelinedEndpoints() {
+    LeastInFlightSelectionStrategy strategy = new LeastInFlightSelectionStrategy();
+
+    List<Endpoint> endpoints = listOf(
+      busyEndpoint(),
+      readyEndpoint(0, 0),
+      busyEndpoint()
+    );
+
+    for (int i = 0; i < 10; i++) {
+      assertSame(endpoints.get(1), strategy.select(request(), endpoints));
+    }
+  }
+
+  @Test
+  void rotatesBetweenIdleEndpoints() {
+    LeastInFlightSelectionStrategy strategy = new LeastInFlightSelectionStrategy();
+
+    List<Endpoint> endpoints = listOf(
+      readyEndpoint(0, 0),
+      readyEndpoint(0, 0),
+      readyEndpoint(0, 0)
+    );
+
+    Set<Endpoint> selected = new HashSet<>();
+    for (int i = 0; i < 3; i++) {
+      selected.add(strategy.select(request(), endpoints));
+    }
+    assertEquals(3, selected.size());
+  }
+
+  /**
+   * Pipelined endpoints can take requests while others are in flight, which is where their counts differ.
+   */
+  @Test
+  void selectsPipelinedEndpointWithFewestOutstandingRequests() {
+    LeastInFlightSelectionStrategy strategy = new LeastInFlightSelectionStrategy();
+
+    List<Endpoint> endpoints = listOf(
+      readyEndpoint(0, 4),
+      readyEndpoint(0, 3),
+      readyEndpoint(0, 1)
+    );
+
+    for (int i = 0; i < 10; i++) {
+      assertSame(endpoints.get(2), strategy.select(request(), endpoints));
+    }
+  }
+
+  @Test
+  void returnsNullIfAllBusyOrUnready() {
+    LeastInFlightSelectionStrategy strategy = new LeastInFlightSelectionStrategy();
+    assertNull(strategy.select(request(), listOf(busyEndpoint(), unreadyEndpoint())));
+  }
+
+  private static Endpoint busyEndpoint() {
+    Endpoint e = mock(Endpoint.class);
+    when(e.state()).thenReturn(EndpointState.CONNECTED);
+    when(e.freeToWrite()).thenReturn(false);
+    when(e.outstandingRequests()).thenReturn(1L);
+    return e;
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.endpoint.Endpoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.couchbase.client.core.service.strategy.EwmaLatencySelectionStrategyTest.readyEndpoint;
+import static com.couchbase.client.core.service.strategy.EwmaLatencySelectionStrategyTest.request;
+import static com.couchbase.client.core.service.strategy.EwmaLatencySelectionStrategyTest.unreadyEndpoint;
+import static com.couchbase.client.core.util.CbCollections.listOf;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PowerOfTwoChoicesSelectionStrategyTest {
+
+  @Test
+  void checksForEmptyEndpointList() {
+    assertNull(new PowerOfTwoChoicesSelectionStrategy().select(request(), emptyList()));
+  }
+
+  @Test
+  void alwaysPicksLessLoadedOfTwo() {
+    PowerOfTwoChoicesSelectionStrategy strategy = new PowerOfTwoChoicesSelectionStrategy();
+
+    List<Endpoint> endpoints = listOf(
+      readyEndpoint(1_000_000, 0),
+      readyEndpoint(50_000_000, 0)
+    );
+
+    for (int i = 0; i < 20; i++) {
+      assertSame(endpoints.get(0), strategy.select(request(), endpoints));
+    }
+  }
+
+  @Test
+  void neverPicksSlowestOfThree() {
+    PowerOfTwoChoicesSelectionStrategy strategy = new PowerOfTwoChoicesSelectionStrategy();
+
+    List<Endpoint> endpoints = listOf(
+      readyEndpoint(1_000_000, 0),
+      readyEndpoint(50_000_000, 0),
+      readyEndpoint(2_000_000, 0)
+    );
+
+    for (int i = 0; i < 50; i++) {
+      assertNotSame(endpoints.get(1), strategy.select(request(), endpoints));
+    }
+  }
+
+  @Test
+  void fallsBackToAnyReadyEndpoint() {
+    PowerOfTwoChoicesSelectionStrategy strategy = new PowerOfTwoChoicesSelectionStrategy();
+
+    List<Endpoint> endpoints = listOf(
+      unreadyEndpoint(),
+      unreadyEndpoint(),
+      unreadyEndpoint(),
+      readyEndpoint(0, 0)
+    );
+
+    for (int i = 0; i < 20; i++) {
+      assertSame(endpoints.get(3), strategy.select(request(), endpoints));
+    }
+    assertNull(strategy.select(request(), listOf(unreadyEndpoint(), unreadyEndpoint())));
+  }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.transaction;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies how {@link CoreTransactionAttemptContext#unstageEach} commits or rolls back documents in parallel.
+ */
+class CoreTransactionAttemptContextUnstagingTest {
+
+  @Test
+  void unstagesEveryDocWithBoundedConcurrency() {
+    List<Integer> docs = Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    List<Integer> unstaged = Collections.synchronizedList(new ArrayList<>());
+
+    CoreTransactionAttemptContext.unstageEach(docs, 4, Schedulers.parallel(), doc -> Mono.defer(() -> {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        return Mono.delay(Duration.ofMillis(10)).then(Mono.fromRunnable(() -> {
+          inFlight.decrementAndGet();
+          unstaged.add(doc);
+        }));
+      }).then())
+      .block();
+
+    assertEquals(docs.size(), unstaged.size());
+    assertTrue(unstaged.containsAll(docs));
+    assertTrue(maxInFlight.get() > 1);
+    assertTrue(maxInFlight.get() <= 4);
+  }
+
+  @Test
+  void completesInFlightDocsAndRaisesFirstError() {
+    List<Integer> docs = Arrays.asList(0, 1, 2, 3, 4, 5);
+    List<Sinks.Empty<Void>> pending = Collections.synchronizedList(new ArrayList<>());
+    List<Integer> started = Collections.synchronizedList(new ArrayList<>());
+    List<Integer> completed = Collections.synchronizedList(new ArrayList<>());
+    RuntimeException first = new RuntimeException("first");
+
+    Sinks.Empty<Void> result = Sinks.empty();
+    CoreTransactionAttemptContext.unstageEach(docs, 3, Schedulers.immediate(), doc -> {
+        started.add(doc);
+        Sinks.Empty<Void> sink = Sinks.empty();
+        pending.add(sink);
+        return sink.asMono().doOnSuccess(v -> completed.add(doc));
+      })
+      .subscribe(v -> { }, result::tryEmitError, result::tryEmitEmpty);
+
+    assertEquals(Arrays.asList(0, 1, 2), started);
+
+    pending.get(1).tryEmitError(first);
+    pending.get(2).tryEmitError(new RuntimeException("second"));
+    // The docs in-flight at the time of the failure are not cancelled, but no further docs are started.
+    assertEquals(Arrays.asList(0, 1, 2), started);
+    assertFalse(result.asMono().toFuture().isDone());
+
+    pending.get(0).tryEmitEmpty();
+    assertEquals(Collections.singletonList(0), completed);
+    RuntimeException raised = assertThrows(RuntimeException.class, () -> result.asMono().block());
+    assertSame(first, raised);
+  }
+
+  @Test
+  void behavesSequentiallyWithConcurrencyOfOne() {
+    List<Integer> docs = Arrays.asList(0, 1, 2);
+    List<Integer> started = Collections.synchronizedList(new ArrayList<>());
+    RuntimeException failure = new RuntimeException("failure");
+
+    RuntimeException raised = assertThrows(RuntimeException.class, () ->
+      CoreTransactionAttemptContext.unstageEach(docs, 1, Schedulers.immediate(), doc -> {
+        started.add(doc);
+        return doc == 1 ? Mono.<Void>error(failure) : Mono.<Void>empty();
+      }).block());
+
+    assertSame(failure, raised);
+    assertEquals(Arrays.asList(0, 1), started);
+  }
+
+}
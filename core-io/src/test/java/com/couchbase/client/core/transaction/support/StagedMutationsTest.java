@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.core.transaction.support;
+
+import com.couchbase.client.core.io.CollectionIdentifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StagedMutationsTest {
+
+  private static final CollectionIdentifier COLLECTION = CollectionIdentifier.fromDefault("bucket");
+  private static final CollectionIdentifier OTHER_COLLECTION =
+    new CollectionIdentifier("bucket", Optional.of("scope"), Optional.of("collection"));
+
+  private static StagedMutation staged(CollectionIdentifier collection, String id, StagedMutationType type) {
+    return new StagedMutation("op", id, collection, 0, Optional.empty(), Optional.empty(), null, type);
+  }
+
+  private static List<String> ids(Iterable<StagedMutation> mutations) {
+    List<StagedMutation> list = new ArrayList<>();
+    mutations.forEach(list::add);
+    return list.stream().map(sm -> sm.id).collect(Collectors.toList());
+  }
+
+  @Test
+  void keepsStagingOrderAndPartitionsByType() {
+    StagedMutations mutations = new StagedMutations();
+    mutations.add(staged(COLLECTION, "a", StagedMutationType.INSERT));
+    mutations.add(staged(COLLECTION, "b", StagedMutationType.REPLACE));
+    mutations.add(staged(OTHER_COLLECTION, "a", StagedMutationType.REMOVE));
+    mutations.add(staged(COLLECTION, "c", StagedMutationType.REPLACE));
+
+    assertEquals(Arrays.asList("a", "b", "a", "c"), ids(mutations.all()));
+    assertEquals(Arrays.asList("b", "c"), ids(mutations.ofType(StagedMutationType.REPLACE)));
+    assertEquals(OTHER_COLLECTION, mutations.ofType(StagedMutationType.REMOVE).iterator().next().collection);
+    assertEquals(StagedMutationType.INSERT, mutations.get(COLLECTION, "a").type);
+    assertNull(mutations.get(COLLECTION, "a", StagedMutationType.REMOVE));
+  }
+
+  @Test
+  void restagingReplacesAndMovesToEnd() {
+    StagedMutations mutations = new StagedMutations();
+    mutations.add(staged(COLLECTION, "a", StagedMutationType.INSERT));
+    mutations.add(staged(COLLECTION, "b", StagedMutationType.REPLACE));
+    StagedMutation removal = staged(COLLECTION, "a", StagedMutationType.REMOVE);
+    mutations.add(removal);
+
+    assertEquals(Arrays.asList("b", "a"), ids(mutations.all()));
+    assertTrue(mutations.ofType(StagedMutationType.INSERT).isEmpty());
+    assertSame(removal, mutations.get(COLLECTION, "a", StagedMutationType.REMOVE));
+
+    mutations.remove(COLLECTION, "b");
+    assertEquals(1, mutations.size());
+    assertTrue(mutations.ofType(StagedMutationType.REPLACE).isEmpty());
+
+    mutations.clear();
+    assertTrue(mutations.isEmpty());
+    assertTrue(mutations.ofType(StagedMutationType.REMOVE).isEmpty());
+  }
+
+}
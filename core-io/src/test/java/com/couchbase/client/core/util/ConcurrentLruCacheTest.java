@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConcurrentLruCacheTest {
+
+  @Test
+  void evictsEntriesWhichHaveNotBeenReadRecently() {
+    AtomicInteger evictions = new AtomicInteger();
+    ConcurrentLruCache<String, Integer> cache = new ConcurrentLruCache<>(3, evictions::incrementAndGet);
+    cache.put("a", 1);
+    cache.put("b", 2);
+    cache.put("c", 3);
+    assertEquals(1, cache.get("a"));
+
+    cache.put("d", 4);
+    assertEquals(3, cache.size());
+    assertEquals(1, evictions.get());
+    assertNull(cache.get("b"));
+    assertEquals(1, cache.get("a"));
+    assertEquals(3, cache.get("c"));
+    assertEquals(4, cache.get("d"));
+  }
+
+  @Test
+  void replacedAndRemovedEntriesDoNotCountTowardsCapacity() {
+    AtomicInteger evictions = new AtomicInteger();
+    ConcurrentLruCache<String, Integer> cache = new ConcurrentLruCache<>(2, evictions::incrementAndGet);
+    for (int i = 0; i < 100; i++) {
+      cache.put("a", i);
+      cache.remove("b");
+      cache.put("b", i);
+    }
+
+    assertEquals(2, cache.size());
+    assertEquals(0, evictions.get());
+    assertEquals(99, cache.get("a"));
+    assertEquals(99, cache.get("b"));
+  }
+
+}
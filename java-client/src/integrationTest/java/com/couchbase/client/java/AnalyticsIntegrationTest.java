@@ -22,6 +22,7 @@ import com.couchbase.client.core.service.ServiceType;
 import com.couchbase.client.java.analytics.AnalyticsMetaData;
 import com.couchbase.client.java.analytics.AnalyticsResult;
 import com.couchbase.client.java.analytics.AnalyticsStatus;
+import com.couchbase.client.java.analytics.StreamingAnalyticsResult;
 import com.couchbase.client.java.json.JsonObject;
 import com.couchbase.client.java.util.JavaIntegrationTest;
 import com.couchbase.client.test.Capabilities;
@@ -33,6 +34,7 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static com.couchbase.client.java.analytics.AnalyticsOptions.analyticsOptions;
 import static org.junit.jupiter.api.Assertions.*;
@@ -94,6 +96,46 @@ class AnalyticsIntegrationTest extends JavaIntegrationTest {
         assertThrows(ParsingFailureException.class, () -> cluster.analyticsQuery("SELECT 1="));
     }
 
+    @Test
+    void performsStreamingDataverseQuery() {
+        StreamingAnalyticsResult result = cluster.analyticsQueryStreaming("SELECT DataverseName FROM Metadata.`Dataverse`");
+
+        long count;
+        try (Stream<JsonObject> rows = result.rowsAsObject()) {
+            count = rows.peek(row -> assertNotNull(row.get("DataverseName"))).count();
+        }
+        assertTrue(count > 0);
+
+        // The metadata arrives after the rows, so it must still be available once they are consumed.
+        AnalyticsMetaData meta = result.metaData();
+        assertEquals(AnalyticsStatus.SUCCESS, meta.status());
+        assertEquals(count, meta.metrics().resultCount());
+    }
+
+    @Test
+    void streamingQueryCanBeClosedEarly() {
+        for (int i = 0; i < 5; i++) {
+            StreamingAnalyticsResult result = cluster.analyticsQueryStreaming("SELECT VALUE i FROM range(0, 9999) AS i");
+            try (Stream<Integer> rows = result.rowsAs(Integer.class)) {
+                assertEquals(10, rows.limit(10).count());
+            }
+        }
+
+        // If closing the streams had left reading paused on the connections, these would time out.
+        for (int i = 0; i < 10; i++) {
+            AnalyticsResult result = cluster.analyticsQuery(
+              "SELECT DataverseName FROM Metadata.`Dataverse`",
+              analyticsOptions().timeout(Duration.ofSeconds(10))
+            );
+            assertFalse(result.rowsAsObject().isEmpty());
+        }
+    }
+
+    @Test
+    void streamingFailsOnError() {
+        assertThrows(ParsingFailureException.class, () -> cluster.analyticsQueryStreaming("SELECT 1="));
+    }
+
 
     /**
      * We need to make sure that if a scope-level analytics query is performed on an older cluster a proper exception
@@ -37,6 +37,7 @@ import com.couchbase.client.java.query.QueryResult;
 import com.couchbase.client.java.query.QueryScanConsistency;
 import com.couchbase.client.java.query.QueryStatus;
 import com.couchbase.client.java.query.ReactiveQueryResult;
+import com.couchbase.client.java.query.StreamingQueryResult;
 import com.couchbase.client.java.util.JavaIntegrationTest;
 import com.couchbase.client.test.Capabilities;
 import com.couchbase.client.test.ClusterType;
@@ -52,6 +53,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import static com.couchbase.client.java.manager.query.QueryIndexManagerIntegrationTest.DISABLE_QUERY_TESTS_FOR_CLUSTER;
 import static com.couchbase.client.java.manager.query.QueryIndexManagerIntegrationTest.REQUIRE_MB_50132;
@@ -239,6 +241,44 @@ class QueryIntegrationTest extends JavaIntegrationTest {
         assertThrows(ParsingFailureException.class, () -> cluster.query("invalid export"));
     }
 
+    @Test
+    void streamingSelect() {
+        StreamingQueryResult result = cluster.queryStreaming(
+          "SELECT RAW i FROM ARRAY_RANGE(0, 10000) AS i",
+          queryOptions().metrics(true)
+        );
+
+        try (Stream<Integer> rows = result.rowsAs(Integer.class)) {
+            assertEquals(10000, rows.count());
+        }
+
+        // The metadata arrives after the rows, so it must still be available once they are consumed.
+        assertEquals(QueryStatus.SUCCESS, result.metaData().status());
+        assertEquals(10000, result.metaData().metrics().get().resultCount());
+    }
+
+    @Test
+    void streamingSelectCanBeClosedEarly() {
+        for (int i = 0; i < 5; i++) {
+            StreamingQueryResult result = cluster.queryStreaming("SELECT RAW i FROM ARRAY_RANGE(0, 10000) AS i");
+            try (Stream<Integer> rows = result.rowsAs(Integer.class)) {
+                assertEquals(10, rows.limit(10).count());
+            }
+        }
+
+        // If closing the streams had left reading paused on the connections, these would time out.
+        for (int i = 0; i < 10; i++) {
+            QueryResult result = cluster.query("select 'hello world' as Greeting", queryOptions().timeout(Duration.ofSeconds(10)));
+            assertEquals(1, result.rowsAsObject().size());
+        }
+    }
+
+    @IgnoreWhen(isProtostellarWillWorkLater = true) // Needs correct error from STG
+    @Test
+    void streamingFailOnSyntaxError() {
+        assertThrows(ParsingFailureException.class, () -> cluster.queryStreaming("invalid export"));
+    }
+
     @Test
     void blockingNamedParameterizedSelectQuery() {
         String id = insertDoc();
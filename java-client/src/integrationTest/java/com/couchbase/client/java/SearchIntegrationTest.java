@@ -25,6 +25,7 @@ import com.couchbase.client.java.search.queries.MatchOperator;
 import com.couchbase.client.java.search.result.SearchResult;
 import com.couchbase.client.java.search.result.SearchRow;
 import com.couchbase.client.java.search.result.SearchRowLocations;
+import com.couchbase.client.java.search.result.StreamingSearchResult;
 import com.couchbase.client.java.util.JavaIntegrationTest;
 import com.couchbase.client.test.Capabilities;
 import com.couchbase.client.test.ClusterType;
@@ -41,6 +42,7 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static com.couchbase.client.core.util.CbCollections.listOf;
 import static com.couchbase.client.core.util.CbCollections.mapOf;
@@ -225,6 +227,31 @@ class SearchIntegrationTest extends JavaIntegrationTest {
     }
   }
 
+  @Test
+  void streamingSearch() throws Throwable {
+    String docId = UUID.randomUUID().toString();
+    MutationResult insertResult = collection.insert(docId, mapOf("name", "streamy"));
+
+    try {
+      runWithRetry(Duration.ofSeconds(30), () -> {
+        StreamingSearchResult result = cluster.searchQueryStreaming(indexName, queryString("streamy"), searchOptions()
+            .consistentWith(MutationState.from(insertResult.mutationToken().get())));
+
+        List<String> actualDocIds;
+        try (Stream<SearchRow> rows = result.rows()) {
+          actualDocIds = rows.map(SearchRow::id).collect(toList());
+        }
+        assertEquals(listOf(docId), actualDocIds);
+
+        // The metadata arrives after the rows, so it must still be available once they are consumed.
+        assertEquals(1, result.metaData().metrics().totalRows());
+      });
+
+    } finally {
+      collection.remove(docId);
+    }
+  }
+
   private static void runWithRetry(Duration timeout, Runnable task) throws Throwable {
     long startNanos = System.nanoTime();
     Throwable deferred = null;
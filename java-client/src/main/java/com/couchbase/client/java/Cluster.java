@@ -32,6 +32,7 @@ import com.couchbase.client.core.msg.search.SearchRequest;
 import com.couchbase.client.core.util.ConnectionString;
 import com.couchbase.client.java.analytics.AnalyticsOptions;
 import com.couchbase.client.java.analytics.AnalyticsResult;
+import com.couchbase.client.java.analytics.StreamingAnalyticsResult;
 import com.couchbase.client.java.codec.JsonSerializer;
 import com.couchbase.client.java.diagnostics.DiagnosticsOptions;
 import com.couchbase.client.java.diagnostics.PingOptions;
@@ -47,9 +48,11 @@ import com.couchbase.client.java.manager.user.UserManager;
 import com.couchbase.client.java.query.QueryAccessor;
 import com.couchbase.client.java.query.QueryOptions;
 import com.couchbase.client.java.query.QueryResult;
+import com.couchbase.client.java.query.StreamingQueryResult;
 import com.couchbase.client.java.search.SearchOptions;
 import com.couchbase.client.java.search.SearchQuery;
 import com.couchbase.client.java.search.result.SearchResult;
+import com.couchbase.client.java.search.result.StreamingSearchResult;
 import com.couchbase.client.java.transactions.Transactions;
 
 import java.io.Closeable;
@@ -457,6 +460,92 @@ public class Cluster implements Closeable {
     return block(asyncCluster.searchQuery(indexName, query, options));
   }
 
+  /**
+   * Performs a query against the query (N1QL) services, streaming the rows as they are consumed.
+   *
+   * @param statement the N1QL query statement.
+   * @return the {@link StreamingQueryResult} once the response header arrives successfully.
+   * @throws TimeoutException if the operation times out before getting a result.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   */
+  @Stability.Volatile
+  public StreamingQueryResult queryStreaming(final String statement) {
+    return queryStreaming(statement, DEFAULT_QUERY_OPTIONS);
+  }
+
+  /**
+   * Performs a query against the query (N1QL) services with custom options, streaming the rows as they are consumed.
+   * <p>
+   * Unlike {@link #query(String, QueryOptions)}, the rows are not buffered in memory before this method returns,
+   * so memory usage stays bounded regardless of the size of the result.
+   *
+   * @param statement the N1QL query statement as a raw string.
+   * @param options the custom options for this query.
+   * @return the {@link StreamingQueryResult} once the response header arrives successfully.
+   * @throws TimeoutException if the operation times out before getting a result.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   */
+  @Stability.Volatile
+  public StreamingQueryResult queryStreaming(final String statement, final QueryOptions options) {
+    return new StreamingQueryResult(block(reactiveCluster.query(statement, options).toFuture()));
+  }
+
+  /**
+   * Performs an analytics query with default {@link AnalyticsOptions}, streaming the rows as they are consumed.
+   *
+   * @param statement the query statement as a raw string.
+   * @return the {@link StreamingAnalyticsResult} once the response header arrives successfully.
+   * @throws TimeoutException if the operation times out before getting a result.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   */
+  @Stability.Volatile
+  public StreamingAnalyticsResult analyticsQueryStreaming(final String statement) {
+    return analyticsQueryStreaming(statement, DEFAULT_ANALYTICS_OPTIONS);
+  }
+
+  /**
+   * Performs an analytics query with custom {@link AnalyticsOptions}, streaming the rows as they are consumed.
+   *
+   * @param statement the query statement as a raw string.
+   * @param options the custom options for this query.
+   * @return the {@link StreamingAnalyticsResult} once the response header arrives successfully.
+   * @throws TimeoutException if the operation times out before getting a result.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   */
+  @Stability.Volatile
+  public StreamingAnalyticsResult analyticsQueryStreaming(final String statement, final AnalyticsOptions options) {
+    return new StreamingAnalyticsResult(block(reactiveCluster.analyticsQuery(statement, options).toFuture()));
+  }
+
+  /**
+   * Performs a Full Text Search (FTS) query with default {@link SearchOptions}, streaming the rows as they are
+   * consumed.
+   *
+   * @param query the query, in the form of a {@link SearchQuery}
+   * @return the {@link StreamingSearchResult} once the response header arrives successfully.
+   * @throws TimeoutException if the operation times out before getting a result.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   */
+  @Stability.Volatile
+  public StreamingSearchResult searchQueryStreaming(final String indexName, final SearchQuery query) {
+    return searchQueryStreaming(indexName, query, DEFAULT_SEARCH_OPTIONS);
+  }
+
+  /**
+   * Performs a Full Text Search (FTS) query with custom {@link SearchOptions}, streaming the rows as they are
+   * consumed.
+   *
+   * @param query the query, in the form of a {@link SearchQuery}
+   * @param options the custom options for this query.
+   * @return the {@link StreamingSearchResult} once the response header arrives successfully.
+   * @throws TimeoutException if the operation times out before getting a result.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   */
+  @Stability.Volatile
+  public StreamingSearchResult searchQueryStreaming(final String indexName, final SearchQuery query, final SearchOptions options) {
+    return new StreamingSearchResult(block(reactiveCluster.searchQuery(indexName, query, options).toFuture()));
+  }
+
   /**
    * Opens a {@link Bucket} with the given name.
    *
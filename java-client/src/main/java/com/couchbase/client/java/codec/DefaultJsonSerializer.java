@@ -16,15 +16,25 @@
 
 package com.couchbase.client.java.codec;
 
-import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.JavaType;
 import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.ObjectMapper;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.ObjectReader;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.ObjectWriter;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import com.couchbase.client.core.encryption.CryptoManager;
 import com.couchbase.client.core.error.DecodingFailureException;
 import com.couchbase.client.core.error.EncodingFailureException;
 import com.couchbase.client.core.json.Mapper;
+import com.couchbase.client.core.util.Bytes;
 import com.couchbase.client.java.encryption.databind.jackson.repackaged.RepackagedEncryptionModule;
 import com.couchbase.client.java.json.RepackagedJsonValueModule;
 
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import static com.couchbase.client.core.logging.RedactableArgument.redactUser;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -35,12 +45,29 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * but this is an implementation detail that users should not depend on.
  * <p>
  * Be aware that this serializer does not recognize standard Jackson annotations.
+ * <p>
+ * Setting the system property {@code com.couchbase.json.afterburner} to {@code true} enables the
+ * Jackson Afterburner module, which speeds up data binding of POJOs.
  * @see JacksonJsonSerializer
  */
 public class DefaultJsonSerializer implements JsonSerializer {
 
+  /**
+   * If enabled, the Afterburner module replaces reflection-based property access with generated bytecode.
+   */
+  private static final boolean AFTERBURNER = Boolean.parseBoolean(
+      System.getProperty("com.couchbase.json.afterburner", "false"));
+
   private final ObjectMapper mapper = Mapper.newObjectMapper();
 
+  /**
+   * Readers and writers are cached per type, so the (de)serializers for the root type are only looked up once
+   * instead of on every call. This is safe since the mapper is never reconfigured after construction.
+   */
+  private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+  private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+  private final Map<Type, ObjectReader> typeRefReaders = new ConcurrentHashMap<>();
+
   /**
    * Creates an instance without encryption support.
    *
@@ -63,6 +90,9 @@ public class DefaultJsonSerializer implements JsonSerializer {
 
   private DefaultJsonSerializer(CryptoManager cryptoManager) {
     mapper.registerModule(new RepackagedJsonValueModule());
+    if (AFTERBURNER) {
+      mapper.registerModule(new AfterburnerModule());
+    }
     if (cryptoManager != null) {
       mapper.registerModule(new RepackagedEncryptionModule(cryptoManager));
     }
@@ -75,7 +105,7 @@ public class DefaultJsonSerializer implements JsonSerializer {
     }
 
     try {
-      return mapper.writeValueAsBytes(input);
+      return writerFor(input.getClass()).writeValueAsBytes(input);
     } catch (Throwable t) {
       throw new EncodingFailureException("Serializing of content + " + redactUser(input) + " to JSON failed.", t);
     }
@@ -88,7 +118,7 @@ public class DefaultJsonSerializer implements JsonSerializer {
     }
 
     try {
-      return mapper.readValue(input, target);
+      return readerFor(target).readValue(input);
     } catch (Throwable e) {
       throw new DecodingFailureException("Deserialization of content into target " + target
           + " failed; encoded = " + redactUser(new String(input, UTF_8)), e);
@@ -98,12 +128,57 @@ public class DefaultJsonSerializer implements JsonSerializer {
   @Override
   public <T> T deserialize(final TypeRef<T> target, final byte[] input) {
     try {
-      JavaType type = mapper.getTypeFactory().constructType(target.type());
-      return mapper.readValue(input, type);
+      return readerFor(target).readValue(input);
     } catch (Throwable e) {
       throw new DecodingFailureException("Deserialization of content into target " + target
           + " failed; encoded = " + redactUser(new String(input, UTF_8)), e);
     }
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T deserialize(final Class<T> target, final ByteBuffer input) {
+    if (target.equals(byte[].class)) {
+      return (T) Bytes.remainingBytes(input);
+    }
+
+    try {
+      return readValue(readerFor(target), input);
+    } catch (Throwable e) {
+      throw new DecodingFailureException("Deserialization of content into target " + target
+          + " failed; encoded = " + redactUser(new String(Bytes.remainingBytes(input), UTF_8)), e);
+    }
+  }
+
+  @Override
+  public <T> T deserialize(final TypeRef<T> target, final ByteBuffer input) {
+    try {
+      return readValue(readerFor(target), input);
+    } catch (Throwable e) {
+      throw new DecodingFailureException("Deserialization of content into target " + target
+          + " failed; encoded = " + redactUser(new String(Bytes.remainingBytes(input), UTF_8)), e);
+    }
+  }
+
+  /**
+   * Parses straight from the buffer, without copying it into an array first and without moving its position.
+   */
+  private static <T> T readValue(final ObjectReader reader, final ByteBuffer input) throws IOException {
+    return input.hasArray()
+      ? reader.readValue(input.array(), input.arrayOffset() + input.position(), input.remaining())
+      : reader.readValue(new ByteBufferBackedInputStream(input.duplicate()));
+  }
+
+  private ObjectWriter writerFor(final Class<?> type) {
+    return writers.computeIfAbsent(type, mapper::writerFor);
+  }
+
+  private ObjectReader readerFor(final Class<?> target) {
+    return readers.computeIfAbsent(target, mapper::readerFor);
+  }
+
+  private ObjectReader readerFor(final TypeRef<?> target) {
+    return typeRefReaders.computeIfAbsent(target.type(), type -> mapper.readerFor(mapper.getTypeFactory().constructType(type)));
+  }
+
 }
@@ -17,6 +17,9 @@
 package com.couchbase.client.java.codec;
 
 import com.couchbase.client.core.error.DecodingFailureException;
+import com.couchbase.client.core.util.Bytes;
+
+import java.nio.ByteBuffer;
 
 /**
  * The {@link JsonSerializer} handles the serialization and deserialization of raw json data into java objects.
@@ -52,4 +55,34 @@ public interface JsonSerializer {
   default <T> T deserialize(TypeRef<T> target, byte[] input) {
     throw new DecodingFailureException(getClass().getSimpleName() + " does not support decoding via TypeRef.");
   }
+
+  /**
+   * Deserializes raw input, provided as a buffer view, into the target class.
+   * <p>
+   * The default implementation copies the remaining bytes and delegates to {@link #deserialize(Class, byte[])}.
+   * The position of the buffer is not modified.
+   *
+   * @param target the target class.
+   * @param input the raw input.
+   * @param <T> the generic type to deserialize into.
+   * @return the deserialized output.
+   */
+  default <T> T deserialize(Class<T> target, ByteBuffer input) {
+    return deserialize(target, Bytes.remainingBytes(input));
+  }
+
+  /**
+   * Deserializes raw input, provided as a buffer view, into the target type.
+   * <p>
+   * The default implementation copies the remaining bytes and delegates to {@link #deserialize(TypeRef, byte[])}.
+   * The position of the buffer is not modified.
+   *
+   * @param target the target type.
+   * @param input the raw input.
+   * @param <T> the type to deserialize into.
+   * @return the deserialized output.
+   */
+  default <T> T deserialize(TypeRef<T> target, ByteBuffer input) {
+    return deserialize(target, Bytes.remainingBytes(input));
+  }
 }
@@ -20,6 +20,8 @@ import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.msg.kv.CodecFlags;
 import com.couchbase.client.java.CommonOptions;
 
+import java.nio.ByteBuffer;
+
 import static java.util.Objects.requireNonNull;
 
 public class JsonTranscoder implements Transcoder {
@@ -65,4 +67,19 @@ public class JsonTranscoder implements Transcoder {
     return serializer.deserialize(target, input);
   }
 
+  @Override
+  public <T> T decode(final Class<T> target, final ByteBuffer input, int flags) {
+    if (target.equals(byte[].class)) {
+      throw InvalidArgumentException.fromMessage("byte[] input is not supported for the JsonTranscoder!. " +
+        "If you want to read already encoded JSON, use the RawJsonTranscoder, otherwise read it " +
+        "with the RawBinaryTranscoder!");
+    }
+    return serializer.deserialize(target, input);
+  }
+
+  @Override
+  public <T> T decode(TypeRef<T> target, ByteBuffer input, int flags) {
+    return serializer.deserialize(target, input);
+  }
+
 }
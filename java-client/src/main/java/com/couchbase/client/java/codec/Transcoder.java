@@ -18,6 +18,9 @@ package com.couchbase.client.java.codec;
 
 import com.couchbase.client.core.api.kv.CoreEncodedContent;
 import com.couchbase.client.core.error.DecodingFailureException;
+import com.couchbase.client.core.util.Bytes;
+
+import java.nio.ByteBuffer;
 
 /**
  * The transcoder is responsible for transcoding KV binary packages between their binary and their java object
@@ -57,6 +60,39 @@ public interface Transcoder {
     throw new DecodingFailureException(getClass().getSimpleName() + " does not support decoding via TypeRef.");
   }
 
+  /**
+   * Decodes the wire representation, provided as a read-only buffer view, into the entity based on the data format.
+   * <p>
+   * This allows to decode content without copying it into a byte array first (for example from a retained
+   * network buffer). The default implementation copies the remaining bytes and delegates to
+   * {@link #decode(Class, byte[], int)}. The position of the buffer is not modified.
+   *
+   * @param target the target type to decode.
+   * @param input the wire representation to decode.
+   * @param flags the flags on the wire
+   * @param <T> the generic type used for the decoding target.
+   * @return the decoded entity.
+   */
+  default <T> T decode(Class<T> target, ByteBuffer input, int flags) {
+    return decode(target, Bytes.remainingBytes(input), flags);
+  }
+
+  /**
+   * Decodes the wire representation, provided as a read-only buffer view, into the entity based on the data format.
+   * <p>
+   * The default implementation copies the remaining bytes and delegates to {@link #decode(TypeRef, byte[], int)}.
+   * The position of the buffer is not modified.
+   *
+   * @param target the target type to decode.
+   * @param input the wire representation to decode.
+   * @param flags the flags on the wire
+   * @param <T> the generic type used for the decoding target.
+   * @return the decoded entity.
+   */
+  default <T> T decode(TypeRef<T> target, ByteBuffer input, int flags) {
+    return decode(target, Bytes.remainingBytes(input), flags);
+  }
+
   /**
    * Represents the tuple of encoded value and flags to be used on the wire.
    */
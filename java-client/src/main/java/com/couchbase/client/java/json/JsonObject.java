@@ -19,6 +19,7 @@ package com.couchbase.client.java.json;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonProcessingException;
 import com.couchbase.client.core.encryption.CryptoManager;
+import com.couchbase.client.core.error.DecodingFailureException;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.java.Collection;
 import com.couchbase.client.java.env.ClusterEnvironment;
@@ -50,10 +51,15 @@ public class JsonObject extends JsonValue implements Serializable {
     private static final long serialVersionUID = 8817717605659870262L;
 
     /**
-     * The backing {@link Map} for the object.
+     * The backing {@link Map} for the object, or null if the object is backed by its encoded JSON instead.
      */
     private final Map<String, Object> content;
 
+    /**
+     * The encoded JSON backing the object instead of the {@link #content} map, or null for regular objects.
+     */
+    private final transient LazyJsonObjectContent lazy;
+
     /**
      * Private constructor to create the object.
      *
@@ -61,6 +67,7 @@ public class JsonObject extends JsonValue implements Serializable {
      */
     private JsonObject() {
         content = new HashMap<>();
+        lazy = null;
     }
 
     /**
@@ -68,6 +75,15 @@ public class JsonObject extends JsonValue implements Serializable {
      */
     private JsonObject(int initialCapacity) {
         content = new HashMap<>(initialCapacity);
+        lazy = null;
+    }
+
+    /**
+     * Private constructor to create an object which is backed by its encoded JSON.
+     */
+    private JsonObject(LazyJsonObjectContent lazy) {
+        this.content = null;
+        this.lazy = lazy;
     }
 
     /**
@@ -154,6 +170,47 @@ public class JsonObject extends JsonValue implements Serializable {
         }
     }
 
+    /**
+     * Creates a {@link JsonObject} which is backed by the given encoded JSON and only decodes what is read.
+     * <p>
+     * The field names are indexed on first access, and each value is only decoded when it is read, so reading a
+     * handful of fields of a large document is much cheaper than decoding it completely. Nested objects are lazy
+     * as well. As soon as the object is modified (or iterated, compared, or encoded) it is decoded in full and from
+     * then on behaves like any other {@link JsonObject}.
+     * <p>
+     * The byte array is not copied and must not be modified afterwards. Since the content is not validated up front,
+     * malformed JSON results in a {@link DecodingFailureException} once the affected part is read.
+     * <p>
+     * Decoding on access is synchronized, so like a regular {@link JsonObject} the returned object can be read from
+     * multiple threads at the same time. Just like a regular one, it is not safe to modify it concurrently.
+     *
+     * @param s the encoded JSON object.
+     * @return a {@link JsonObject} backed by the encoded JSON.
+     */
+    @Stability.Volatile
+    public static JsonObject fromJsonLazily(final byte[] s) {
+        requireNonNull(s, "The encoded JSON is not allowed to be null");
+        return fromLazyContent(new LazyJsonObjectContent(s, 0, s.length));
+    }
+
+    static JsonObject fromLazyContent(final LazyJsonObjectContent lazy) {
+        return new JsonObject(lazy);
+    }
+
+    /**
+     * Returns the backing map, decoding the encoded JSON first if the object is still lazily backed by it.
+     */
+    private Map<String, Object> content() {
+        return content != null ? content : lazy.materialized();
+    }
+
+    /**
+     * Reads a single value without decoding the rest of a lazily backed object.
+     */
+    private Object value(final String name) {
+        return content != null ? content.get(name) : lazy.get(name);
+    }
+
     /**
      * Returns a view of the object for reading and writing encrypted fields.
      * <p>
@@ -219,7 +276,7 @@ public class JsonObject extends JsonValue implements Serializable {
         if (this == value) {
             throw InvalidArgumentException.fromMessage("Cannot put self");
         }
-        content.put(name, coerce(value));
+        content().put(name, coerce(value));
         return this;
     }
 
@@ -230,7 +287,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the value of the field, or null if it does not exist.
      */
     public Object get(final String name) {
-        return content.get(name);
+        return value(name);
     }
 
     /**
@@ -241,7 +298,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the {@link JsonObject}.
      */
     public JsonObject put(final String name, final String value) {
-        content.put(name, value);
+        content().put(name, value);
         return this;
     }
 
@@ -252,7 +309,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the result or null if it does not exist.
      */
     public String getString(String name) {
-        return (String) content.get(name);
+        return (String) value(name);
     }
 
     /**
@@ -263,7 +320,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the {@link JsonObject}.
      */
     public JsonObject put(String name, int value) {
-        content.put(name, value);
+        content().put(name, value);
         return this;
     }
 
@@ -277,7 +334,7 @@ public class JsonObject extends JsonValue implements Serializable {
      */
     public Integer getInt(String name) {
         //let it fail in the more general case where it isn't actually a number
-        Number number = (Number) content.get(name);
+        Number number = (Number) value(name);
         if (number == null) {
             return null;
         } else if (number instanceof Integer) {
@@ -295,7 +352,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the {@link JsonObject}.
      */
     public JsonObject put(String name, long value) {
-        content.put(name, value);
+        content().put(name, value);
         return this;
     }
 
@@ -309,7 +366,7 @@ public class JsonObject extends JsonValue implements Serializable {
      */
     public Long getLong(String name) {
         //let it fail in the more general case where it isn't actually a number
-        Number number = (Number) content.get(name);
+        Number number = (Number) value(name);
         if (number == null) {
             return null;
         } else if (number instanceof Long) {
@@ -327,7 +384,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the {@link JsonObject}.
      */
     public JsonObject put(String name, double value) {
-        content.put(name, value);
+        content().put(name, value);
         return this;
     }
 
@@ -341,7 +398,7 @@ public class JsonObject extends JsonValue implements Serializable {
      */
     public Double getDouble(String name) {
         //let it fail in the more general case where it isn't actually a number
-        Number number = (Number) content.get(name);
+        Number number = (Number) value(name);
         if (number == null) {
             return null;
         } else if (number instanceof Double) {
@@ -359,7 +416,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the {@link JsonObject}.
      */
     public JsonObject put(String name, boolean value) {
-        content.put(name, value);
+        content().put(name, value);
         return this;
     }
 
@@ -370,7 +427,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the result or null if it does not exist.
      */
     public Boolean getBoolean(String name) {
-        return (Boolean) content.get(name);
+        return (Boolean) value(name);
     }
 
     /**
@@ -384,7 +441,7 @@ public class JsonObject extends JsonValue implements Serializable {
         if (this == value) {
             throw InvalidArgumentException.fromMessage("Cannot put self");
         }
-        content.put(name, value);
+        content().put(name, value);
         return this;
     }
 
@@ -407,7 +464,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the result or null if it does not exist.
      */
     public JsonObject getObject(String name) {
-        return (JsonObject) content.get(name);
+        return (JsonObject) value(name);
     }
 
     /**
@@ -418,7 +475,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the {@link JsonObject}.
      */
     public JsonObject put(String name, JsonArray value) {
-        content.put(name, value);
+        content().put(name, value);
         return this;
     }
 
@@ -430,7 +487,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the {@link JsonObject}.
      */
     public JsonObject put(String name, Number value) {
-        content.put(name, value);
+        content().put(name, value);
         return this;
     }
 
@@ -452,7 +509,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the result or null if it does not exist.
      */
     public JsonArray getArray(String name) {
-        return (JsonArray) content.get(name);
+        return (JsonArray) value(name);
     }
 
     /**
@@ -462,7 +519,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the result or null if it does not exist.
      */
     public BigInteger getBigInteger(String name) {
-        return (BigInteger) content.get(name);
+        return (BigInteger) value(name);
     }
 
     /**
@@ -472,7 +529,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the result or null if it does not exist.
      */
     public BigDecimal getBigDecimal(String name) {
-        Object found = content.get(name);
+        Object found = value(name);
         if (found == null) {
             return null;
         } else if (found instanceof Double) {
@@ -488,7 +545,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the result or null if it does not exist.
      */
     public Number getNumber(String name) {
-        return (Number) content.get(name);
+        return (Number) value(name);
     }
 
     /**
@@ -501,7 +558,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the {@link JsonObject}
      */
     public JsonObject putNull(String name) {
-        content.put(name, null);
+        content().put(name, null);
         return this;
     }
 
@@ -512,7 +569,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the {@link JsonObject}
      */
     public JsonObject removeKey(String name) {
-        content.remove(name);
+        content().remove(name);
         return this;
     }
 
@@ -522,7 +579,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the set of names on the object.
      */
     public Set<String> getNames() {
-        return content.keySet();
+        return content().keySet();
     }
 
     /**
@@ -531,7 +588,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return true if empty, false otherwise.
      */
     public boolean isEmpty() {
-        return content.isEmpty();
+        return size() == 0;
     }
 
     /**
@@ -543,8 +600,8 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the content copied as a {@link Map}.
      */
     public Map<String, Object> toMap() {
-        Map<String, Object> copy = new HashMap<>(content.size());
-        for (Map.Entry<String, Object> entry : content.entrySet()) {
+        Map<String, Object> copy = new HashMap<>(size());
+        for (Map.Entry<String, Object> entry : content().entrySet()) {
             Object content = entry.getValue();
             if (content instanceof JsonObject) {
                 copy.put(entry.getKey(), ((JsonObject) content).toMap());
@@ -564,7 +621,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return true if its contained, false otherwise.
      */
     public boolean containsKey(String name) {
-        return content.containsKey(name);
+        return content != null ? content.containsKey(name) : lazy.containsKey(name);
     }
 
     /**
@@ -574,7 +631,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return true if its contained, false otherwise.
      */
     public boolean containsValue(Object value) {
-        return content.containsValue(value);
+        return content().containsValue(value);
     }
 
     /**
@@ -583,7 +640,7 @@ public class JsonObject extends JsonValue implements Serializable {
      * @return the size.
      */
     public int size() {
-        return content.size();
+        return content != null ? content.size() : lazy.size();
     }
 
     /**
@@ -613,16 +670,28 @@ public class JsonObject extends JsonValue implements Serializable {
         }
     }
 
+    /**
+     * Serializes lazily backed objects as regular ones, since the encoded JSON is not serialized.
+     */
+    private Object writeReplace() {
+        if (content != null) {
+            return this;
+        }
+        JsonObject replacement = new JsonObject();
+        replacement.content.putAll(lazy.materialized());
+        return replacement;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         JsonObject that = (JsonObject) o;
-        return Objects.equals(content, that.content);
+        return Objects.equals(content(), that.content());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(content);
+        return Objects.hash(content());
     }
 }
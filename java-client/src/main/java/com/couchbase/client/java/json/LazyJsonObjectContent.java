@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.json;
+
+import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonParser;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonToken;
+import com.couchbase.client.core.error.DecodingFailureException;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.couchbase.client.core.logging.RedactableArgument.redactUser;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The content of a {@link JsonObject} which is still backed by its encoded JSON.
+ * <p>
+ * On first access, only the names of the top-level fields and the offsets of their values are indexed; values are
+ * decoded one at a time when they are read. Nested objects are again backed by the same byte array, so nothing is
+ * copied. Arrays are decoded in full when they are read.
+ * <p>
+ * Decoded objects and arrays are kept, so that modifications made through them are retained once the owning
+ * {@link JsonObject} is materialized into a regular map.
+ * <p>
+ * Indexing and decoding happen under the lock of this instance, so concurrent readers are safe. Once materialized,
+ * the map is published through a volatile field and the encoded JSON is released.
+ */
+class LazyJsonObjectContent {
+
+  private static final boolean DECIMAL_FOR_FLOAT = Boolean.parseBoolean(
+      System.getProperty("com.couchbase.json.decimalForFloat", "false"));
+
+  /**
+   * The encoded JSON, released once the content is materialized.
+   */
+  private byte[] raw;
+  private final int offset;
+  private final int length;
+
+  /**
+   * Maps the field names to the absolute offsets of their values in the raw bytes, null until first access.
+   */
+  private Map<String, Integer> index;
+
+  /**
+   * Holds the objects and arrays which have been decoded already.
+   */
+  private Map<String, Object> containers;
+
+  /**
+   * The fully decoded content, null until materialized.
+   */
+  private volatile Map<String, Object> materialized;
+
+  LazyJsonObjectContent(final byte[] raw, final int offset, final int length) {
+    this.raw = raw;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  int size() {
+    Map<String, Object> content = materialized;
+    return content != null ? content.size() : sizeLazily();
+  }
+
+  boolean containsKey(final String name) {
+    Map<String, Object> content = materialized;
+    return content != null ? content.containsKey(name) : containsKeyLazily(name);
+  }
+
+  Object get(final String name) {
+    Map<String, Object> content = materialized;
+    return content != null ? content.get(name) : getLazily(name);
+  }
+
+  /**
+   * Returns all fields as a regular map, decoding them on first call.
+   */
+  Map<String, Object> materialized() {
+    Map<String, Object> content = materialized;
+    return content != null ? content : materialize();
+  }
+
+  private synchronized int sizeLazily() {
+    return materialized != null ? materialized.size() : index().size();
+  }
+
+  private synchronized boolean containsKeyLazily(final String name) {
+    return materialized != null ? materialized.containsKey(name) : index().containsKey(name);
+  }
+
+  private synchronized Object getLazily(final String name) {
+    if (materialized != null) {
+      return materialized.get(name);
+    }
+    if (containers != null && containers.containsKey(name)) {
+      return containers.get(name);
+    }
+    Integer start = index().get(name);
+    return start == null ? null : decode(name, start);
+  }
+
+  private synchronized Map<String, Object> materialize() {
+    if (materialized == null) {
+      Map<String, Object> content = new HashMap<>(index().size());
+      for (Map.Entry<String, Integer> field : index.entrySet()) {
+        String name = field.getKey();
+        content.put(name, containers != null && containers.containsKey(name)
+          ? containers.get(name)
+          : decode(name, field.getValue()));
+      }
+      materialized = content;
+      raw = null;
+      index = null;
+      containers = null;
+    }
+    return materialized;
+  }
+
+  private Map<String, Integer> index() {
+    if (index == null) {
+      try (JsonParser parser = parser(offset)) {
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+        long delta = startOfValue(offset) - parser.getTokenLocation().getByteOffset();
+
+        Map<String, Integer> result = new HashMap<>();
+        while (true) {
+          JsonToken token = parser.nextToken();
+          if (token == JsonToken.END_OBJECT) {
+            break;
+          }
+          expect(token, JsonToken.FIELD_NAME);
+          String name = parser.getCurrentName();
+          parser.nextToken();
+          result.put(name, (int) (parser.getTokenLocation().getByteOffset() + delta));
+          parser.skipChildren();
+        }
+        index = result;
+      } catch (IOException e) {
+        throw new DecodingFailureException("Failed to index JsonObject content; encoded = "
+          + redactUser(new String(raw, offset, length, UTF_8)), e);
+      }
+    }
+    return index;
+  }
+
+  private Object decode(final String name, final int start) {
+    // A number at the root level has to be followed by whitespace or the end of input, so it is parsed on its own.
+    int end = isNumberStart(raw[start]) ? endOfNumber(start) : offset + length;
+    try (JsonParser parser = JacksonTransformers.MAPPER.getFactory().createParser(raw, start, end - start)) {
+      JsonToken token = parser.nextToken();
+      switch (token) {
+        case START_OBJECT:
+          return remember(name, JsonObject.fromLazyContent(new LazyJsonObjectContent(raw, start, offset + length - start)));
+        case START_ARRAY:
+          return remember(name, JacksonTransformers.MAPPER.readValue(parser, JsonArray.class));
+        case VALUE_TRUE:
+        case VALUE_FALSE:
+          return parser.getBooleanValue();
+        case VALUE_STRING:
+          return parser.getValueAsString();
+        case VALUE_NUMBER_INT:
+        case VALUE_NUMBER_FLOAT:
+          Number numberValue = parser.getNumberValue();
+          if (numberValue instanceof Double && DECIMAL_FOR_FLOAT) {
+            numberValue = parser.getDecimalValue();
+          }
+          return numberValue;
+        case VALUE_NULL:
+          return null;
+        default:
+          throw new IOException("Unexpected JSON token: " + token);
+      }
+    } catch (IOException e) {
+      throw new DecodingFailureException("Failed to decode field \"" + name + "\" of JsonObject content", e);
+    }
+  }
+
+  private Object remember(final String name, final Object container) {
+    if (containers == null) {
+      containers = new HashMap<>();
+    }
+    containers.put(name, container);
+    return container;
+  }
+
+  private static boolean isNumberStart(final byte b) {
+    return b == '-' || (b >= '0' && b <= '9');
+  }
+
+  private int endOfNumber(final int start) {
+    int i = start;
+    while (i < offset + length) {
+      byte b = raw[i];
+      if (!(isNumberStart(b) || b == '.' || b == 'e' || b == 'E' || b == '+')) {
+        break;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  private JsonParser parser(final int start) throws IOException {
+    return JacksonTransformers.MAPPER.getFactory().createParser(raw, start, offset + length - start);
+  }
+
+  /**
+   * Returns the absolute offset of the first non-whitespace byte at or after the given offset.
+   * <p>
+   * Used to translate the token locations reported by the parser into offsets into the raw bytes, independent of
+   * whether the parser reports them relative to the start of the array or to the start of the parsed range.
+   */
+  private int startOfValue(final int from) {
+    int i = from;
+    while (i < offset + length && (raw[i] == ' ' || raw[i] == '\t' || raw[i] == '\n' || raw[i] == '\r')) {
+      i++;
+    }
+    return i;
+  }
+
+  private static void expect(final JsonToken actual, final JsonToken expected) throws IOException {
+    if (actual != expected) {
+      throw new IOException("Expected " + expected + " but got " + actual);
+    }
+  }
+
+}
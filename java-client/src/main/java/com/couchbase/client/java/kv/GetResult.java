@@ -139,6 +139,20 @@ public class GetResult {
     return contentAs(JsonObject.class);
   }
 
+  /**
+   * Returns the content of the document as a {@link JsonObject} which only decodes the fields that are read.
+   * <p>
+   * Unlike {@link #contentAsObject()}, the content is not decoded up front and the transcoder is bypassed, which
+   * makes reading a few fields of a large JSON document considerably cheaper. Since the content is not validated
+   * up front, malformed JSON results in an exception once the affected part is read.
+   *
+   * @see JsonObject#fromJsonLazily(byte[])
+   */
+  @Stability.Volatile
+  public JsonObject contentAsObjectLazily() {
+    return JsonObject.fromJsonLazily(content);
+  }
+
   /**
    * Decodes the content of the document into a {@link JsonArray}.
    */
@@ -56,6 +56,15 @@ public class ScanOptions extends CommonOptions<ScanOptions> {
    */
   private int batchByteLimit = RANGE_SCAN_DEFAULT_BATCH_BYTE_LIMIT;
 
+  /**
+   * By default, partitions are streamed one after another.
+   */
+  private int concurrency = 1;
+
+  private int perNodeConcurrency = 0;
+
+  private boolean ordered = true;
+
   private Optional<MutationState> consistentWith = Optional.empty();
 
   /**
@@ -151,6 +160,55 @@ public class ScanOptions extends CommonOptions<ScanOptions> {
     return this;
   }
 
+  /**
+   * Allows to specify the maximum number of partitions which are streamed from the server at the same time.
+   * <p>
+   * By default (1), partitions are streamed one after another, which keeps only a single node busy at any given
+   * point in time. Raising this value allows to scan multiple partitions (and nodes) in parallel, at the cost of
+   * more buffered items on the client if the results are consumed in partition order (see {@link #ordered(boolean)}).
+   *
+   * @param concurrency the maximum number of partitions to stream concurrently, defaults to 1.
+   * @return the {@link ScanOptions} to allow method chaining.
+   */
+  public ScanOptions concurrency(final int concurrency) {
+    if (concurrency < 1) {
+      throw InvalidArgumentException.fromMessage("The concurrency must not be smaller than 1");
+    }
+    this.concurrency = concurrency;
+    return this;
+  }
+
+  /**
+   * Allows to limit the number of partitions which are streamed concurrently from a single node.
+   * <p>
+   * This limit is applied in addition to {@link #concurrency(int)} and only if the results are not ordered
+   * (see {@link #ordered(boolean)}). 0 (the default) means that no per-node limit is applied.
+   *
+   * @param perNodeConcurrency the maximum number of partitions to stream concurrently per node, defaults to 0.
+   * @return the {@link ScanOptions} to allow method chaining.
+   */
+  public ScanOptions perNodeConcurrency(final int perNodeConcurrency) {
+    if (perNodeConcurrency < 0) {
+      throw InvalidArgumentException.fromMessage("The perNodeConcurrency must not be smaller than 0");
+    }
+    this.perNodeConcurrency = perNodeConcurrency;
+    return this;
+  }
+
+  /**
+   * Allows to specify if results from concurrently streamed partitions are still returned in partition order.
+   * <p>
+   * If set to false, items are returned as soon as they arrive from any of the partitions, which avoids buffering
+   * on the client. This option has no effect if {@link #concurrency(int)} is 1.
+   *
+   * @param ordered true if results should be returned in partition order, defaults to true.
+   * @return the {@link ScanOptions} to allow method chaining.
+   */
+  public ScanOptions ordered(final boolean ordered) {
+    this.ordered = ordered;
+    return this;
+  }
+
   @Stability.Internal
   public Built build() {
     return new Built();
@@ -188,6 +246,21 @@ public class ScanOptions extends CommonOptions<ScanOptions> {
       return batchByteLimit;
     }
 
+    @Override
+    public int concurrency() {
+      return concurrency;
+    }
+
+    @Override
+    public int perNodeConcurrency() {
+      return perNodeConcurrency;
+    }
+
+    @Override
+    public boolean ordered() {
+      return ordered;
+    }
+
   }
 
 }
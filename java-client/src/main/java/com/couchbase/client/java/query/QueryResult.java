@@ -57,6 +57,20 @@ public class QueryResult {
         return rowsAs(JsonObject.class);
     }
 
+    /**
+     * Returns all rows as {@link JsonObject}s which only decode the fields that are read.
+     * <p>
+     * The serializer is bypassed, and malformed rows result in an exception once the affected part is read.
+     *
+     * @see JsonObject#fromJsonLazily(byte[])
+     */
+    @Stability.Volatile
+    public List<JsonObject> rowsAsObjectLazily() {
+        return internal.rows()
+            .map(row -> JsonObject.fromJsonLazily(row.data()))
+            .collect(Collectors.toList());
+    }
+
     /**
      * Returns all rows, converted into instances of the target class.
      *
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.query;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.error.DecodingFailureException;
+import com.couchbase.client.java.codec.TypeRef;
+import com.couchbase.client.java.json.JsonObject;
+
+import java.util.stream.Stream;
+
+import static com.couchbase.client.java.AsyncUtils.block;
+
+/**
+ * The result of a N1QL query whose rows are streamed from the server as they are consumed, instead of being
+ * buffered in memory up front like in {@link QueryResult}.
+ * <p>
+ * Only a bounded number of rows is buffered on the client; if the rows are consumed slower than they arrive,
+ * reading from the socket is paused until the consumer catches up. The rows can only be consumed once, and the
+ * returned {@link Stream} should be closed if it is not consumed completely, so that the remaining rows are
+ * discarded.
+ */
+@Stability.Volatile
+public class StreamingQueryResult {
+
+    private final ReactiveQueryResult internal;
+
+    /**
+     * Creates a new StreamingQueryResult.
+     */
+    @Stability.Internal
+    public StreamingQueryResult(final ReactiveQueryResult internal) {
+        this.internal = internal;
+    }
+
+    /**
+     * Returns the rows as they arrive, converted into {@link JsonObject}s.
+     *
+     * @throws DecodingFailureException (while consuming the stream) if any row could not be successfully deserialized.
+     */
+    public Stream<JsonObject> rowsAsObject() {
+        return internal.rowsAsObject().toStream();
+    }
+
+    /**
+     * Returns the rows as they arrive, converted into instances of the target class.
+     *
+     * @param target the target class to deserialize into.
+     * @throws DecodingFailureException (while consuming the stream) if any row could not be successfully deserialized.
+     */
+    public <T> Stream<T> rowsAs(final Class<T> target) {
+        return internal.rowsAs(target).toStream();
+    }
+
+    /**
+     * Returns the rows as they arrive, converted into instances of the target type.
+     *
+     * @param target the target type to deserialize into.
+     * @throws DecodingFailureException (while consuming the stream) if any row could not be successfully deserialized.
+     */
+    public <T> Stream<T> rowsAs(final TypeRef<T> target) {
+        return internal.rowsAs(target).toStream();
+    }
+
+    /**
+     * Returns the {@link QueryMetaData} giving access to the additional metadata associated with this query.
+     * <p>
+     * The metadata is only sent by the server after all rows, so this method blocks until the rows have been
+     * consumed. Calling it first buffers all remaining rows in memory.
+     */
+    public QueryMetaData metaData() {
+        return block(internal.metaData().toFuture());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.search.result;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.java.search.SearchMetaData;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.couchbase.client.java.AsyncUtils.block;
+
+/**
+ * The result of a Full Text Search (FTS) query whose rows are streamed from the server as they are consumed,
+ * instead of being buffered in memory up front like in {@link SearchResult}.
+ * <p>
+ * Only a bounded number of rows is buffered on the client; if the rows are consumed slower than they arrive,
+ * reading from the socket is paused until the consumer catches up. The rows can only be consumed once, and the
+ * returned {@link Stream} should be closed if it is not consumed completely, so that the remaining rows are
+ * discarded.
+ */
+@Stability.Volatile
+public class StreamingSearchResult {
+
+    private final ReactiveSearchResult internal;
+
+    /**
+     * Creates a new StreamingSearchResult.
+     */
+    @Stability.Internal
+    public StreamingSearchResult(final ReactiveSearchResult internal) {
+        this.internal = internal;
+    }
+
+    /**
+     * The FTS result rows, as they arrive.
+     */
+    public Stream<SearchRow> rows() {
+        return internal.rows().toStream();
+    }
+
+    /**
+     * Any additional meta information associated with the FTS query.
+     * <p>
+     * The metadata is only sent by the server after all rows, so this method blocks until the rows have been
+     * consumed. Calling it first buffers all remaining rows in memory.
+     */
+    public SearchMetaData metaData() {
+        return block(internal.metaData().toFuture());
+    }
+
+    /**
+     * The facets of the FTS query, if any have been requested.
+     * <p>
+     * Like the {@link #metaData()}, facets are only sent by the server after all rows.
+     */
+    public Map<String, SearchFacetResult> facets() {
+        return block(internal.facets().toFuture());
+    }
+}
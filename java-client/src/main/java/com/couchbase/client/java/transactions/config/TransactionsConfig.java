@@ -17,6 +17,7 @@
 package com.couchbase.client.java.transactions.config;
 
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.msg.kv.DurabilityLevel;
 import com.couchbase.client.core.transaction.atr.ActiveTransactionRecordIds;
@@ -107,6 +108,18 @@ public class TransactionsConfig {
         return builder().queryConfig(queryConfig);
     }
 
+    /**
+     * Sets how many documents are committed or rolled back in parallel, once a transaction has reached the point
+     * where it is committed or rolled back.  The default is 1.
+     *
+     * @param unstagingConcurrency the maximum number of documents to unstage in parallel
+     * @return this, for chaining
+     */
+    @Stability.Volatile
+    public static Builder unstagingConcurrency(int unstagingConcurrency) {
+        return builder().unstagingConcurrency(unstagingConcurrency);
+    }
+
     public static class Builder {
         private DurabilityLevel level = DurabilityLevel.MAJORITY;
         private Optional<Duration> timeout = Optional.empty();
@@ -117,6 +130,7 @@ public class TransactionsConfig {
         private Optional<Integer> numAtrs = Optional.empty();
         private Optional<CollectionIdentifier> metadataCollection = Optional.empty();
         private Optional<TransactionsQueryConfig.Builder> queryConfig = Optional.empty();
+        private int unstagingConcurrency = CoreTransactionsConfig.DEFAULT_UNSTAGING_CONCURRENCY;
 
         @Stability.Internal
         public CoreTransactionsConfig build() {
@@ -129,7 +143,8 @@ public class TransactionsConfig {
                     clientRecordFactory.orElse(new ClientRecordFactory()),
                     numAtrs.orElse(ActiveTransactionRecordIds.NUM_ATRS_DEFAULT),
                     metadataCollection,
-                    queryConfig.flatMap(v -> v.scanConsistency().map(Enum::name))
+                    queryConfig.flatMap(v -> v.scanConsistency().map(Enum::name)),
+                    unstagingConcurrency
             );
         }
 
@@ -219,6 +234,25 @@ public class TransactionsConfig {
             this.queryConfig = Optional.of(queryConfig);
             return this;
         }
+
+        /**
+         * Sets how many documents are committed or rolled back in parallel, once a transaction has reached the
+         * point where it is committed or rolled back.
+         * <p>
+         * By default documents are unstaged one after another, in the order they were staged.  Raising this can
+         * considerably reduce the latency of transactions which mutate many documents.  Writes to any single
+         * document are never reordered, since each document is only unstaged once.
+         *
+         * @param unstagingConcurrency the maximum number of documents to unstage in parallel, defaults to 1.
+         * @return this, for chaining
+         */
+        @Stability.Volatile
+        public Builder unstagingConcurrency(int unstagingConcurrency) {
+            if (unstagingConcurrency < 1) {
+                throw InvalidArgumentException.fromMessage("The unstagingConcurrency must not be smaller than 1");
+            }
+            this.unstagingConcurrency = unstagingConcurrency;
+            return this;
+        }
     }
 }
-
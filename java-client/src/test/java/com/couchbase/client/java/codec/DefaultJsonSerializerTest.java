@@ -16,6 +16,14 @@
 
 package com.couchbase.client.java.codec;
 
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 class DefaultJsonSerializerTest extends JsonSerializerTestBase {
   private static final JsonSerializer serializer = DefaultJsonSerializer.create();
 
@@ -23,4 +31,15 @@ class DefaultJsonSerializerTest extends JsonSerializerTestBase {
   protected JsonSerializer serializer() {
     return serializer;
   }
+
+  @Test
+  void cachesReadersPerGenericType() {
+    byte[] input = "[1]".getBytes(UTF_8);
+    for (int i = 0; i < 2; i++) {
+      List<String> strings = serializer.deserialize(new TypeRef<List<String>>() {}, input);
+      List<Long> longs = serializer.deserialize(new TypeRef<List<Long>>() {}, input);
+      assertEquals(singletonList("1"), strings);
+      assertEquals(singletonList(1L), longs);
+    }
+  }
 }
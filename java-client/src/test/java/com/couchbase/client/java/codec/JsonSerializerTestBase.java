@@ -21,6 +21,7 @@ import com.couchbase.client.java.json.JsonArray;
 import com.couchbase.client.java.json.JsonObject;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
@@ -60,6 +61,22 @@ abstract class JsonSerializerTestBase {
     assertEquals(decoded, decodedWithTypeRef);
   }
 
+  @Test
+  void decodesJsonObjectFromBuffer() {
+    byte[] input = "xx{\"foo\":\"bar\"}".getBytes(UTF_8);
+    JsonObject expected = JsonObject.create().put("foo", "bar");
+
+    ByteBuffer heap = ByteBuffer.wrap(input, 2, input.length - 2);
+    assertEquals(expected, serializer().deserialize(JsonObject.class, heap));
+    assertEquals(2, heap.position());
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(input.length - 2);
+    direct.put(input, 2, input.length - 2).flip();
+    assertEquals(expected, serializer().deserialize(JsonObject.class, direct.asReadOnlyBuffer()));
+    assertEquals(expected, serializer().deserialize(new TypeRef<JsonObject>() {
+    }, direct.asReadOnlyBuffer()));
+  }
+
   @Test
   void encodesJsonArray() {
     JsonArray input = JsonArray.from("1", true, 2);
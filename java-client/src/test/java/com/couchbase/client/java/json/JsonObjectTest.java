@@ -16,9 +16,14 @@
 
 package com.couchbase.client.java.json;
 
+import com.couchbase.client.core.error.DecodingFailureException;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
@@ -27,6 +32,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static com.couchbase.client.core.util.CbCollections.listOf;
 import static com.couchbase.client.core.util.CbCollections.mapOf;
@@ -457,4 +467,101 @@ class JsonObjectTest {
     assertEquals(JsonObject.from(mapOf("one", 1)), json.getObject("map"));
     assertEquals(JsonArray.from(listOf("red")), json.getArray("list"));
   }
+
+  @Test
+  void lazyObjectReadsFieldsOnDemand() {
+    byte[] json = ("  {\"s\": \"v\", \"i\": 1, \"l\": 12345678901, \"d\": 1.5, \"b\": true, \"n\": null,"
+      + " \"o\": {\"x\": [1, {\"y\": 2}]}, \"a\": [\"p\", 3], \"s\": \"last\"} ").getBytes(StandardCharsets.UTF_8);
+    JsonObject lazy = JsonObject.fromJsonLazily(json);
+
+    assertEquals(8, lazy.size());
+    assertEquals("last", lazy.getString("s"));
+    assertEquals(1, lazy.getInt("i"));
+    assertEquals(12345678901L, lazy.getLong("l"));
+    assertEquals(1.5, lazy.getDouble("d"));
+    assertTrue(lazy.getBoolean("b"));
+    assertTrue(lazy.containsKey("n"));
+    assertNull(lazy.get("n"));
+    assertNull(lazy.get("missing"));
+    assertEquals(2, lazy.getObject("o").getArray("x").getObject(1).getInt("y"));
+    assertEquals(JsonArray.from("p", 3), lazy.getArray("a"));
+    assertEquals(JsonObject.fromJson(json), lazy);
+  }
+
+  @Test
+  void lazyObjectRetainsNestedModifications() {
+    JsonObject lazy = JsonObject.fromJsonLazily("{\"o\":{\"x\":1},\"a\":[1]}".getBytes(StandardCharsets.UTF_8));
+    lazy.getObject("o").put("y", 2);
+    lazy.getArray("a").add(2);
+    lazy.put("z", 3);
+
+    assertEquals(JsonObject.create()
+      .put("o", JsonObject.create().put("x", 1).put("y", 2))
+      .put("a", JsonArray.from(1, 2))
+      .put("z", 3), lazy);
+  }
+
+  @Test
+  void lazyObjectCanBeReadConcurrently() throws Exception {
+    JsonObject expected = JsonObject.create();
+    for (int i = 0; i < 100; i++) {
+      expected.put("f" + i, JsonObject.create().put("i", i).put("a", JsonArray.from(i, "x")));
+    }
+    byte[] json = expected.toBytes();
+
+    for (int round = 0; round < 20; round++) {
+      JsonObject lazy = JsonObject.fromJsonLazily(json);
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> readers = new ArrayList<>();
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+      try {
+        for (int t = 0; t < 8; t++) {
+          boolean materialize = t == 0;
+          readers.add(executor.submit(() -> {
+            start.await();
+            if (materialize) {
+              assertEquals(expected.getNames(), lazy.getNames());
+            }
+            for (int i = 0; i < 100; i++) {
+              JsonObject nested = lazy.getObject("f" + i);
+              assertEquals(i, nested.getInt("i"));
+              assertEquals(JsonArray.from(i, "x"), nested.getArray("a"));
+              assertTrue(lazy.containsKey("f" + i));
+            }
+            assertEquals(100, lazy.size());
+            return null;
+          }));
+        }
+        start.countDown();
+        for (Future<?> reader : readers) {
+          reader.get(10, TimeUnit.SECONDS);
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+      assertEquals(expected, lazy);
+    }
+  }
+
+  @Test
+  void lazyObjectIsSerializedAsRegularObject() throws Exception {
+    JsonObject lazy = JsonObject.fromJsonLazily("{\"o\":{\"x\":1},\"s\":\"v\"}".getBytes(StandardCharsets.UTF_8));
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(lazy);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      JsonObject read = (JsonObject) in.readObject();
+      assertEquals(JsonObject.create().put("o", JsonObject.create().put("x", 1)).put("s", "v"), read);
+      assertEquals(1, read.getObject("o").getInt("x"));
+    }
+  }
+
+  @Test
+  void lazyObjectFailsOnFirstAccessIfMalformed() {
+    JsonObject lazy = JsonObject.fromJsonLazily("[1, 2]".getBytes(StandardCharsets.UTF_8));
+    assertThrows(DecodingFailureException.class, lazy::size);
+  }
+
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.transactions.config;
+
+import com.couchbase.client.core.error.InvalidArgumentException;
+import com.couchbase.client.core.msg.kv.DurabilityLevel;
+import com.couchbase.client.core.transaction.config.CoreTransactionsConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TransactionsConfigTest {
+
+  @Test
+  void unstagesSequentiallyByDefault() {
+    assertEquals(1, TransactionsConfig.builder().build().unstagingConcurrency());
+    assertEquals(1, CoreTransactionsConfig.createDefault().unstagingConcurrency());
+  }
+
+  @Test
+  void appliesUnstagingConcurrency() {
+    assertEquals(8, TransactionsConfig.unstagingConcurrency(8).build().unstagingConcurrency());
+    assertEquals(8, TransactionsConfig.builder().unstagingConcurrency(8).build().unstagingConcurrency());
+    assertEquals(8, TransactionsConfig.unstagingConcurrency(8).build().exportAsMap().get("unstagingConcurrency"));
+  }
+
+  @Test
+  void rejectsInvalidUnstagingConcurrency() {
+    assertThrows(InvalidArgumentException.class, () -> TransactionsConfig.unstagingConcurrency(0));
+    assertThrows(InvalidArgumentException.class, () -> TransactionsConfig.builder().unstagingConcurrency(-1));
+    assertThrows(InvalidArgumentException.class, () -> new CoreTransactionsConfig(
+      DurabilityLevel.MAJORITY,
+      Duration.ofSeconds(15),
+      TransactionsCleanupConfig.builder().build(),
+      null,
+      null,
+      null,
+      1024,
+      Optional.empty(),
+      Optional.empty(),
+      0
+    ));
+  }
+
+}